@@ -0,0 +1,58 @@
+package com.example.hcms.attendance.controller;
+
+import com.example.hcms.attendance.dto.DailyAttendanceResponse;
+import com.example.hcms.attendance.service.DailyAttendanceService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for computed daily attendance
+ */
+@RestController
+@RequestMapping("/api/v1/attendance")
+public class DailyAttendanceController {
+
+    private final DailyAttendanceService attendanceService;
+
+    public DailyAttendanceController(DailyAttendanceService attendanceService) {
+        this.attendanceService = attendanceService;
+    }
+
+    /**
+     * A user's computed days, at most 31. Employees may only read their own; results follow new punches
+     * and schedule changes within a few seconds.
+     */
+    @GetMapping("/daily")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<List<DailyAttendanceResponse>> getDailyAttendance(
+            @RequestParam(required = false) Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            Authentication authentication) {
+
+        Long callerId = requireUserId(authentication);
+        Long target = userId != null ? userId : callerId;
+        if (!target.equals(callerId) && authentication.getAuthorities().stream()
+                .noneMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority())
+                        || "ROLE_HR_ADMIN".equals(authority.getAuthority()))) {
+            throw new AccessDeniedException("Employees may only read their own attendance");
+        }
+        return ResponseEntity.ok(attendanceService.getDailyAttendance(target, from, to));
+    }
+
+    private Long requireUserId(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof Long) {
+            return (Long) authentication.getPrincipal();
+        }
+        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+    }
+}
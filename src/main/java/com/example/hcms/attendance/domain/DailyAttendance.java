@@ -0,0 +1,176 @@
+package com.example.hcms.attendance.domain;
+
+import com.example.hcms.attendancegroup.domain.ScheduleDayType;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Daily attendance entity - the computed result of one user's day, one row per (user, date). Rows are
+ * written only by the daily attendance engine and rewritten whenever the day is recomputed; a
+ * recompute that produces the same result leaves the row untouched.
+ */
+@Entity
+@Table(name = "daily_attendance", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_attendance_user_date", columnNames = { "user_id", "work_date" })
+})
+public class DailyAttendance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "daily_attendance_id")
+    @SequenceGenerator(name = "daily_attendance_id", sequenceName = "daily_attendance_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "work_date", nullable = false)
+    private LocalDate workDate;
+
+    @Column(name = "attendance_group_id")
+    private Long attendanceGroupId;
+
+    @Column(name = "shift_id")
+    private Long shiftId;
+
+    // The shift version whose rules the result was computed with
+    @Column(name = "shift_version_id")
+    private Long shiftVersionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_type", nullable = false, length = 32)
+    private ScheduleDayType dayType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private DailyStatus status;
+
+    // PunchOutcome bits; 0 is on time
+    @Column(nullable = false)
+    private Integer outcomes = 0;
+
+    @Column(name = "clock_in")
+    private Instant clockIn;
+
+    @Column(name = "clock_out")
+    private Instant clockOut;
+
+    @Column(name = "late_minutes", nullable = false)
+    private Integer lateMinutes = 0;
+
+    @Column(name = "early_out_minutes", nullable = false)
+    private Integer earlyOutMinutes = 0;
+
+    @Column(name = "worked_minutes", nullable = false)
+    private Integer workedMinutes = 0;
+
+    // When the result last changed
+    @Column(name = "computed_at", nullable = false)
+    private Instant computedAt;
+
+    public DailyAttendance() {
+    }
+
+    public DailyAttendance(Long userId, LocalDate workDate) {
+        this.userId = userId;
+        this.workDate = workDate;
+    }
+
+    /**
+     * Take a computed result
+     *
+     * @return whether anything changed
+     */
+    public boolean apply(DayResult result, Instant now) {
+        boolean changed = computedAt == null
+                || !Objects.equals(attendanceGroupId, result.getAttendanceGroupId())
+                || !Objects.equals(shiftId, result.getShiftId())
+                || !Objects.equals(shiftVersionId, result.getShiftVersionId())
+                || dayType != result.getDayType()
+                || status != result.getStatus()
+                || outcomes != result.getOutcomes()
+                || !Objects.equals(clockIn, result.getClockIn())
+                || !Objects.equals(clockOut, result.getClockOut())
+                || lateMinutes != result.getLateMinutes()
+                || earlyOutMinutes != result.getEarlyOutMinutes()
+                || workedMinutes != result.getWorkedMinutes();
+        if (changed) {
+            attendanceGroupId = result.getAttendanceGroupId();
+            shiftId = result.getShiftId();
+            shiftVersionId = result.getShiftVersionId();
+            dayType = result.getDayType();
+            status = result.getStatus();
+            outcomes = result.getOutcomes();
+            clockIn = result.getClockIn();
+            clockOut = result.getClockOut();
+            lateMinutes = result.getLateMinutes();
+            earlyOutMinutes = result.getEarlyOutMinutes();
+            workedMinutes = result.getWorkedMinutes();
+            computedAt = now;
+        }
+        return changed;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getWorkDate() {
+        return workDate;
+    }
+
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+
+    public Long getShiftId() {
+        return shiftId;
+    }
+
+    public Long getShiftVersionId() {
+        return shiftVersionId;
+    }
+
+    public ScheduleDayType getDayType() {
+        return dayType;
+    }
+
+    public DailyStatus getStatus() {
+        return status;
+    }
+
+    public Integer getOutcomes() {
+        return outcomes;
+    }
+
+    public Instant getClockIn() {
+        return clockIn;
+    }
+
+    public Instant getClockOut() {
+        return clockOut;
+    }
+
+    public Integer getLateMinutes() {
+        return lateMinutes;
+    }
+
+    public Integer getEarlyOutMinutes() {
+        return earlyOutMinutes;
+    }
+
+    public Integer getWorkedMinutes() {
+        return workedMinutes;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.hcms.attendance.domain;
+
+/**
+ * Overall result of a user's day
+ */
+public enum DailyStatus {
+    NORMAL, // Every required punch present and on time, or any punch on a free day
+    IRREGULAR, // Worked the shift with at least one outcome: late, early out or a missing punch
+    ABSENT, // A shift was scheduled and no required punch is present
+    OFF // Nothing was expected: rest day, special day, public holiday or no attendance group
+}
@@ -0,0 +1,167 @@
+package com.example.hcms.attendance.domain;
+
+import com.example.hcms.attendancegroup.domain.ScheduleDayType;
+import com.example.hcms.attendancegroup.domain.ShiftInstance;
+import com.example.hcms.attendancegroup.dto.ScheduledDay;
+import com.example.hcms.punch.domain.Punch;
+import com.example.hcms.punch.domain.PunchType;
+import com.example.hcms.shift.domain.PunchOutcome;
+import com.example.hcms.shift.domain.ShiftRules;
+import com.example.hcms.shift.domain.ShiftSnapshot;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The computed result of one user's day. A pure function of the day's schedule and the punches that
+ * belong to it, so computing a cell again from the same data always gives the same result.
+ *
+ * The clock-in is the earliest CLOCK_IN and the clock-out the latest CLOCK_OUT. On a working day these
+ * are the punches matched to the day's shift instance, classified by the compiled rules of the shift
+ * version in force on the day; late and early minutes count from the scheduled start and end, and worked
+ * minutes are net of the shift's break. On any other day they are the punches of the local date that no
+ * shift instance claims, and worked minutes are the plain span between them.
+ */
+public final class DayResult {
+
+    private static final int LATE_OUTCOMES = PunchOutcome.LATE.bit() | PunchOutcome.HALF_DAY_LATE.bit();
+    private static final int EARLY_OUTCOMES = PunchOutcome.EARLY_OUT.bit() | PunchOutcome.HALF_DAY_EARLY.bit();
+
+    private final Long attendanceGroupId;
+    private final Long shiftId;
+    private final Long shiftVersionId;
+    private final ScheduleDayType dayType;
+    private final DailyStatus status;
+    private final int outcomes;
+    private final Instant clockIn;
+    private final Instant clockOut;
+    private final int lateMinutes;
+    private final int earlyOutMinutes;
+    private final int workedMinutes;
+
+    private DayResult(Long attendanceGroupId, Long shiftId, Long shiftVersionId, ScheduleDayType dayType,
+            DailyStatus status, int outcomes, Instant clockIn, Instant clockOut, int lateMinutes,
+            int earlyOutMinutes, int workedMinutes) {
+        this.attendanceGroupId = attendanceGroupId;
+        this.shiftId = shiftId;
+        this.shiftVersionId = shiftVersionId;
+        this.dayType = dayType;
+        this.status = status;
+        this.outcomes = outcomes;
+        this.clockIn = clockIn;
+        this.clockOut = clockOut;
+        this.lateMinutes = lateMinutes;
+        this.earlyOutMinutes = earlyOutMinutes;
+        this.workedMinutes = workedMinutes;
+    }
+
+    /**
+     * The result of a working day's shift instance from the punches matched to it
+     */
+    public static DayResult ofShift(ShiftInstance instance, List<Punch> punches) {
+        Instant in = clockIn(punches);
+        Instant out = clockOut(punches);
+        long inSecond = in != null ? in.getEpochSecond() : ShiftRules.NO_PUNCH;
+        long outSecond = out != null ? out.getEpochSecond() : ShiftRules.NO_PUNCH;
+        int outcomes = instance.classify(inSecond, outSecond);
+
+        DailyStatus status = outcomes == 0 ? DailyStatus.NORMAL
+                : PunchOutcome.ABSENT.in(outcomes) ? DailyStatus.ABSENT : DailyStatus.IRREGULAR;
+        int late = in != null && (outcomes & LATE_OUTCOMES) != 0 ? minutesUp(inSecond - instance.getStart()) : 0;
+        int early = out != null && (outcomes & EARLY_OUTCOMES) != 0 ? minutesUp(instance.getEnd() - outSecond) : 0;
+        ShiftSnapshot shift = instance.getShift();
+        int breakMinutes = Boolean.TRUE.equals(shift.getHasBreaks()) && shift.getBreakDurationMinutes() != null
+                ? shift.getBreakDurationMinutes() : 0;
+        return new DayResult(instance.getGroupId(), shift.getId(), shift.getShiftVersionId(),
+                ScheduleDayType.WORKING, status, outcomes, in, out, late, early, worked(in, out, breakMinutes));
+    }
+
+    /**
+     * The result of a day without a shift instance from the punches of its local date
+     */
+    public static DayResult ofDay(ScheduledDay day, List<Punch> punches) {
+        Instant in = clockIn(punches);
+        Instant out = clockOut(punches);
+        // A working day whose shift is gone or inactive expects nothing either
+        DailyStatus status = day.getType() == ScheduleDayType.FREE && !punches.isEmpty()
+                ? DailyStatus.NORMAL : DailyStatus.OFF;
+        return new DayResult(day.getGroupId(), null, null, day.getType(), status, 0, in, out, 0, 0,
+                worked(in, out, 0));
+    }
+
+    private static Instant clockIn(List<Punch> punches) {
+        Instant earliest = null;
+        for (Punch punch : punches) {
+            if (punch.getType() == PunchType.CLOCK_IN
+                    && (earliest == null || punch.getPunchedAt().isBefore(earliest))) {
+                earliest = punch.getPunchedAt();
+            }
+        }
+        return earliest;
+    }
+
+    private static Instant clockOut(List<Punch> punches) {
+        Instant latest = null;
+        for (Punch punch : punches) {
+            if (punch.getType() == PunchType.CLOCK_OUT && (latest == null || punch.getPunchedAt().isAfter(latest))) {
+                latest = punch.getPunchedAt();
+            }
+        }
+        return latest;
+    }
+
+    private static int worked(Instant in, Instant out, int breakMinutes) {
+        if (in == null || out == null || !out.isAfter(in)) {
+            return 0;
+        }
+        return Math.max(0, (int) ((out.getEpochSecond() - in.getEpochSecond()) / 60) - breakMinutes);
+    }
+
+    private static int minutesUp(long seconds) {
+        return (int) Math.max(0, (seconds + 59) / 60);
+    }
+
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+
+    public Long getShiftId() {
+        return shiftId;
+    }
+
+    public Long getShiftVersionId() {
+        return shiftVersionId;
+    }
+
+    public ScheduleDayType getDayType() {
+        return dayType;
+    }
+
+    public DailyStatus getStatus() {
+        return status;
+    }
+
+    public int getOutcomes() {
+        return outcomes;
+    }
+
+    public Instant getClockIn() {
+        return clockIn;
+    }
+
+    public Instant getClockOut() {
+        return clockOut;
+    }
+
+    public int getLateMinutes() {
+        return lateMinutes;
+    }
+
+    public int getEarlyOutMinutes() {
+        return earlyOutMinutes;
+    }
+
+    public int getWorkedMinutes() {
+        return workedMinutes;
+    }
+}
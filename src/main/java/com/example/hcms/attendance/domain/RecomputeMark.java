@@ -0,0 +1,77 @@
+package com.example.hcms.attendance.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Recompute mark entity - a range of (user, day) result cells made dirty by a punch or a schedule
+ * change. Marks are inserted in the transaction of the change itself, so a committed change is never
+ * left unmarked, and deleted once the engine has recomputed their cells. Overlapping marks are
+ * harmless: the engine merges them before computing.
+ */
+@Entity
+@Immutable
+@Table(name = "attendance_recompute_marks")
+public class RecomputeMark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recompute_mark_id")
+    @SequenceGenerator(name = "recompute_mark_id", sequenceName = "attendance_recompute_marks_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private RecomputeScope scope;
+
+    // User or group ID, per scope; null for ALL
+    @Column(name = "target_id")
+    private Long targetId;
+
+    @Column(name = "from_date", nullable = false)
+    private LocalDate fromDate;
+
+    @Column(name = "to_date", nullable = false)
+    private LocalDate toDate;
+
+    @Column(name = "marked_at", nullable = false)
+    private Instant markedAt;
+
+    public RecomputeMark() {
+    }
+
+    public RecomputeMark(RecomputeScope scope, Long targetId, LocalDate fromDate, LocalDate toDate) {
+        this.scope = scope;
+        this.targetId = targetId;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.markedAt = Instant.now();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public RecomputeScope getScope() {
+        return scope;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    public Instant getMarkedAt() {
+        return markedAt;
+    }
+}
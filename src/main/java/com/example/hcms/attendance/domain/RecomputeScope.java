@@ -0,0 +1,10 @@
+package com.example.hcms.attendance.domain;
+
+/**
+ * Whose days a recompute mark covers
+ */
+public enum RecomputeScope {
+    USER, // One user; target is the user ID
+    GROUP, // The members of an attendance group; target is the group ID
+    ALL // Every user in an attendance group; no target
+}
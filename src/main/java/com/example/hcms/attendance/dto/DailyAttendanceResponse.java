@@ -0,0 +1,104 @@
+package com.example.hcms.attendance.dto;
+
+import com.example.hcms.attendance.domain.DailyAttendance;
+import com.example.hcms.attendance.domain.DailyStatus;
+import com.example.hcms.attendancegroup.domain.ScheduleDayType;
+import com.example.hcms.shift.domain.PunchOutcome;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Response DTO for one user's computed day
+ */
+public class DailyAttendanceResponse {
+
+    private Long userId;
+    private LocalDate date;
+    private Long attendanceGroupId;
+    private Long shiftId;
+    private Long shiftVersionId;
+    private ScheduleDayType dayType;
+    private DailyStatus status;
+    private Set<PunchOutcome> outcomes;
+    private Instant clockIn;
+    private Instant clockOut;
+    private int lateMinutes;
+    private int earlyOutMinutes;
+    private int workedMinutes;
+    private Instant computedAt;
+
+    public DailyAttendanceResponse(DailyAttendance day) {
+        this.userId = day.getUserId();
+        this.date = day.getWorkDate();
+        this.attendanceGroupId = day.getAttendanceGroupId();
+        this.shiftId = day.getShiftId();
+        this.shiftVersionId = day.getShiftVersionId();
+        this.dayType = day.getDayType();
+        this.status = day.getStatus();
+        this.outcomes = PunchOutcome.decode(day.getOutcomes());
+        this.clockIn = day.getClockIn();
+        this.clockOut = day.getClockOut();
+        this.lateMinutes = day.getLateMinutes();
+        this.earlyOutMinutes = day.getEarlyOutMinutes();
+        this.workedMinutes = day.getWorkedMinutes();
+        this.computedAt = day.getComputedAt();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+
+    public Long getShiftId() {
+        return shiftId;
+    }
+
+    public Long getShiftVersionId() {
+        return shiftVersionId;
+    }
+
+    public ScheduleDayType getDayType() {
+        return dayType;
+    }
+
+    public DailyStatus getStatus() {
+        return status;
+    }
+
+    public Set<PunchOutcome> getOutcomes() {
+        return outcomes;
+    }
+
+    public Instant getClockIn() {
+        return clockIn;
+    }
+
+    public Instant getClockOut() {
+        return clockOut;
+    }
+
+    public int getLateMinutes() {
+        return lateMinutes;
+    }
+
+    public int getEarlyOutMinutes() {
+        return earlyOutMinutes;
+    }
+
+    public int getWorkedMinutes() {
+        return workedMinutes;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.hcms.attendance.repository;
+
+import com.example.hcms.attendance.domain.DailyAttendance;
+import com.example.hcms.attendance.domain.DailyStatus;
+import com.example.hcms.attendancegroup.domain.ScheduleDayType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repository for computed daily attendance results
+ */
+@Repository
+public interface DailyAttendanceRepository extends JpaRepository<DailyAttendance, Long> {
+
+    /**
+     * A user's results from one date to another, both inclusive, in date order
+     */
+    List<DailyAttendance> findByUserIdAndWorkDateBetweenOrderByWorkDate(Long userId, LocalDate from, LocalDate to);
+
+    /**
+     * The columns of a result that period totals are built from
+     */
+    interface DayView {
+        Long getUserId();
+
+        ScheduleDayType getDayType();
+
+        DailyStatus getStatus();
+
+        Integer getOutcomes();
+
+        Instant getClockIn();
+
+        Instant getClockOut();
+
+        Integer getLateMinutes();
+
+        Integer getEarlyOutMinutes();
+
+        Integer getWorkedMinutes();
+    }
+
+    /**
+     * Stream several users' results from one date to another, both inclusive, in (user, date) order,
+     * through a cursor that fetches rows in chunks; the stream must be closed, inside a transaction
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT d.userId AS userId, d.dayType AS dayType, d.status AS status, d.outcomes AS outcomes, "
+            + "d.clockIn AS clockIn, d.clockOut AS clockOut, d.lateMinutes AS lateMinutes, "
+            + "d.earlyOutMinutes AS earlyOutMinutes, d.workedMinutes AS workedMinutes FROM DailyAttendance d "
+            + "WHERE d.userId IN :userIds AND d.workDate BETWEEN :from AND :to ORDER BY d.userId, d.workDate")
+    Stream<DayView> streamDays(@Param("userIds") Collection<Long> userIds, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+}
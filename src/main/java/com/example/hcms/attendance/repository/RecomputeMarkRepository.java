@@ -0,0 +1,20 @@
+package com.example.hcms.attendance.repository;
+
+import com.example.hcms.attendance.domain.RecomputeMark;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for pending recompute marks
+ */
+@Repository
+public interface RecomputeMarkRepository extends JpaRepository<RecomputeMark, Long> {
+
+    /**
+     * The oldest pending marks
+     */
+    List<RecomputeMark> findAllByOrderByIdAsc(Pageable page);
+}
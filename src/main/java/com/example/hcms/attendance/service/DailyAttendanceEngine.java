@@ -0,0 +1,310 @@
+package com.example.hcms.attendance.service;
+
+import com.example.hcms.attendance.domain.DailyAttendance;
+import com.example.hcms.attendance.domain.DayResult;
+import com.example.hcms.attendance.domain.RecomputeMark;
+import com.example.hcms.attendance.domain.RecomputeScope;
+import com.example.hcms.attendance.repository.DailyAttendanceRepository;
+import com.example.hcms.attendance.repository.RecomputeMarkRepository;
+import com.example.hcms.attendancegroup.domain.PunchPolicy;
+import com.example.hcms.attendancegroup.domain.ScheduleDayType;
+import com.example.hcms.attendancegroup.domain.ShiftInstance;
+import com.example.hcms.attendancegroup.domain.ShiftInstanceIndex;
+import com.example.hcms.attendancegroup.dto.ScheduledDay;
+import com.example.hcms.attendancegroup.service.ScheduleResolver;
+import com.example.hcms.attendancegroup.service.ShiftInstanceMatcher;
+import com.example.hcms.overtime.domain.OvertimeSegment;
+import com.example.hcms.overtime.service.OvertimeLedger;
+import com.example.hcms.punch.domain.Punch;
+import com.example.hcms.punch.repository.PunchRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recomputes dirty daily attendance cells. Each pass takes the oldest recompute marks, expands them into
+ * (user, date) cells through the membership known to {@link ScheduleResolver}, and hands the users to a
+ * fixed pool of workers partitioned by user ID, so one user's cells are never computed by two workers
+ * at once. A worker computes each user in its own transaction: one schedule lookup, one punch range
+ * query and one result range query per run of nearby dates, then inserts new result rows in JDBC
+ * batches and updates only rows whose result changed. In groups that record overtime, the same
+ * transaction keeps the computed dates' {@link OvertimeLedger} entries in step with their results.
+ *
+ * Results are a pure function of the schedule and the punches ({@link DayResult}), so computing a cell
+ * twice is harmless: marks are deleted only after their cells are computed, and the cells of a user
+ * that failed are marked again for the next pass. Days after the user's local today are skipped; the
+ * daily close marks them once they are over.
+ */
+@Component
+public class DailyAttendanceEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(DailyAttendanceEngine.class);
+    // Dirty dates further apart than this are computed as separate runs, each with its own queries
+    private static final int MAX_RUN_GAP_DAYS = 7;
+
+    private final RecomputeMarkRepository markRepository;
+    private final DailyAttendanceRepository resultRepository;
+    private final PunchRepository punchRepository;
+    private final ScheduleResolver scheduleResolver;
+    private final ShiftInstanceMatcher instanceMatcher;
+    private final OvertimeLedger overtimeLedger;
+    private final TransactionTemplate transactions;
+    private final int workerCount;
+    private final int maxMarks;
+    private final ExecutorService workers;
+
+    public DailyAttendanceEngine(RecomputeMarkRepository markRepository, DailyAttendanceRepository resultRepository,
+            PunchRepository punchRepository, ScheduleResolver scheduleResolver, ShiftInstanceMatcher instanceMatcher,
+            OvertimeLedger overtimeLedger, PlatformTransactionManager transactionManager,
+            @Value("${app.attendance.workers:4}") int workerCount,
+            @Value("${app.attendance.max-marks-per-pass:1000}") int maxMarks) {
+        this.markRepository = markRepository;
+        this.resultRepository = resultRepository;
+        this.punchRepository = punchRepository;
+        this.scheduleResolver = scheduleResolver;
+        this.instanceMatcher = instanceMatcher;
+        this.overtimeLedger = overtimeLedger;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.workerCount = workerCount;
+        this.maxMarks = maxMarks;
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "attendance-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.attendance.poll-interval-ms:2000}")
+    public void poll() {
+        recomputeDirty();
+    }
+
+    /**
+     * Recompute every marked cell, a pass of at most {@code app.attendance.max-marks-per-pass} marks at a
+     * time, until no marks are left or a pass had failures
+     *
+     * @return the number of cells computed
+     */
+    public synchronized int recomputeDirty() {
+        int cells = 0;
+        while (true) {
+            List<RecomputeMark> marks = markRepository.findAllByOrderByIdAsc(PageRequest.of(0, maxMarks));
+            if (marks.isEmpty()) {
+                return cells;
+            }
+            Map<Long, NavigableSet<LocalDate>> dirty = expand(marks);
+            Map<Long, NavigableSet<LocalDate>> failed = new ConcurrentHashMap<>();
+            cells += recompute(dirty, failed);
+            transactions.executeWithoutResult(status -> {
+                markRepository.deleteAllByIdInBatch(marks.stream().map(RecomputeMark::getId).toList());
+                markRepository.saveAll(failed.entrySet().stream()
+                        .map(user -> new RecomputeMark(RecomputeScope.USER, user.getKey(), user.getValue().first(),
+                                user.getValue().last()))
+                        .toList());
+            });
+            logger.debug("Recomputed {} users from {} marks, {} users failed", dirty.size(), marks.size(),
+                    failed.size());
+            // Failed users are marked again: leave them to the next poll rather than retrying at once
+            if (marks.size() < maxMarks || !failed.isEmpty()) {
+                return cells;
+            }
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * The dirty dates of each user covered by the marks
+     */
+    private Map<Long, NavigableSet<LocalDate>> expand(List<RecomputeMark> marks) {
+        Map<Long, NavigableSet<LocalDate>> dirty = new HashMap<>();
+        for (RecomputeMark mark : marks) {
+            List<Long> userIds = switch (mark.getScope()) {
+                case USER -> List.of(mark.getTargetId());
+                case GROUP -> scheduleResolver.members(List.of(mark.getTargetId()));
+                case ALL -> scheduleResolver.members(null);
+            };
+            for (Long userId : userIds) {
+                NavigableSet<LocalDate> dates = dirty.computeIfAbsent(userId, id -> new TreeSet<>());
+                for (LocalDate date = mark.getFromDate(); !date.isAfter(mark.getToDate()); date = date.plusDays(1)) {
+                    dates.add(date);
+                }
+            }
+        }
+        return dirty;
+    }
+
+    /**
+     * Compute the users on the worker pool, one partition of users per worker
+     *
+     * @return the number of cells computed; users that failed are added to {@code failed}
+     */
+    private int recompute(Map<Long, NavigableSet<LocalDate>> dirty, Map<Long, NavigableSet<LocalDate>> failed) {
+        List<List<Long>> partitions = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        dirty.keySet().forEach(userId -> partitions.get((int) Math.floorMod(userId, (long) workerCount)).add(userId));
+
+        List<Future<Integer>> futures = new ArrayList<>(workerCount);
+        for (List<Long> partition : partitions) {
+            if (!partition.isEmpty()) {
+                futures.add(workers.submit(() -> computeUsers(partition, dirty, failed)));
+            }
+        }
+        int cells = 0;
+        for (Future<Integer> future : futures) {
+            try {
+                cells += future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while recomputing daily attendance", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Daily attendance worker failed", e.getCause());
+            }
+        }
+        return cells;
+    }
+
+    private int computeUsers(List<Long> userIds, Map<Long, NavigableSet<LocalDate>> dirty,
+            Map<Long, NavigableSet<LocalDate>> failed) {
+        int cells = 0;
+        for (Long userId : userIds) {
+            NavigableSet<LocalDate> dates = dirty.get(userId);
+            try {
+                Integer computed = transactions.execute(status -> computeUser(userId, dates));
+                cells += computed != null ? computed : 0;
+            } catch (RuntimeException e) {
+                logger.error("Failed to recompute daily attendance of user {} for {} to {}", userId, dates.first(),
+                        dates.last(), e);
+                failed.put(userId, dates);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Compute one user's dirty dates up to the user's local today, in runs of nearby dates
+     */
+    private int computeUser(long userId, NavigableSet<LocalDate> dates) {
+        PunchPolicy policy = scheduleResolver.punchPolicy(userId);
+        if (policy == null) {
+            return 0; // Deleted since it was marked
+        }
+        ZoneId zone = policy.getZone();
+        NavigableSet<LocalDate> due = dates.headSet(LocalDate.now(zone), true);
+        int cells = 0;
+        List<LocalDate> run = new ArrayList<>();
+        for (LocalDate date : due) {
+            if (!run.isEmpty() && ChronoUnit.DAYS.between(run.get(run.size() - 1), date) > MAX_RUN_GAP_DAYS) {
+                cells += computeRun(userId, policy, run);
+                run.clear();
+            }
+            run.add(date);
+        }
+        if (!run.isEmpty()) {
+            cells += computeRun(userId, policy, run);
+        }
+        return cells;
+    }
+
+    /**
+     * Compute the dates of one run: match the punches around the run to shift instances once, then derive
+     * each date's result from its instance's punches, or on a day without an instance from the punches of
+     * the local date that no instance claims
+     */
+    private int computeRun(long userId, PunchPolicy policy, List<LocalDate> dates) {
+        ZoneId zone = policy.getZone();
+        LocalDate first = dates.get(0);
+        LocalDate last = dates.get(dates.size() - 1);
+        ShiftInstanceIndex index = instanceMatcher.index(userId, first.atStartOfDay(zone).toInstant(),
+                last.plusDays(1).atStartOfDay(zone).toInstant());
+        ScheduledDay[] days = scheduleResolver.resolve(List.of(userId), first, last).get(userId);
+        Map<LocalDate, ShiftInstance> instances = new HashMap<>();
+        for (ShiftInstance instance : index.instances()) {
+            instances.put(instance.getDate(), instance);
+        }
+
+        // Instances on these dates open at most a day before the first and close at most a day after the last
+        List<Punch> punches = punchRepository.findByUserIdInRange(userId,
+                first.minusDays(1).atStartOfDay(zone).toInstant(), last.plusDays(2).atStartOfDay(zone).toInstant());
+        Map<LocalDate, List<Punch>> matched = new HashMap<>();
+        Map<LocalDate, List<Punch>> unmatched = new HashMap<>();
+        for (Punch punch : punches) {
+            ShiftInstance instance = index.match(punch.getPunchedAt());
+            if (instance != null) {
+                matched.computeIfAbsent(instance.getDate(), date -> new ArrayList<>()).add(punch);
+            } else {
+                unmatched.computeIfAbsent(punch.getPunchedAt().atZone(zone).toLocalDate(),
+                        date -> new ArrayList<>()).add(punch);
+            }
+        }
+
+        Map<LocalDate, DailyAttendance> rows = new TreeMap<>();
+        resultRepository.findByUserIdAndWorkDateBetweenOrderByWorkDate(userId, first, last)
+                .forEach(row -> rows.put(row.getWorkDate(), row));
+        Instant now = Instant.now();
+        List<DailyAttendance> inserts = new ArrayList<>();
+        Map<LocalDate, OvertimeSegment> overtime = new HashMap<>();
+        for (LocalDate date : dates) {
+            ShiftInstance instance = instances.get(date);
+            DayResult result;
+            if (instance != null) {
+                result = DayResult.ofShift(instance, matched.getOrDefault(date, List.of()));
+            } else {
+                ScheduledDay day = days[(int) ChronoUnit.DAYS.between(first, date)];
+                List<Punch> dayPunches = unmatched.getOrDefault(date, List.of());
+                if (day.getType() == ScheduleDayType.UNASSIGNED && dayPunches.isEmpty() && !rows.containsKey(date)) {
+                    continue; // Nothing to record for a user outside any group
+                }
+                result = DayResult.ofDay(day, dayPunches);
+            }
+            DailyAttendance row = rows.get(date);
+            if (row == null) {
+                row = new DailyAttendance(userId, date);
+                row.apply(result, now);
+                inserts.add(row);
+            } else {
+                // Managed: flushed at commit only if the result changed
+                row.apply(result, now);
+            }
+            if (policy.isRecordOvertime()) {
+                OvertimeSegment segment = overtimeLedger.derive(instance, result);
+                if (segment != null) {
+                    overtime.put(date, segment);
+                }
+            }
+        }
+        resultRepository.saveAll(inserts);
+        overtimeLedger.record(userId, policy, dates, overtime);
+        return dates.size();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.hcms.attendance.service;
+
+import com.example.hcms.attendance.dto.DailyAttendanceResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service interface for reading computed daily attendance
+ */
+public interface DailyAttendanceService {
+
+    /**
+     * A user's computed days from one date to another, both inclusive, at most 31 days, in date order.
+     * Days not computed yet are absent from the list.
+     */
+    List<DailyAttendanceResponse> getDailyAttendance(Long userId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,39 @@
+package com.example.hcms.attendance.service;
+
+import com.example.hcms.attendance.dto.DailyAttendanceResponse;
+import com.example.hcms.attendance.repository.DailyAttendanceRepository;
+import com.example.hcms.common.exception.InvalidParameterException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Implementation of DailyAttendanceService. Results are written by {@link DailyAttendanceEngine}; reads
+ * are a single range query on the (user_id, work_date) key.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DailyAttendanceServiceImpl implements DailyAttendanceService {
+
+    private static final int MAX_READ_DAYS = 31;
+
+    private final DailyAttendanceRepository repository;
+
+    public DailyAttendanceServiceImpl(DailyAttendanceRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<DailyAttendanceResponse> getDailyAttendance(Long userId, LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1 || days > MAX_READ_DAYS) {
+            throw new InvalidParameterException("Attendance range must cover 1 to " + MAX_READ_DAYS + " days");
+        }
+        return repository.findByUserIdAndWorkDateBetweenOrderByWorkDate(userId, from, to).stream()
+                .map(DailyAttendanceResponse::new)
+                .toList();
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.hcms.attendance.service;
+
+import com.example.hcms.attendance.domain.RecomputeMark;
+import com.example.hcms.attendance.domain.RecomputeScope;
+import com.example.hcms.attendance.repository.RecomputeMarkRepository;
+import com.example.hcms.attendancegroup.service.ScheduleResolver;
+import com.example.hcms.auth.domain.UserChangedEvent;
+import com.example.hcms.holiday.domain.HolidaysChangedEvent;
+import com.example.hcms.punch.domain.Punch;
+import com.example.hcms.punch.domain.PunchesRecordedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Marks daily attendance cells dirty. Listeners run before the changing transaction commits and insert
+ * their marks in it, so a change and its marks commit (or roll back) together; the
+ * {@link DailyAttendanceEngine} recomputes the marked cells later.
+ *
+ * <ul>
+ * <li>New punches mark their users from the day before to the day after each punch's local date,
+ * since a punch can belong to an overnight shift of the previous day or an early start of the next.</li>
+ * <li>Holiday changes mark every member from {@code app.attendance.recompute-days} ago to tomorrow. A
+ * user moved to another attendance group is marked from today: the schedule resolver knows only the
+ * current group, so recomputing earlier days would apply its schedule to days worked under the old one.
+ * Other user changes mark nothing. Shift and attendance group edits mark only the dates their planned
+ * schedule impact covers, through {@link #markGroup}.</li>
+ * <li>Once a day, every member's past two days are marked, so days without any punch get their
+ * (absent) result as well.</li>
+ * </ul>
+ */
+@Component
+public class RecomputeMarker {
+
+    private final RecomputeMarkRepository repository;
+    private final ScheduleResolver scheduleResolver;
+    private final int recomputeDays;
+
+    public RecomputeMarker(RecomputeMarkRepository repository, ScheduleResolver scheduleResolver,
+            @Value("${app.attendance.recompute-days:31}") int recomputeDays) {
+        this.repository = repository;
+        this.scheduleResolver = scheduleResolver;
+        this.recomputeDays = recomputeDays;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPunchesRecorded(PunchesRecordedEvent event) {
+        // One mark per user, spanning all of the user's new punches
+        Map<Long, LocalDate[]> spans = new HashMap<>();
+        for (Punch punch : event.getPunches()) {
+            ZoneId zone = scheduleResolver.zone(punch.getUserId());
+            LocalDate date = punch.getPunchedAt().atZone(zone).toLocalDate();
+            spans.merge(punch.getUserId(), new LocalDate[] { date, date }, (span, day) -> new LocalDate[] {
+                    span[0].isBefore(day[0]) ? span[0] : day[0], span[1].isAfter(day[1]) ? span[1] : day[1] });
+        }
+        List<RecomputeMark> marks = new ArrayList<>(spans.size());
+        spans.forEach((userId, span) -> marks.add(
+                new RecomputeMark(RecomputeScope.USER, userId, span[0].minusDays(1), span[1].plusDays(1))));
+        repository.saveAll(marks);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        LocalDate today = LocalDate.now();
+        repository.saveAll(event.getGroupChangedUserIds().stream()
+                .map(userId -> new RecomputeMark(RecomputeScope.USER, userId, today, today.plusDays(1)))
+                .toList());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onHolidaysChanged(HolidaysChangedEvent event) {
+        repository.save(recent(RecomputeScope.ALL, null));
+    }
+
+    /**
+     * Mark a group's members over planned dates, in the calling transaction. Dates after tomorrow are
+     * left out: they have no result yet, and get one from the daily pass once they are over.
+     */
+    public void markGroup(Long groupId, LocalDate from, LocalDate to) {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        if (!from.isAfter(tomorrow)) {
+            repository.save(new RecomputeMark(RecomputeScope.GROUP, groupId, from,
+                    to.isAfter(tomorrow) ? tomorrow : to));
+        }
+    }
+
+    /**
+     * Mark every member's past two days; two, because yesterday in a group's time zone may be the day
+     * before yesterday here
+     */
+    @Scheduled(cron = "${app.attendance.close-day-cron:0 30 0 * * *}")
+    public void closeDays() {
+        LocalDate today = LocalDate.now();
+        repository.save(new RecomputeMark(RecomputeScope.ALL, null, today.minusDays(2), today.minusDays(1)));
+    }
+
+    private RecomputeMark recent(RecomputeScope scope, Long targetId) {
+        LocalDate today = LocalDate.now();
+        return new RecomputeMark(scope, targetId, today.minusDays(recomputeDays), today.plusDays(1));
+    }
+}
@@ -3,8 +3,21 @@ package com.example.hcms.attendancegroup.controller;
 import com.example.hcms.attendancegroup.domain.AttendanceGroupStatus;
 import com.example.hcms.attendancegroup.dto.AttendanceGroupResponse;
 import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.dto.GroupTrackingResponse;
+import com.example.hcms.attendancegroup.dto.MemberCountReconciliation;
+import com.example.hcms.attendancegroup.dto.NonWorkingDayResponse;
+import com.example.hcms.attendancegroup.dto.ScheduleResponse;
+import com.example.hcms.attendancegroup.dto.ScheduledDay;
 import com.example.hcms.attendancegroup.dto.UpdateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.dto.UserTrackingResponse;
 import com.example.hcms.attendancegroup.service.AttendanceGroupService;
+import com.example.hcms.attendancegroup.service.MemberTrackingEngine;
+import com.example.hcms.attendancegroup.service.ScheduleResolver;
+import com.example.hcms.common.dto.MultiGetResponse;
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.common.web.EntityTags;
+import com.example.hcms.common.web.FieldSet;
+import com.example.hcms.common.web.MultiGetLimits;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,12 +25,18 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -28,34 +47,99 @@ import java.util.Map;
 public class AttendanceGroupController {
 
     private static final Logger logger = LoggerFactory.getLogger(AttendanceGroupController.class);
+    // Let clients keep the body but check back every time (overrides Spring Security's no-store)
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
     private final AttendanceGroupService service;
+    private final MultiGetLimits multiGetLimits;
+    private final MemberTrackingEngine memberTracking;
+    private final ScheduleResolver scheduleResolver;
 
-    public AttendanceGroupController(AttendanceGroupService service) {
+    public AttendanceGroupController(AttendanceGroupService service, MultiGetLimits multiGetLimits,
+            MemberTrackingEngine memberTracking, ScheduleResolver scheduleResolver) {
         this.service = service;
+        this.multiGetLimits = multiGetLimits;
+        this.memberTracking = memberTracking;
+        this.scheduleResolver = scheduleResolver;
     }
 
     /**
-     * Get all attendance groups with pagination and filtering
+     * Get all attendance groups with pagination and filtering. A matching If-None-Match
+     * returns 304 without touching the database; fields=id,name returns only those columns.
+     * managedBy=me (or a user ID) keeps only the groups that list that user as a sub-owner.
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
-    public ResponseEntity<Page<AttendanceGroupResponse>> getAllGroups(
+    public ResponseEntity<Page<?>> getAllGroups(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) AttendanceGroupStatus status,
-            @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable) {
+            @RequestParam(required = false) String managedBy,
+            @RequestParam(required = false) String fields,
+            @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication authentication) {
+
+        Long managerId = resolveManagedBy(managedBy, authentication);
+        FieldSet fieldSet = service.selectFields(fields);
+        String etag = service.getGroupsETag(search, status, managerId, pageable, fieldSet);
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+
+        Page<?> groups = fieldSet != null
+                ? service.getAllGroups(search, status, managerId, pageable, fieldSet)
+                : service.getAllGroups(search, status, managerId, pageable);
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(groups);
+    }
+
+    /**
+     * Get several active attendance groups by ID (ids=1,2,3) with one query. Items come back in
+     * request order, unknown or inactive IDs as not-found items; fields= works as on the list.
+     */
+    @GetMapping(params = "ids")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<MultiGetResponse<Object>> getGroupsByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields) {
 
-        Page<AttendanceGroupResponse> groups = service.getAllGroups(search, status, pageable);
-        return ResponseEntity.ok(groups);
+        FieldSet fieldSet = service.selectFields(fields);
+        List<Long> distinctIds = multiGetLimits.distinct(ids);
+        Map<Long, ?> groups = fieldSet != null
+                ? service.getGroupFieldsByIds(distinctIds, fieldSet)
+                : service.getGroupsByIds(distinctIds);
+        return ResponseEntity.ok(MultiGetResponse.of(ids, groups));
     }
 
     /**
-     * Get a specific attendance group by ID
+     * Get a specific attendance group by ID. A matching If-None-Match returns 304 after
+     * reading only the version and updatedAt columns; fields= works as on the list.
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
-    public ResponseEntity<AttendanceGroupResponse> getGroupById(@PathVariable Long id) {
+    public ResponseEntity<?> getGroupById(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        FieldSet fieldSet = service.selectFields(fields);
+        if (fieldSet != null) {
+            // The projection carries no version, so tag from the validator read just before it
+            String etag = EntityTags.forFields(service.getGroupETag(id), fieldSet);
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+            }
+            Map<String, Object> group = service.getGroupFields(id, fieldSet);
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(group);
+        }
+
+        if (ifNoneMatch != null) {
+            String etag = service.getGroupETag(id);
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+            }
+        }
+
         AttendanceGroupResponse group = service.toResponse(service.getGroupById(id));
-        return ResponseEntity.ok(group);
+        return ResponseEntity.ok().eTag(service.eTagOf(group)).cacheControl(REVALIDATE).body(group);
     }
 
     /**
@@ -69,31 +153,33 @@ public class AttendanceGroupController {
 
         Long userId = extractUserId(authentication);
         AttendanceGroupResponse group = service.createGroup(request, userId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(group);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(service.eTagOf(group)).body(group);
     }
 
     /**
-     * Update an existing attendance group
+     * Update an existing attendance group. An If-Match header makes the write conditional (412 on a stale version).
      */
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
     public ResponseEntity<AttendanceGroupResponse> updateGroup(
             @PathVariable Long id,
             @Valid @RequestBody UpdateAttendanceGroupRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
 
         Long userId = extractUserId(authentication);
-        AttendanceGroupResponse group = service.updateGroup(id, request, userId);
-        return ResponseEntity.ok(group);
+        AttendanceGroupResponse group = service.updateGroup(id, request, userId, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(service.eTagOf(group)).body(group);
     }
 
     /**
-     * Delete an attendance group (soft delete)
+     * Delete an attendance group (soft delete). Honours If-Match like PUT.
      */
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
     public ResponseEntity<Map<String, String>> deleteGroup(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
 
         logger.info("DELETE request for attendance group id: {}", id);
@@ -104,11 +190,89 @@ public class AttendanceGroupController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        service.deleteGroup(id, userId);
+        service.deleteGroup(id, userId, EntityTags.expectedVersion(ifMatch));
         logger.info("Successfully deleted attendance group id: {}", id);
         return ResponseEntity.ok(Map.of("message", "Successfully deleted attendance group"));
     }
 
+    /**
+     * Recompute a group's member count from the user table (admin repair tool)
+     */
+    @PostMapping("/{id}/member-count/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MemberCountReconciliation> reconcileMemberCount(@PathVariable Long id) {
+        logger.info("POST request to reconcile member count of attendance group id: {}", id);
+        return ResponseEntity.ok(service.reconcileMemberCount(id));
+    }
+
+    /**
+     * Members whose attendance the group tracks, split into required and optional
+     */
+    @GetMapping("/{id}/tracked-members")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<GroupTrackingResponse> getTrackedMembers(@PathVariable Long id) {
+        return ResponseEntity.ok(memberTracking.getTrackedMembers(id));
+    }
+
+    /**
+     * The attendance group tracking a user, and whether tracking is required or optional
+     */
+    @GetMapping("/tracking/users/{userId}")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<UserTrackingResponse> getUserTracking(@PathVariable Long userId) {
+        return ResponseEntity.ok(memberTracking.getUserTracking(userId));
+    }
+
+    /**
+     * Effective schedules of several users (userIds=1,2,3) for each day from one date to another,
+     * at most a year; unknown users are left out
+     */
+    @GetMapping("/schedules")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<ScheduleResponse> getSchedules(
+            @RequestParam List<Long> userIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        Map<Long, List<ScheduledDay>> schedules = new LinkedHashMap<>();
+        scheduleResolver.resolve(multiGetLimits.distinct(userIds), from, to)
+                .forEach((userId, days) -> schedules.put(userId, List.of(days)));
+        return ResponseEntity.ok(new ScheduleResponse(from, to, schedules));
+    }
+
+    /**
+     * Rest days, special days and observed public holidays of a group from one date to another, at most a year
+     */
+    @GetMapping("/{id}/non-working-days")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<List<NonWorkingDayResponse>> getNonWorkingDays(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(scheduleResolver.nonWorkingDays(id, from, to));
+    }
+
+    /**
+     * Resolve managedBy=me to the caller's user ID; a numeric value is taken as a user ID
+     */
+    private Long resolveManagedBy(String managedBy, Authentication authentication) {
+        if (managedBy == null || managedBy.isBlank()) {
+            return null;
+        }
+        if ("me".equalsIgnoreCase(managedBy.trim())) {
+            Long userId = extractUserId(authentication);
+            if (userId == null) {
+                throw new InvalidParameterException("managedBy=me requires an authenticated user");
+            }
+            return userId;
+        }
+        try {
+            return Long.valueOf(managedBy.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidParameterException("managedBy must be 'me' or a user ID");
+        }
+    }
+
     /**
      * Helper method to extract user ID from authentication
      */
@@ -2,8 +2,14 @@ package com.example.hcms.attendancegroup.domain;
 
 import com.example.hcms.shift.domain.Shift;
 import jakarta.persistence.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Attendance Group entity - groups employees with shared attendance settings
@@ -22,8 +28,15 @@ public class AttendanceGroup {
     @Column(name = "owner_id")
     private Long ownerId;
 
+    @Convert(converter = LongListConverter.class)
     @Column(name = "sub_owner_ids", columnDefinition = "TEXT")
-    private String subOwnerIds; // JSON array of user IDs
+    private List<Long> subOwnerIds; // Stored as a JSON array of user IDs
+
+    // Normalized copy of subOwnerIds, indexed by user for "groups I manage"; kept in sync by the service
+    @ElementCollection
+    @CollectionTable(name = "attendance_group_sub_owner", joinColumns = @JoinColumn(name = "group_id"))
+    @Column(name = "user_id", nullable = false)
+    private Set<Long> subOwners = new HashSet<>();
 
     @Column(length = 50)
     private String timezone = "GMT+07:00";
@@ -76,12 +89,26 @@ public class AttendanceGroup {
     @Column(name = "sunday_shift_id")
     private Long sundayShiftId;
 
+    // Reverse index of the shift columns above, kept in sync by the service: which shift each slot uses
+    @ElementCollection
+    @CollectionTable(name = "shift_usage", joinColumns = @JoinColumn(name = "group_id"),
+            indexes = @Index(name = "idx_shift_usage_shift", columnList = "shift_id, group_id"))
+    @MapKeyEnumerated(EnumType.STRING)
+    @MapKeyColumn(name = "weekday", length = 10)
+    @Column(name = "shift_id", nullable = false)
+    private Map<ShiftSlot, Long> shiftUsage = new HashMap<>();
+
     // Schedule settings
     @Column(name = "use_public_holidays")
     private Boolean usePublicHolidays = false;
 
+    // Public holiday calendar; null means the configured default calendar
+    @Column(name = "holiday_calendar_id")
+    private Long holidayCalendarId;
+
+    @Convert(converter = LocalDateListConverter.class)
     @Column(name = "special_days", columnDefinition = "TEXT")
-    private String specialDays; // JSON array of special dates
+    private List<LocalDate> specialDays; // Stored as a JSON array of ISO dates
 
     // Attendance settings
     @Column(name = "require_photo")
@@ -114,19 +141,30 @@ public class AttendanceGroup {
     @Column(name = "allow_corrections")
     private Boolean allowCorrections = true;
 
+    @Convert(converter = CorrectionTypeSetConverter.class)
     @Column(name = "correction_types", columnDefinition = "TEXT")
-    private String correctionTypes; // JSON array: ["NO_RECORD", "LATE_IN", "EARLY_OUT", "REGULAR"]
+    private Set<CorrectionType> correctionTypes; // Stored as a JSON array: ["NO_RECORD", "LATE_IN", ...]
 
     @Enumerated(EnumType.STRING)
     @Column(columnDefinition = "VARCHAR(20)")
     private AttendanceGroupStatus status = AttendanceGroupStatus.ACTIVE;
 
+    // Users assigned to this group; changed only by atomic increments and reconciliation,
+    // never by saving the entity, so a stale copy cannot overwrite a concurrent change
+    @Column(name = "member_count", nullable = false, updatable = false)
+    private Integer memberCount = 0;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Optimistic lock; incremented on every update and exposed as the ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -163,14 +201,22 @@ public class AttendanceGroup {
         this.ownerId = ownerId;
     }
 
-    public String getSubOwnerIds() {
+    public List<Long> getSubOwnerIds() {
         return subOwnerIds;
     }
 
-    public void setSubOwnerIds(String subOwnerIds) {
+    public void setSubOwnerIds(List<Long> subOwnerIds) {
         this.subOwnerIds = subOwnerIds;
     }
 
+    public Set<Long> getSubOwners() {
+        return subOwners;
+    }
+
+    public void setSubOwners(Set<Long> subOwners) {
+        this.subOwners = subOwners;
+    }
+
     public String getTimezone() {
         return timezone;
     }
@@ -291,6 +337,30 @@ public class AttendanceGroup {
         this.sundayShiftId = sundayShiftId;
     }
 
+    /**
+     * The shift the group assigns to a slot, or null
+     */
+    public Long getShiftId(ShiftSlot slot) {
+        return switch (slot) {
+            case DEFAULT -> defaultShift != null ? defaultShift.getId() : null;
+            case MONDAY -> mondayShiftId;
+            case TUESDAY -> tuesdayShiftId;
+            case WEDNESDAY -> wednesdayShiftId;
+            case THURSDAY -> thursdayShiftId;
+            case FRIDAY -> fridayShiftId;
+            case SATURDAY -> saturdayShiftId;
+            case SUNDAY -> sundayShiftId;
+        };
+    }
+
+    public Map<ShiftSlot, Long> getShiftUsage() {
+        return shiftUsage;
+    }
+
+    public void setShiftUsage(Map<ShiftSlot, Long> shiftUsage) {
+        this.shiftUsage = shiftUsage;
+    }
+
     public Boolean getUsePublicHolidays() {
         return usePublicHolidays;
     }
@@ -299,11 +369,19 @@ public class AttendanceGroup {
         this.usePublicHolidays = usePublicHolidays;
     }
 
-    public String getSpecialDays() {
+    public Long getHolidayCalendarId() {
+        return holidayCalendarId;
+    }
+
+    public void setHolidayCalendarId(Long holidayCalendarId) {
+        this.holidayCalendarId = holidayCalendarId;
+    }
+
+    public List<LocalDate> getSpecialDays() {
         return specialDays;
     }
 
-    public void setSpecialDays(String specialDays) {
+    public void setSpecialDays(List<LocalDate> specialDays) {
         this.specialDays = specialDays;
     }
 
@@ -379,11 +457,11 @@ public class AttendanceGroup {
         this.allowCorrections = allowCorrections;
     }
 
-    public String getCorrectionTypes() {
+    public Set<CorrectionType> getCorrectionTypes() {
         return correctionTypes;
     }
 
-    public void setCorrectionTypes(String correctionTypes) {
+    public void setCorrectionTypes(Set<CorrectionType> correctionTypes) {
         this.correctionTypes = correctionTypes;
     }
 
@@ -403,6 +481,14 @@ public class AttendanceGroup {
         this.createdAt = createdAt;
     }
 
+    public Integer getMemberCount() {
+        return memberCount;
+    }
+
+    public void setMemberCount(Integer memberCount) {
+        this.memberCount = memberCount;
+    }
+
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
@@ -410,4 +496,12 @@ public class AttendanceGroup {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
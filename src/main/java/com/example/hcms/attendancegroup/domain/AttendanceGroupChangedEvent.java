@@ -0,0 +1,41 @@
+package com.example.hcms.attendancegroup.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Published when an attendance group is created, updated or deleted. Listeners re-read the group or its
+ * compiled calendar once the write has committed. Updates and deletes also carry the group's schedule
+ * from before the write, and the date the editor said the change takes effect from (null for at once),
+ * so the schedule impact can be planned.
+ */
+public class AttendanceGroupChangedEvent {
+
+    private final Long groupId;
+    private final GroupSchedule previous;
+    private final LocalDate effectiveFrom;
+
+    public AttendanceGroupChangedEvent(Long groupId) {
+        this(groupId, null, null);
+    }
+
+    public AttendanceGroupChangedEvent(Long groupId, GroupSchedule previous, LocalDate effectiveFrom) {
+        this.groupId = groupId;
+        this.previous = previous;
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    /**
+     * The schedule before the write, or null for a newly created group
+     */
+    public GroupSchedule getPrevious() {
+        return previous;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.hcms.attendancegroup.domain;
+
+/**
+ * Attendance records an employee may request a correction for
+ */
+public enum CorrectionType {
+    NO_RECORD,
+    LATE_IN,
+    EARLY_OUT,
+    REGULAR
+}
@@ -0,0 +1,47 @@
+package com.example.hcms.attendancegroup.domain;
+
+import com.example.hcms.common.repository.JsonColumnConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Stores correction types as a JSON array of names, e.g. {@code ["LATE_IN","EARLY_OUT"]}
+ */
+@Converter
+@Immutable
+public class CorrectionTypeSetConverter extends JsonColumnConverter<Set<CorrectionType>, String[]> {
+
+    public CorrectionTypeSetConverter() {
+        super(String[].class);
+    }
+
+    @Override
+    protected Set<CorrectionType> fromJson(String[] json) {
+        EnumSet<CorrectionType> types = EnumSet.noneOf(CorrectionType.class);
+        for (String value : json) {
+            try {
+                types.add(CorrectionType.valueOf(value));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                malformed(value, "unknown correction type");
+            }
+        }
+        return Collections.unmodifiableSet(types);
+    }
+
+    @Override
+    protected String[] toJson(Set<CorrectionType> value) {
+        // Declaration order, so equal sets always store the same text
+        EnumSet<CorrectionType> ordered = EnumSet.noneOf(CorrectionType.class);
+        ordered.addAll(value);
+        return ordered.stream().map(Enum::name).toArray(String[]::new);
+    }
+
+    @Override
+    protected Set<CorrectionType> empty() {
+        return Set.of();
+    }
+}
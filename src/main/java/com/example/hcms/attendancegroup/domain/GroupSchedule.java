@@ -0,0 +1,90 @@
+package com.example.hcms.attendancegroup.domain;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The parts of an attendance group that decide its members' schedules, captured at one point in time so
+ * an edit can be compared with the group as it was before. Each weekday holds its effective shift, as the
+ * schedule resolver applies it: the weekday's column, else the default shift in a SCHEDULED group, else
+ * none (a rest day). FREE groups schedule no shifts.
+ */
+public final class GroupSchedule {
+
+    private final Long groupId;
+    private final boolean active;
+    private final GroupShiftType shiftType;
+    private final String timezone;
+    private final Long[] week = new Long[7];
+    private final Set<LocalDate> specialDays;
+    private final boolean usePublicHolidays;
+    private final Long holidayCalendarId;
+
+    private GroupSchedule(AttendanceGroup group) {
+        this.groupId = group.getId();
+        this.active = group.getStatus() == AttendanceGroupStatus.ACTIVE;
+        this.shiftType = group.getShiftType();
+        this.timezone = group.getTimezone();
+        if (shiftType != GroupShiftType.FREE) {
+            Long fallback = shiftType == GroupShiftType.SCHEDULED ? group.getShiftId(ShiftSlot.DEFAULT) : null;
+            for (DayOfWeek day : DayOfWeek.values()) {
+                Long shiftId = group.getShiftId(ShiftSlot.of(day));
+                week[day.ordinal()] = shiftId != null ? shiftId : fallback;
+            }
+        }
+        Set<LocalDate> days = new HashSet<>();
+        if (group.getSpecialDays() != null) {
+            group.getSpecialDays().stream().filter(Objects::nonNull).forEach(days::add);
+        }
+        this.specialDays = Collections.unmodifiableSet(days);
+        this.usePublicHolidays = Boolean.TRUE.equals(group.getUsePublicHolidays());
+        this.holidayCalendarId = group.getHolidayCalendarId();
+    }
+
+    public static GroupSchedule of(AttendanceGroup group) {
+        return new GroupSchedule(group);
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public GroupShiftType getShiftType() {
+        return shiftType;
+    }
+
+    public String getTimezone() {
+        return timezone;
+    }
+
+    /**
+     * The shift scheduled on a weekday, or null for a rest day (or any day of a FREE group)
+     */
+    public Long shiftOn(DayOfWeek day) {
+        return week[day.ordinal()];
+    }
+
+    public boolean isSpecialDay(LocalDate date) {
+        return specialDays.contains(date);
+    }
+
+    public Set<LocalDate> getSpecialDays() {
+        return specialDays;
+    }
+
+    public boolean isUsePublicHolidays() {
+        return usePublicHolidays;
+    }
+
+    public Long getHolidayCalendarId() {
+        return holidayCalendarId;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.hcms.attendancegroup.domain;
+
+import com.example.hcms.common.repository.JsonColumnConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stores a list of dates as a JSON array of ISO strings, e.g. {@code ["2025-12-25"]}
+ */
+@Converter
+@Immutable
+public class LocalDateListConverter extends JsonColumnConverter<List<LocalDate>, String[]> {
+
+    public LocalDateListConverter() {
+        super(String[].class);
+    }
+
+    @Override
+    protected List<LocalDate> fromJson(String[] json) {
+        List<LocalDate> dates = new ArrayList<>(json.length);
+        for (String value : json) {
+            try {
+                dates.add(LocalDate.parse(value));
+            } catch (DateTimeParseException | NullPointerException e) {
+                malformed(value, "not an ISO date");
+            }
+        }
+        return Collections.unmodifiableList(dates);
+    }
+
+    @Override
+    protected String[] toJson(List<LocalDate> value) {
+        return value.stream().map(LocalDate::toString).toArray(String[]::new);
+    }
+
+    @Override
+    protected List<LocalDate> empty() {
+        return List.of();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.hcms.attendancegroup.domain;
+
+import com.example.hcms.common.repository.JsonColumnConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stores a list of IDs as a JSON array of numbers, e.g. {@code [12,40]}
+ */
+@Converter
+@Immutable
+public class LongListConverter extends JsonColumnConverter<List<Long>, long[]> {
+
+    public LongListConverter() {
+        super(long[].class);
+    }
+
+    @Override
+    protected List<Long> fromJson(long[] json) {
+        return Arrays.stream(json).boxed().toList();
+    }
+
+    @Override
+    protected long[] toJson(List<Long> value) {
+        return value.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    @Override
+    protected List<Long> empty() {
+        return List.of();
+    }
+}
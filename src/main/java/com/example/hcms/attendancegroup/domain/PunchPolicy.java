@@ -0,0 +1,58 @@
+package com.example.hcms.attendancegroup.domain;
+
+import java.time.ZoneId;
+
+/**
+ * What an attendance group requires of its members' punches and whether it records their overtime,
+ * compiled with the group's calendar so punches are validated and days computed without reading the group
+ */
+public final class PunchPolicy {
+
+    /**
+     * Policy of a user without an active attendance group
+     */
+    public static final PunchPolicy NO_GROUP = new PunchPolicy(null, ZoneId.of("GMT+07:00"), false, false, false,
+            false);
+
+    private final Long groupId;
+    private final ZoneId zone;
+    private final boolean requirePhoto;
+    private final boolean allowOffsite;
+    private final boolean recordOvertime;
+    // Whether work on a non-working day waits for approval before it counts as overtime
+    private final boolean nonWorkingDayApproval;
+
+    public PunchPolicy(Long groupId, ZoneId zone, boolean requirePhoto, boolean allowOffsite,
+            boolean recordOvertime, boolean nonWorkingDayApproval) {
+        this.groupId = groupId;
+        this.zone = zone;
+        this.requirePhoto = requirePhoto;
+        this.allowOffsite = allowOffsite;
+        this.recordOvertime = recordOvertime;
+        this.nonWorkingDayApproval = nonWorkingDayApproval;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    public boolean isRequirePhoto() {
+        return requirePhoto;
+    }
+
+    public boolean isAllowOffsite() {
+        return allowOffsite;
+    }
+
+    public boolean isRecordOvertime() {
+        return recordOvertime;
+    }
+
+    public boolean isNonWorkingDayApproval() {
+        return nonWorkingDayApproval;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.hcms.attendancegroup.domain;
+
+/**
+ * What a member's attendance group schedules for them on a date
+ */
+public enum ScheduleDayType {
+    WORKING, // A working-day shift applies
+    REST, // The weekday has no active shift, or its shift is an off-days shift
+    SPECIAL_DAY, // One of the group's special days; no clock-in is expected
+    PUBLIC_HOLIDAY, // A holiday of the group's holiday calendar, if the group observes public holidays
+    FREE, // Free group: clock in/out any time with no shift
+    UNASSIGNED // The user is in no active attendance group
+}
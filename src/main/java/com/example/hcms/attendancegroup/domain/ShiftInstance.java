@@ -0,0 +1,106 @@
+package com.example.hcms.attendancegroup.domain;
+
+import com.example.hcms.shift.domain.ShiftSnapshot;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * One scheduled occurrence of a shift: the shift a group schedules on a date, placed on the absolute
+ * timeline in the group's time zone. Times are epoch seconds. The punch window runs from
+ * {@code clockInEarlyMinutes} before the start to {@code clockOutLateMinutes} after the end, both
+ * inclusive, matching the windows of {@link com.example.hcms.shift.domain.ShiftRules}.
+ */
+public final class ShiftInstance {
+
+    private final Long groupId;
+    private final LocalDate date;
+    private final ShiftSnapshot shift;
+    private final long start;
+    private final long end;
+    private final long opens;
+    private final long closes;
+
+    public ShiftInstance(Long groupId, LocalDate date, ShiftSnapshot shift, ZoneId zone) {
+        this.groupId = groupId;
+        this.date = date;
+        this.shift = shift;
+        this.start = date.atTime(shift.getStartTime()).atZone(zone).toEpochSecond();
+        LocalDate endDate = Boolean.TRUE.equals(shift.getIsNextDayEnd()) ? date.plusDays(1) : date;
+        this.end = endDate.atTime(shift.getEndTime()).atZone(zone).toEpochSecond();
+        this.opens = start - minutes(shift.getClockInEarlyMinutes(), 60) * 60L;
+        this.closes = end + minutes(shift.getClockOutLateMinutes(), 480) * 60L;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public ShiftSnapshot getShift() {
+        return shift;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public long getOpens() {
+        return opens;
+    }
+
+    public long getCloses() {
+        return closes;
+    }
+
+    /**
+     * Epoch second the shift's rules count from: the start less the start's time of day, so the rules'
+     * boundaries line up with this instance even on a daylight saving change
+     */
+    public long getDayStart() {
+        return start - shift.getStartTime().toSecondOfDay();
+    }
+
+    public boolean accepts(long epochSecond) {
+        return epochSecond >= opens && epochSecond <= closes;
+    }
+
+    /**
+     * Seconds from a time to the scheduled span: 0 inside it, otherwise to the start or end
+     */
+    public long distance(long epochSecond) {
+        if (epochSecond < start) {
+            return start - epochSecond;
+        }
+        return epochSecond < end ? 0 : epochSecond - end;
+    }
+
+    /**
+     * Classify this instance's punches with its shift's compiled rules
+     *
+     * @see com.example.hcms.shift.domain.ShiftRules#classify(long, long, long)
+     */
+    public int classify(long clockIn, long clockOut) {
+        return shift.getRules().classify(getDayStart(), clockIn, clockOut);
+    }
+
+    /**
+     * Seconds this instance's clock-out falls after its expected end
+     *
+     * @see com.example.hcms.shift.domain.ShiftRules#overtime(long, long, long)
+     */
+    public long overtime(long clockIn, long clockOut) {
+        return shift.getRules().overtime(getDayStart(), clockIn, clockOut);
+    }
+
+    private static int minutes(Integer value, int defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
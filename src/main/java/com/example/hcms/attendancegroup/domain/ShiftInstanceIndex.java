@@ -0,0 +1,89 @@
+package com.example.hcms.attendancegroup.domain;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable interval index over one user's shift instances, sorted by the opening of their punch
+ * windows. Alongside the openings it keeps, per position, the latest closing up to that position, so a
+ * lookup is a binary search for the last window opened by the time, then a walk back over the windows
+ * that can still be open. Windows are at most a shift plus nine hours long and one shift is scheduled per
+ * day, so at most three overlap and a lookup is O(log n). Lookups allocate nothing.
+ *
+ * When several windows accept a time, the instance whose scheduled span is nearest wins (a time inside a
+ * span is at distance 0); on equal distance the earlier instance wins, so matching is deterministic.
+ */
+public final class ShiftInstanceIndex {
+
+    public static final ShiftInstanceIndex EMPTY = new ShiftInstanceIndex(List.of());
+
+    private static final Comparator<ShiftInstance> BY_OPENING = Comparator.comparingLong(ShiftInstance::getOpens)
+            .thenComparingLong(ShiftInstance::getStart);
+
+    private final ShiftInstance[] instances;
+    private final long[] opens;
+    // Latest closing among instances[0..i]
+    private final long[] reach;
+
+    public ShiftInstanceIndex(List<ShiftInstance> instances) {
+        this.instances = instances.toArray(new ShiftInstance[0]);
+        Arrays.sort(this.instances, BY_OPENING);
+        this.opens = new long[this.instances.length];
+        this.reach = new long[this.instances.length];
+        long latest = Long.MIN_VALUE;
+        for (int i = 0; i < this.instances.length; i++) {
+            opens[i] = this.instances[i].getOpens();
+            latest = Math.max(latest, this.instances[i].getCloses());
+            reach[i] = latest;
+        }
+    }
+
+    /**
+     * The instance a punch at an epoch second belongs to, or null if no window accepts it
+     */
+    public ShiftInstance match(long epochSecond) {
+        // Last position whose window has opened
+        int low = 0;
+        int high = opens.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (opens[mid] <= epochSecond) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        ShiftInstance best = null;
+        long bestDistance = Long.MAX_VALUE;
+        for (int i = high; i >= 0 && reach[i] >= epochSecond; i--) {
+            ShiftInstance candidate = instances[i];
+            if (candidate.getCloses() < epochSecond) {
+                continue;
+            }
+            long distance = candidate.distance(epochSecond);
+            if (distance < bestDistance
+                    || distance == bestDistance && candidate.getStart() < best.getStart()) {
+                best = candidate;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    public ShiftInstance match(Instant punch) {
+        return match(punch.getEpochSecond());
+    }
+
+    /**
+     * The indexed instances in window opening order
+     */
+    public List<ShiftInstance> instances() {
+        return List.of(instances);
+    }
+
+    public int size() {
+        return instances.length;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.hcms.attendancegroup.domain;
+
+import java.time.DayOfWeek;
+
+/**
+ * Where an attendance group refers to a shift: its default shift or one of its weekday columns
+ */
+public enum ShiftSlot {
+    DEFAULT,
+    MONDAY,
+    TUESDAY,
+    WEDNESDAY,
+    THURSDAY,
+    FRIDAY,
+    SATURDAY,
+    SUNDAY;
+
+    public static ShiftSlot of(DayOfWeek day) {
+        return values()[day.getValue()];
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.hcms.attendancegroup.domain;
+
+import com.example.hcms.auth.domain.UserDimension;
+
+/**
+ * User attributes a member tracking condition can refer to, by their key in the condition JSON
+ */
+public enum TrackedAttribute {
+    DEPARTMENT("department", UserDimension.DEPARTMENT),
+    COUNTRY("country", UserDimension.COUNTRY),
+    CITY("city", UserDimension.CITY),
+    WORKFORCE_TYPE("workforceType", UserDimension.WORKFORCE_TYPE),
+    JOB_TITLE("jobTitle", UserDimension.JOB_TITLE);
+
+    private final String key;
+    private final UserDimension dimension;
+
+    TrackedAttribute(String key, UserDimension dimension) {
+        this.key = key;
+        this.dimension = dimension;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * The user membership index dimension holding this attribute
+     */
+    public UserDimension getDimension() {
+        return dimension;
+    }
+
+    /**
+     * @return the attribute with this JSON key, or null if there is none
+     */
+    public static TrackedAttribute fromKey(String key) {
+        for (TrackedAttribute attribute : values()) {
+            if (attribute.key.equals(key)) {
+                return attribute;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Canonical form values are indexed and compared in, the same as the user membership index
+     *
+     * @return the normalized value, or null for a missing or blank value
+     */
+    public static String normalize(Object value) {
+        return UserDimension.normalize(value);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.hcms.attendancegroup.domain;
+
+/**
+ * Whether a member's attendance is tracked by their group
+ */
+public enum TrackingLevel {
+    REQUIRED, // Matches the group's required tracking
+    OPTIONAL, // Matches only the group's optional tracking
+    NONE // Not tracked
+}
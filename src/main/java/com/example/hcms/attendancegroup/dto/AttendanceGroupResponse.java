@@ -39,6 +39,7 @@ public class AttendanceGroupResponse {
 
     // Schedule settings
     private Boolean usePublicHolidays;
+    private Long holidayCalendarId;
     private List<String> specialDays;
 
     // Attendance settings
@@ -57,6 +58,7 @@ public class AttendanceGroupResponse {
     private AttendanceGroupStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     // Computed fields for list view
     private Integer memberCount;
@@ -238,6 +240,14 @@ public class AttendanceGroupResponse {
         this.usePublicHolidays = usePublicHolidays;
     }
 
+    public Long getHolidayCalendarId() {
+        return holidayCalendarId;
+    }
+
+    public void setHolidayCalendarId(Long holidayCalendarId) {
+        this.holidayCalendarId = holidayCalendarId;
+    }
+
     public List<String> getSpecialDays() {
         return specialDays;
     }
@@ -350,6 +360,14 @@ public class AttendanceGroupResponse {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Integer getMemberCount() {
         return memberCount;
     }
@@ -2,6 +2,7 @@ package com.example.hcms.attendancegroup.dto;
 
 import com.example.hcms.attendancegroup.domain.*;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import java.util.List;
 
@@ -40,7 +41,8 @@ public class CreateAttendanceGroupRequest {
 
     // Schedule settings
     private Boolean usePublicHolidays;
-    private List<String> specialDays;
+    private Long holidayCalendarId;
+    private List<@Pattern(regexp = "\\d{4}-\\d{2}-\\d{2}", message = "Special days must be yyyy-MM-dd dates") String> specialDays;
 
     // Attendance settings
     private Boolean requirePhoto;
@@ -52,7 +54,7 @@ public class CreateAttendanceGroupRequest {
     private Boolean nonWorkingDayApproval;
     private String nonWorkingDayResetTime; // HH:mm format
     private Boolean allowCorrections;
-    private List<String> correctionTypes;
+    private List<@Pattern(regexp = "NO_RECORD|LATE_IN|EARLY_OUT|REGULAR", message = "Unknown correction type") String> correctionTypes;
 
     // Getters and Setters
     public String getName() {
@@ -207,6 +209,14 @@ public class CreateAttendanceGroupRequest {
         this.usePublicHolidays = usePublicHolidays;
     }
 
+    public Long getHolidayCalendarId() {
+        return holidayCalendarId;
+    }
+
+    public void setHolidayCalendarId(Long holidayCalendarId) {
+        this.holidayCalendarId = holidayCalendarId;
+    }
+
     public List<String> getSpecialDays() {
         return specialDays;
     }
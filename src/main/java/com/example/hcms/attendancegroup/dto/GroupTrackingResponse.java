@@ -0,0 +1,38 @@
+package com.example.hcms.attendancegroup.dto;
+
+import java.util.List;
+
+/**
+ * Members of a group whose attendance is tracked, as of the given group version
+ */
+public class GroupTrackingResponse {
+
+    private Long groupId;
+    private Long version;
+    private List<Long> requiredUserIds;
+    private List<Long> optionalUserIds;
+
+    public GroupTrackingResponse(Long groupId, Long version, List<Long> requiredUserIds,
+            List<Long> optionalUserIds) {
+        this.groupId = groupId;
+        this.version = version;
+        this.requiredUserIds = requiredUserIds;
+        this.optionalUserIds = optionalUserIds;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public List<Long> getRequiredUserIds() {
+        return requiredUserIds;
+    }
+
+    public List<Long> getOptionalUserIds() {
+        return optionalUserIds;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.hcms.attendancegroup.dto;
+
+/**
+ * Result of reconciling one group's stored member count with the user table
+ */
+public class MemberCountReconciliation {
+
+    private Long groupId;
+    private int storedCount;
+    private int actualCount;
+
+    public MemberCountReconciliation(Long groupId, int storedCount, int actualCount) {
+        this.groupId = groupId;
+        this.storedCount = storedCount;
+        this.actualCount = actualCount;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public int getStoredCount() {
+        return storedCount;
+    }
+
+    public int getActualCount() {
+        return actualCount;
+    }
+
+    public boolean isRepaired() {
+        return storedCount != actualCount;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.hcms.attendancegroup.dto;
+
+import com.example.hcms.attendancegroup.domain.ScheduleDayType;
+
+import java.time.LocalDate;
+
+/**
+ * A day on which a group schedules no work: a rest day, special day or public holiday
+ */
+public class NonWorkingDayResponse {
+
+    private LocalDate date;
+    private ScheduleDayType type;
+
+    public NonWorkingDayResponse(LocalDate date, ScheduleDayType type) {
+        this.date = date;
+        this.type = type;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public ScheduleDayType getType() {
+        return type;
+    }
+}
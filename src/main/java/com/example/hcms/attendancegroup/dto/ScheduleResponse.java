@@ -0,0 +1,34 @@
+package com.example.hcms.attendancegroup.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Effective schedules of several users over a date range; each user's list has one entry per day from
+ * {@code from} to {@code to}. Users that do not exist are left out.
+ */
+public class ScheduleResponse {
+
+    private LocalDate from;
+    private LocalDate to;
+    private Map<Long, List<ScheduledDay>> schedules;
+
+    public ScheduleResponse(LocalDate from, LocalDate to, Map<Long, List<ScheduledDay>> schedules) {
+        this.from = from;
+        this.to = to;
+        this.schedules = schedules;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public Map<Long, List<ScheduledDay>> getSchedules() {
+        return schedules;
+    }
+}
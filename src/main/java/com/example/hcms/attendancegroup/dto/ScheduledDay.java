@@ -0,0 +1,58 @@
+package com.example.hcms.attendancegroup.dto;
+
+import com.example.hcms.attendancegroup.domain.ScheduleDayType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalTime;
+
+/**
+ * The shift a group schedules on one day. Instances are immutable and shared by every member
+ * and date the same entry of the compiled calendar applies to.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public final class ScheduledDay {
+
+    public static final ScheduledDay UNASSIGNED = new ScheduledDay(null, ScheduleDayType.UNASSIGNED, null, null,
+            null, false);
+
+    private final Long groupId;
+    private final ScheduleDayType type;
+    private final Long shiftId;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final boolean nextDayEnd;
+
+    public ScheduledDay(Long groupId, ScheduleDayType type, Long shiftId, LocalTime startTime, LocalTime endTime,
+            boolean nextDayEnd) {
+        this.groupId = groupId;
+        this.type = type;
+        this.shiftId = shiftId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.nextDayEnd = nextDayEnd;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public ScheduleDayType getType() {
+        return type;
+    }
+
+    public Long getShiftId() {
+        return shiftId;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public boolean isNextDayEnd() {
+        return nextDayEnd;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.hcms.attendancegroup.dto;
 
+import java.time.LocalDate;
+
 /**
  * Request DTO for updating an AttendanceGroup
  * Extends CreateAttendanceGroupRequest to inherit all fields
@@ -7,4 +9,16 @@ package com.example.hcms.attendancegroup.dto;
 public class UpdateAttendanceGroupRequest extends CreateAttendanceGroupRequest {
     // All fields inherited from CreateAttendanceGroupRequest
     // Update can modify any field
+
+    // First date the edit applies to (yyyy-MM-dd); results of earlier dates are not recomputed.
+    // Omitted: the edit applies to every date still open for recomputation.
+    private LocalDate effectiveFrom;
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
 }
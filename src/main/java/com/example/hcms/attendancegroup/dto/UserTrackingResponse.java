@@ -0,0 +1,31 @@
+package com.example.hcms.attendancegroup.dto;
+
+import com.example.hcms.attendancegroup.domain.TrackingLevel;
+
+/**
+ * Which attendance group tracks a user, and how
+ */
+public class UserTrackingResponse {
+
+    private Long userId;
+    private Long attendanceGroupId;
+    private TrackingLevel tracking;
+
+    public UserTrackingResponse(Long userId, Long attendanceGroupId, TrackingLevel tracking) {
+        this.userId = userId;
+        this.attendanceGroupId = attendanceGroupId;
+        this.tracking = tracking;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+
+    public TrackingLevel getTracking() {
+        return tracking;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.hcms.attendancegroup.exception;
+
+/**
+ * Exception thrown when member tracking conditions cannot be compiled
+ */
+public class InvalidTrackingConditionException extends RuntimeException {
+    public InvalidTrackingConditionException(String message) {
+        super(message);
+    }
+}
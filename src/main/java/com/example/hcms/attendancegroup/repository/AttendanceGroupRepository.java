@@ -2,37 +2,69 @@ package com.example.hcms.attendancegroup.repository;
 
 import com.example.hcms.attendancegroup.domain.AttendanceGroup;
 import com.example.hcms.attendancegroup.domain.AttendanceGroupStatus;
+import com.example.hcms.attendancegroup.domain.ShiftSlot;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository for AttendanceGroup entities
  */
 @Repository
-public interface AttendanceGroupRepository extends JpaRepository<AttendanceGroup, Long> {
+public interface AttendanceGroupRepository extends JpaRepository<AttendanceGroup, Long>,
+        JpaSpecificationExecutor<AttendanceGroup> {
 
     /**
-     * Find all groups by status with pagination
+     * Just the columns a strong ETag is built from
      */
-    Page<AttendanceGroup> findByStatus(AttendanceGroupStatus status, Pageable pageable);
+    interface ValidatorView {
+        Long getVersion();
+
+        LocalDateTime getUpdatedAt();
+    }
 
     /**
-     * Find groups by status and name containing (case-insensitive)
+     * Read the validator of a group without loading the entity
      */
-    Page<AttendanceGroup> findByStatusAndNameContainingIgnoreCase(
-            AttendanceGroupStatus status,
-            String name,
-            Pageable pageable);
+    Optional<ValidatorView> findValidatorByIdAndStatus(Long id, AttendanceGroupStatus status);
 
     /**
-     * Find a group by ID and status
+     * Find a page of groups matching the filter, with their default shift in the same query
      */
+    @Override
+    @EntityGraph(attributePaths = "defaultShift")
+    Page<AttendanceGroup> findAll(Specification<AttendanceGroup> spec, Pageable pageable);
+
+    /**
+     * Find a group by ID and status, with its default shift
+     */
+    @EntityGraph(attributePaths = "defaultShift")
     Optional<AttendanceGroup> findByIdAndStatus(Long id, AttendanceGroupStatus status);
 
+    /**
+     * Find several groups by ID and status, with their default shift in the same query
+     */
+    @EntityGraph(attributePaths = "defaultShift")
+    List<AttendanceGroup> findByIdInAndStatus(Collection<Long> ids, AttendanceGroupStatus status);
+
+    /**
+     * The IDs of all groups in a status, in ID order
+     */
+    @Query("SELECT g.id FROM AttendanceGroup g WHERE g.status = :status ORDER BY g.id")
+    List<Long> findIdsByStatus(@Param("status") AttendanceGroupStatus status);
+
     /**
      * Check if a group exists by name (for uniqueness validation)
      */
@@ -43,4 +75,65 @@ public interface AttendanceGroupRepository extends JpaRepository<AttendanceGroup
      * validation)
      */
     boolean existsByNameIgnoreCaseAndIdNot(String name, Long id);
+
+    /**
+     * Apply a membership delta to a group's member count
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE AttendanceGroup g SET g.memberCount = g.memberCount + :delta WHERE g.id = :id")
+    int adjustMemberCount(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * Find groups whose stored member count differs from the user table
+     */
+    @Query("SELECT g.id FROM AttendanceGroup g WHERE g.memberCount <> "
+            + "(SELECT COUNT(u) FROM User u WHERE u.attendanceGroupId = g.id)")
+    List<Long> findIdsWithMemberCountDrift();
+
+    /**
+     * Recompute a group's member count from the user table
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AttendanceGroup g SET g.memberCount = "
+            + "(SELECT COUNT(u) FROM User u WHERE u.attendanceGroupId = g.id) WHERE g.id = :id")
+    int recountMembers(@Param("id") Long id);
+
+    /**
+     * One slot in which a group uses a shift
+     */
+    interface ShiftUsageView {
+        Long getGroupId();
+
+        String getGroupName();
+
+        ShiftSlot getSlot();
+    }
+
+    /**
+     * Read the slots in which groups with the given status use a shift, through the shift usage index
+     *
+     * @param shiftId the shift ID
+     * @param status  the group status
+     * @return one view per group and slot, ordered by group name
+     */
+    @Query("SELECT g.id AS groupId, g.name AS groupName, KEY(u) AS slot FROM AttendanceGroup g "
+            + "JOIN g.shiftUsage u WHERE VALUE(u) = :shiftId AND g.status = :status ORDER BY g.name, g.id")
+    List<ShiftUsageView> findShiftUsage(@Param("shiftId") Long shiftId,
+            @Param("status") AttendanceGroupStatus status);
+
+    /**
+     * Check whether any group with the given status uses a shift
+     */
+    @Query("SELECT COUNT(g) > 0 FROM AttendanceGroup g JOIN g.shiftUsage u "
+            + "WHERE VALUE(u) = :shiftId AND g.status = :status")
+    boolean existsByShiftUsage(@Param("shiftId") Long shiftId, @Param("status") AttendanceGroupStatus status);
+
+    /**
+     * Find every group, of any status, that uses one of the given shifts
+     *
+     * @param shiftIds shift IDs
+     * @return distinct group IDs
+     */
+    @Query("SELECT DISTINCT g.id FROM AttendanceGroup g JOIN g.shiftUsage u WHERE VALUE(u) IN :shiftIds")
+    List<Long> findIdsByShiftUsage(@Param("shiftIds") Collection<Long> shiftIds);
 }
@@ -4,10 +4,15 @@ import com.example.hcms.attendancegroup.domain.AttendanceGroup;
 import com.example.hcms.attendancegroup.domain.AttendanceGroupStatus;
 import com.example.hcms.attendancegroup.dto.AttendanceGroupResponse;
 import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.dto.MemberCountReconciliation;
 import com.example.hcms.attendancegroup.dto.UpdateAttendanceGroupRequest;
+import com.example.hcms.common.web.FieldSet;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * Service interface for AttendanceGroup operations
  */
@@ -15,14 +20,49 @@ public interface AttendanceGroupService {
 
     /**
      * Get all attendance groups with optional search
+     *
+     * @param managedBy if set, only groups listing this user as a sub-owner
      */
-    Page<AttendanceGroupResponse> getAllGroups(String search, AttendanceGroupStatus status, Pageable pageable);
+    Page<AttendanceGroupResponse> getAllGroups(String search, AttendanceGroupStatus status, Long managedBy,
+            Pageable pageable);
 
     /**
      * Get a single group by ID
      */
     AttendanceGroup getGroupById(Long id);
 
+    /**
+     * Parse a fields= selection for attendance groups
+     *
+     * @return the selection, or null for the full representation
+     */
+    FieldSet selectFields(String fields);
+
+    /**
+     * Get groups with the same filtering as {@link #getAllGroups}, reading only the selected columns
+     */
+    Page<Map<String, Object>> getAllGroups(String search, AttendanceGroupStatus status, Long managedBy,
+            Pageable pageable, FieldSet fields);
+
+    /**
+     * Get the selected fields of a single active group
+     */
+    Map<String, Object> getGroupFields(Long id, FieldSet fields);
+
+    /**
+     * Get several active groups with one IN query
+     *
+     * @return responses by ID; unknown or inactive IDs are absent
+     */
+    Map<Long, AttendanceGroupResponse> getGroupsByIds(Collection<Long> ids);
+
+    /**
+     * Get the selected fields of several active groups with one IN query
+     *
+     * @return rows by ID; unknown or inactive IDs are absent
+     */
+    Map<Long, Map<String, Object>> getGroupFieldsByIds(Collection<Long> ids, FieldSet fields);
+
     /**
      * Create a new attendance group
      */
@@ -30,13 +70,65 @@ public interface AttendanceGroupService {
 
     /**
      * Update an existing attendance group
+     *
+     * @param expectedVersion version from If-Match, or null for an unconditional update
      */
-    AttendanceGroupResponse updateGroup(Long id, UpdateAttendanceGroupRequest request, Long userId);
+    AttendanceGroupResponse updateGroup(Long id, UpdateAttendanceGroupRequest request, Long userId,
+            Long expectedVersion);
 
     /**
      * Delete (soft delete) an attendance group
+     *
+     * @param expectedVersion version from If-Match, or null for an unconditional delete
+     */
+    void deleteGroup(Long id, Long userId, Long expectedVersion);
+
+    /**
+     * Current ETag of a group, read from its version and updatedAt only
+     *
+     * @return the ETag, or null if no active group has this ID
+     */
+    String getGroupETag(Long id);
+
+    /**
+     * Current ETag of a group list query, derived from the in-memory table watermarks
+     *
+     * @param fields the sparse fieldset, or null for the full representation
+     */
+    String getGroupsETag(String search, AttendanceGroupStatus status, Long managedBy, Pageable pageable,
+            FieldSet fields);
+
+    /**
+     * ETag of a group representation
+     */
+    String eTagOf(AttendanceGroupResponse group);
+
+    /**
+     * Keep member counts in step with a user's group assignment; runs in the caller's transaction
+     *
+     * @param previousGroupId the user's group before the change, or null
+     * @param groupId         the user's group after the change, or null
+     */
+    void updateMemberCounts(Long previousGroupId, Long groupId);
+
+    /**
+     * Apply a membership delta to one group, for bulk reassignments
+     */
+    void adjustMemberCount(Long groupId, int delta);
+
+    /**
+     * Recompute one group's member count from the user table
+     *
+     * @return the stored and recomputed counts
+     */
+    MemberCountReconciliation reconcileMemberCount(Long id);
+
+    /**
+     * Find and repair every group whose member count has drifted
+     *
+     * @return the number of groups repaired
      */
-    void deleteGroup(Long id, Long userId);
+    int reconcileMemberCounts();
 
     /**
      * Convert entity to response DTO
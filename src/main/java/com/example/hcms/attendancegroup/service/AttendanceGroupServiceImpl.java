@@ -4,20 +4,43 @@ import com.example.hcms.attendancegroup.domain.*;
 import com.example.hcms.attendancegroup.dto.*;
 import com.example.hcms.attendancegroup.repository.AttendanceGroupRepository;
 import com.example.hcms.auth.repository.UserRepository;
-import com.example.hcms.shift.domain.Shift;
+import com.example.hcms.common.exception.PreconditionFailedException;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.EntityTags;
+import com.example.hcms.common.web.FieldSet;
+import com.example.hcms.common.web.ResponseFields;
+import com.example.hcms.holiday.exception.HolidayCalendarNotFoundException;
+import com.example.hcms.holiday.repository.HolidayCalendarRepository;
+import com.example.hcms.shift.domain.ShiftSnapshot;
 import com.example.hcms.shift.repository.ShiftRepository;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.hcms.shift.service.ShiftCatalog;
+import org.hibernate.Hibernate;
+import jakarta.persistence.criteria.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Implementation of AttendanceGroupService
@@ -30,33 +53,39 @@ public class AttendanceGroupServiceImpl implements AttendanceGroupService {
 
     private final AttendanceGroupRepository repository;
     private final ShiftRepository shiftRepository;
+    private final ShiftCatalog shiftCatalog;
     private final UserRepository userRepository;
-    private final ObjectMapper objectMapper;
+    private final HolidayCalendarRepository holidayCalendarRepository;
+    private final ChangeWatermarks watermarks;
+    private final SparseQueries sparseQueries;
+    private final ResponseFields<AttendanceGroup> fields;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AttendanceGroupServiceImpl(
             AttendanceGroupRepository repository,
             ShiftRepository shiftRepository,
+            ShiftCatalog shiftCatalog,
             UserRepository userRepository,
-            ObjectMapper objectMapper) {
+            HolidayCalendarRepository holidayCalendarRepository,
+            ChangeWatermarks watermarks,
+            SparseQueries sparseQueries,
+            ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
         this.shiftRepository = shiftRepository;
+        this.shiftCatalog = shiftCatalog;
         this.userRepository = userRepository;
-        this.objectMapper = objectMapper;
+        this.holidayCalendarRepository = holidayCalendarRepository;
+        this.watermarks = watermarks;
+        this.sparseQueries = sparseQueries;
+        this.fields = buildFields();
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<AttendanceGroupResponse> getAllGroups(String search, AttendanceGroupStatus status, Pageable pageable) {
-        AttendanceGroupStatus effectiveStatus = status != null ? status : AttendanceGroupStatus.ACTIVE;
-
-        Page<AttendanceGroup> groups;
-        if (search != null && !search.trim().isEmpty()) {
-            groups = repository.findByStatusAndNameContainingIgnoreCase(effectiveStatus, search.trim(), pageable);
-        } else {
-            groups = repository.findByStatus(effectiveStatus, pageable);
-        }
-
-        return groups.map(this::toResponse);
+    public Page<AttendanceGroupResponse> getAllGroups(String search, AttendanceGroupStatus status, Long managedBy,
+            Pageable pageable) {
+        return repository.findAll(listFilter(search, status, managedBy), pageable).map(this::toResponse);
     }
 
     @Override
@@ -66,6 +95,65 @@ public class AttendanceGroupServiceImpl implements AttendanceGroupService {
                 .orElseThrow(() -> new RuntimeException("Attendance group not found: " + id));
     }
 
+    @Override
+    public FieldSet selectFields(String fields) {
+        return this.fields.select(fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllGroups(String search, AttendanceGroupStatus status, Long managedBy,
+            Pageable pageable, FieldSet fields) {
+        return sparseQueries.findPage(this.fields, fields, listFilter(search, status, managedBy), pageable);
+    }
+
+    /**
+     * Filter shared by the full and sparse list queries. managedBy joins the sub-owner table on its
+     * (user_id, group_id) index, so "groups I manage" is a single indexed join.
+     */
+    private static Specification<AttendanceGroup> listFilter(String search, AttendanceGroupStatus status,
+            Long managedBy) {
+        AttendanceGroupStatus effectiveStatus = status != null ? status : AttendanceGroupStatus.ACTIVE;
+        String pattern = search != null && !search.trim().isEmpty() ? "%" + search.trim().toLowerCase() + "%" : null;
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("status"), effectiveStatus));
+            if (pattern != null) {
+                predicates.add(cb.like(cb.lower(root.get("name")), pattern));
+            }
+            if (managedBy != null) {
+                predicates.add(cb.equal(root.join("subOwners"), managedBy));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getGroupFields(Long id, FieldSet fields) {
+        return sparseQueries.findOne(this.fields, fields, (root, query, cb) -> cb.and(
+                cb.equal(root.get("id"), id),
+                cb.equal(root.get("status"), AttendanceGroupStatus.ACTIVE)))
+                .orElseThrow(() -> new RuntimeException("Attendance group not found: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, AttendanceGroupResponse> getGroupsByIds(Collection<Long> ids) {
+        Map<Long, AttendanceGroupResponse> responses = new HashMap<>();
+        for (AttendanceGroup group : repository.findByIdInAndStatus(ids, AttendanceGroupStatus.ACTIVE)) {
+            responses.put(group.getId(), toResponse(group));
+        }
+        return responses;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Map<String, Object>> getGroupFieldsByIds(Collection<Long> ids, FieldSet fields) {
+        return sparseQueries.findAllById(this.fields, fields, ids,
+                (root, query, cb) -> cb.equal(root.get("status"), AttendanceGroupStatus.ACTIVE));
+    }
+
     @Override
     public AttendanceGroupResponse createGroup(CreateAttendanceGroupRequest request, Long userId) {
         logger.info("Creating attendance group: {} by user: {}", request.getName(), userId);
@@ -87,22 +175,26 @@ public class AttendanceGroupServiceImpl implements AttendanceGroupService {
 
         // Set default shift if specified
         if (defaultShiftId != null) {
-            Shift shift = shiftRepository.findById(defaultShiftId)
-                    .orElseThrow(() -> new RuntimeException("Shift not found: " + defaultShiftId));
-            group.setDefaultShift(shift);
+            setDefaultShift(group, defaultShiftId);
         }
+        syncShiftUsage(group);
 
         AttendanceGroup saved = repository.save(group);
+        watermarks.bump(ChangeWatermarks.ATTENDANCE_GROUPS);
+        eventPublisher.publishEvent(new AttendanceGroupChangedEvent(saved.getId()));
         logger.info("Created attendance group with ID: {}", saved.getId());
 
         return toResponse(saved);
     }
 
     @Override
-    public AttendanceGroupResponse updateGroup(Long id, UpdateAttendanceGroupRequest request, Long userId) {
+    public AttendanceGroupResponse updateGroup(Long id, UpdateAttendanceGroupRequest request, Long userId,
+            Long expectedVersion) {
         logger.info("Updating attendance group: {} by user: {}", id, userId);
 
         AttendanceGroup group = getGroupById(id);
+        checkVersion(group, expectedVersion);
+        GroupSchedule previous = GroupSchedule.of(group);
 
         Long defaultShiftId = request.getDefaultShiftId();
 
@@ -116,30 +208,82 @@ public class AttendanceGroupServiceImpl implements AttendanceGroupService {
 
         // Update default shift if specified
         if (defaultShiftId != null) {
-            Shift shift = shiftRepository.findById(defaultShiftId)
-                    .orElseThrow(() -> new RuntimeException("Shift not found: " + defaultShiftId));
-            group.setDefaultShift(shift);
+            setDefaultShift(group, defaultShiftId);
         } else {
             group.setDefaultShift(null);
         }
+        syncShiftUsage(group);
 
-        AttendanceGroup saved = repository.save(group);
+        // Flush so the versioned UPDATE runs now and the response carries the new version
+        AttendanceGroup saved = repository.saveAndFlush(group);
+        watermarks.bump(ChangeWatermarks.ATTENDANCE_GROUPS);
+        eventPublisher.publishEvent(
+                new AttendanceGroupChangedEvent(saved.getId(), previous, request.getEffectiveFrom()));
         logger.info("Updated attendance group: {}", saved.getId());
 
         return toResponse(saved);
     }
 
     @Override
-    public void deleteGroup(Long id, Long userId) {
+    public void deleteGroup(Long id, Long userId, Long expectedVersion) {
         logger.info("Deleting attendance group: {} by user: {}", id, userId);
 
         AttendanceGroup group = getGroupById(id);
+        checkVersion(group, expectedVersion);
+        GroupSchedule previous = GroupSchedule.of(group);
         group.setStatus(AttendanceGroupStatus.INACTIVE);
-        repository.save(group);
+        repository.saveAndFlush(group);
+        watermarks.bump(ChangeWatermarks.ATTENDANCE_GROUPS);
+        eventPublisher.publishEvent(new AttendanceGroupChangedEvent(id, previous, null));
 
         logger.info("Soft deleted attendance group: {}", id);
     }
 
+    @Override
+    public void updateMemberCounts(Long previousGroupId, Long groupId) {
+        if (Objects.equals(previousGroupId, groupId)) {
+            return;
+        }
+        if (previousGroupId != null) {
+            repository.adjustMemberCount(previousGroupId, -1);
+        }
+        if (groupId != null) {
+            repository.adjustMemberCount(groupId, 1);
+        }
+    }
+
+    @Override
+    public void adjustMemberCount(Long groupId, int delta) {
+        if (groupId != null && delta != 0) {
+            repository.adjustMemberCount(groupId, delta);
+        }
+    }
+
+    @Override
+    public MemberCountReconciliation reconcileMemberCount(Long id) {
+        AttendanceGroup group = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Attendance group not found: " + id));
+        int stored = group.getMemberCount();
+        int actual = (int) userRepository.countByAttendanceGroupId(id);
+
+        if (stored != actual) {
+            // Recount inside the UPDATE so a membership change racing this call is not lost
+            repository.recountMembers(id);
+            logger.warn("Repaired member count of attendance group {}: stored {}, actual {}", id, stored, actual);
+            watermarks.bump(ChangeWatermarks.ATTENDANCE_GROUPS);
+        }
+        return new MemberCountReconciliation(id, stored, actual);
+    }
+
+    @Override
+    public int reconcileMemberCounts() {
+        List<Long> drifted = repository.findIdsWithMemberCountDrift();
+        for (Long id : drifted) {
+            reconcileMemberCount(id);
+        }
+        return drifted.size();
+    }
+
     @Override
     public AttendanceGroupResponse toResponse(AttendanceGroup group) {
         AttendanceGroupResponse response = new AttendanceGroupResponse();
@@ -147,7 +291,7 @@ public class AttendanceGroupServiceImpl implements AttendanceGroupService {
         response.setId(group.getId());
         response.setName(group.getName());
         response.setOwnerId(group.getOwnerId());
-        response.setSubOwnerIds(parseJsonList(group.getSubOwnerIds(), Long.class));
+        response.setSubOwnerIds(orEmpty(group.getSubOwnerIds()));
         response.setTimezone(group.getTimezone());
         response.setRelocationSync(group.getRelocationSync());
 
@@ -161,9 +305,17 @@ public class AttendanceGroupServiceImpl implements AttendanceGroupService {
         response.setShiftType(group.getShiftType());
         if (group.getDefaultShift() != null) {
             response.setDefaultShiftId(group.getDefaultShift().getId());
-            response.setDefaultShiftName(group.getDefaultShift().getName());
-            response.setDefaultShiftTime(
-                    group.getDefaultShift().getStartTime() + " ~ " + group.getDefaultShift().getEndTime());
+            // A reference set by create/update is read from the catalog instead of being loaded
+            ShiftSnapshot shift = Hibernate.isInitialized(group.getDefaultShift()) ? null
+                    : shiftCatalog.get(group.getDefaultShift().getId());
+            if (shift != null) {
+                response.setDefaultShiftName(shift.getName());
+                response.setDefaultShiftTime(shift.getStartTime() + " ~ " + shift.getEndTime());
+            } else {
+                response.setDefaultShiftName(group.getDefaultShift().getName());
+                response.setDefaultShiftTime(
+                        group.getDefaultShift().getStartTime() + " ~ " + group.getDefaultShift().getEndTime());
+            }
         }
 
         // Weekly schedule
@@ -177,7 +329,8 @@ public class AttendanceGroupServiceImpl implements AttendanceGroupService {
 
         // Schedule settings
         response.setUsePublicHolidays(group.getUsePublicHolidays());
-        response.setSpecialDays(parseJsonList(group.getSpecialDays(), String.class));
+        response.setHolidayCalendarId(group.getHolidayCalendarId());
+        response.setSpecialDays(toStrings(group.getSpecialDays()));
 
         // Attendance settings
         response.setRequirePhoto(group.getRequirePhoto());
@@ -190,17 +343,115 @@ public class AttendanceGroupServiceImpl implements AttendanceGroupService {
         response.setNonWorkingDayResetTime(
                 group.getNonWorkingDayResetTime() != null ? group.getNonWorkingDayResetTime().toString() : null);
         response.setAllowCorrections(group.getAllowCorrections());
-        response.setCorrectionTypes(parseJsonList(group.getCorrectionTypes(), String.class));
+        response.setCorrectionTypes(toNames(group.getCorrectionTypes()));
 
         // Metadata
         response.setStatus(group.getStatus());
         response.setCreatedAt(group.getCreatedAt());
         response.setUpdatedAt(group.getUpdatedAt());
-        response.setMemberCount((int) userRepository.countByAttendanceGroupId(group.getId()));
+        response.setVersion(group.getVersion());
+        response.setMemberCount(group.getMemberCount());
 
         return response;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String getGroupETag(Long id) {
+        String dependencies = dependencyStamp();
+        return repository.findValidatorByIdAndStatus(id, AttendanceGroupStatus.ACTIVE)
+                .map(v -> EntityTags.forResource(v.getVersion(), epochSecond(v.getUpdatedAt()), dependencies))
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getGroupsETag(String search, AttendanceGroupStatus status, Long managedBy, Pageable pageable,
+            FieldSet fields) {
+        return EntityTags.forList(
+                watermarks.stamp(ChangeWatermarks.ATTENDANCE_GROUPS, ChangeWatermarks.SHIFTS, ChangeWatermarks.USERS),
+                search, status, managedBy, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString(),
+                fields != null ? fields.key() : null);
+    }
+
+    @Override
+    public String eTagOf(AttendanceGroupResponse group) {
+        return EntityTags.forResource(group.getVersion(), epochSecond(group.getUpdatedAt()), dependencyStamp());
+    }
+
+    /**
+     * The response embeds the default shift and the member count, so its tag also has to
+     * move when shifts or users change even though the group row itself did not
+     */
+    private String dependencyStamp() {
+        return watermarks.stamp(ChangeWatermarks.SHIFTS, ChangeWatermarks.USERS);
+    }
+
+    private static long epochSecond(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : 0L;
+    }
+
+    /**
+     * Sparse fieldset registry; every conversion mirrors {@link #toResponse(AttendanceGroup)}
+     * and runs only for the fields a request selects
+     */
+    @SuppressWarnings("unchecked")
+    private ResponseFields<AttendanceGroup> buildFields() {
+        return ResponseFields.builder(AttendanceGroup.class)
+                .column("id")
+                .column("name")
+                .column("ownerId")
+                .column("subOwnerIds", "subOwnerIds", v -> orEmpty((List<Long>) v))
+                .column("timezone")
+                .column("relocationSync")
+                .column("memberTrackingRequired")
+                .column("memberTrackingRequiredConditions")
+                .column("memberTrackingOptional")
+                .column("memberTrackingOptionalConditions")
+                .column("shiftType")
+                .column("defaultShiftId", "defaultShift.id", v -> v)
+                .column("defaultShiftName", "defaultShift.name", v -> v)
+                .composite("defaultShiftTime", v -> v[0] != null ? v[1] + " ~ " + v[2] : null,
+                        "defaultShift.id", "defaultShift.startTime", "defaultShift.endTime")
+                .column("mondayShiftId")
+                .column("tuesdayShiftId")
+                .column("wednesdayShiftId")
+                .column("thursdayShiftId")
+                .column("fridayShiftId")
+                .column("saturdayShiftId")
+                .column("sundayShiftId")
+                .column("usePublicHolidays")
+                .column("holidayCalendarId")
+                .column("specialDays", "specialDays", v -> toStrings((List<LocalDate>) v))
+                .column("requirePhoto")
+                .column("allowOffsite")
+                .column("outOfOfficePolicy")
+                .column("businessTripPolicy")
+                .column("partialLeavePolicy")
+                .column("recordOvertime")
+                .column("nonWorkingDayApproval")
+                .column("nonWorkingDayResetTime", "nonWorkingDayResetTime", v -> Objects.toString(v, null))
+                .column("allowCorrections")
+                .column("correctionTypes", "correctionTypes", v -> toNames((Set<CorrectionType>) v))
+                .column("status")
+                .column("createdAt")
+                .column("updatedAt")
+                .column("version")
+                .column("memberCount")
+                .build();
+    }
+
+    /**
+     * Reject a conditional write whose If-Match version is stale. The race between this
+     * check and commit is covered by the versioned UPDATE, so no row lock is taken.
+     */
+    private void checkVersion(AttendanceGroup group, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(group.getVersion())) {
+            throw new PreconditionFailedException("Attendance group", group.getId(), expectedVersion,
+                    group.getVersion());
+        }
+    }
+
     private void mapRequestToEntity(CreateAttendanceGroupRequest request, AttendanceGroup group) {
         group.setName(request.getName());
 
@@ -208,7 +459,9 @@ public class AttendanceGroupServiceImpl implements AttendanceGroupService {
             group.setOwnerId(request.getOwnerId());
         }
         if (request.getSubOwnerIds() != null) {
-            group.setSubOwnerIds(toJson(request.getSubOwnerIds()));
+            List<Long> subOwnerIds = request.getSubOwnerIds().stream().filter(Objects::nonNull).toList();
+            group.setSubOwnerIds(subOwnerIds);
+            syncSubOwners(group, subOwnerIds);
         }
         if (request.getTimezone() != null) {
             group.setTimezone(request.getTimezone());
@@ -217,17 +470,19 @@ public class AttendanceGroupServiceImpl implements AttendanceGroupService {
             group.setRelocationSync(request.getRelocationSync());
         }
 
-        // Member tracking
+        // Member tracking; conditions are compiled here only to reject invalid ones up front
         if (request.getMemberTrackingRequired() != null) {
             group.setMemberTrackingRequired(request.getMemberTrackingRequired());
         }
         if (request.getMemberTrackingRequiredConditions() != null) {
+            TrackingCondition.compile(request.getMemberTrackingRequiredConditions());
             group.setMemberTrackingRequiredConditions(request.getMemberTrackingRequiredConditions());
         }
         if (request.getMemberTrackingOptional() != null) {
             group.setMemberTrackingOptional(request.getMemberTrackingOptional());
         }
         if (request.getMemberTrackingOptionalConditions() != null) {
+            TrackingCondition.compile(request.getMemberTrackingOptionalConditions());
             group.setMemberTrackingOptionalConditions(request.getMemberTrackingOptionalConditions());
         }
 
@@ -249,8 +504,14 @@ public class AttendanceGroupServiceImpl implements AttendanceGroupService {
         if (request.getUsePublicHolidays() != null) {
             group.setUsePublicHolidays(request.getUsePublicHolidays());
         }
+        Long holidayCalendarId = request.getHolidayCalendarId();
+        if (holidayCalendarId != null && !holidayCalendarRepository.existsById(holidayCalendarId)) {
+            throw new HolidayCalendarNotFoundException(holidayCalendarId);
+        }
+        group.setHolidayCalendarId(holidayCalendarId);
         if (request.getSpecialDays() != null) {
-            group.setSpecialDays(toJson(request.getSpecialDays()));
+            group.setSpecialDays(request.getSpecialDays().stream().filter(Objects::nonNull)
+                    .map(LocalDate::parse).toList());
         }
 
         // Attendance settings
@@ -282,33 +543,58 @@ public class AttendanceGroupServiceImpl implements AttendanceGroupService {
             group.setAllowCorrections(request.getAllowCorrections());
         }
         if (request.getCorrectionTypes() != null) {
-            group.setCorrectionTypes(toJson(request.getCorrectionTypes()));
+            EnumSet<CorrectionType> types = EnumSet.noneOf(CorrectionType.class);
+            request.getCorrectionTypes().stream().filter(Objects::nonNull)
+                    .forEach(type -> types.add(CorrectionType.valueOf(type)));
+            group.setCorrectionTypes(Collections.unmodifiableSet(types));
         }
     }
 
-    private String toJson(Object value) {
-        try {
-            return objectMapper.writeValueAsString(value);
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to serialize to JSON", e);
-            return null;
+    /**
+     * Keep the normalized sub-owner rows in step with the JSON column. The managed set is edited in
+     * place so Hibernate only inserts and deletes the rows that changed.
+     */
+    private static void syncSubOwners(AttendanceGroup group, List<Long> subOwnerIds) {
+        Set<Long> target = new HashSet<>(subOwnerIds);
+        group.getSubOwners().retainAll(target);
+        group.getSubOwners().addAll(target);
+    }
+
+    /**
+     * Point the group at a shift checked against the shift catalog, as a reference rather than a load
+     */
+    private void setDefaultShift(AttendanceGroup group, Long shiftId) {
+        if (shiftCatalog.get(shiftId) == null) {
+            throw new RuntimeException("Shift not found: " + shiftId);
         }
+        group.setDefaultShift(shiftRepository.getReferenceById(shiftId));
     }
 
-    private <T> List<T> parseJsonList(String json, Class<T> elementType) {
-        if (json == null || json.isEmpty()) {
-            return Collections.emptyList();
+    /**
+     * Keep the shift usage rows in step with the default and weekday shift columns, editing the managed
+     * map in place so only the slots that changed are written
+     */
+    private static void syncShiftUsage(AttendanceGroup group) {
+        Map<ShiftSlot, Long> usage = group.getShiftUsage();
+        for (ShiftSlot slot : ShiftSlot.values()) {
+            Long shiftId = group.getShiftId(slot);
+            if (shiftId == null) {
+                usage.remove(slot);
+            } else if (!shiftId.equals(usage.get(slot))) {
+                usage.put(slot, shiftId);
+            }
         }
+    }
 
-        try {
-            var type = objectMapper.getTypeFactory()
-                    .constructCollectionType(List.class, elementType);
+    private static List<Long> orEmpty(List<Long> ids) {
+        return ids != null ? ids : List.of();
+    }
 
-            return objectMapper.readValue(json, type);
+    private static List<String> toStrings(List<LocalDate> dates) {
+        return dates != null ? dates.stream().map(LocalDate::toString).toList() : List.of();
+    }
 
-        } catch (JsonProcessingException e) {
-            logger.error("Failed to parse JSON list", e);
-            return Collections.emptyList();
-        }
+    private static List<String> toNames(Set<CorrectionType> types) {
+        return types != null ? types.stream().map(Enum::name).toList() : List.of();
     }
 }
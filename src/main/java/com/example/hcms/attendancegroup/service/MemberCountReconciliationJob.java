@@ -0,0 +1,32 @@
+package com.example.hcms.attendancegroup.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically repairs attendance group member counts that drifted from the user table,
+ * e.g. after a manual database edit or a write path that bypassed UserService
+ */
+@Component
+public class MemberCountReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberCountReconciliationJob.class);
+
+    private final AttendanceGroupService service;
+
+    public MemberCountReconciliationJob(AttendanceGroupService service) {
+        this.service = service;
+    }
+
+    @Scheduled(cron = "${app.attendance-groups.member-count.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        int repaired = service.reconcileMemberCounts();
+        if (repaired > 0) {
+            logger.warn("Member count reconciliation repaired {} attendance groups", repaired);
+        } else {
+            logger.debug("Member count reconciliation found no drift");
+        }
+    }
+}
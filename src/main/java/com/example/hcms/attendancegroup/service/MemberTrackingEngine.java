@@ -0,0 +1,254 @@
+package com.example.hcms.attendancegroup.service;
+
+import com.example.hcms.attendancegroup.domain.AttendanceGroup;
+import com.example.hcms.attendancegroup.domain.AttendanceGroupStatus;
+import com.example.hcms.attendancegroup.domain.MemberTrackingMode;
+import com.example.hcms.attendancegroup.domain.TrackingLevel;
+import com.example.hcms.attendancegroup.dto.GroupTrackingResponse;
+import com.example.hcms.attendancegroup.dto.UserTrackingResponse;
+import com.example.hcms.attendancegroup.exception.InvalidTrackingConditionException;
+import com.example.hcms.attendancegroup.repository.AttendanceGroupRepository;
+import com.example.hcms.auth.domain.UserChangedEvent;
+import com.example.hcms.auth.domain.UserDimension;
+import com.example.hcms.auth.service.UserMembershipIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Evaluates member tracking for attendance groups. A group's conditions are compiled once per group
+ * version and evaluated for all of its members at once over the {@link UserMembershipIndex}; the result
+ * is kept until the group changes. User writes only queue the user ID: the index has already re-read
+ * the rows, so before the next query just those users are re-evaluated against each cached group.
+ *
+ * Tracking is scoped to a group's own members: REQUIRED if they match the required
+ * mode, otherwise OPTIONAL if they match the optional mode. CUSTOM without conditions matches nobody.
+ */
+@Component
+public class MemberTrackingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemberTrackingEngine.class);
+
+    private final AttendanceGroupRepository groupRepository;
+    private final UserMembershipIndex userIndex;
+    private final Set<Long> changedUsers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, CompiledGroup> groups = new HashMap<>();
+    private long generation = -1;
+
+    public MemberTrackingEngine(AttendanceGroupRepository groupRepository, UserMembershipIndex userIndex) {
+        this.groupRepository = groupRepository;
+        this.userIndex = userIndex;
+    }
+
+    /**
+     * Queue changed users for re-evaluation once their transaction has committed. The membership index
+     * listener runs first, so a queued user is already re-indexed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        changedUsers.addAll(event.getUserIds());
+    }
+
+    /**
+     * Members tracked by an active group
+     */
+    public synchronized GroupTrackingResponse getTrackedMembers(Long groupId) {
+        CompiledGroup group = compiled(groupId);
+        if (group == null) {
+            throw new RuntimeException("Attendance group not found: " + groupId);
+        }
+        return userIndex.read(() -> {
+            refreshUsers();
+            group.ensureEvaluated(userIndex);
+            return new GroupTrackingResponse(groupId, group.version, userIds(group.required),
+                    userIds(group.optional));
+        });
+    }
+
+    /**
+     * The group tracking a user, if any
+     */
+    public synchronized UserTrackingResponse getUserTracking(Long userId) {
+        Long groupId = userIndex.read(() -> {
+            if (!userIndex.contains(userId)) {
+                throw new RuntimeException("User not found");
+            }
+            return groupOf(userIndex, userId);
+        });
+        CompiledGroup group = groupId != null ? compiled(groupId) : null;
+        if (group == null) {
+            return new UserTrackingResponse(userId, groupId, TrackingLevel.NONE);
+        }
+        int bit = userId.intValue();
+        TrackingLevel level = userIndex.read(() -> {
+            refreshUsers();
+            group.ensureEvaluated(userIndex);
+            return group.required.get(bit) ? TrackingLevel.REQUIRED
+                    : group.optional.get(bit) ? TrackingLevel.OPTIONAL
+                    : TrackingLevel.NONE;
+        });
+        return new UserTrackingResponse(userId, groupId, level);
+    }
+
+    /**
+     * Re-evaluate queued users against the cached groups, or every cached group if the index was rebuilt.
+     * Runs inside an index reader.
+     */
+    private void refreshUsers() {
+        if (generation != userIndex.generation()) {
+            // Queued users need no separate pass: every group is re-evaluated over the current index
+            changedUsers.clear();
+            generation = userIndex.generation();
+            groups.values().forEach(CompiledGroup::invalidate);
+            return;
+        }
+        if (changedUsers.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(changedUsers);
+        changedUsers.removeAll(ids);
+        groups.values().forEach(group -> group.refresh(userIndex, ids));
+        logger.debug("Re-evaluated member tracking for {} changed users", ids.size());
+    }
+
+    /**
+     * The compiled group at its current version, or null if it is not an active group
+     */
+    private CompiledGroup compiled(Long groupId) {
+        Long version = groupRepository.findValidatorByIdAndStatus(groupId, AttendanceGroupStatus.ACTIVE)
+                .map(AttendanceGroupRepository.ValidatorView::getVersion)
+                .orElse(null);
+        if (version == null) {
+            groups.remove(groupId);
+            return null;
+        }
+        CompiledGroup group = groups.get(groupId);
+        if (group != null && version.equals(group.version)) {
+            return group;
+        }
+        AttendanceGroup entity = groupRepository.findByIdAndStatus(groupId, AttendanceGroupStatus.ACTIVE)
+                .orElse(null);
+        if (entity == null) {
+            groups.remove(groupId);
+            return null;
+        }
+        group = new CompiledGroup(entity);
+        groups.put(groupId, group);
+        return group;
+    }
+
+    private static List<Long> userIds(BitSet users) {
+        List<Long> ids = new ArrayList<>(users.cardinality());
+        for (int bit = users.nextSetBit(0); bit >= 0; bit = users.nextSetBit(bit + 1)) {
+            ids.add((long) bit);
+        }
+        return ids;
+    }
+
+    private static Long groupOf(UserMembershipIndex index, Long userId) {
+        String group = index.valueOf(userId, UserDimension.ATTENDANCE_GROUP);
+        return group != null ? Long.valueOf(group) : null;
+    }
+
+    /**
+     * A group's tracking modes with their conditions compiled, and the members they select
+     */
+    private static final class CompiledGroup {
+        private final Long groupId;
+        private final Long version;
+        private final MemberTrackingMode requiredMode;
+        private final TrackingCondition requiredCondition;
+        private final MemberTrackingMode optionalMode;
+        private final TrackingCondition optionalCondition;
+        // Null until evaluated over the current index generation
+        private BitSet required;
+        private BitSet optional;
+
+        CompiledGroup(AttendanceGroup group) {
+            this.groupId = group.getId();
+            this.version = group.getVersion();
+            this.requiredMode = group.getMemberTrackingRequired();
+            this.requiredCondition = requiredMode == MemberTrackingMode.CUSTOM
+                    ? compileStored(group.getMemberTrackingRequiredConditions()) : null;
+            this.optionalMode = group.getMemberTrackingOptional();
+            this.optionalCondition = optionalMode == MemberTrackingMode.CUSTOM
+                    ? compileStored(group.getMemberTrackingOptionalConditions()) : null;
+        }
+
+        /**
+         * Conditions are validated on write, but rows written before that may not compile;
+         * such a condition matches nobody rather than failing every query
+         */
+        private TrackingCondition compileStored(String json) {
+            try {
+                return TrackingCondition.compile(json);
+            } catch (InvalidTrackingConditionException e) {
+                logger.warn("Ignoring member tracking conditions of attendance group {}: {}", groupId, e.getMessage());
+                return null;
+            }
+        }
+
+        /**
+         * Evaluate over all members, unless the result is current
+         */
+        void ensureEvaluated(UserMembershipIndex index) {
+            if (required != null) {
+                return;
+            }
+            BitSet members = index.matching(UserDimension.ATTENDANCE_GROUP, List.of(groupId.toString()));
+            BitSet selected = select(index, members, requiredMode, requiredCondition);
+            optional = select(index, members, optionalMode, optionalCondition);
+            optional.andNot(selected);
+            required = selected;
+        }
+
+        void invalidate() {
+            required = null;
+            optional = null;
+        }
+
+        void refresh(UserMembershipIndex index, List<Long> userIds) {
+            if (required == null) {
+                return;
+            }
+            for (Long userId : userIds) {
+                // Deleted users have no group left, so they drop out here
+                int bit = userId.intValue();
+                boolean member = groupId.equals(groupOf(index, userId));
+                boolean isRequired = member && applies(index, userId, requiredMode, requiredCondition);
+                required.set(bit, isRequired);
+                optional.set(bit, member && !isRequired && applies(index, userId, optionalMode, optionalCondition));
+            }
+        }
+
+        private static BitSet select(UserMembershipIndex index, BitSet members, MemberTrackingMode mode,
+                TrackingCondition condition) {
+            if (mode == MemberTrackingMode.ALL) {
+                return (BitSet) members.clone();
+            }
+            if (mode != MemberTrackingMode.CUSTOM || condition == null || members.isEmpty()) {
+                return new BitSet();
+            }
+            BitSet selected = condition.evaluate(index);
+            selected.and(members);
+            return selected;
+        }
+
+        private static boolean applies(UserMembershipIndex index, Long userId, MemberTrackingMode mode,
+                TrackingCondition condition) {
+            if (mode == MemberTrackingMode.ALL) {
+                return true;
+            }
+            return mode == MemberTrackingMode.CUSTOM && condition != null && condition.matches(index, userId);
+        }
+    }
+}
@@ -0,0 +1,537 @@
+package com.example.hcms.attendancegroup.service;
+
+import com.example.hcms.attendancegroup.domain.AttendanceGroup;
+import com.example.hcms.attendancegroup.domain.AttendanceGroupStatus;
+import com.example.hcms.attendancegroup.domain.GroupShiftType;
+import com.example.hcms.attendancegroup.domain.PunchPolicy;
+import com.example.hcms.attendancegroup.domain.ScheduleDayType;
+import com.example.hcms.attendancegroup.domain.ShiftSlot;
+import com.example.hcms.attendancegroup.dto.NonWorkingDayResponse;
+import com.example.hcms.attendancegroup.dto.ScheduledDay;
+import com.example.hcms.attendancegroup.repository.AttendanceGroupRepository;
+import com.example.hcms.auth.domain.UserChangedEvent;
+import com.example.hcms.auth.repository.UserRepository;
+import com.example.hcms.auth.repository.UserRepository.GroupAssignmentView;
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.holiday.domain.DateSet;
+import com.example.hcms.holiday.service.HolidayService;
+import com.example.hcms.shift.domain.DateType;
+import com.example.hcms.shift.domain.ShiftChangedEvent;
+import com.example.hcms.shift.domain.ShiftSnapshot;
+import com.example.hcms.shift.service.ShiftCatalog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Resolves the shift a user's attendance group schedules on a date. Each active group is compiled once
+ * into an immutable weekly calendar: seven shared {@link ScheduledDay} entries, one per weekday, plus its
+ * special days and (if it observes them) its public holidays merged into one {@link DateSet}. A lookup is
+ * then two array reads and one bit test, with no allocation. Calendars are dropped whenever a group or
+ * holiday write commits (tracked through {@link ChangeWatermarks}) and recompiled on next use. A shift
+ * write drops only the calendars of the groups using that shift, found through the shift usage index;
+ * user writes only re-read the changed users' group assignment.
+ *
+ * A weekday's shift column applies if set. A weekday without one falls back to the default shift in a
+ * SCHEDULED group (members have no individual rosters yet) and is a rest day in a FIXED group.
+ * Inactive shifts are treated as unset; FREE groups schedule no shifts at all. Each calendar also carries
+ * its group's time zone, for placing scheduled days on the absolute timeline, and its punch policy with
+ * the group's overtime settings.
+ *
+ * Assignments and calendars are published together as an immutable snapshot through a volatile field,
+ * so lookups take no lock. A lookup that finds a change queued or its group not compiled rebuilds the
+ * snapshot, one caller at a time, and only those callers wait on the database.
+ */
+@Component
+public class ScheduleResolver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleResolver.class);
+    private static final int RELOAD_CHUNK = 1000;
+    private static final int MAX_RANGE_DAYS = 366;
+    // The attendance group default, also used for unparseable zones
+    private static final ZoneId DEFAULT_ZONE = PunchPolicy.NO_GROUP.getZone();
+    // Calendar slot of a group that is not active (or does not exist)
+    private static final GroupCalendar INACTIVE = new GroupCalendar();
+
+    private final AttendanceGroupRepository groupRepository;
+    private final ShiftCatalog shiftCatalog;
+    private final UserRepository userRepository;
+    private final HolidayService holidayService;
+    private final ChangeWatermarks watermarks;
+    private final Set<Long> changedUsers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> changedShifts = ConcurrentHashMap.newKeySet();
+
+    // Null until user assignments are first loaded; only ever replaced, by update()
+    private volatile Snapshot snapshot;
+
+    public ScheduleResolver(AttendanceGroupRepository groupRepository, ShiftCatalog shiftCatalog,
+            UserRepository userRepository, HolidayService holidayService, ChangeWatermarks watermarks) {
+        this.groupRepository = groupRepository;
+        this.shiftCatalog = shiftCatalog;
+        this.userRepository = userRepository;
+        this.holidayService = holidayService;
+        this.watermarks = watermarks;
+    }
+
+    /**
+     * Queue changed users for re-reading once their transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        changedUsers.addAll(event.getUserIds());
+    }
+
+    /**
+     * Queue a changed shift so the calendars using it are dropped once its transaction has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShiftChanged(ShiftChangedEvent event) {
+        changedShifts.add(event.getShiftId());
+    }
+
+    /**
+     * The schedule of one user on one date. Once the user's group is compiled this allocates nothing.
+     *
+     * @throws RuntimeException if the user does not exist
+     */
+    public ScheduledDay resolve(long userId, LocalDate date) {
+        GroupCalendar calendar = calendarOfUser(userId);
+        if (calendar == null) {
+            throw new RuntimeException("User not found");
+        }
+        return calendar.on(date);
+    }
+
+    /**
+     * The schedules of several users over a date range, compiling the groups they need in one pass
+     *
+     * @return per existing user, in request order, one entry per day from {@code from} to {@code to}
+     * @throws InvalidParameterException if the range is reversed or longer than a year
+     */
+    public Map<Long, ScheduledDay[]> resolve(Collection<Long> userIds, LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1 || days > MAX_RANGE_DAYS) {
+            throw new InvalidParameterException("Schedule range must cover 1 to " + MAX_RANGE_DAYS + " days");
+        }
+        Snapshot snapshot = current();
+        if (!groupsOf(snapshot, userIds).isEmpty()) {
+            snapshot = update(compiled -> groupsOf(compiled, userIds));
+        }
+
+        Map<Long, ScheduledDay[]> schedules = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            if (userId == null || !snapshot.exists(userId)) {
+                continue;
+            }
+            GroupCalendar calendar = snapshot.calendar(snapshot.groupOfUser[userId.intValue()]);
+            ScheduledDay[] schedule = new ScheduledDay[(int) days];
+            LocalDate date = from;
+            for (int day = 0; day < schedule.length; day++) {
+                schedule[day] = calendar.on(date);
+                date = date.plusDays(1);
+            }
+            schedules.put(userId, schedule);
+        }
+        return schedules;
+    }
+
+    /**
+     * The time zone of a user's attendance group, or the group default for a user without an active group
+     *
+     * @throws RuntimeException if the user does not exist
+     */
+    public ZoneId zone(long userId) {
+        GroupCalendar calendar = calendarOfUser(userId);
+        if (calendar == null) {
+            throw new RuntimeException("User not found");
+        }
+        return calendar.policy.getZone();
+    }
+
+    /**
+     * The punch policy of a user's attendance group, {@link PunchPolicy#NO_GROUP} for a user without an
+     * active group, or null if the user does not exist. Once the group is compiled this allocates nothing.
+     */
+    public PunchPolicy punchPolicy(long userId) {
+        GroupCalendar calendar = calendarOfUser(userId);
+        return calendar != null ? calendar.policy : null;
+    }
+
+    /**
+     * The users assigned to any of the given attendance groups, or to any group at all if groupIds is
+     * null, in ID order. Scans the assignment array; reads no tables once assignments are loaded.
+     */
+    public List<Long> members(Collection<Long> groupIds) {
+        Snapshot snapshot = current();
+        Set<Long> groups = groupIds != null ? new HashSet<>(groupIds) : null;
+        List<Long> members = new ArrayList<>();
+        BitSet users = snapshot.users;
+        for (int userId = users.nextSetBit(0); userId >= 0; userId = users.nextSetBit(userId + 1)) {
+            long groupId = snapshot.groupOfUser[userId];
+            if (groupId > 0 && (groups == null || groups.contains(groupId))) {
+                members.add((long) userId);
+            }
+        }
+        return members;
+    }
+
+    /**
+     * The rest days, special days and public holidays of an active group from one date to another
+     *
+     * @throws InvalidParameterException if the range is reversed or longer than a year
+     * @throws RuntimeException if the group is not active
+     */
+    public List<NonWorkingDayResponse> nonWorkingDays(long groupId, LocalDate from, LocalDate to) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1 || days > MAX_RANGE_DAYS) {
+            throw new InvalidParameterException("Schedule range must cover 1 to " + MAX_RANGE_DAYS + " days");
+        }
+        GroupCalendar calendar = current().calendar(groupId);
+        if (calendar == null) {
+            calendar = update(compiled -> Set.of(groupId)).calendar(groupId);
+        }
+        if (calendar == INACTIVE) {
+            throw new RuntimeException("Attendance group not found: " + groupId);
+        }
+        List<NonWorkingDayResponse> nonWorking = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            ScheduleDayType type = calendar.on(date).getType();
+            if (type != ScheduleDayType.WORKING && type != ScheduleDayType.FREE) {
+                nonWorking.add(new NonWorkingDayResponse(date, type));
+            }
+        }
+        return nonWorking;
+    }
+
+    /**
+     * The calendar of a user's group, compiling it if needed, or null if the user does not exist
+     */
+    private GroupCalendar calendarOfUser(long userId) {
+        Snapshot snapshot = current();
+        if (!snapshot.exists(userId)) {
+            return null;
+        }
+        GroupCalendar calendar = snapshot.calendar(snapshot.groupOfUser[(int) userId]);
+        if (calendar != null) {
+            return calendar;
+        }
+        snapshot = update(compiled -> compiled.exists(userId)
+                ? Set.of(compiled.groupOfUser[(int) userId]) : Set.of());
+        return snapshot.exists(userId) ? snapshot.calendar(snapshot.groupOfUser[(int) userId]) : null;
+    }
+
+    /**
+     * The groups of the given users that are not compiled in a snapshot
+     */
+    private static Set<Long> groupsOf(Snapshot snapshot, Collection<Long> userIds) {
+        Set<Long> uncompiled = new HashSet<>();
+        for (Long userId : userIds) {
+            if (userId != null && snapshot.exists(userId)) {
+                long groupId = snapshot.groupOfUser[userId.intValue()];
+                if (snapshot.calendar(groupId) == null) {
+                    uncompiled.add(groupId);
+                }
+            }
+        }
+        return uncompiled;
+    }
+
+    /**
+     * The published snapshot, or a new one if a user, shift, group or holiday write has committed since
+     * it was built. Takes no lock unless a rebuild is due.
+     */
+    private Snapshot current() {
+        Snapshot snapshot = this.snapshot;
+        if (snapshot == null || !changedUsers.isEmpty() || !changedShifts.isEmpty()
+                || snapshot.groupsMark != watermarks.current(ChangeWatermarks.ATTENDANCE_GROUPS)
+                || snapshot.holidaysMark != watermarks.current(ChangeWatermarks.HOLIDAYS)) {
+            return update(compiled -> Set.of());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Build and publish the next snapshot: apply queued changes, then compile the groups the caller
+     * needs, chosen against the refreshed assignments. One writer at a time, so a later re-read never
+     * loses to an earlier one; lookups keep reading the published snapshot meanwhile and never wait
+     * on the database unless they need what is being built.
+     */
+    private synchronized Snapshot update(Function<Snapshot, Set<Long>> needed) {
+        Snapshot next = refresh(this.snapshot);
+        Set<Long> uncompiled = new HashSet<>();
+        for (Long groupId : needed.apply(next)) {
+            if (next.calendar(groupId) == null) {
+                uncompiled.add(groupId);
+            }
+        }
+        next = compile(next, uncompiled);
+        this.snapshot = next;
+        return next;
+    }
+
+    /**
+     * Load user assignments on first use, apply queued user changes, drop the calendars using a
+     * changed shift, and drop all calendars if a group or holiday write has committed since they
+     * were compiled
+     *
+     * @param previous the published snapshot, or null before the first load; left unchanged
+     * @return the refreshed snapshot, or previous if nothing changed
+     */
+    private Snapshot refresh(Snapshot previous) {
+        // Take the queued shifts before compiling, so a write committing meanwhile is seen next time
+        List<Long> shiftIds = new ArrayList<>(changedShifts);
+        changedShifts.removeAll(shiftIds);
+        long groups = watermarks.current(ChangeWatermarks.ATTENDANCE_GROUPS);
+        long holidays = watermarks.current(ChangeWatermarks.HOLIDAYS);
+        GroupCalendar[] calendars = previous != null ? previous.calendars : new GroupCalendar[0];
+        if (previous == null || groups != previous.groupsMark || holidays != previous.holidaysMark) {
+            // Marks are read before compiling, so a write committing meanwhile is seen next time
+            calendars = new GroupCalendar[calendars.length];
+        } else if (!shiftIds.isEmpty()) {
+            List<Long> affected = groupRepository.findIdsByShiftUsage(shiftIds);
+            calendars = calendars.clone();
+            for (Long groupId : affected) {
+                if (groupId < calendars.length) {
+                    calendars[groupId.intValue()] = null;
+                }
+            }
+            logger.debug("Dropped {} calendars using changed shifts {}", affected.size(), shiftIds);
+        }
+
+        Assignments assignments;
+        if (previous == null) {
+            // Clear first: a change queued while loading is re-read on the next refresh, never lost
+            changedUsers.clear();
+            assignments = new Assignments(new BitSet(), new long[0]);
+            userRepository.findAllGroupAssignments().forEach(assignments::assign);
+        } else if (changedUsers.isEmpty()) {
+            if (calendars == previous.calendars) {
+                return previous;
+            }
+            assignments = new Assignments(previous.users, previous.groupOfUser);
+        } else {
+            List<Long> ids = new ArrayList<>(changedUsers);
+            changedUsers.removeAll(ids);
+            assignments = new Assignments((BitSet) previous.users.clone(), previous.groupOfUser.clone());
+            for (int from = 0; from < ids.size(); from += RELOAD_CHUNK) {
+                List<Long> chunk = ids.subList(from, Math.min(from + RELOAD_CHUNK, ids.size()));
+                Set<Long> missing = new HashSet<>(chunk);
+                for (GroupAssignmentView user : userRepository.findGroupAssignmentsByIdIn(chunk)) {
+                    missing.remove(user.getId());
+                    assignments.assign(user);
+                }
+                for (Long deleted : missing) {
+                    assignments.remove(deleted);
+                }
+            }
+        }
+        return new Snapshot(assignments.users, assignments.groupOfUser, calendars, groups, holidays);
+    }
+
+    /**
+     * Compile several groups with one query for the groups; their shifts come from the shift catalog
+     *
+     * @return a snapshot with the groups compiled, or the given one if there are none to compile
+     */
+    private Snapshot compile(Snapshot snapshot, Set<Long> groupIds) {
+        if (groupIds.isEmpty()) {
+            return snapshot;
+        }
+        long maxId = groupIds.stream().mapToLong(Long::longValue).max().getAsLong();
+        if (maxId > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Group ID " + maxId + " is out of range for the schedule resolver");
+        }
+        GroupCalendar[] calendars = Arrays.copyOf(snapshot.calendars,
+                (int) Math.max(maxId + 1, snapshot.calendars.length));
+        List<AttendanceGroup> groups = groupRepository.findByIdInAndStatus(groupIds, AttendanceGroupStatus.ACTIVE);
+        Set<Long> shiftIds = new HashSet<>();
+        for (AttendanceGroup group : groups) {
+            for (ShiftSlot slot : ShiftSlot.values()) {
+                Long shiftId = group.getShiftId(slot);
+                if (shiftId != null) {
+                    shiftIds.add(shiftId);
+                }
+            }
+        }
+        Map<Long, ShiftSnapshot> shifts = shiftCatalog.getAll(shiftIds);
+
+        groupIds.forEach(id -> calendars[id.intValue()] = INACTIVE);
+        for (AttendanceGroup group : groups) {
+            DateSet holidays = Boolean.TRUE.equals(group.getUsePublicHolidays())
+                    ? holidayService.getHolidayDates(group.getHolidayCalendarId()) : DateSet.EMPTY;
+            calendars[group.getId().intValue()] = new GroupCalendar(group, shifts, holidays);
+        }
+        logger.debug("Compiled weekly calendars of {} attendance groups", groups.size());
+        return new Snapshot(snapshot.users, snapshot.groupOfUser, calendars, snapshot.groupsMark,
+                snapshot.holidaysMark);
+    }
+
+    /**
+     * What lookups read: user assignments and compiled calendars as of the watermarks they were built
+     * at. Never modified once published, so any number of lookups read one without locking.
+     */
+    private static final class Snapshot {
+        // Indexed by user ID: which users exist, and their attendance group ID (0 for none)
+        private final BitSet users;
+        private final long[] groupOfUser;
+        // Indexed by group ID; null until compiled
+        private final GroupCalendar[] calendars;
+        private final long groupsMark;
+        private final long holidaysMark;
+
+        Snapshot(BitSet users, long[] groupOfUser, GroupCalendar[] calendars, long groupsMark,
+                long holidaysMark) {
+            this.users = users;
+            this.groupOfUser = groupOfUser;
+            this.calendars = calendars;
+            this.groupsMark = groupsMark;
+            this.holidaysMark = holidaysMark;
+        }
+
+        boolean exists(long userId) {
+            return userId >= 0 && userId <= Integer.MAX_VALUE && users.get((int) userId);
+        }
+
+        /**
+         * A group's compiled calendar, {@link #INACTIVE} for no group, or null if not compiled yet
+         */
+        GroupCalendar calendar(long groupId) {
+            if (groupId <= 0) {
+                return INACTIVE;
+            }
+            return groupId < calendars.length ? calendars[(int) groupId] : null;
+        }
+    }
+
+    /**
+     * User assignments being built for the next snapshot, on copies of the published arrays
+     */
+    private static final class Assignments {
+        private final BitSet users;
+        private long[] groupOfUser;
+
+        Assignments(BitSet users, long[] groupOfUser) {
+            this.users = users;
+            this.groupOfUser = groupOfUser;
+        }
+
+        void assign(GroupAssignmentView user) {
+            Long id = user.getId();
+            if (id < 0 || id > Integer.MAX_VALUE) {
+                throw new IllegalStateException("User ID " + id + " is out of range for the schedule resolver");
+            }
+            int slot = id.intValue();
+            if (slot >= groupOfUser.length) {
+                groupOfUser = Arrays.copyOf(groupOfUser, Math.max(slot + 1, groupOfUser.length * 2));
+            }
+            users.set(slot);
+            groupOfUser[slot] = user.getAttendanceGroupId() != null ? user.getAttendanceGroupId() : 0;
+        }
+
+        void remove(Long userId) {
+            if (userId >= 0 && userId < groupOfUser.length) {
+                users.clear(userId.intValue());
+                groupOfUser[userId.intValue()] = 0;
+            }
+        }
+    }
+
+    /**
+     * A group's schedule compiled for lookups: one entry per weekday, overridden on special days
+     * and public holidays
+     */
+    private static final class GroupCalendar {
+        private final ScheduledDay[] week = new ScheduledDay[7];
+        private final DateSet specialDays;
+        // Special days and observed public holidays
+        private final DateSet daysOff;
+        private final ScheduledDay specialDay;
+        private final ScheduledDay holiday;
+        private final PunchPolicy policy;
+
+        GroupCalendar() {
+            Arrays.fill(week, ScheduledDay.UNASSIGNED);
+            this.specialDays = DateSet.EMPTY;
+            this.daysOff = DateSet.EMPTY;
+            this.specialDay = ScheduledDay.UNASSIGNED;
+            this.holiday = ScheduledDay.UNASSIGNED;
+            this.policy = PunchPolicy.NO_GROUP;
+        }
+
+        GroupCalendar(AttendanceGroup group, Map<Long, ShiftSnapshot> shifts, DateSet holidays) {
+            Long groupId = group.getId();
+            this.policy = new PunchPolicy(groupId, zoneOf(group), Boolean.TRUE.equals(group.getRequirePhoto()),
+                    Boolean.TRUE.equals(group.getAllowOffsite()), Boolean.TRUE.equals(group.getRecordOvertime()),
+                    Boolean.TRUE.equals(group.getNonWorkingDayApproval()));
+            if (group.getShiftType() == GroupShiftType.FREE) {
+                Arrays.fill(week, new ScheduledDay(groupId, ScheduleDayType.FREE, null, null, null, false));
+                this.specialDays = DateSet.EMPTY;
+                this.daysOff = DateSet.EMPTY;
+                this.specialDay = null;
+                this.holiday = null;
+                return;
+            }
+            ShiftSnapshot fallback = group.getShiftType() == GroupShiftType.SCHEDULED
+                    ? shifts.get(group.getShiftId(ShiftSlot.DEFAULT)) : null;
+            ScheduledDay rest = new ScheduledDay(groupId, ScheduleDayType.REST, null, null, null, false);
+            Map<Long, ScheduledDay> byShift = new HashMap<>();
+            for (DayOfWeek day : DayOfWeek.values()) {
+                Long shiftId = group.getShiftId(ShiftSlot.of(day));
+                ShiftSnapshot shift = shiftId != null ? shifts.get(shiftId) : fallback;
+                week[day.ordinal()] = shift == null || !shift.isActive() ? rest
+                        : byShift.computeIfAbsent(shift.getId(), id -> dayOf(groupId, shift));
+            }
+            this.specialDays = group.getSpecialDays() == null ? DateSet.EMPTY : DateSet.of(group.getSpecialDays());
+            this.daysOff = specialDays.union(holidays);
+            this.specialDay = new ScheduledDay(groupId, ScheduleDayType.SPECIAL_DAY, null, null, null, false);
+            this.holiday = new ScheduledDay(groupId, ScheduleDayType.PUBLIC_HOLIDAY, null, null, null, false);
+        }
+
+        ScheduledDay on(LocalDate date) {
+            if (daysOff.contains(date)) {
+                return specialDays.contains(date) ? specialDay : holiday;
+            }
+            return week[date.getDayOfWeek().ordinal()];
+        }
+
+        private static ZoneId zoneOf(AttendanceGroup group) {
+            if (group.getTimezone() == null || group.getTimezone().isBlank()) {
+                return DEFAULT_ZONE;
+            }
+            try {
+                return ZoneId.of(group.getTimezone().trim());
+            } catch (DateTimeException e) {
+                logger.warn("Attendance group {} has an unknown time zone '{}', using {}", group.getId(),
+                        group.getTimezone(), DEFAULT_ZONE);
+                return DEFAULT_ZONE;
+            }
+        }
+
+        private static ScheduledDay dayOf(Long groupId, ShiftSnapshot shift) {
+            ScheduleDayType type = shift.getDateType() == DateType.OFF_DAYS ? ScheduleDayType.REST
+                    : ScheduleDayType.WORKING;
+            return new ScheduledDay(groupId, type, shift.getId(), shift.getStartTime(), shift.getEndTime(),
+                    Boolean.TRUE.equals(shift.getIsNextDayEnd()));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.hcms.attendancegroup.service;
+
+import com.example.hcms.attendancegroup.domain.ScheduleDayType;
+import com.example.hcms.attendancegroup.domain.ShiftInstance;
+import com.example.hcms.attendancegroup.domain.ShiftInstanceIndex;
+import com.example.hcms.attendancegroup.dto.ScheduledDay;
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.shift.domain.ShiftSnapshot;
+import com.example.hcms.shift.service.ShiftVersions;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Matches punches to the shift instance they belong to. A user's working days are read from the
+ * compiled calendars of {@link ScheduleResolver} and their shifts, with the rules in force on each date,
+ * from {@link ShiftVersions}; instances are placed on the absolute timeline in the group's time zone and
+ * indexed by {@link ShiftInstanceIndex}. Building an index touches the database only if the user's group
+ * calendar is not compiled yet, or a date predates its shift's newest version for the first time.
+ *
+ * A punch window opens at most an hour before its start and closes at most eight hours after an end on
+ * the next day, so a punch on a local date can belong to an instance from two days before to one day
+ * after; indexes cover that margin around the requested range.
+ */
+@Component
+public class ShiftInstanceMatcher {
+
+    private static final int DAYS_BEFORE = 2;
+    private static final int DAYS_AFTER = 1;
+
+    private final ScheduleResolver scheduleResolver;
+    private final ShiftVersions shiftVersions;
+
+    public ShiftInstanceMatcher(ScheduleResolver scheduleResolver, ShiftVersions shiftVersions) {
+        this.scheduleResolver = scheduleResolver;
+        this.shiftVersions = shiftVersions;
+    }
+
+    /**
+     * The index of a user's shift instances that can accept a punch between two instants. Rest days,
+     * special days, public holidays and free days have no instances.
+     *
+     * @throws InvalidParameterException if the range is reversed or longer than a year
+     * @throws RuntimeException if the user does not exist
+     */
+    public ShiftInstanceIndex index(long userId, Instant from, Instant to) {
+        if (to.isBefore(from)) {
+            throw new InvalidParameterException("Punch range must not end before it starts");
+        }
+        ZoneId zone = scheduleResolver.zone(userId);
+        LocalDate first = from.atZone(zone).toLocalDate().minusDays(DAYS_BEFORE);
+        LocalDate last = to.atZone(zone).toLocalDate().plusDays(DAYS_AFTER);
+        ScheduledDay[] days = scheduleResolver.resolve(List.of(userId), first, last).get(userId);
+        if (days == null) {
+            throw new RuntimeException("User not found");
+        }
+        List<ShiftInstance> instances = new ArrayList<>();
+        for (int offset = 0; offset < days.length; offset++) {
+            ScheduledDay day = days[offset];
+            if (day.getType() != ScheduleDayType.WORKING) {
+                continue;
+            }
+            LocalDate date = first.plusDays(offset);
+            ShiftSnapshot shift = shiftVersions.rulesOn(day.getShiftId(), date);
+            if (shift != null && shift.isActive()) {
+                instances.add(new ShiftInstance(day.getGroupId(), date, shift, zone));
+            }
+        }
+        return instances.isEmpty() ? ShiftInstanceIndex.EMPTY : new ShiftInstanceIndex(instances);
+    }
+
+    /**
+     * The shift instance a single punch belongs to, or null if no scheduled window accepts it. To match
+     * many punches, build one {@link #index} over their range instead.
+     *
+     * @throws RuntimeException if the user does not exist
+     */
+    public ShiftInstance match(long userId, Instant punch) {
+        return index(userId, punch, punch).match(punch);
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.hcms.attendancegroup.service;
+
+import com.example.hcms.attendancegroup.domain.TrackedAttribute;
+import com.example.hcms.attendancegroup.exception.InvalidTrackingConditionException;
+import com.example.hcms.auth.service.UserMembershipIndex;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compiled form of a group's member tracking conditions. The JSON is a tree of
+ * <pre>
+ * {"all": [ ... ]}  {"any": [ ... ]}  {"not": { ... }}
+ * {"attribute": "department" | "country" | "city" | "workforceType" | "jobTitle", "in": [ ... ]}
+ * </pre>
+ * Values are compared trimmed and case-insensitively. A tree is evaluated over the
+ * {@link UserMembershipIndex}, either for all users at once or for a single user, inside its reader.
+ */
+abstract class TrackingCondition {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int MAX_DEPTH = 8;
+    private static final int MAX_VALUES = 1000;
+
+    /**
+     * Users matching the condition; the result is a new set the caller may modify
+     */
+    abstract BitSet evaluate(UserMembershipIndex index);
+
+    /**
+     * Whether one user matches the condition
+     */
+    abstract boolean matches(UserMembershipIndex index, Long userId);
+
+    /**
+     * Parse and compile condition JSON
+     *
+     * @return the compiled condition, or null for null or blank JSON
+     * @throws InvalidTrackingConditionException if the JSON is malformed or not a valid condition
+     */
+    static TrackingCondition compile(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        JsonNode root;
+        try {
+            root = MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new InvalidTrackingConditionException("Member tracking conditions are not valid JSON");
+        }
+        return compile(root, 0);
+    }
+
+    private static TrackingCondition compile(JsonNode node, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new InvalidTrackingConditionException("Member tracking conditions nest deeper than " + MAX_DEPTH);
+        }
+        if (node == null || !node.isObject() || node.size() != (node.has("attribute") ? 2 : 1)) {
+            throw new InvalidTrackingConditionException(
+                    "Each condition must be one of all, any, not, or attribute with in");
+        }
+        if (!node.has("attribute")) {
+            return compileGroup(node, depth);
+        }
+        TrackedAttribute attribute = TrackedAttribute.fromKey(node.path("attribute").asText(null));
+        JsonNode values = node.get("in");
+        if (attribute == null) {
+            throw new InvalidTrackingConditionException("Unknown attribute " + node.get("attribute")
+                    + "; conditions can use department, country, city, workforceType and jobTitle");
+        }
+        if (values == null || !values.isArray() || values.size() > MAX_VALUES) {
+            throw new InvalidTrackingConditionException("in must be an array of at most " + MAX_VALUES + " values");
+        }
+        Set<String> normalized = new HashSet<>();
+        for (JsonNode value : values) {
+            if (!value.isValueNode() || value.isNull()) {
+                throw new InvalidTrackingConditionException("in values must be strings or numbers");
+            }
+            String text = TrackedAttribute.normalize(value.asText());
+            if (text != null) {
+                normalized.add(text);
+            }
+        }
+        return new Match(attribute, normalized);
+    }
+
+    private static TrackingCondition compileGroup(JsonNode node, int depth) {
+        if (node.has("all") || node.has("any")) {
+            boolean all = node.has("all");
+            JsonNode children = node.get(all ? "all" : "any");
+            if (!children.isArray()) {
+                throw new InvalidTrackingConditionException((all ? "all" : "any") + " must be an array");
+            }
+            List<TrackingCondition> compiled = new ArrayList<>(children.size());
+            for (JsonNode child : children) {
+                compiled.add(compile(child, depth + 1));
+            }
+            return all ? new All(compiled) : new Any(compiled);
+        }
+        if (node.has("not")) {
+            return new Not(compile(node.get("not"), depth + 1));
+        }
+        throw new InvalidTrackingConditionException(
+                "Each condition must be one of all, any, not, or attribute with in");
+    }
+
+    private static final class Match extends TrackingCondition {
+        private final TrackedAttribute attribute;
+        private final Set<String> values;
+
+        Match(TrackedAttribute attribute, Set<String> values) {
+            this.attribute = attribute;
+            this.values = Set.copyOf(values);
+        }
+
+        @Override
+        BitSet evaluate(UserMembershipIndex index) {
+            return index.matching(attribute.getDimension(), values);
+        }
+
+        @Override
+        boolean matches(UserMembershipIndex index, Long userId) {
+            String value = index.valueOf(userId, attribute.getDimension());
+            return value != null && values.contains(value);
+        }
+    }
+
+    /**
+     * Every child matches; an empty list matches every user
+     */
+    private static final class All extends TrackingCondition {
+        private final List<TrackingCondition> children;
+
+        All(List<TrackingCondition> children) {
+            this.children = List.copyOf(children);
+        }
+
+        @Override
+        BitSet evaluate(UserMembershipIndex index) {
+            BitSet result = (BitSet) index.all().clone();
+            for (TrackingCondition child : children) {
+                if (result.isEmpty()) {
+                    break;
+                }
+                result.and(child.evaluate(index));
+            }
+            return result;
+        }
+
+        @Override
+        boolean matches(UserMembershipIndex index, Long userId) {
+            for (TrackingCondition child : children) {
+                if (!child.matches(index, userId)) {
+                    return false;
+                }
+            }
+            return index.contains(userId);
+        }
+    }
+
+    /**
+     * At least one child matches; an empty list matches nobody
+     */
+    private static final class Any extends TrackingCondition {
+        private final List<TrackingCondition> children;
+
+        Any(List<TrackingCondition> children) {
+            this.children = List.copyOf(children);
+        }
+
+        @Override
+        BitSet evaluate(UserMembershipIndex index) {
+            BitSet result = new BitSet();
+            for (TrackingCondition child : children) {
+                result.or(child.evaluate(index));
+            }
+            return result;
+        }
+
+        @Override
+        boolean matches(UserMembershipIndex index, Long userId) {
+            for (TrackingCondition child : children) {
+                if (child.matches(index, userId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Users the child does not match
+     */
+    private static final class Not extends TrackingCondition {
+        private final TrackingCondition child;
+
+        Not(TrackingCondition child) {
+            this.child = child;
+        }
+
+        @Override
+        BitSet evaluate(UserMembershipIndex index) {
+            BitSet result = (BitSet) index.all().clone();
+            result.andNot(child.evaluate(index));
+            return result;
+        }
+
+        @Override
+        boolean matches(UserMembershipIndex index, Long userId) {
+            return index.contains(userId) && !child.matches(index, userId);
+        }
+    }
+}
@@ -1,10 +1,18 @@
 package com.example.hcms.auth.controller;
 
+import com.example.hcms.auth.domain.UserDimension;
 import com.example.hcms.auth.dto.CreateUserRequest;
+import com.example.hcms.auth.dto.ReassignAttendanceGroupRequest;
 import com.example.hcms.auth.dto.ResetPasswordRequest;
 import com.example.hcms.auth.dto.UpdateUserRequest;
+import com.example.hcms.auth.dto.UserIndexStats;
 import com.example.hcms.auth.dto.UserResponse;
+import com.example.hcms.auth.service.UserFilter;
 import com.example.hcms.auth.service.UserService;
+import com.example.hcms.common.dto.MultiGetResponse;
+import com.example.hcms.common.web.EntityTags;
+import com.example.hcms.common.web.FieldSet;
+import com.example.hcms.common.web.MultiGetLimits;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,11 +22,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import org.springframework.lang.NonNull;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -30,9 +42,11 @@ import java.util.Map;
 public class UserController {
 
         private final UserService userService;
+        private final MultiGetLimits multiGetLimits;
 
-        public UserController(UserService userService) {
+        public UserController(UserService userService, MultiGetLimits multiGetLimits) {
                 this.userService = userService;
+                this.multiGetLimits = multiGetLimits;
         }
 
         /**
@@ -50,25 +64,128 @@ public class UserController {
         })
         public ResponseEntity<UserResponse> createUser(@Valid @RequestBody @NonNull CreateUserRequest request) {
                 UserResponse response = userService.createUser(request);
-                return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                return ResponseEntity.status(HttpStatus.CREATED).eTag(EntityTags.of(response.getVersion())).body(response);
         }
 
         /**
-         * Get all users with pagination
+         * Get a single user
+         *
+         * @param id     user ID
+         * @param fields optional comma-separated field selection
+         * @return the user, with its version as ETag
+         */
+        @GetMapping("/{id}")
+        @Operation(summary = "Get user", description = "Get a single user by ID")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "User retrieved successfully"),
+                        @ApiResponse(responseCode = "404", description = "User not found")
+        })
+        public ResponseEntity<?> getUser(
+                        @PathVariable @NonNull Long id,
+                        @RequestParam(required = false) String fields) {
+                FieldSet fieldSet = userService.selectFields(fields);
+                if (fieldSet != null) {
+                        return ResponseEntity.ok(userService.getUser(id, fieldSet));
+                }
+                UserResponse response = userService.getUser(id);
+                return ResponseEntity.ok().eTag(EntityTags.of(response.getVersion())).body(response);
+        }
+
+        /**
+         * Get all users with pagination. Any of the membership filters (comma-separated alternatives,
+         * {@code !} to exclude) are answered from the in-memory membership index, in ID order.
          *
          * @param pageable pagination parameters
+         * @param fields   optional comma-separated field selection, e.g. id,firstName,lastName
          * @return page of users
          */
         @GetMapping
-        @Operation(summary = "Get all users", description = "Get all users with pagination")
+        @Operation(summary = "Get all users", description = "Get all users with pagination, optionally filtered by attendanceGroupId, departmentId, status, country, city and workforceType")
         @ApiResponses(value = {
-                        @ApiResponse(responseCode = "200", description = "Users retrieved successfully")
+                        @ApiResponse(responseCode = "200", description = "Users retrieved successfully"),
+                        @ApiResponse(responseCode = "400", description = "Unknown field in fields, or a filtered list sorted by anything but id")
         })
-        public ResponseEntity<Page<UserResponse>> getAllUsers(@NonNull Pageable pageable) {
-                Page<UserResponse> users = userService.getAllUsers(pageable);
+        public ResponseEntity<Page<?>> getAllUsers(
+                        @NonNull Pageable pageable,
+                        @RequestParam(required = false) String fields,
+                        @RequestParam(required = false) String attendanceGroupId,
+                        @RequestParam(required = false) String departmentId,
+                        @RequestParam(required = false) String status,
+                        @RequestParam(required = false) String country,
+                        @RequestParam(required = false) String city,
+                        @RequestParam(required = false) String workforceType) {
+                FieldSet fieldSet = userService.selectFields(fields);
+                UserFilter filter = filter(attendanceGroupId, departmentId, status, country, city, workforceType);
+                Page<?> users;
+                if (filter != null) {
+                        users = fieldSet != null
+                                        ? userService.getAllUsers(filter, pageable, fieldSet)
+                                        : userService.getAllUsers(filter, pageable);
+                } else {
+                        users = fieldSet != null
+                                        ? userService.getAllUsers(pageable, fieldSet)
+                                        : userService.getAllUsers(pageable);
+                }
                 return ResponseEntity.ok(users);
         }
 
+        /**
+         * Count users matching the membership filters, from the in-memory index
+         *
+         * @return the number of matching users
+         */
+        @GetMapping("/count")
+        @Operation(summary = "Count users", description = "Count users matching the same filters as the user list, without querying the database")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Users counted successfully")
+        })
+        public ResponseEntity<Map<String, Integer>> countUsers(
+                        @RequestParam(required = false) String attendanceGroupId,
+                        @RequestParam(required = false) String departmentId,
+                        @RequestParam(required = false) String status,
+                        @RequestParam(required = false) String country,
+                        @RequestParam(required = false) String city,
+                        @RequestParam(required = false) String workforceType) {
+                UserFilter filter = filter(attendanceGroupId, departmentId, status, country, city, workforceType);
+                return ResponseEntity.ok(Map.of("count", userService.countUsers(filter != null ? filter : UserFilter.and())));
+        }
+
+        /**
+         * Size and memory footprint of the user membership index
+         *
+         * @return the index statistics
+         */
+        @GetMapping("/index/stats")
+        @PreAuthorize("hasRole('ADMIN')")
+        @Operation(summary = "Membership index statistics", description = "Users, distinct values per dimension and estimated heap bytes of the in-memory membership index")
+        public ResponseEntity<UserIndexStats> getIndexStats() {
+                return ResponseEntity.ok(userService.getIndexStats());
+        }
+
+        /**
+         * Get several users by ID with one query
+         *
+         * @param ids    user IDs, at most app.api.multi-get.max-ids
+         * @param fields optional comma-separated field selection
+         * @return one item per requested ID in request order, with not-found markers
+         */
+        @GetMapping(params = "ids")
+        @Operation(summary = "Get users by IDs", description = "Resolve several user IDs in one request")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Users resolved; unknown IDs are marked not found"),
+                        @ApiResponse(responseCode = "400", description = "Too many IDs or unknown field in fields")
+        })
+        public ResponseEntity<MultiGetResponse<Object>> getUsersByIds(
+                        @RequestParam List<Long> ids,
+                        @RequestParam(required = false) String fields) {
+                FieldSet fieldSet = userService.selectFields(fields);
+                List<Long> distinctIds = multiGetLimits.distinct(ids);
+                Map<Long, ?> users = fieldSet != null
+                                ? userService.getUsersByIds(distinctIds, fieldSet)
+                                : userService.getUsersByIds(distinctIds);
+                return ResponseEntity.ok(MultiGetResponse.of(ids, users));
+        }
+
         /**
          * Reset a user's password
          *
@@ -104,13 +221,33 @@ public class UserController {
         @Operation(summary = "Update user", description = "Update an existing user's information")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "User updated successfully"),
-                        @ApiResponse(responseCode = "404", description = "User not found")
+                        @ApiResponse(responseCode = "404", description = "User not found"),
+                        @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
         })
         public ResponseEntity<UserResponse> updateUser(
                         @PathVariable @NonNull Long id,
-                        @Valid @RequestBody @NonNull UpdateUserRequest request) {
-                UserResponse response = userService.updateUser(id, request);
-                return ResponseEntity.ok(response);
+                        @Valid @RequestBody @NonNull UpdateUserRequest request,
+                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+                UserResponse response = userService.updateUser(id, request, EntityTags.expectedVersion(ifMatch));
+                return ResponseEntity.ok().eTag(EntityTags.of(response.getVersion())).body(response);
+        }
+
+        /**
+         * Move several users into an attendance group, or out of their group
+         *
+         * @param request user IDs and the target group (null to remove)
+         * @return number of users whose group changed
+         */
+        @PutMapping("/attendance-group")
+        @Operation(summary = "Reassign attendance group", description = "Move several users into an attendance group, or out of their group when attendanceGroupId is null")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Users reassigned successfully"),
+                        @ApiResponse(responseCode = "400", description = "Invalid input")
+        })
+        public ResponseEntity<Map<String, Integer>> reassignAttendanceGroup(
+                        @Valid @RequestBody @NonNull ReassignAttendanceGroupRequest request) {
+                int moved = userService.reassignAttendanceGroup(request.getUserIds(), request.getAttendanceGroupId());
+                return ResponseEntity.ok(Map.of("reassigned", moved));
         }
 
         /**
@@ -123,10 +260,25 @@ public class UserController {
         @Operation(summary = "Delete user", description = "Delete a user from the system")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "204", description = "User deleted successfully"),
-                        @ApiResponse(responseCode = "404", description = "User not found")
+                        @ApiResponse(responseCode = "404", description = "User not found"),
+                        @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
         })
-        public ResponseEntity<Void> deleteUser(@PathVariable @NonNull Long id) {
-                userService.deleteUser(id);
+        public ResponseEntity<Void> deleteUser(
+                        @PathVariable @NonNull Long id,
+                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+                userService.deleteUser(id, EntityTags.expectedVersion(ifMatch));
                 return ResponseEntity.noContent().build();
         }
+
+        private static UserFilter filter(String attendanceGroupId, String departmentId, String status,
+                        String country, String city, String workforceType) {
+                Map<UserDimension, String> params = new EnumMap<>(UserDimension.class);
+                params.put(UserDimension.ATTENDANCE_GROUP, attendanceGroupId);
+                params.put(UserDimension.DEPARTMENT, departmentId);
+                params.put(UserDimension.STATUS, status);
+                params.put(UserDimension.COUNTRY, country);
+                params.put(UserDimension.CITY, city);
+                params.put(UserDimension.WORKFORCE_TYPE, workforceType);
+                return UserFilter.fromParams(params);
+        }
 }
@@ -0,0 +1,33 @@
+package com.example.hcms.auth.domain;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Published when users are moved between attendance groups in bulk. The move is a bulk UPDATE that
+ * Hibernate's entity events never see, so the event carries each user's previous group for the
+ * change history.
+ */
+public class AttendanceGroupReassignedEvent {
+
+    // User ID to the group the user left, null for none
+    private final Map<Long, Long> previousGroups;
+    private final Long attendanceGroupId;
+
+    public AttendanceGroupReassignedEvent(Map<Long, Long> previousGroups, Long attendanceGroupId) {
+        this.previousGroups = Collections.unmodifiableMap(new HashMap<>(previousGroups));
+        this.attendanceGroupId = attendanceGroupId;
+    }
+
+    public Map<Long, Long> getPreviousGroups() {
+        return previousGroups;
+    }
+
+    /**
+     * The group the users joined, or null if they were removed from their groups
+     */
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+}
@@ -12,7 +12,8 @@ import java.util.Set;
 @Entity
 @Table(name = "user", indexes = {
         @Index(name = "idx_email", columnList = "email"),
-        @Index(name = "idx_username", columnList = "username")
+        @Index(name = "idx_username", columnList = "username"),
+        @Index(name = "idx_user_department_status", columnList = "department_id, status")
 })
 public class User {
 
@@ -96,6 +97,11 @@ public class User {
     @Column(name = "created_by_id")
     private Long createdById;
 
+    // Optimistic lock; incremented on every update and exposed as the ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
     private Set<UserRole> roles = new HashSet<>();
 
@@ -329,6 +335,14 @@ public class User {
         this.createdById = createdById;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Set<UserRole> getRoles() {
         return roles;
     }
@@ -0,0 +1,34 @@
+package com.example.hcms.auth.domain;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published when users are created, updated, deleted or moved between attendance groups.
+ * Carries only the IDs; listeners re-read whatever they need once the write has committed.
+ */
+public class UserChangedEvent {
+
+    private final List<Long> userIds;
+    private final List<Long> groupChangedUserIds;
+
+    public UserChangedEvent(Collection<Long> userIds) {
+        this(userIds, List.of());
+    }
+
+    public UserChangedEvent(Collection<Long> userIds, Collection<Long> groupChangedUserIds) {
+        this.userIds = List.copyOf(userIds);
+        this.groupChangedUserIds = List.copyOf(groupChangedUserIds);
+    }
+
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    /**
+     * The changed users that an update moved into another attendance group, or out of theirs
+     */
+    public List<Long> getGroupChangedUserIds() {
+        return groupChangedUserIds;
+    }
+}
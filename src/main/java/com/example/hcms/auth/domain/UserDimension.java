@@ -0,0 +1,39 @@
+package com.example.hcms.auth.domain;
+
+import java.util.Locale;
+
+/**
+ * User attributes the membership index keeps a bitmap per value for, by query parameter name
+ */
+public enum UserDimension {
+    ATTENDANCE_GROUP("attendanceGroupId"),
+    DEPARTMENT("departmentId"),
+    STATUS("status"),
+    COUNTRY("country"),
+    CITY("city"),
+    WORKFORCE_TYPE("workforceType"),
+    JOB_TITLE("jobTitle");
+
+    private final String param;
+
+    UserDimension(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * Canonical form values are indexed and compared in: trimmed and case-insensitive
+     *
+     * @return the normalized value, or null for a missing or blank value
+     */
+    public static String normalize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString().trim();
+        return text.isEmpty() ? null : text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -24,6 +24,7 @@ public class CreateUserRequest {
 
     private String phoneNumber;
     private Long departmentId;
+    private Long attendanceGroupId;
     private String alias;
     private String deskId;
     private String phoneExtension;
@@ -87,6 +88,14 @@ public class CreateUserRequest {
         this.departmentId = departmentId;
     }
 
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+
+    public void setAttendanceGroupId(Long attendanceGroupId) {
+        this.attendanceGroupId = attendanceGroupId;
+    }
+
     public String getAlias() {
         return alias;
     }
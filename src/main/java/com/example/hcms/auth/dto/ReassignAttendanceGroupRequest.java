@@ -0,0 +1,34 @@
+package com.example.hcms.auth.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO for moving several users into an attendance group
+ */
+public class ReassignAttendanceGroupRequest {
+
+    @NotEmpty(message = "At least one user ID is required")
+    @Size(max = 1000, message = "At most 1000 users can be reassigned at once")
+    private List<Long> userIds;
+
+    private Long attendanceGroupId; // Target group, or null to remove the users from their group
+
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+
+    public void setAttendanceGroupId(Long attendanceGroupId) {
+        this.attendanceGroupId = attendanceGroupId;
+    }
+}
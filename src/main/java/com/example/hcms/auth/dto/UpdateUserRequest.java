@@ -22,6 +22,7 @@ public class UpdateUserRequest {
 
     private String phoneNumber;
     private Long departmentId;
+    private Long attendanceGroupId;
     private String alias;
     private String deskId;
     private String phoneExtension;
@@ -85,6 +86,14 @@ public class UpdateUserRequest {
         this.departmentId = departmentId;
     }
 
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+
+    public void setAttendanceGroupId(Long attendanceGroupId) {
+        this.attendanceGroupId = attendanceGroupId;
+    }
+
     public String getAlias() {
         return alias;
     }
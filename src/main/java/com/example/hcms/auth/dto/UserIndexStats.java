@@ -0,0 +1,37 @@
+package com.example.hcms.auth.dto;
+
+import java.util.Map;
+
+/**
+ * Size and estimated heap footprint of the in-memory user membership index
+ */
+public class UserIndexStats {
+
+    private int users;
+    private Map<String, Integer> distinctValues;
+    private long bitmapBytes;
+    private long estimatedBytes;
+
+    public UserIndexStats(int users, Map<String, Integer> distinctValues, long bitmapBytes, long estimatedBytes) {
+        this.users = users;
+        this.distinctValues = distinctValues;
+        this.bitmapBytes = bitmapBytes;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public Map<String, Integer> getDistinctValues() {
+        return distinctValues;
+    }
+
+    public long getBitmapBytes() {
+        return bitmapBytes;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+}
@@ -11,6 +11,7 @@ public class UserResponse {
     private String firstName;
     private String lastName;
     private Set<String> roles;
+    private Long version;
 
     public UserResponse(Long id, String email, String firstName, String lastName, Set<String> roles) {
         this.id = id;
@@ -59,4 +60,12 @@ public class UserResponse {
     public void setRoles(Set<String> roles) {
         this.roles = roles;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
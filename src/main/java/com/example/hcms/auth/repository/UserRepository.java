@@ -1,9 +1,18 @@
 package com.example.hcms.auth.repository;
 
 import com.example.hcms.auth.domain.User;
+import com.example.hcms.auth.domain.User.UserStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -27,6 +36,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByUsername(String username);
 
+    /**
+     * Find several users by ID, with their roles in the same query
+     *
+     * @param ids the user IDs
+     * @return the users found
+     */
+    @EntityGraph(attributePaths = "roles")
+    List<User> findByIdIn(Collection<Long> ids);
+
     /**
      * Check if user exists by email
      *
@@ -42,4 +60,141 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return number of users
      */
     long countByAttendanceGroupId(Long attendanceGroupId);
+
+    /**
+     * The attendance group of each of the given users, locking their rows until commit so the groups
+     * read are the groups they leave
+     *
+     * @param ids user IDs; unknown IDs are skipped
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id AS id, u.attendanceGroupId AS attendanceGroupId FROM User u WHERE u.id IN :ids "
+            + "ORDER BY u.id")
+    List<GroupAssignmentView> findGroupAssignmentsByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Move those of the given users that are in {@code fromGroupId} to {@code toGroupId}
+     *
+     * @return number of users moved
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.attendanceGroupId = :toGroupId, u.version = u.version + 1 "
+            + "WHERE u.id IN :ids AND u.attendanceGroupId = :fromGroupId")
+    int moveAttendanceGroup(@Param("ids") Collection<Long> ids, @Param("fromGroupId") Long fromGroupId,
+            @Param("toGroupId") Long toGroupId);
+
+    /**
+     * Move those of the given users that have no attendance group to {@code toGroupId}
+     *
+     * @return number of users moved
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.attendanceGroupId = :toGroupId, u.version = u.version + 1 "
+            + "WHERE u.id IN :ids AND u.attendanceGroupId IS NULL")
+    int assignAttendanceGroup(@Param("ids") Collection<Long> ids, @Param("toGroupId") Long toGroupId);
+
+    /**
+     * The user columns the in-memory user indexes are built from
+     */
+    interface AttributeView {
+        Long getId();
+
+        Long getDepartmentId();
+
+        String getCountry();
+
+        String getCity();
+
+        String getWorkforceType();
+
+        String getJobTitle();
+
+        Long getAttendanceGroupId();
+
+        UserStatus getStatus();
+    }
+
+    /**
+     * Read the indexed columns of every user
+     *
+     * @return one view per user
+     */
+    @Query("SELECT u.id AS id, u.departmentId AS departmentId, u.country AS country, u.city AS city, "
+            + "u.workforceType AS workforceType, u.jobTitle AS jobTitle, "
+            + "u.attendanceGroupId AS attendanceGroupId, u.status AS status FROM User u")
+    List<AttributeView> findAllAttributeViews();
+
+    /**
+     * Read the indexed columns of several users
+     *
+     * @param ids user IDs
+     * @return views of the users that exist
+     */
+    @Query("SELECT u.id AS id, u.departmentId AS departmentId, u.country AS country, u.city AS city, "
+            + "u.workforceType AS workforceType, u.jobTitle AS jobTitle, "
+            + "u.attendanceGroupId AS attendanceGroupId, u.status AS status FROM User u WHERE u.id IN :ids")
+    List<AttributeView> findAttributeViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * A user's attendance group, for in-memory schedule lookups
+     */
+    interface GroupAssignmentView {
+        Long getId();
+
+        Long getAttendanceGroupId();
+    }
+
+    /**
+     * Read the attendance group of every user
+     *
+     * @return one view per user
+     */
+    @Query("SELECT u.id AS id, u.attendanceGroupId AS attendanceGroupId FROM User u")
+    List<GroupAssignmentView> findAllGroupAssignments();
+
+    /**
+     * Read the attendance group of several users
+     *
+     * @param ids user IDs
+     * @return views of the users that exist
+     */
+    @Query("SELECT u.id AS id, u.attendanceGroupId AS attendanceGroupId FROM User u WHERE u.id IN :ids")
+    List<GroupAssignmentView> findGroupAssignmentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Read the members of several attendance groups, through the attendance group index
+     *
+     * @param groupIds attendance group IDs
+     * @return one view per member, in user ID order
+     */
+    @Query("SELECT u.id AS id, u.attendanceGroupId AS attendanceGroupId FROM User u "
+            + "WHERE u.attendanceGroupId IN :groupIds ORDER BY u.id")
+    List<GroupAssignmentView> findGroupAssignmentsByAttendanceGroupIdIn(@Param("groupIds") Collection<Long> groupIds);
+
+    /**
+     * Read the members of an attendance group within a range of user IDs, through the attendance group index
+     *
+     * @return member IDs, in order
+     */
+    @Query("SELECT u.id FROM User u WHERE u.attendanceGroupId = :groupId AND u.id BETWEEN :fromId AND :toId "
+            + "ORDER BY u.id")
+    List<Long> findIdsByAttendanceGroupIdAndIdBetween(@Param("groupId") Long groupId, @Param("fromId") Long fromId,
+            @Param("toId") Long toId);
+
+    /**
+     * Count users directly assigned to a department
+     *
+     * @param departmentId the department ID
+     * @return number of users
+     */
+    long countByDepartmentId(Long departmentId);
+
+    /**
+     * Count users directly assigned to a department with the given status
+     *
+     * @param departmentId the department ID
+     * @param status       the user status
+     * @return number of users
+     */
+    long countByDepartmentIdAndStatus(Long departmentId, UserStatus status);
 }
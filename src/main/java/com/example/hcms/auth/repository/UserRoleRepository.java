@@ -2,12 +2,24 @@ package com.example.hcms.auth.repository;
 
 import com.example.hcms.auth.domain.UserRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Repository for UserRole entity operations
  */
 @Repository
 public interface UserRoleRepository extends JpaRepository<UserRole, Long> {
-    // Additional query methods can be added as needed
+    /**
+     * Roles of several users in one query
+     *
+     * @param userIds the user IDs
+     * @return rows of [userId, role]
+     */
+    @Query("SELECT r.user.id, r.role FROM UserRole r WHERE r.user.id IN :userIds")
+    List<Object[]> findRolesByUserIds(@Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,174 @@
+package com.example.hcms.auth.service;
+
+import com.example.hcms.auth.domain.UserDimension;
+import com.example.hcms.common.exception.InvalidParameterException;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Boolean filter over the dimensions of the {@link UserMembershipIndex}, e.g.
+ * {@code and(in(ATTENDANCE_GROUP, "7"), in(DEPARTMENT, "12"), not(in(STATUS, "SUSPENDED")))}.
+ * Values are normalized like the index, so matching is trimmed and case-insensitive.
+ */
+public abstract class UserFilter {
+
+    /**
+     * Users matching the filter; the result is a new set the caller may modify
+     */
+    abstract BitSet evaluate(UserMembershipIndex index);
+
+    /**
+     * Users whose dimension holds any of the values
+     */
+    public static UserFilter in(UserDimension dimension, String... values) {
+        return in(dimension, List.of(values));
+    }
+
+    /**
+     * Users whose dimension holds any of the values
+     */
+    public static UserFilter in(UserDimension dimension, Iterable<String> values) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String value : values) {
+            String text = UserDimension.normalize(value);
+            if (text != null) {
+                normalized.add(text);
+            }
+        }
+        return new In(dimension, normalized);
+    }
+
+    /**
+     * Users matching every filter; no filters matches every user
+     */
+    public static UserFilter and(UserFilter... filters) {
+        return new And(List.of(filters));
+    }
+
+    /**
+     * Users matching at least one filter
+     */
+    public static UserFilter or(UserFilter... filters) {
+        return new Or(List.of(filters));
+    }
+
+    /**
+     * Users not matching the filter
+     */
+    public static UserFilter not(UserFilter filter) {
+        return new Not(filter);
+    }
+
+    /**
+     * Build a filter from list query parameters: values of one parameter are comma-separated
+     * alternatives, a value prefixed with {@code !} is excluded, and parameters are combined with AND.
+     * {@code status=ACTIVE,INACTIVE&city=!Jakarta} is "active or invited, and not in Jakarta".
+     *
+     * @param params raw parameter values by dimension; null or blank values are skipped
+     * @return the filter, or null if no parameter was given
+     */
+    public static UserFilter fromParams(Map<UserDimension, String> params) {
+        List<UserFilter> parts = new ArrayList<>();
+        Map<UserDimension, String> ordered = new EnumMap<>(UserDimension.class);
+        params.forEach((dimension, value) -> {
+            if (value != null && !value.isBlank()) {
+                ordered.put(dimension, value);
+            }
+        });
+        ordered.forEach((dimension, value) -> {
+            List<String> included = new ArrayList<>();
+            List<String> excluded = new ArrayList<>();
+            for (String item : value.split(",")) {
+                String trimmed = item.trim();
+                if (trimmed.startsWith("!")) {
+                    excluded.add(trimmed.substring(1));
+                } else {
+                    included.add(trimmed);
+                }
+            }
+            if (included.stream().allMatch(String::isBlank) && excluded.stream().allMatch(String::isBlank)) {
+                throw new InvalidParameterException(dimension.getParam() + " has no values");
+            }
+            if (!included.isEmpty()) {
+                parts.add(in(dimension, included));
+            }
+            if (!excluded.isEmpty()) {
+                parts.add(not(in(dimension, excluded)));
+            }
+        });
+        return parts.isEmpty() ? null : new And(parts);
+    }
+
+    private static final class In extends UserFilter {
+        private final UserDimension dimension;
+        private final Set<String> values;
+
+        In(UserDimension dimension, Set<String> values) {
+            this.dimension = dimension;
+            this.values = Set.copyOf(values);
+        }
+
+        @Override
+        BitSet evaluate(UserMembershipIndex index) {
+            return index.matching(dimension, values);
+        }
+    }
+
+    private static final class And extends UserFilter {
+        private final List<UserFilter> filters;
+
+        And(List<UserFilter> filters) {
+            this.filters = List.copyOf(filters);
+        }
+
+        @Override
+        BitSet evaluate(UserMembershipIndex index) {
+            BitSet result = (BitSet) index.all().clone();
+            for (UserFilter filter : filters) {
+                if (result.isEmpty()) {
+                    break;
+                }
+                result.and(filter.evaluate(index));
+            }
+            return result;
+        }
+    }
+
+    private static final class Or extends UserFilter {
+        private final List<UserFilter> filters;
+
+        Or(List<UserFilter> filters) {
+            this.filters = List.copyOf(filters);
+        }
+
+        @Override
+        BitSet evaluate(UserMembershipIndex index) {
+            BitSet result = new BitSet();
+            for (UserFilter filter : filters) {
+                result.or(filter.evaluate(index));
+            }
+            return result;
+        }
+    }
+
+    private static final class Not extends UserFilter {
+        private final UserFilter filter;
+
+        Not(UserFilter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        BitSet evaluate(UserMembershipIndex index) {
+            BitSet result = (BitSet) index.all().clone();
+            result.andNot(filter.evaluate(index));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.example.hcms.auth.service;
+
+import com.example.hcms.auth.domain.UserChangedEvent;
+import com.example.hcms.auth.domain.UserDimension;
+import com.example.hcms.auth.dto.UserIndexStats;
+import com.example.hcms.auth.repository.UserRepository;
+import com.example.hcms.auth.repository.UserRepository.AttributeView;
+import com.example.hcms.common.exception.InvalidParameterException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory secondary index of users: one bitmap of user IDs per value of each {@link UserDimension}.
+ * Filtered counts and ID pages are answered by AND/OR/NOT over the bitmaps without touching the database.
+ * The index is built when the application is ready (or on first use) and kept current by
+ * {@link UserChangedEvent}s: after each committed user write the changed rows are re-read in one query.
+ * Bit positions are user IDs, so results come out in ID order. Other modules evaluating their own
+ * conditions over the bitmaps do so inside {@link #read(Supplier)}.
+ */
+@Component
+public class UserMembershipIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserMembershipIndex.class);
+
+    private final UserRepository userRepository;
+    // Readers take the read lock; writers hold the monitor across their database read and apply,
+    // so a later write is never overwritten by an earlier one
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object writer = new Object();
+
+    private final BitSet all = new BitSet();
+    private final EnumMap<UserDimension, Map<String, Posting>> postings = new EnumMap<>(UserDimension.class);
+    // Per dimension, each user's current posting, indexed by user ID
+    private final EnumMap<UserDimension, Posting[]> values = new EnumMap<>(UserDimension.class);
+    private volatile boolean built;
+    private volatile long generation;
+
+    public UserMembershipIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+        for (UserDimension dimension : UserDimension.values()) {
+            postings.put(dimension, new HashMap<>());
+            values.put(dimension, new Posting[0]);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureBuilt();
+    }
+
+    /**
+     * Re-index users once their write has committed. Runs before other user listeners, so anything
+     * they evaluate over the index sees the new rows.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onUserChanged(UserChangedEvent event) {
+        synchronized (writer) {
+            if (!built) {
+                // The initial build will read the committed rows
+                return;
+            }
+            List<AttributeView> rows;
+            try {
+                rows = userRepository.findAttributeViewsByIdIn(event.getUserIds());
+            } catch (RuntimeException e) {
+                logger.warn("Could not re-index users {}; the index will be rebuilt on next use",
+                        event.getUserIds(), e);
+                built = false;
+                return;
+            }
+            Set<Long> deleted = new HashSet<>(event.getUserIds());
+            lock.writeLock().lock();
+            try {
+                for (AttributeView row : rows) {
+                    deleted.remove(row.getId());
+                    put(row);
+                }
+                deleted.forEach(this::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Number of users matching the filter
+     */
+    public int count(UserFilter filter) {
+        return read(() -> filter.evaluate(this).cardinality());
+    }
+
+    /**
+     * One page of the IDs of users matching the filter, in ascending or descending ID order
+     *
+     * @throws InvalidParameterException if the page is sorted by anything but id
+     */
+    public Page<Long> page(UserFilter filter, Pageable pageable) {
+        boolean descending = isDescending(pageable.getSort());
+        BitSet matching = read(() -> filter.evaluate(this));
+
+        List<Long> ids = new ArrayList<>(pageable.getPageSize());
+        long skip = pageable.getOffset();
+        int bit = descending ? matching.length() - 1 : matching.nextSetBit(0);
+        while (bit >= 0 && ids.size() < pageable.getPageSize()) {
+            if (skip > 0) {
+                skip--;
+            } else {
+                ids.add((long) bit);
+            }
+            bit = descending ? matching.previousSetBit(bit - 1) : matching.nextSetBit(bit + 1);
+        }
+        return new PageImpl<>(ids, pageable, matching.cardinality());
+    }
+
+    /**
+     * Current size and estimated heap footprint
+     */
+    public UserIndexStats stats() {
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> distinct = new LinkedHashMap<>();
+            long bitmapBytes = all.size() / 8;
+            long keyBytes = 0;
+            long columnBytes = 0;
+            for (UserDimension dimension : UserDimension.values()) {
+                Map<String, Posting> byValue = postings.get(dimension);
+                distinct.put(dimension.getParam(), byValue.size());
+                for (Posting posting : byValue.values()) {
+                    bitmapBytes += posting.users.size() / 8;
+                    // Map entry, posting, String header and Latin-1 content, BitSet header
+                    keyBytes += 32 + 16 + 40 + posting.value.length() + 24;
+                }
+                columnBytes += 16 + 4L * values.get(dimension).length;
+            }
+            return new UserIndexStats(all.cardinality(), distinct, bitmapBytes,
+                    bitmapBytes + keyBytes + columnBytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Run a reader under the read lock, building the index first if needed, so every lookup it makes
+     * sees the same state. The lookups below may only be called from inside a reader.
+     */
+    public <T> T read(Supplier<T> reader) {
+        ensureBuilt();
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Incremented on every full build; results derived from an earlier generation must be recomputed,
+     * since changes between a failed re-index and the rebuild were never reported individually
+     */
+    public long generation() {
+        return generation;
+    }
+
+    /**
+     * Every indexed user; callers must not modify the returned set
+     */
+    public BitSet all() {
+        return all;
+    }
+
+    /**
+     * Whether the user exists
+     */
+    public boolean contains(Long userId) {
+        return userId != null && userId >= 0 && userId <= Integer.MAX_VALUE && all.get(userId.intValue());
+    }
+
+    /**
+     * One user's normalized value of a dimension
+     *
+     * @return the value, or null if the user has none or does not exist
+     */
+    public String valueOf(Long userId, UserDimension dimension) {
+        Posting[] column = values.get(dimension);
+        int bit = bitOf(userId);
+        return bit < column.length && column[bit] != null ? column[bit].value : null;
+    }
+
+    /**
+     * Users whose dimension holds one of the normalized values; the result is a new set the caller may modify
+     */
+    public BitSet matching(UserDimension dimension, Collection<String> normalized) {
+        Map<String, Posting> byValue = postings.get(dimension);
+        BitSet result = new BitSet();
+        for (String value : normalized) {
+            Posting posting = byValue.get(value);
+            if (posting != null) {
+                result.or(posting.users);
+            }
+        }
+        return result;
+    }
+
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        synchronized (writer) {
+            if (built) {
+                return;
+            }
+            long start = System.nanoTime();
+            List<AttributeView> rows = userRepository.findAllAttributeViews();
+            lock.writeLock().lock();
+            try {
+                all.clear();
+                postings.values().forEach(Map::clear);
+                values.replaceAll((dimension, column) -> new Posting[0]);
+                rows.forEach(this::put);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            generation++;
+            built = true;
+            logger.info("User membership index built for {} users in {} ms", rows.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private void put(AttributeView row) {
+        int bit = bitOf(row.getId());
+        all.set(bit);
+        set(bit, UserDimension.ATTENDANCE_GROUP, row.getAttendanceGroupId());
+        set(bit, UserDimension.DEPARTMENT, row.getDepartmentId());
+        set(bit, UserDimension.STATUS, row.getStatus());
+        set(bit, UserDimension.COUNTRY, row.getCountry());
+        set(bit, UserDimension.CITY, row.getCity());
+        set(bit, UserDimension.WORKFORCE_TYPE, row.getWorkforceType());
+        set(bit, UserDimension.JOB_TITLE, row.getJobTitle());
+    }
+
+    private void remove(Long userId) {
+        int bit = bitOf(userId);
+        if (!all.get(bit)) {
+            return;
+        }
+        all.clear(bit);
+        for (UserDimension dimension : UserDimension.values()) {
+            set(bit, dimension, null);
+        }
+    }
+
+    private void set(int bit, UserDimension dimension, Object raw) {
+        String value = UserDimension.normalize(raw);
+        Posting[] column = values.get(dimension);
+        if (bit >= column.length) {
+            if (value == null) {
+                return;
+            }
+            column = Arrays.copyOf(column, Math.max(bit + 1, column.length * 2));
+            values.put(dimension, column);
+        }
+        Posting previous = column[bit];
+        if (previous != null && previous.value.equals(value) || previous == null && value == null) {
+            return;
+        }
+        Map<String, Posting> byValue = postings.get(dimension);
+        if (previous != null) {
+            previous.users.clear(bit);
+            if (previous.users.isEmpty()) {
+                byValue.remove(previous.value);
+            }
+        }
+        Posting next = null;
+        if (value != null) {
+            next = byValue.computeIfAbsent(value, Posting::new);
+            next.users.set(bit);
+        }
+        column[bit] = next;
+    }
+
+    /**
+     * The users holding one value; the value string is shared by every user's column entry
+     */
+    private static final class Posting {
+        private final String value;
+        private final BitSet users = new BitSet();
+
+        Posting(String value) {
+            this.value = value;
+        }
+    }
+
+    private static int bitOf(Long userId) {
+        if (userId < 0 || userId > Integer.MAX_VALUE) {
+            throw new IllegalStateException("User ID " + userId + " is out of range for the membership index");
+        }
+        return userId.intValue();
+    }
+
+    private static boolean isDescending(Sort sort) {
+        boolean descending = false;
+        for (Sort.Order order : sort) {
+            if (!order.getProperty().equals("id")) {
+                throw new InvalidParameterException("Filtered user lists can only be sorted by id");
+            }
+            descending = order.isDescending();
+        }
+        return descending;
+    }
+}
@@ -1,18 +1,40 @@
 package com.example.hcms.auth.service;
 
+import com.example.hcms.attendancegroup.service.AttendanceGroupService;
+import com.example.hcms.auth.domain.AttendanceGroupReassignedEvent;
 import com.example.hcms.auth.domain.User;
+import com.example.hcms.auth.domain.UserChangedEvent;
+import com.example.hcms.auth.domain.UserRole;
 import com.example.hcms.auth.dto.CreateUserRequest;
 import com.example.hcms.auth.dto.UpdateUserRequest;
+import com.example.hcms.auth.dto.UserIndexStats;
 import com.example.hcms.auth.dto.UserResponse;
 import com.example.hcms.auth.repository.UserRepository;
+import com.example.hcms.auth.repository.UserRepository.GroupAssignmentView;
+import com.example.hcms.auth.repository.UserRoleRepository;
+import com.example.hcms.common.exception.PreconditionFailedException;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.common.web.FieldSet;
+import com.example.hcms.common.web.ResponseFields;
+import com.example.hcms.department.service.DepartmentService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.lang.NonNull;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 
 /**
@@ -24,10 +46,38 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final DepartmentService departmentService;
+    private final ChangeWatermarks watermarks;
+    private final UserRoleRepository userRoleRepository;
+    private final SparseQueries sparseQueries;
+    private final AttendanceGroupService attendanceGroupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserMembershipIndex membershipIndex;
+    private final ResponseFields<User> fields;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            DepartmentService departmentService, ChangeWatermarks watermarks,
+            UserRoleRepository userRoleRepository, SparseQueries sparseQueries,
+            AttendanceGroupService attendanceGroupService, ApplicationEventPublisher eventPublisher,
+            UserMembershipIndex membershipIndex) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.departmentService = departmentService;
+        this.watermarks = watermarks;
+        this.userRoleRepository = userRoleRepository;
+        this.sparseQueries = sparseQueries;
+        this.attendanceGroupService = attendanceGroupService;
+        this.eventPublisher = eventPublisher;
+        this.membershipIndex = membershipIndex;
+        // Mirrors toResponse(User); roles come from one query per page instead of a lazy load per user
+        this.fields = ResponseFields.builder(User.class)
+                .column("id")
+                .column("email")
+                .column("firstName")
+                .column("lastName")
+                .batch("roles", this::findRoles)
+                .column("version")
+                .build();
     }
 
     /**
@@ -55,7 +105,14 @@ public class UserService {
 
         // Detailed info
         user.setPhoneNumber(request.getPhoneNumber());
+        if (request.getDepartmentId() != null) {
+            departmentService.getDepartmentById(request.getDepartmentId());
+        }
         user.setDepartmentId(request.getDepartmentId());
+        if (request.getAttendanceGroupId() != null) {
+            attendanceGroupService.getGroupById(request.getAttendanceGroupId());
+        }
+        user.setAttendanceGroupId(request.getAttendanceGroupId());
         user.setAlias(request.getAlias());
         user.setDeskId(request.getDeskId());
         user.setPhoneExtension(request.getPhoneExtension());
@@ -71,14 +128,33 @@ public class UserService {
         user.setJobTitle(request.getJobTitle());
 
         User savedUser = userRepository.save(user);
+        departmentService.updateMemberCounts(null, false, savedUser.getDepartmentId(), isActive(savedUser));
+        attendanceGroupService.updateMemberCounts(null, savedUser.getAttendanceGroupId());
+        watermarks.bump(ChangeWatermarks.USERS);
+        eventPublisher.publishEvent(new UserChangedEvent(List.of(savedUser.getId())));
 
-        return new UserResponse(
+        UserResponse response = new UserResponse(
                 savedUser.getId(),
                 savedUser.getEmail(),
                 savedUser.getFirstName(),
                 savedUser.getLastName(),
                 Set.of("EMPLOYEE") // Default role
         );
+        response.setVersion(savedUser.getVersion());
+        return response;
+    }
+
+    /**
+     * Get a single user
+     *
+     * @param id user ID
+     * @return the user response
+     */
+    @Transactional(readOnly = true)
+    public UserResponse getUser(@NonNull Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        return toResponse(user);
     }
 
     /**
@@ -90,14 +166,135 @@ public class UserService {
     @Transactional(readOnly = true)
     public Page<UserResponse> getAllUsers(@NonNull Pageable pageable) {
         return userRepository.findAll(pageable)
-                .map((@NonNull User user) -> new UserResponse(
-                        user.getId(),
-                        user.getEmail(),
-                        user.getFirstName(),
-                        user.getLastName(),
-                        user.getRoles().stream()
-                                .map(ur -> ur.getRole().name())
-                                .collect(java.util.stream.Collectors.toSet())));
+                .map((@NonNull User user) -> toResponse(user));
+    }
+
+    /**
+     * Get users matching a filter, paged in ID order from the membership index
+     *
+     * @param filter   the filter
+     * @param pageable pagination info; only sorting by id is supported
+     * @return page of user responses
+     */
+    @Transactional(readOnly = true)
+    public Page<UserResponse> getAllUsers(@NonNull UserFilter filter, @NonNull Pageable pageable) {
+        Page<Long> ids = membershipIndex.page(filter, pageable);
+        return inIdOrder(ids, getUsersByIds(ids.getContent()));
+    }
+
+    /**
+     * Get the selected fields of users matching a filter, paged in ID order from the membership index
+     *
+     * @param filter   the filter
+     * @param pageable pagination info; only sorting by id is supported
+     * @param fields   the selection
+     * @return page of users' selected fields
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllUsers(@NonNull UserFilter filter, @NonNull Pageable pageable,
+            @NonNull FieldSet fields) {
+        Page<Long> ids = membershipIndex.page(filter, pageable);
+        return inIdOrder(ids, getUsersByIds(ids.getContent(), fields));
+    }
+
+    /**
+     * Count users matching a filter without querying the database
+     *
+     * @param filter the filter
+     * @return number of matching users
+     */
+    public int countUsers(@NonNull UserFilter filter) {
+        return membershipIndex.count(filter);
+    }
+
+    /**
+     * Size and estimated memory footprint of the membership index
+     *
+     * @return the index statistics
+     */
+    public UserIndexStats getIndexStats() {
+        return membershipIndex.stats();
+    }
+
+    /**
+     * Lay rows out in the page's ID order; a user deleted since the index was read is skipped
+     */
+    private static <T> Page<T> inIdOrder(Page<Long> ids, Map<Long, T> rows) {
+        List<T> content = ids.getContent().stream().map(rows::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+    }
+
+    /**
+     * Parse a fields= selection for users
+     *
+     * @param fields comma-separated field names, may be null
+     * @return the selection, or null for the full representation
+     */
+    public FieldSet selectFields(String fields) {
+        return this.fields.select(fields);
+    }
+
+    /**
+     * Get the selected fields of a single user
+     *
+     * @param id     user ID
+     * @param fields the selection
+     * @return the user's selected fields
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getUser(@NonNull Long id, @NonNull FieldSet fields) {
+        return sparseQueries.findOne(this.fields, fields, (root, query, cb) -> cb.equal(root.get("id"), id))
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    /**
+     * Get all users with pagination, reading only the selected columns
+     *
+     * @param pageable pagination info
+     * @param fields   the selection
+     * @return page of users' selected fields
+     */
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllUsers(@NonNull Pageable pageable, @NonNull FieldSet fields) {
+        return sparseQueries.findPage(this.fields, fields, null, pageable);
+    }
+
+    /**
+     * Get several users with one IN query
+     *
+     * @param ids user IDs
+     * @return responses by ID; unknown IDs are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, UserResponse> getUsersByIds(@NonNull Collection<Long> ids) {
+        Map<Long, UserResponse> users = new HashMap<>();
+        for (User user : userRepository.findByIdIn(ids)) {
+            users.put(user.getId(), toResponse(user));
+        }
+        return users;
+    }
+
+    /**
+     * Get the selected fields of several users with one IN query
+     *
+     * @param ids    user IDs
+     * @param fields the selection
+     * @return rows by ID; unknown IDs are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Map<String, Object>> getUsersByIds(@NonNull Collection<Long> ids, @NonNull FieldSet fields) {
+        return sparseQueries.findAllById(this.fields, fields, ids, null);
+    }
+
+    private Map<Long, Set<String>> findRoles(Collection<Long> userIds) {
+        Map<Long, Set<String>> roles = new HashMap<>();
+        for (Long id : userIds) {
+            roles.put(id, new TreeSet<>());
+        }
+        for (Object[] row : userRoleRepository.findRolesByUserIds(userIds)) {
+            roles.get((Long) row[0]).add(((UserRole.Role) row[1]).name());
+        }
+        return roles;
     }
 
     /**
@@ -135,9 +332,13 @@ public class UserService {
             newPassword = UUID.randomUUID().toString().substring(0, 12);
         }
 
+        boolean wasActive = isActive(user);
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         user.setStatus(User.UserStatus.ACTIVE); // Activate user if they were invited
         userRepository.save(user);
+        departmentService.updateMemberCounts(user.getDepartmentId(), wasActive, user.getDepartmentId(), true);
+        watermarks.bump(ChangeWatermarks.USERS);
+        eventPublisher.publishEvent(new UserChangedEvent(List.of(userId)));
 
         return newPassword;
     }
@@ -145,14 +346,19 @@ public class UserService {
     /**
      * Update an existing user
      *
-     * @param id      user ID
-     * @param request update request
+     * @param id              user ID
+     * @param request         update request
+     * @param expectedVersion version from If-Match, or null for an unconditional update
      * @return updated user response
      */
-    public UserResponse updateUser(@NonNull Long id, UpdateUserRequest request) {
+    public UserResponse updateUser(@NonNull Long id, UpdateUserRequest request, Long expectedVersion) {
         User user = java.util.Objects.requireNonNull(
                 userRepository.findById(id)
                         .orElseThrow(() -> new RuntimeException("User not found")));
+        checkVersion(user, expectedVersion);
+        Long previousDepartmentId = user.getDepartmentId();
+        Long previousGroupId = user.getAttendanceGroupId();
+        boolean wasActive = isActive(user);
 
         if (request.getName() != null)
             user.setFirstName(request.getName()); // Basic mapping
@@ -165,8 +371,14 @@ public class UserService {
 
         if (request.getPhoneNumber() != null)
             user.setPhoneNumber(request.getPhoneNumber());
-        if (request.getDepartmentId() != null)
+        if (request.getDepartmentId() != null) {
+            departmentService.getDepartmentById(request.getDepartmentId());
             user.setDepartmentId(request.getDepartmentId());
+        }
+        if (request.getAttendanceGroupId() != null) {
+            attendanceGroupService.getGroupById(request.getAttendanceGroupId());
+            user.setAttendanceGroupId(request.getAttendanceGroupId());
+        }
         if (request.getAlias() != null)
             user.setAlias(request.getAlias());
         if (request.getDeskId() != null)
@@ -194,27 +406,103 @@ public class UserService {
         if (request.getJobTitle() != null)
             user.setJobTitle(request.getJobTitle());
 
-        User savedUser = userRepository.save(user);
+        // Flush so the versioned UPDATE runs now and the response carries the new version
+        User savedUser = userRepository.saveAndFlush(user);
+        departmentService.updateMemberCounts(previousDepartmentId, wasActive,
+                savedUser.getDepartmentId(), isActive(savedUser));
+        attendanceGroupService.updateMemberCounts(previousGroupId, savedUser.getAttendanceGroupId());
+        watermarks.bump(ChangeWatermarks.USERS);
+        eventPublisher.publishEvent(new UserChangedEvent(List.of(id),
+                Objects.equals(previousGroupId, savedUser.getAttendanceGroupId()) ? List.of() : List.of(id)));
 
-        return new UserResponse(
-                savedUser.getId(),
-                savedUser.getEmail(),
-                savedUser.getFirstName(),
-                savedUser.getLastName(),
-                savedUser.getRoles().stream()
-                        .map(ur -> ur.getRole().name())
-                        .collect(java.util.stream.Collectors.toSet()));
+        return toResponse(savedUser);
     }
 
     /**
      * Delete a user
      *
-     * @param id user ID
+     * @param id              user ID
+     * @param expectedVersion version from If-Match, or null for an unconditional delete
+     */
+    public void deleteUser(@NonNull Long id, Long expectedVersion) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        checkVersion(user, expectedVersion);
+        departmentService.updateMemberCounts(user.getDepartmentId(), isActive(user), null, false);
+        attendanceGroupService.updateMemberCounts(user.getAttendanceGroupId(), null);
+        userRepository.delete(user);
+        watermarks.bump(ChangeWatermarks.USERS);
+        eventPublisher.publishEvent(new UserChangedEvent(List.of(id)));
+    }
+
+    /**
+     * Move several users into an attendance group, or out of their group
+     *
+     * @param userIds           user IDs; unknown IDs are ignored
+     * @param attendanceGroupId the target group, or null to remove the users from their group
+     * @return number of users whose group changed
+     */
+    public int reassignAttendanceGroup(@NonNull Collection<Long> userIds, Long attendanceGroupId) {
+        if (attendanceGroupId != null) {
+            attendanceGroupService.getGroupById(attendanceGroupId);
+        }
+
+        // Lock the users first: each one's previous group is then exact, for the member counts and
+        // for the history records the bulk UPDATEs would otherwise leave out
+        Map<Long, Long> previousGroups = new HashMap<>();
+        Map<Long, List<Long>> bySourceGroup = new HashMap<>();
+        for (GroupAssignmentView user : userRepository.findGroupAssignmentsByIdInForUpdate(userIds)) {
+            if (!Objects.equals(user.getAttendanceGroupId(), attendanceGroupId)) {
+                previousGroups.put(user.getId(), user.getAttendanceGroupId());
+                bySourceGroup.computeIfAbsent(user.getAttendanceGroupId(), group -> new ArrayList<>())
+                        .add(user.getId());
+            }
+        }
+
+        // One guarded UPDATE per source group
+        int moved = 0;
+        for (Map.Entry<Long, List<Long>> source : bySourceGroup.entrySet()) {
+            Long fromGroupId = source.getKey();
+            int count = fromGroupId != null
+                    ? userRepository.moveAttendanceGroup(source.getValue(), fromGroupId, attendanceGroupId)
+                    : userRepository.assignAttendanceGroup(source.getValue(), attendanceGroupId);
+            attendanceGroupService.adjustMemberCount(fromGroupId, -count);
+            moved += count;
+        }
+        attendanceGroupService.adjustMemberCount(attendanceGroupId, moved);
+
+        if (moved > 0) {
+            watermarks.bump(ChangeWatermarks.USERS);
+            eventPublisher.publishEvent(new UserChangedEvent(previousGroups.keySet(), previousGroups.keySet()));
+            eventPublisher.publishEvent(new AttendanceGroupReassignedEvent(previousGroups, attendanceGroupId));
+        }
+        return moved;
+    }
+
+    /**
+     * Reject a conditional write whose If-Match version is stale. The race between this
+     * check and commit is covered by the versioned UPDATE/DELETE, so no row lock is taken.
      */
-    public void deleteUser(@NonNull Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found");
+    private void checkVersion(User user, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(user.getVersion())) {
+            throw new PreconditionFailedException("User", user.getId(), expectedVersion, user.getVersion());
         }
-        userRepository.deleteById(id);
+    }
+
+    private UserResponse toResponse(User user) {
+        UserResponse response = new UserResponse(
+                user.getId(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                user.getRoles().stream()
+                        .map(ur -> ur.getRole().name())
+                        .collect(java.util.stream.Collectors.toSet()));
+        response.setVersion(user.getVersion());
+        return response;
+    }
+
+    private boolean isActive(User user) {
+        return user.getStatus() == User.UserStatus.ACTIVE;
     }
 }
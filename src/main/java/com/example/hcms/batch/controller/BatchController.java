@@ -0,0 +1,58 @@
+package com.example.hcms.batch.controller;
+
+import com.example.hcms.batch.dto.BatchRequest;
+import com.example.hcms.batch.dto.BatchResponse;
+import com.example.hcms.batch.service.BatchService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Locale;
+
+/**
+ * REST controller for batched reads
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RestController
+@RequestMapping("/api/v1/batch")
+public class BatchController {
+
+    private final BatchService batchService;
+
+    public BatchController(BatchService batchService) {
+        this.batchService = batchService;
+    }
+
+    /**
+     * Run several GET requests in one round trip. Sub-requests run in parallel under the caller's
+     * authentication; each gets its own status, so one failure does not fail the batch.
+     * Per-item timings are returned in the body and in Server-Timing.
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<BatchResponse> execute(@Valid @RequestBody BatchRequest request,
+                                                 HttpServletRequest httpRequest) {
+        BatchResponse response = batchService.execute(request, httpRequest);
+        return ResponseEntity.ok()
+                .header("Server-Timing", serverTiming(response))
+                .body(response);
+    }
+
+    private static String serverTiming(BatchResponse response) {
+        StringBuilder timing = new StringBuilder("batch;dur=").append(response.getDurationMs());
+        for (int i = 0; i < response.getResponses().size(); i++) {
+            Double duration = response.getResponses().get(i).getDurationMs();
+            if (duration != null) {
+                timing.append(", sub").append(i).append(";dur=")
+                        .append(String.format(Locale.ROOT, "%.1f", duration));
+            }
+        }
+        return timing.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.hcms.batch.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request DTO for POST /api/v1/batch
+ */
+public class BatchRequest {
+
+    @NotEmpty(message = "At least one sub-request is required")
+    @Valid
+    private List<SubRequest> requests;
+
+    public List<SubRequest> getRequests() {
+        return requests;
+    }
+
+    public void setRequests(List<SubRequest> requests) {
+        this.requests = requests;
+    }
+
+    /**
+     * One sub-request against an existing GET route
+     */
+    public static class SubRequest {
+        private String id; // Client correlation ID, echoed back
+        private String method = "GET";
+
+        @NotBlank(message = "Sub-request path is required")
+        private String path; // e.g. /api/v1/shifts?status=ACTIVE&fields=id,name
+
+        private Map<String, String> headers; // Only conditional and content-negotiation headers are honoured
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        public void setHeaders(Map<String, String> headers) {
+            this.headers = headers;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.hcms.batch.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for POST /api/v1/batch: one entry per sub-request, in request order
+ */
+public class BatchResponse {
+
+    private List<SubResponse> responses;
+    private long durationMs;
+
+    public BatchResponse(List<SubResponse> responses, long durationMs) {
+        this.responses = responses;
+        this.durationMs = durationMs;
+    }
+
+    public List<SubResponse> getResponses() {
+        return responses;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    /**
+     * Outcome of one sub-request
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class SubResponse {
+        private String id;
+        private int status;
+        private Map<String, String> headers;
+        private String body; // Already-serialized JSON, embedded as-is
+        private Double durationMs;
+
+        public SubResponse(String id, int status, Map<String, String> headers, String body, Double durationMs) {
+            this.id = id;
+            this.status = status;
+            this.headers = headers;
+            this.body = body;
+            this.durationMs = durationMs;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public Map<String, String> getHeaders() {
+            return headers;
+        }
+
+        @JsonRawValue
+        public String getBody() {
+            return body;
+        }
+
+        public Double getDurationMs() {
+            return durationMs;
+        }
+    }
+}
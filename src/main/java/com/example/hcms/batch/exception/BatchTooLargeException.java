@@ -0,0 +1,10 @@
+package com.example.hcms.batch.exception;
+
+/**
+ * Exception thrown when a batch carries more sub-requests than the configured fan-out
+ */
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(int requested, int max) {
+        super("Batch has " + requested + " sub-requests; at most " + max + " are allowed");
+    }
+}
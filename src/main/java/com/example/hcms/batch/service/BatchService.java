@@ -0,0 +1,20 @@
+package com.example.hcms.batch.service;
+
+import com.example.hcms.batch.dto.BatchRequest;
+import com.example.hcms.batch.dto.BatchResponse;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Service for executing several read requests in one round trip
+ */
+public interface BatchService {
+
+    /**
+     * Execute the sub-requests of a batch against the application's own GET routes
+     *
+     * @param request the batch
+     * @param outer   the HTTP request carrying the batch, whose authentication applies to every sub-request
+     * @return one response per sub-request, in request order
+     */
+    BatchResponse execute(BatchRequest request, HttpServletRequest outer);
+}
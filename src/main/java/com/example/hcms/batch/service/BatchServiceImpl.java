@@ -0,0 +1,261 @@
+package com.example.hcms.batch.service;
+
+import com.example.hcms.batch.dto.BatchRequest;
+import com.example.hcms.batch.dto.BatchResponse;
+import com.example.hcms.batch.exception.BatchTooLargeException;
+import com.example.hcms.common.error.ErrorResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Implementation of BatchService.
+ * Sub-requests are dispatched straight into the DispatcherServlet on a bounded pool, so the security
+ * filter chain is not re-run: the caller is authenticated once by the outer request, URL rules are
+ * re-checked per sub-request through the {@link WebInvocationPrivilegeEvaluator}, and method-level
+ * {@code @PreAuthorize} applies as usual because the security context is carried to the workers.
+ */
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Service
+public class BatchServiceImpl implements BatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchServiceImpl.class);
+
+    private static final String BATCH_PATH = "/api/v1/batch";
+    private static final Set<String> FORWARDED_HEADERS = Set.of(
+            HttpHeaders.IF_NONE_MATCH.toLowerCase(), HttpHeaders.ACCEPT.toLowerCase(),
+            HttpHeaders.ACCEPT_LANGUAGE.toLowerCase());
+    private static final List<String> RETURNED_HEADERS = List.of(
+            HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL, HttpHeaders.LOCATION, HttpHeaders.RETRY_AFTER);
+
+    private final DispatcherServlet dispatcher;
+    private final WebInvocationPrivilegeEvaluator privilegeEvaluator;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<String> allowedRoutes;
+    private final int maxRequests;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor pool;
+    private final ExecutorService executor;
+
+    public BatchServiceImpl(DispatcherServlet dispatcherServlet,
+                            WebInvocationPrivilegeEvaluator privilegeEvaluator,
+                            ObjectMapper objectMapper,
+                            @Value("${app.batch.allowed-routes:/api/v1/users/**,/api/v1/shifts/**,/api/v1/attendance-groups/**,/api/v1/departments/**}") String[] allowedRoutes,
+                            @Value("${app.batch.max-requests:20}") int maxRequests,
+                            @Value("${app.batch.parallelism:4}") int parallelism,
+                            @Value("${app.batch.queue-capacity:64}") int queueCapacity,
+                            @Value("${app.batch.timeout-ms:10000}") long timeoutMs) {
+        this.dispatcher = dispatcherServlet;
+        this.privilegeEvaluator = privilegeEvaluator;
+        this.objectMapper = objectMapper;
+        this.allowedRoutes = Arrays.stream(allowedRoutes).map(String::trim).filter(s -> !s.isEmpty()).toList();
+        this.maxRequests = maxRequests;
+        this.timeoutMs = timeoutMs;
+        // When the queue is full the request thread runs the sub-request itself, which throttles
+        // the caller instead of failing the batch
+        this.pool = new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("batch-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor = new DelegatingSecurityContextExecutorService(pool);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public BatchResponse execute(BatchRequest request, HttpServletRequest outer) {
+        List<BatchRequest.SubRequest> subRequests = request.getRequests();
+        if (subRequests.size() > maxRequests) {
+            throw new BatchTooLargeException(subRequests.size(), maxRequests);
+        }
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        // Validate and snapshot on the request thread; only runnable sub-requests reach the pool
+        BatchResponse.SubResponse[] responses = new BatchResponse.SubResponse[subRequests.size()];
+        List<Future<BatchResponse.SubResponse>> futures = new ArrayList<>(subRequests.size());
+        for (int i = 0; i < subRequests.size(); i++) {
+            BatchRequest.SubRequest sub = subRequests.get(i);
+            String id = sub.getId() != null ? sub.getId() : String.valueOf(i);
+            BatchResponse.SubResponse rejected = validate(id, sub, outer, authentication);
+            if (rejected != null) {
+                responses[i] = rejected;
+                futures.add(null);
+                continue;
+            }
+            String path = sub.getPath();
+            int query = path.indexOf('?');
+            SubRequestWrapper wrapper = new SubRequestWrapper(outer,
+                    query < 0 ? path : path.substring(0, query),
+                    query < 0 ? null : path.substring(query + 1),
+                    forwardedHeaders(sub.getHeaders()));
+            futures.add(executor.submit(() -> dispatch(id, wrapper)));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            Future<BatchResponse.SubResponse> future = futures.get(i);
+            if (future == null) {
+                continue;
+            }
+            String id = subRequests.get(i).getId() != null ? subRequests.get(i).getId() : String.valueOf(i);
+            try {
+                responses[i] = future.get(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                responses[i] = error(id, HttpServletResponse.SC_GATEWAY_TIMEOUT, "TIMEOUT",
+                        "Sub-request did not complete within " + timeoutMs + " ms");
+            } catch (ExecutionException e) {
+                logger.error("Batch sub-request {} failed", id, e.getCause());
+                responses[i] = error(id, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "INTERNAL_ERROR",
+                        "An unexpected error occurred");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                responses[i] = error(id, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "INTERRUPTED",
+                        "Batch was interrupted");
+            }
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        logger.info("Batch of {} sub-requests completed in {} ms", subRequests.size(), durationMs);
+        return new BatchResponse(Arrays.asList(responses), durationMs);
+    }
+
+    /**
+     * @return an error response if the sub-request may not run, otherwise null
+     */
+    private BatchResponse.SubResponse validate(String id, BatchRequest.SubRequest sub, HttpServletRequest outer,
+                                               Authentication authentication) {
+        if (!"GET".equalsIgnoreCase(sub.getMethod())) {
+            return error(id, HttpServletResponse.SC_METHOD_NOT_ALLOWED, "METHOD_NOT_ALLOWED",
+                    "Only GET sub-requests are supported");
+        }
+        String path = sub.getPath();
+        int query = path.indexOf('?');
+        String route = query < 0 ? path : path.substring(0, query);
+        if (!isNormalized(route)) {
+            return error(id, HttpServletResponse.SC_BAD_REQUEST, "INVALID_PATH",
+                    "Sub-request path must be an absolute, normalized API path");
+        }
+        if (route.equals(BATCH_PATH) || !isAllowedRoute(route)) {
+            return error(id, HttpServletResponse.SC_FORBIDDEN, "ROUTE_NOT_ALLOWED",
+                    "Route is not available in batch requests");
+        }
+        if (!privilegeEvaluator.isAllowed(outer.getContextPath(), route, "GET", authentication)) {
+            return error(id, HttpServletResponse.SC_FORBIDDEN, "ACCESS_DENIED", "Access is denied");
+        }
+        return null;
+    }
+
+    private static boolean isNormalized(String route) {
+        if (!route.startsWith("/") || route.contains("//") || route.contains("\\") || route.contains("%")
+                || route.contains("#") || route.contains(";")) {
+            return false;
+        }
+        for (String segment : route.split("/")) {
+            if (segment.equals(".") || segment.equals("..")) {
+                return false;
+            }
+        }
+        return route.chars().noneMatch(Character::isISOControl);
+    }
+
+    private boolean isAllowedRoute(String route) {
+        for (String pattern : allowedRoutes) {
+            if (pathMatcher.match(pattern, route)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, String> forwardedHeaders(Map<String, String> requested) {
+        Map<String, String> headers = new LinkedCaseInsensitiveMap<>();
+        if (requested != null) {
+            requested.forEach((name, value) -> {
+                if (name != null && value != null && FORWARDED_HEADERS.contains(name.toLowerCase())) {
+                    headers.put(name, value);
+                }
+            });
+        }
+        return headers;
+    }
+
+    private BatchResponse.SubResponse dispatch(String id, SubRequestWrapper request) throws Exception {
+        long start = System.nanoTime();
+        BufferedServletResponse response = new BufferedServletResponse();
+        dispatcher.service(request, response);
+        double durationMs = (System.nanoTime() - start) / 1_000_000.0;
+        logger.debug("Batch sub-request {} GET {} -> {} in {} ms", id, request.getRequestURI(),
+                response.getStatus(), String.format("%.2f", durationMs));
+
+        Map<String, String> all = response.getHeaderValues();
+        Map<String, String> headers = new LinkedCaseInsensitiveMap<>();
+        for (String name : RETURNED_HEADERS) {
+            if (all.containsKey(name)) {
+                headers.put(name, all.get(name));
+            }
+        }
+        return new BatchResponse.SubResponse(id, response.getStatus(), headers.isEmpty() ? null : headers,
+                body(response), durationMs);
+    }
+
+    /**
+     * JSON bodies are embedded as-is; anything else is embedded as a JSON string
+     */
+    private String body(BufferedServletResponse response) throws JsonProcessingException {
+        String text = response.getBodyAsString();
+        if (text.isEmpty()) {
+            return null;
+        }
+        String contentType = response.getContentType();
+        if (contentType != null && contentType.toLowerCase().contains("json")) {
+            return text;
+        }
+        return objectMapper.writeValueAsString(text);
+    }
+
+    private BatchResponse.SubResponse error(String id, int status, String code, String message) {
+        ErrorResponse error = new ErrorResponse(code, message, UUID.randomUUID().toString());
+        try {
+            return new BatchResponse.SubResponse(id, status, null, objectMapper.writeValueAsString(error), null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
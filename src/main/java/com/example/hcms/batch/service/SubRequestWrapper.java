@@ -0,0 +1,286 @@
+package com.example.hcms.batch.service;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A GET request for one batch sub-request, derived from the outer batch request.
+ * Everything a worker thread reads (headers, locale, server info) is snapshotted on the request
+ * thread, and attributes are private, so parallel sub-requests never touch the container's
+ * request object, which is not thread-safe.
+ */
+class SubRequestWrapper extends HttpServletRequestWrapper {
+
+    private final String requestUri;
+    private final String servletPath;
+    private final String queryString;
+    private final Map<String, String[]> parameters;
+    private final Map<String, List<String>> headers;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private final String contextPath;
+    private final String scheme;
+    private final String serverName;
+    private final int serverPort;
+    private final String remoteAddr;
+    private final Locale locale;
+    private final List<Locale> locales;
+
+    /**
+     * @param outer        the batch request
+     * @param path         decoded-safe path of the sub-request, starting with "/"
+     * @param rawQuery     raw query string, or null
+     * @param extraHeaders sub-request headers that replace the outer request's
+     */
+    SubRequestWrapper(HttpServletRequest outer, String path, String rawQuery, Map<String, String> extraHeaders) {
+        super(outer);
+        this.contextPath = outer.getContextPath();
+        this.requestUri = contextPath + path;
+        this.servletPath = path;
+        this.queryString = rawQuery;
+        this.parameters = parseQuery(rawQuery);
+        this.headers = new LinkedCaseInsensitiveMap<>();
+        for (String name : Collections.list(outer.getHeaderNames())) {
+            headers.put(name, Collections.list(outer.getHeaders(name)));
+        }
+        // The batch POST's body and preconditions do not apply to the sub-request
+        headers.remove("Content-Type");
+        headers.remove("Content-Length");
+        headers.remove("If-None-Match");
+        headers.remove("If-Match");
+        extraHeaders.forEach((name, value) -> headers.put(name, List.of(value)));
+        this.scheme = outer.getScheme();
+        this.serverName = outer.getServerName();
+        this.serverPort = outer.getServerPort();
+        this.remoteAddr = outer.getRemoteAddr();
+        this.locale = outer.getLocale();
+        this.locales = Collections.list(outer.getLocales());
+    }
+
+    private static Map<String, String[]> parseQuery(String rawQuery) {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        MultiValueMap<String, String> raw = UriComponentsBuilder.newInstance().query(rawQuery).build()
+                .getQueryParams();
+        raw.forEach((name, values) -> {
+            List<String> decoded = new ArrayList<>(values.size());
+            for (String value : values) {
+                decoded.add(value != null ? URLDecoder.decode(value, StandardCharsets.UTF_8) : "");
+            }
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), decoded.toArray(String[]::new));
+        });
+        return parameters;
+    }
+
+    @Override
+    public String getMethod() {
+        return "GET";
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return requestUri;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        StringBuffer url = new StringBuffer().append(scheme).append("://").append(serverName);
+        if (serverPort > 0 && !(("http".equals(scheme) && serverPort == 80)
+                || ("https".equals(scheme) && serverPort == 443))) {
+            url.append(':').append(serverPort);
+        }
+        return url.append(requestUri);
+    }
+
+    @Override
+    public String getContextPath() {
+        return contextPath;
+    }
+
+    @Override
+    public String getServletPath() {
+        return servletPath;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = parameters.get(name);
+        return values != null && values.length > 0 ? values[0] : null;
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        List<String> values = headers.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        return Collections.enumeration(headers.getOrDefault(name, List.of()));
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = getHeader(name);
+        return value != null ? Integer.parseInt(value) : -1;
+    }
+
+    @Override
+    public String getContentType() {
+        return null;
+    }
+
+    @Override
+    public int getContentLength() {
+        return -1;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return -1L;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return true;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException("Batch sub-requests have no body");
+            }
+
+            @Override
+            public int read() {
+                return -1;
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new StringReader(""));
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(attributes.keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public String getScheme() {
+        return scheme;
+    }
+
+    @Override
+    public String getServerName() {
+        return serverName;
+    }
+
+    @Override
+    public int getServerPort() {
+        return serverPort;
+    }
+
+    @Override
+    public String getRemoteAddr() {
+        return remoteAddr;
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(locales);
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.hcms.common.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} maintenance jobs
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
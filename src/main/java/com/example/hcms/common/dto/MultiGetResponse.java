@@ -0,0 +1,80 @@
+package com.example.hcms.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response of a multi-get ({@code GET /resource?ids=1,2,3}): one item per requested ID, in request
+ * order, each saying whether the resource was found
+ *
+ * @param <T> the resource representation
+ */
+public class MultiGetResponse<T> {
+
+    /**
+     * One requested ID and its resource, if any
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item<T> {
+        private Long id;
+        private boolean found;
+        private T data;
+
+        public Item(Long id, boolean found, T data) {
+            this.id = id;
+            this.found = found;
+            this.data = data;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public boolean isFound() {
+            return found;
+        }
+
+        public T getData() {
+            return data;
+        }
+    }
+
+    private List<Item<T>> items;
+    private int notFound;
+
+    public MultiGetResponse(List<Item<T>> items, int notFound) {
+        this.items = items;
+        this.notFound = notFound;
+    }
+
+    /**
+     * Lay found resources out in request order; duplicate IDs are answered at every position
+     *
+     * @param requestedIds the IDs as the client sent them; null (empty) IDs are not-found items
+     * @param found        resources by ID; absent IDs become not-found items
+     */
+    public static <T> MultiGetResponse<T> of(List<Long> requestedIds, Map<Long, ? extends T> found) {
+        List<Item<T>> items = new ArrayList<>(requestedIds.size());
+        int notFound = 0;
+        for (Long id : requestedIds) {
+            // Immutable maps reject null keys
+            T data = id != null ? found.get(id) : null;
+            if (data == null) {
+                notFound++;
+            }
+            items.add(new Item<>(id, data != null, data));
+        }
+        return new MultiGetResponse<>(items, notFound);
+    }
+
+    public List<Item<T>> getItems() {
+        return items;
+    }
+
+    public int getNotFound() {
+        return notFound;
+    }
+}
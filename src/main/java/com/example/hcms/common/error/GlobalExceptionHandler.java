@@ -1,11 +1,29 @@
 package com.example.hcms.common.error;
 
+import com.example.hcms.attendancegroup.exception.InvalidTrackingConditionException;
 import com.example.hcms.auth.exception.InvalidCredentialsException;
 import com.example.hcms.auth.exception.RateLimitExceededException;
+import com.example.hcms.batch.exception.BatchTooLargeException;
+import com.example.hcms.common.exception.InvalidFieldsException;
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.common.exception.PreconditionFailedException;
+import com.example.hcms.common.exception.TooManyIdsException;
+import com.example.hcms.department.exception.DepartmentConflictException;
+import com.example.hcms.department.exception.DepartmentNotFoundException;
+import com.example.hcms.holiday.exception.HolidayCalendarNotFoundException;
+import com.example.hcms.holiday.exception.InvalidHolidayFileException;
+import com.example.hcms.overtime.exception.OvertimeEntryDecidedException;
+import com.example.hcms.overtime.exception.OvertimeEntryNotFoundException;
+import com.example.hcms.punch.domain.PunchRejection;
+import com.example.hcms.punch.exception.PunchRejectedException;
 import com.example.hcms.shift.exception.DuplicateShiftCodeException;
+import com.example.hcms.shift.exception.ShiftInUseException;
 import com.example.hcms.shift.exception.ShiftNotFoundException;
+import com.example.hcms.timesheet.exception.TimesheetRunNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -67,6 +85,202 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(ShiftInUseException.class)
+    public ResponseEntity<ErrorResponse> handleShiftInUse(ShiftInUseException ex, WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "SHIFT_IN_USE",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(DepartmentNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleDepartmentNotFound(DepartmentNotFoundException ex, WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "DEPARTMENT_NOT_FOUND",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(DepartmentConflictException.class)
+    public ResponseEntity<ErrorResponse> handleDepartmentConflict(DepartmentConflictException ex, WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "DEPARTMENT_CONFLICT",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(PreconditionFailedException ex, WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "PRECONDITION_FAILED",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex,
+            WebRequest request) {
+        // A concurrent writer committed between our read and our versioned UPDATE
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "PRECONDITION_FAILED",
+                "The resource was modified concurrently; reload and retry",
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFields(InvalidFieldsException ex, WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "INVALID_FIELDS",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(InvalidTrackingConditionException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidTrackingCondition(InvalidTrackingConditionException ex,
+            WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "INVALID_TRACKING_CONDITION",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(HolidayCalendarNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleHolidayCalendarNotFound(HolidayCalendarNotFoundException ex,
+            WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "HOLIDAY_CALENDAR_NOT_FOUND",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(InvalidHolidayFileException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidHolidayFile(InvalidHolidayFileException ex, WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "INVALID_HOLIDAY_FILE",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(TimesheetRunNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleTimesheetRunNotFound(TimesheetRunNotFoundException ex,
+            WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "TIMESHEET_RUN_NOT_FOUND",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(OvertimeEntryNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleOvertimeEntryNotFound(OvertimeEntryNotFoundException ex,
+            WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "OVERTIME_ENTRY_NOT_FOUND",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(OvertimeEntryDecidedException.class)
+    public ResponseEntity<ErrorResponse> handleOvertimeEntryDecided(OvertimeEntryDecidedException ex,
+            WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "OVERTIME_ENTRY_DECIDED",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(PunchRejectedException.class)
+    public ResponseEntity<ErrorResponse> handlePunchRejected(PunchRejectedException ex, WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                ex.getRejection().name(),
+                ex.getMessage(),
+                traceId
+        );
+        HttpStatus status = ex.getRejection() == PunchRejection.NOT_PERMITTED ? HttpStatus.FORBIDDEN
+                : HttpStatus.UNPROCESSABLE_ENTITY;
+        return ResponseEntity.status(status).body(error);
+    }
+
+    @ExceptionHandler(InvalidParameterException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidParameter(InvalidParameterException ex, WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "INVALID_PARAMETER",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(TooManyIdsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyIds(TooManyIdsException ex, WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "TOO_MANY_IDS",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleBatchTooLarge(BatchTooLargeException ex, WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "BATCH_TOO_LARGE",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex, WebRequest request) {
+        String traceId = UUID.randomUUID().toString();
+        ErrorResponse error = new ErrorResponse(
+                "ACCESS_DENIED",
+                ex.getMessage(),
+                traceId
+        );
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationException(MethodArgumentNotValidException ex, WebRequest request) {
         String traceId = UUID.randomUUID().toString();
@@ -0,0 +1,12 @@
+package com.example.hcms.common.exception;
+
+import java.util.Collection;
+
+/**
+ * Exception thrown when a fields= selection names a field the resource does not have
+ */
+public class InvalidFieldsException extends RuntimeException {
+    public InvalidFieldsException(Collection<String> unknown, Collection<String> available) {
+        super("Unknown fields " + unknown + "; available fields are " + available);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.hcms.common.exception;
+
+/**
+ * Exception thrown when a query parameter has a value the endpoint cannot interpret
+ */
+public class InvalidParameterException extends RuntimeException {
+    public InvalidParameterException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.hcms.common.exception;
+
+/**
+ * Exception thrown when a conditional write (If-Match) does not match the current resource version
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public PreconditionFailedException(String resource, Long id, Long expectedVersion, Long currentVersion) {
+        super(resource + " with ID " + id + " was modified (expected version " + expectedVersion
+                + ", current version " + currentVersion + ")");
+    }
+}
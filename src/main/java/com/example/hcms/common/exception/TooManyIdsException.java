@@ -0,0 +1,10 @@
+package com.example.hcms.common.exception;
+
+/**
+ * Exception thrown when a multi-get asks for more IDs than the configured cap
+ */
+public class TooManyIdsException extends RuntimeException {
+    public TooManyIdsException(int requested, int max) {
+        super("Requested " + requested + " IDs; at most " + max + " are allowed per request");
+    }
+}
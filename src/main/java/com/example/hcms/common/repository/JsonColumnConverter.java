@@ -0,0 +1,105 @@
+package com.example.hcms.common.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.AttributeConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Base for converters that store a typed value as a JSON TEXT column.
+ * The reader and writer are built once per converter, so a load costs one parse and no type
+ * resolution. Subclasses should return immutable values and be annotated with Hibernate's
+ * {@code @Immutable}, which lets Hibernate snapshot and dirty-check them with {@code equals}
+ * instead of re-running the conversion.
+ * Malformed column values are not fatal: the unreadable part is dropped, counted in
+ * {@link #malformedCount()} and logged at WARN the first time per converter.
+ *
+ * @param <T> the entity attribute type
+ * @param <J> the JSON shape the column is read as, e.g. {@code String[]}
+ */
+public abstract class JsonColumnConverter<T, J> implements AttributeConverter<T, String> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsonColumnConverter.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final AtomicLong MALFORMED = new AtomicLong();
+    private static final Set<Class<?>> WARNED = ConcurrentHashMap.newKeySet();
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    protected JsonColumnConverter(Class<J> jsonType) {
+        this.reader = MAPPER.readerFor(jsonType);
+        this.writer = MAPPER.writerFor(jsonType);
+    }
+
+    /**
+     * Build the attribute value from the parsed column
+     */
+    protected abstract T fromJson(J json);
+
+    /**
+     * Build the JSON shape to store for an attribute value
+     */
+    protected abstract J toJson(T value);
+
+    /**
+     * The attribute value used when the column cannot be parsed at all
+     */
+    protected abstract T empty();
+
+    @Override
+    public String convertToDatabaseColumn(T attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        try {
+            return writer.writeValueAsString(toJson(attribute));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot serialize " + attribute, e);
+        }
+    }
+
+    @Override
+    public T convertToEntityAttribute(String column) {
+        if (column == null || column.isBlank()) {
+            return null;
+        }
+        try {
+            return fromJson(reader.readValue(column));
+        } catch (IOException e) {
+            malformed(column, "not a valid JSON array");
+            return empty();
+        }
+    }
+
+    /**
+     * Record an unreadable column value or element
+     *
+     * @param value  the offending value
+     * @param reason why it could not be read
+     */
+    protected void malformed(Object value, String reason) {
+        long count = MALFORMED.incrementAndGet();
+        if (WARNED.add(getClass())) {
+            logger.warn("{} dropped malformed value '{}' ({}); further occurrences are logged at DEBUG",
+                    getClass().getSimpleName(), value, reason);
+        } else {
+            logger.debug("{} dropped malformed value '{}' ({}), {} so far",
+                    getClass().getSimpleName(), value, reason, count);
+        }
+    }
+
+    /**
+     * @return malformed values dropped by all JSON column converters since startup
+     */
+    public static long malformedCount() {
+        return MALFORMED.get();
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.hcms.common.repository;
+
+import com.example.hcms.common.web.FieldSet;
+import com.example.hcms.common.web.ResponseFields;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Runs sparse fieldset reads as tuple queries over only the selected columns. No entity is
+ * loaded, so converters, JSON parsing and lazy associations of unselected fields never run.
+ * Every entity is assumed to have a Long {@code id}; it is always selected so batch fields
+ * can be resolved for the page in one query.
+ */
+@Component
+public class SparseQueries {
+
+    private static final String ID = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Read one page of rows
+     *
+     * @return rows keyed by field name in the fieldset's order
+     */
+    public <E> Page<Map<String, Object>> findPage(ResponseFields<E> registry, FieldSet fields,
+            Specification<E> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(registry.getEntityType());
+        List<String> paths = select(query, root, fields);
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(orders(cb, root, pageable.getSort()));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typed.setFirstResult((int) pageable.getOffset());
+            typed.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> rows = toRows(typed.getResultList(), paths, fields, new ArrayList<>());
+        return PageableExecutionUtils.getPage(rows, pageable, () -> count(registry.getEntityType(), spec));
+    }
+
+    /**
+     * Read a single row
+     */
+    public <E> Optional<Map<String, Object>> findOne(ResponseFields<E> registry, FieldSet fields,
+            Specification<E> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(registry.getEntityType());
+        List<String> paths = select(query, root, fields);
+        query.where(spec.toPredicate(root, query, cb));
+
+        List<Map<String, Object>> rows = toRows(
+                entityManager.createQuery(query).setMaxResults(1).getResultList(), paths, fields, new ArrayList<>());
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Read the rows with the given IDs in one IN query
+     *
+     * @param spec additional restriction (e.g. status), may be null
+     * @return rows keyed by entity ID; IDs without a matching row are absent
+     */
+    public <E> Map<Long, Map<String, Object>> findAllById(ResponseFields<E> registry, FieldSet fields,
+            Collection<Long> ids, Specification<E> spec) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(registry.getEntityType());
+        List<String> paths = select(query, root, fields);
+        Predicate predicate = root.get(ID).in(ids);
+        Predicate extra = spec != null ? spec.toPredicate(root, query, cb) : null;
+        query.where(extra != null ? cb.and(predicate, extra) : predicate);
+
+        List<Long> rowIds = new ArrayList<>(ids.size());
+        List<Map<String, Object>> rows = toRows(entityManager.createQuery(query).getResultList(), paths, fields,
+                rowIds);
+        Map<Long, Map<String, Object>> byId = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            byId.put(rowIds.get(i), rows.get(i));
+        }
+        return byId;
+    }
+
+    private <E> List<String> select(CriteriaQuery<Tuple> query, Root<E> root, FieldSet fields) {
+        List<String> paths = new ArrayList<>();
+        paths.add(ID);
+        for (ResponseFields.Field field : fields.getFields()) {
+            for (String path : field.getPaths()) {
+                if (!paths.contains(path)) {
+                    paths.add(path);
+                }
+            }
+        }
+        Map<String, From<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            selections.add(resolve(root, joins, path));
+        }
+        query.multiselect(selections);
+        return paths;
+    }
+
+    /**
+     * Resolve {@code attr} or {@code association.attr}. The foreign key of an association is
+     * read without a join; any other association attribute goes through one shared left join.
+     */
+    private static Path<?> resolve(Root<?> root, Map<String, From<?, ?>> joins, String path) {
+        int dot = path.indexOf('.');
+        if (dot < 0) {
+            return root.get(path);
+        }
+        String association = path.substring(0, dot);
+        String attribute = path.substring(dot + 1);
+        if (ID.equals(attribute)) {
+            return root.get(association).get(ID);
+        }
+        return joins.computeIfAbsent(association, a -> root.join(a, JoinType.LEFT)).get(attribute);
+    }
+
+    private static List<Order> orders(CriteriaBuilder cb, Root<?> root, Sort sort) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<?> path = root.get(order.getProperty());
+            orders.add(order.isAscending() ? cb.asc(path) : cb.desc(path));
+        }
+        return orders;
+    }
+
+    /**
+     * @param ids receives the entity ID of each row, in row order
+     */
+    private static List<Map<String, Object>> toRows(List<Tuple> tuples, List<String> paths, FieldSet fields,
+            List<Long> ids) {
+        List<ResponseFields.Field> selected = fields.getFields();
+        // Tuple positions of each field's columns, worked out once per query rather than per row
+        int[][] positions = new int[selected.size()][];
+        for (int f = 0; f < positions.length; f++) {
+            List<String> fieldPaths = selected.get(f).getPaths();
+            positions[f] = new int[fieldPaths.size()];
+            for (int i = 0; i < positions[f].length; i++) {
+                positions[f][i] = paths.indexOf(fieldPaths.get(i));
+            }
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            ids.add((Long) tuple.get(0));
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int f = 0; f < positions.length; f++) {
+                ResponseFields.Field field = selected.get(f);
+                if (field.isBatch()) {
+                    // Placeholder keeps declaration order; filled in below
+                    row.put(field.getName(), null);
+                    continue;
+                }
+                Object[] columns = new Object[positions[f].length];
+                for (int i = 0; i < columns.length; i++) {
+                    columns[i] = tuple.get(positions[f][i]);
+                }
+                row.put(field.getName(), field.value(columns));
+            }
+            rows.add(row);
+        }
+        if (ids.isEmpty()) {
+            return rows;
+        }
+        for (ResponseFields.Field field : selected) {
+            if (field.isBatch()) {
+                Map<Long, ?> values = field.resolve(ids);
+                for (int i = 0; i < rows.size(); i++) {
+                    rows.get(i).put(field.getName(), values.get(ids.get(i)));
+                }
+            }
+        }
+        return rows;
+    }
+
+    private <E> long count(Class<E> entityType, Specification<E> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> root = query.from(entityType);
+        query.select(cb.count(root));
+        Predicate predicate = spec != null ? spec.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
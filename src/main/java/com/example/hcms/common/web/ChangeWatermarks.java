@@ -0,0 +1,74 @@
+package com.example.hcms.common.web;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory per-table change counters used as cheap validators for list ETags.
+ * Writers bump the counter after their transaction commits, so a reader never sees
+ * a new watermark paired with uncommitted data. The boot timestamp is part of every
+ * stamp, so tags issued before a restart (or by another replica) never match.
+ */
+@Component
+public class ChangeWatermarks {
+
+    public static final String SHIFTS = "shifts";
+    public static final String ATTENDANCE_GROUPS = "attendance_groups";
+    public static final String USERS = "user";
+    public static final String HOLIDAYS = "holidays";
+
+    private final long bootId = System.currentTimeMillis();
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Current watermark of a table
+     *
+     * @param table the table name
+     * @return monotonically increasing counter, starting at 0 on boot
+     */
+    public long current(String table) {
+        return counter(table).get();
+    }
+
+    /**
+     * Combined stamp over one or more tables, e.g. {@code 1718000000000.3.12}
+     *
+     * @param tables the tables the response depends on
+     * @return stamp that changes whenever any of the tables is written
+     */
+    public String stamp(String... tables) {
+        StringBuilder stamp = new StringBuilder(Long.toString(bootId, 36));
+        for (String table : tables) {
+            stamp.append('.').append(current(table));
+        }
+        return stamp.toString();
+    }
+
+    /**
+     * Record a write to a table. Inside a transaction the bump is deferred until commit;
+     * rolled-back writes do not invalidate anything.
+     *
+     * @param table the table name
+     */
+    public void bump(String table) {
+        AtomicLong counter = counter(table);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counter.incrementAndGet();
+                }
+            });
+        } else {
+            counter.incrementAndGet();
+        }
+    }
+
+    private AtomicLong counter(String table) {
+        return counters.computeIfAbsent(table, key -> new AtomicLong());
+    }
+}
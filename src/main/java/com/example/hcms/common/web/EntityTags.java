@@ -0,0 +1,149 @@
+package com.example.hcms.common.web;
+
+import com.example.hcms.common.exception.PreconditionFailedException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Helpers for building strong ETags and evaluating If-Match / If-None-Match.
+ * Single resources are tagged {@code "<version>-<updatedAt epoch seconds>[-<dependency stamp>]"};
+ * lists are tagged from the table watermarks plus a digest of the query. Digests are SHA-256 of the
+ * canonical query, truncated to 128 bits, so distinct queries never share a tag in practice.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * Build a version-only ETag, for resources without conditional GET support
+     *
+     * @param version the entity version
+     * @return quoted ETag value
+     */
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Build a strong ETag for a single resource
+     *
+     * @param version         the entity version
+     * @param updatedAtSecond last update time in epoch seconds (the precision stored by the database)
+     * @param dependencyStamp watermark stamp of other tables the representation embeds, or null
+     * @return quoted ETag value
+     */
+    public static String forResource(Long version, long updatedAtSecond, String dependencyStamp) {
+        StringBuilder tag = new StringBuilder().append('"').append(version).append('-').append(updatedAtSecond);
+        if (dependencyStamp != null) {
+            tag.append('-').append(dependencyStamp);
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Build a strong ETag for a list response
+     *
+     * @param watermarkStamp stamp from {@link ChangeWatermarks#stamp(String...)}
+     * @param queryParts     everything that selects the page (filters, paging, sort)
+     * @return quoted ETag value
+     */
+    public static String forList(String watermarkStamp, Object... queryParts) {
+        return "\"" + watermarkStamp + "-" + digest(queryParts) + "\"";
+    }
+
+    /**
+     * Derive the tag of a sparse fieldset representation from the full resource's tag
+     *
+     * @param etag   the resource ETag, may be null
+     * @param fields the selection, or null for the full representation
+     * @return a tag distinct per selection, or {@code etag} itself when no selection was made
+     */
+    public static String forFields(String etag, FieldSet fields) {
+        if (etag == null || fields == null) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + "-f" + digest(fields.key()) + "\"";
+    }
+
+    /**
+     * SHA-256 of the parts, truncated to 16 bytes, in hex. Each part is length-prefixed so that no two
+     * different sequences of parts share a canonical form.
+     */
+    private static String digest(Object... parts) {
+        StringBuilder canonical = new StringBuilder();
+        for (Object part : parts) {
+            if (part == null) {
+                canonical.append('-');
+                continue;
+            }
+            String value = part instanceof Object[] array ? Arrays.deepToString(array) : String.valueOf(part);
+            canonical.append(value.length()).append(':').append(value);
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Evaluate If-None-Match against the current tag (weak comparison, as RFC 9110 requires)
+     *
+     * @param ifNoneMatch the raw header value, may be null
+     * @param etag        the current ETag
+     * @return true if the client's cached representation is still current
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value)) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Extract the expected version from an If-Match header
+     *
+     * @param ifMatch the raw header value, may be null
+     * @return the expected version, or null when the header is absent or {@code *}
+     * @throws PreconditionFailedException if the header is not an ETag issued by this API
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if ("*".equals(value)) {
+            return null;
+        }
+        if (value.length() < 3 || value.charAt(0) != '"' || value.charAt(value.length() - 1) != '"') {
+            // Weak or list-valued validators never match a strong comparison
+            throw new PreconditionFailedException("If-Match must be a single strong ETag");
+        }
+        String body = value.substring(1, value.length() - 1);
+        int end = body.indexOf('-');
+        try {
+            return Long.parseLong(end < 0 ? body : body.substring(0, end));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match any known version");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.hcms.common.web;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A parsed sparse fieldset, in the order the resource declares its fields
+ */
+public final class FieldSet {
+
+    private final List<ResponseFields.Field> fields;
+
+    FieldSet(List<ResponseFields.Field> fields) {
+        this.fields = List.copyOf(fields);
+    }
+
+    public List<ResponseFields.Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * Canonical form of the selection, used to tell representations apart in ETags
+     */
+    public String key() {
+        return fields.stream().map(ResponseFields.Field::getName).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.hcms.common.web;
+
+import com.example.hcms.common.exception.TooManyIdsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Enforces the per-request ID cap of multi-get endpoints
+ */
+@Component
+public class MultiGetLimits {
+
+    private final int maxIds;
+
+    public MultiGetLimits(@Value("${app.api.multi-get.max-ids:100}") int maxIds) {
+        this.maxIds = maxIds;
+    }
+
+    /**
+     * Check the cap and reduce the request to the distinct IDs to load
+     *
+     * @param ids the IDs as the client sent them
+     * @return distinct non-null IDs in first-seen order
+     * @throws TooManyIdsException if more than the configured number of IDs were requested
+     */
+    public List<Long> distinct(List<Long> ids) {
+        if (ids.size() > maxIds) {
+            throw new TooManyIdsException(ids.size(), maxIds);
+        }
+        LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+        distinct.removeIf(Objects::isNull);
+        return new ArrayList<>(distinct);
+    }
+
+    public int getMaxIds() {
+        return maxIds;
+    }
+}
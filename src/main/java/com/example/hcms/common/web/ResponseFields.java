@@ -0,0 +1,173 @@
+package com.example.hcms.common.web;
+
+import com.example.hcms.common.exception.InvalidFieldsException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Registry of the fields a resource exposes to sparse fieldsets ({@code fields=id,name}).
+ * Every field says which entity attributes it is read from and how the raw column values
+ * become the JSON value, so a selection can be answered by a query over just those columns.
+ * Fields that are not columns (counts, child collections) are resolved in one batch per page.
+ *
+ * @param <E> the entity type
+ */
+public final class ResponseFields<E> {
+
+    /**
+     * One exposed field
+     */
+    public static final class Field {
+        private final String name;
+        private final List<String> paths;
+        private final Function<Object[], Object> value;
+        private final Function<Collection<Long>, Map<Long, ?>> batch;
+
+        private Field(String name, List<String> paths, Function<Object[], Object> value,
+                Function<Collection<Long>, Map<Long, ?>> batch) {
+            this.name = name;
+            this.paths = paths;
+            this.value = value;
+            this.batch = batch;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Entity attribute paths the field is read from; empty for batch-resolved fields
+         */
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public boolean isBatch() {
+            return batch != null;
+        }
+
+        /**
+         * Build the JSON value from the column values, in {@link #getPaths()} order
+         */
+        public Object value(Object[] columns) {
+            return value.apply(columns);
+        }
+
+        /**
+         * Resolve the field for a page of entity IDs; IDs missing from the result map to null
+         */
+        public Map<Long, ?> resolve(Collection<Long> ids) {
+            return batch.apply(ids);
+        }
+    }
+
+    private final Class<E> entityType;
+    private final Map<String, Field> fields;
+
+    private ResponseFields(Class<E> entityType, Map<String, Field> fields) {
+        this.entityType = entityType;
+        this.fields = Collections.unmodifiableMap(fields);
+    }
+
+    public static <E> Builder<E> builder(Class<E> entityType) {
+        return new Builder<>(entityType);
+    }
+
+    public Class<E> getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Parse a {@code fields} query parameter
+     *
+     * @param fields comma-separated field names, may be null
+     * @return the selection in registry order, or null when the full representation was asked for
+     * @throws InvalidFieldsException if any name is not a field of this resource
+     */
+    public FieldSet select(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            if (!name.isBlank()) {
+                requested.add(name.trim());
+            }
+        }
+        List<String> unknown = new ArrayList<>();
+        for (String name : requested) {
+            if (!this.fields.containsKey(name)) {
+                unknown.add(name);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new InvalidFieldsException(unknown, this.fields.keySet());
+        }
+        List<Field> selected = new ArrayList<>();
+        for (Field field : this.fields.values()) {
+            if (requested.contains(field.getName())) {
+                selected.add(field);
+            }
+        }
+        return new FieldSet(selected);
+    }
+
+    /**
+     * Builder keeping fields in declaration order, which is also the JSON order
+     */
+    public static final class Builder<E> {
+        private final Class<E> entityType;
+        private final Map<String, Field> fields = new LinkedHashMap<>();
+
+        private Builder(Class<E> entityType) {
+            this.entityType = entityType;
+        }
+
+        /**
+         * A field copied as-is from the attribute of the same name
+         */
+        public Builder<E> column(String name) {
+            return column(name, name, Function.identity());
+        }
+
+        /**
+         * A field read from one attribute and converted
+         */
+        public Builder<E> column(String name, String path, Function<Object, Object> convert) {
+            return add(new Field(name, List.of(path), columns -> convert.apply(columns[0]), null));
+        }
+
+        /**
+         * A field combined from several attributes
+         */
+        public Builder<E> composite(String name, Function<Object[], Object> combine, String... paths) {
+            return add(new Field(name, List.of(paths), combine, null));
+        }
+
+        /**
+         * A field resolved with one extra query per page, keyed by entity ID
+         */
+        public Builder<E> batch(String name, Function<Collection<Long>, Map<Long, ?>> resolver) {
+            return add(new Field(name, List.of(), null, resolver));
+        }
+
+        public ResponseFields<E> build() {
+            return new ResponseFields<>(entityType, new LinkedHashMap<>(fields));
+        }
+
+        private Builder<E> add(Field field) {
+            if (fields.putIfAbsent(field.getName(), field) != null) {
+                throw new IllegalStateException("Duplicate field " + field.getName());
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.hcms.department.controller;
+
+import com.example.hcms.department.dto.CreateDepartmentRequest;
+import com.example.hcms.department.dto.DepartmentResponse;
+import com.example.hcms.department.dto.DepartmentTreeNode;
+import com.example.hcms.department.dto.UpdateDepartmentRequest;
+import com.example.hcms.department.service.DepartmentService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for department management
+ */
+@RestController
+@RequestMapping("/api/v1/departments")
+public class DepartmentController {
+
+    private final DepartmentService departmentService;
+
+    public DepartmentController(DepartmentService departmentService) {
+        this.departmentService = departmentService;
+    }
+
+    /**
+     * Get the whole department tree with subtree headcounts in one call
+     */
+    @GetMapping("/tree")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<List<DepartmentTreeNode>> getTree() {
+        return ResponseEntity.ok(departmentService.getTree());
+    }
+
+    /**
+     * Get a specific department by ID
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<DepartmentResponse> getDepartmentById(@PathVariable @NonNull Long id) {
+        return ResponseEntity.ok(departmentService.toResponse(departmentService.getDepartmentById(id)));
+    }
+
+    /**
+     * Create a new department
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
+    public ResponseEntity<DepartmentResponse> createDepartment(
+            @Valid @RequestBody @NonNull CreateDepartmentRequest request) {
+        DepartmentResponse department = departmentService.createDepartment(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(department);
+    }
+
+    /**
+     * Rename or move a department
+     */
+    @PutMapping("/{id}")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
+    public ResponseEntity<DepartmentResponse> updateDepartment(
+            @PathVariable @NonNull Long id,
+            @Valid @RequestBody @NonNull UpdateDepartmentRequest request) {
+        return ResponseEntity.ok(departmentService.updateDepartment(id, request));
+    }
+
+    /**
+     * Delete an empty leaf department
+     */
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
+    public ResponseEntity<Map<String, String>> deleteDepartment(@PathVariable @NonNull Long id) {
+        departmentService.deleteDepartment(id);
+        return ResponseEntity.ok(Map.of("message", "Successfully deleted department"));
+    }
+}
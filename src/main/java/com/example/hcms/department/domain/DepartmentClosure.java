@@ -0,0 +1,95 @@
+package com.example.hcms.department.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Closure table row: {@code ancestorId} is an ancestor of {@code descendantId} at the given depth.
+ * Every department has a self row with depth 0.
+ */
+@Entity
+@Table(name = "department_closure", indexes = {
+        @Index(name = "idx_department_closure_descendant", columnList = "descendant_id, ancestor_id")
+})
+@IdClass(DepartmentClosure.Key.class)
+public class DepartmentClosure {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(nullable = false)
+    private Integer depth;
+
+    // Constructors
+    public DepartmentClosure() {
+    }
+
+    public DepartmentClosure(Long ancestorId, Long descendantId, Integer depth) {
+        this.ancestorId = ancestorId;
+        this.descendantId = descendantId;
+        this.depth = depth;
+    }
+
+    // Getters and Setters
+    public Long getAncestorId() {
+        return ancestorId;
+    }
+
+    public void setAncestorId(Long ancestorId) {
+        this.ancestorId = ancestorId;
+    }
+
+    public Long getDescendantId() {
+        return descendantId;
+    }
+
+    public void setDescendantId(Long descendantId) {
+        this.descendantId = descendantId;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * Composite primary key (ancestor_id, descendant_id)
+     */
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+
+        public Key() {
+        }
+
+        public Key(Long ancestorId, Long descendantId) {
+            this.ancestorId = ancestorId;
+            this.descendantId = descendantId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return Objects.equals(ancestorId, other.ancestorId) && Objects.equals(descendantId, other.descendantId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(ancestorId, descendantId);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.hcms.department.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request DTO for creating a department
+ */
+public class CreateDepartmentRequest {
+
+    @NotBlank(message = "Department name is required")
+    @Size(max = 100, message = "Department name must be at most 100 characters")
+    private String name;
+
+    private Long parentId;
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.hcms.department.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Node of the department tree response, carrying cached subtree counts
+ */
+public class DepartmentTreeNode {
+    private Long id;
+    private String name;
+    private Long parentId;
+    private Integer headcount;
+    private Integer activeCount;
+    private List<DepartmentTreeNode> children = new ArrayList<>();
+
+    public DepartmentTreeNode() {
+    }
+
+    public DepartmentTreeNode(Long id, String name, Long parentId, Integer headcount, Integer activeCount) {
+        this.id = id;
+        this.name = name;
+        this.parentId = parentId;
+        this.headcount = headcount;
+        this.activeCount = activeCount;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public Integer getHeadcount() {
+        return headcount;
+    }
+
+    public void setHeadcount(Integer headcount) {
+        this.headcount = headcount;
+    }
+
+    public Integer getActiveCount() {
+        return activeCount;
+    }
+
+    public void setActiveCount(Integer activeCount) {
+        this.activeCount = activeCount;
+    }
+
+    public List<DepartmentTreeNode> getChildren() {
+        return children;
+    }
+
+    public void setChildren(List<DepartmentTreeNode> children) {
+        this.children = children;
+    }
+}
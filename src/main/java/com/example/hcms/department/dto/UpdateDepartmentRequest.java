@@ -0,0 +1,18 @@
+package com.example.hcms.department.dto;
+
+/**
+ * Request DTO for updating a department (rename and/or move under a new parent).
+ * A null parentId leaves the parent unchanged; set moveToRoot to move the department to the root.
+ */
+public class UpdateDepartmentRequest extends CreateDepartmentRequest {
+
+    private Boolean moveToRoot;
+
+    public Boolean getMoveToRoot() {
+        return moveToRoot;
+    }
+
+    public void setMoveToRoot(Boolean moveToRoot) {
+        this.moveToRoot = moveToRoot;
+    }
+}
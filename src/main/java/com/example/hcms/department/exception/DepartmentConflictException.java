@@ -0,0 +1,11 @@
+package com.example.hcms.department.exception;
+
+/**
+ * Exception thrown when a department operation would break the tree
+ * (e.g. moving a department under its own subtree, or deleting a non-empty department)
+ */
+public class DepartmentConflictException extends RuntimeException {
+    public DepartmentConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.hcms.department.exception;
+
+/**
+ * Exception thrown when a department is not found
+ */
+public class DepartmentNotFoundException extends RuntimeException {
+    public DepartmentNotFoundException(String message) {
+        super(message);
+    }
+
+    public DepartmentNotFoundException(Long departmentId) {
+        super("Department with ID " + departmentId + " not found");
+    }
+}
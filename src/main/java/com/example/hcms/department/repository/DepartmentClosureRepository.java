@@ -0,0 +1,42 @@
+package com.example.hcms.department.repository;
+
+import com.example.hcms.department.domain.DepartmentClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for the department closure table
+ */
+@Repository
+public interface DepartmentClosureRepository extends JpaRepository<DepartmentClosure, DepartmentClosure.Key> {
+
+    /**
+     * All ancestor links of a department, including its self row
+     */
+    List<DepartmentClosure> findByDescendantId(Long descendantId);
+
+    /**
+     * All descendant links of a department, including its self row
+     */
+    List<DepartmentClosure> findByAncestorId(Long ancestorId);
+
+    /**
+     * Check whether {@code descendantId} lies in the subtree rooted at {@code ancestorId}
+     */
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM DepartmentClosure c WHERE c.ancestorId IN :ancestorIds AND c.descendantId IN :descendantIds")
+    int deleteLinks(@Param("ancestorIds") Collection<Long> ancestorIds,
+            @Param("descendantIds") Collection<Long> descendantIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM DepartmentClosure c WHERE c.descendantId = :descendantId")
+    int deleteByDescendant(@Param("descendantId") Long descendantId);
+}
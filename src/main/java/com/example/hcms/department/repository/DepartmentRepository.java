@@ -0,0 +1,55 @@
+package com.example.hcms.department.repository;
+
+import com.example.hcms.department.domain.Department;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for Department entities
+ */
+@Repository
+public interface DepartmentRepository extends JpaRepository<Department, Long> {
+
+    /**
+     * Check whether a department has direct children
+     */
+    boolean existsByParentId(Long parentId);
+
+    /**
+     * Load departments with a write lock (SELECT ... FOR UPDATE), in ID order so that concurrent callers
+     * lock overlapping sets in the same order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Department d WHERE d.id IN :ids ORDER BY d.id")
+    List<Department> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Apply a headcount/active-count delta to a department and all of its ancestors
+     * (i.e. every subtree that contains it) in a single statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Department d SET d.headcount = d.headcount + :headcountDelta, "
+            + "d.activeCount = d.activeCount + :activeDelta "
+            + "WHERE d.id IN (SELECT c.ancestorId FROM DepartmentClosure c WHERE c.descendantId = :departmentId)")
+    int adjustSubtreeCounts(@Param("departmentId") Long departmentId,
+            @Param("headcountDelta") int headcountDelta,
+            @Param("activeDelta") int activeDelta);
+
+    /**
+     * Apply a headcount/active-count delta to the given departments
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Department d SET d.headcount = d.headcount + :headcountDelta, "
+            + "d.activeCount = d.activeCount + :activeDelta WHERE d.id IN :ids")
+    int adjustCounts(@Param("ids") Collection<Long> ids,
+            @Param("headcountDelta") int headcountDelta,
+            @Param("activeDelta") int activeDelta);
+}
@@ -0,0 +1,57 @@
+package com.example.hcms.department.service;
+
+import com.example.hcms.department.domain.Department;
+import com.example.hcms.department.dto.CreateDepartmentRequest;
+import com.example.hcms.department.dto.DepartmentResponse;
+import com.example.hcms.department.dto.DepartmentTreeNode;
+import com.example.hcms.department.dto.UpdateDepartmentRequest;
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+
+/**
+ * Service interface for department management
+ */
+public interface DepartmentService {
+
+    /**
+     * Get a department by ID
+     */
+    Department getDepartmentById(@NonNull Long id);
+
+    /**
+     * Get the full department forest with cached subtree counts
+     */
+    List<DepartmentTreeNode> getTree();
+
+    /**
+     * Create a new department
+     */
+    DepartmentResponse createDepartment(@NonNull CreateDepartmentRequest request);
+
+    /**
+     * Rename and/or move a department
+     */
+    DepartmentResponse updateDepartment(@NonNull Long id, @NonNull UpdateDepartmentRequest request);
+
+    /**
+     * Delete an empty leaf department
+     */
+    void deleteDepartment(@NonNull Long id);
+
+    /**
+     * Apply a user membership change to the cached subtree counts.
+     * Must be called in the same transaction as the user write.
+     *
+     * @param previousDepartmentId department before the change, null for a new user
+     * @param previouslyActive     whether the user was ACTIVE before the change
+     * @param departmentId         department after the change, null for a deleted user
+     * @param active               whether the user is ACTIVE after the change
+     */
+    void updateMemberCounts(Long previousDepartmentId, boolean previouslyActive, Long departmentId, boolean active);
+
+    /**
+     * Convert department entity to response DTO
+     */
+    DepartmentResponse toResponse(Department department);
+}
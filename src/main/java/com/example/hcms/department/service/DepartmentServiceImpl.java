@@ -0,0 +1,259 @@
+package com.example.hcms.department.service;
+
+import com.example.hcms.auth.domain.User;
+import com.example.hcms.auth.repository.UserRepository;
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.department.domain.Department;
+import com.example.hcms.department.domain.DepartmentClosure;
+import com.example.hcms.department.dto.CreateDepartmentRequest;
+import com.example.hcms.department.dto.DepartmentResponse;
+import com.example.hcms.department.dto.DepartmentTreeNode;
+import com.example.hcms.department.dto.UpdateDepartmentRequest;
+import com.example.hcms.department.exception.DepartmentConflictException;
+import com.example.hcms.department.exception.DepartmentNotFoundException;
+import com.example.hcms.department.repository.DepartmentClosureRepository;
+import com.example.hcms.department.repository.DepartmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Implementation of DepartmentService.
+ * Subtree counts are kept in sync with {@code user.department_id} / {@code user.status}
+ * by {@link #updateMemberCounts}, so reads never aggregate over the user table.
+ */
+@Service
+@Transactional
+public class DepartmentServiceImpl implements DepartmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentServiceImpl.class);
+
+    private final DepartmentRepository departmentRepository;
+    private final DepartmentClosureRepository closureRepository;
+    private final UserRepository userRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public DepartmentServiceImpl(
+            DepartmentRepository departmentRepository,
+            DepartmentClosureRepository closureRepository,
+            UserRepository userRepository) {
+        this.departmentRepository = departmentRepository;
+        this.closureRepository = closureRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Department getDepartmentById(@NonNull Long id) {
+        return departmentRepository.findById(id)
+                .orElseThrow(() -> new DepartmentNotFoundException(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DepartmentTreeNode> getTree() {
+        // One query for the whole forest; counts are already materialised per subtree
+        List<Department> departments = departmentRepository.findAll(Sort.by("name"));
+
+        Map<Long, DepartmentTreeNode> nodes = new HashMap<>();
+        for (Department department : departments) {
+            nodes.put(department.getId(), new DepartmentTreeNode(
+                    department.getId(),
+                    department.getName(),
+                    department.getParentId(),
+                    department.getHeadcount(),
+                    department.getActiveCount()));
+        }
+
+        List<DepartmentTreeNode> roots = new ArrayList<>();
+        for (Department department : departments) {
+            DepartmentTreeNode node = nodes.get(department.getId());
+            DepartmentTreeNode parent = department.getParentId() != null ? nodes.get(department.getParentId()) : null;
+            if (parent != null) {
+                parent.getChildren().add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+        return roots;
+    }
+
+    @Override
+    public DepartmentResponse createDepartment(@NonNull CreateDepartmentRequest request) {
+        Long parentId = request.getParentId();
+        if (parentId != null) {
+            getDepartmentById(parentId);
+        }
+
+        Department department = new Department();
+        department.setName(request.getName());
+        department.setParentId(parentId);
+        Department saved = departmentRepository.saveAndFlush(department);
+        Long id = saved.getId();
+
+        // Closure rows: self link plus one link per ancestor of the parent
+        List<DepartmentClosure> links = new ArrayList<>();
+        links.add(new DepartmentClosure(id, id, 0));
+        if (parentId != null) {
+            for (DepartmentClosure ancestor : closureRepository.findByDescendantId(parentId)) {
+                links.add(new DepartmentClosure(ancestor.getAncestorId(), id, ancestor.getDepth() + 1));
+            }
+        }
+        closureRepository.saveAll(links);
+
+        // Users may already reference this id (department_id predates the table); seed counts once
+        int headcount = (int) userRepository.countByDepartmentId(id);
+        if (headcount > 0) {
+            int activeCount = (int) userRepository.countByDepartmentIdAndStatus(id, User.UserStatus.ACTIVE);
+            departmentRepository.adjustSubtreeCounts(id, headcount, activeCount);
+            logger.info("Seeded department {} with {} existing members ({} active)", id, headcount, activeCount);
+            // The bulk update bypassed the persistence context; re-read the seeded counts
+            entityManager.refresh(saved);
+        }
+
+        logger.info("Created department {} under parent {}", id, parentId);
+        return toResponse(saved);
+    }
+
+    @Override
+    public DepartmentResponse updateDepartment(@NonNull Long id, @NonNull UpdateDepartmentRequest request) {
+        boolean moveToRoot = Boolean.TRUE.equals(request.getMoveToRoot());
+        if (moveToRoot && request.getParentId() != null) {
+            throw new InvalidParameterException("parentId and moveToRoot cannot both be set");
+        }
+        Long newParentId = request.getParentId();
+        // Lock the department and its new parent before anything reads them: a concurrent move through
+        // either waits, so the cycle check and the subtree counts below are read as they stand, and a
+        // user write into the subtree waits on the department's row until the counts have moved
+        List<Long> lockIds = newParentId != null ? List.of(id, newParentId) : List.of(id);
+        Department department = departmentRepository.findAllByIdForUpdate(lockIds).stream()
+                .filter(locked -> locked.getId().equals(id))
+                .findFirst()
+                .orElseThrow(() -> new DepartmentNotFoundException(id));
+        Long oldParentId = department.getParentId();
+        if (newParentId == null && !moveToRoot) {
+            newParentId = oldParentId;
+        }
+
+        if (request.getName() != null && !request.getName().isEmpty()) {
+            department.setName(request.getName());
+        }
+
+        if (!Objects.equals(oldParentId, newParentId)) {
+            department.setParentId(newParentId);
+            departmentRepository.saveAndFlush(department);
+            move(department, oldParentId, newParentId);
+        } else {
+            departmentRepository.save(department);
+        }
+
+        return toResponse(getDepartmentById(id));
+    }
+
+    @Override
+    public void deleteDepartment(@NonNull Long id) {
+        Department department = getDepartmentById(id);
+
+        if (departmentRepository.existsByParentId(id)) {
+            throw new DepartmentConflictException("Department " + id + " has child departments");
+        }
+        if (department.getHeadcount() > 0) {
+            throw new DepartmentConflictException("Department " + id + " still has " + department.getHeadcount() + " members");
+        }
+
+        closureRepository.deleteByDescendant(id);
+        departmentRepository.delete(department);
+        logger.info("Deleted department {}", id);
+    }
+
+    @Override
+    public void updateMemberCounts(Long previousDepartmentId, boolean previouslyActive, Long departmentId, boolean active) {
+        if (Objects.equals(previousDepartmentId, departmentId)) {
+            if (departmentId != null && previouslyActive != active) {
+                departmentRepository.adjustSubtreeCounts(departmentId, 0, active ? 1 : -1);
+            }
+            return;
+        }
+        if (previousDepartmentId != null) {
+            departmentRepository.adjustSubtreeCounts(previousDepartmentId, -1, previouslyActive ? -1 : 0);
+        }
+        if (departmentId != null) {
+            departmentRepository.adjustSubtreeCounts(departmentId, 1, active ? 1 : 0);
+        }
+    }
+
+    @Override
+    public DepartmentResponse toResponse(Department department) {
+        DepartmentResponse response = new DepartmentResponse();
+        response.setId(department.getId());
+        response.setName(department.getName());
+        response.setParentId(department.getParentId());
+        response.setHeadcount(department.getHeadcount());
+        response.setActiveCount(department.getActiveCount());
+        response.setCreatedAt(department.getCreatedAt());
+        response.setUpdatedAt(department.getUpdatedAt());
+        return response;
+    }
+
+    /**
+     * Re-link a subtree under a new parent: rewrite closure rows and move the
+     * subtree's cached counts from the old ancestor chain to the new one.
+     * The department and the new parent are locked by the caller.
+     */
+    private void move(Department department, Long oldParentId, Long newParentId) {
+        Long id = department.getId();
+
+        if (newParentId != null) {
+            getDepartmentById(newParentId);
+            if (closureRepository.existsByAncestorIdAndDescendantId(id, newParentId)) {
+                throw new DepartmentConflictException("Cannot move department " + id + " under its own subtree");
+            }
+        }
+
+        int headcount = department.getHeadcount();
+        int activeCount = department.getActiveCount();
+
+        List<DepartmentClosure> subtree = closureRepository.findByAncestorId(id);
+        List<Long> subtreeIds = subtree.stream().map(DepartmentClosure::getDescendantId).toList();
+        List<Long> oldAncestorIds = closureRepository.findByDescendantId(id).stream()
+                .map(DepartmentClosure::getAncestorId)
+                .filter(ancestorId -> !ancestorId.equals(id))
+                .toList();
+
+        if (!oldAncestorIds.isEmpty()) {
+            departmentRepository.adjustCounts(oldAncestorIds, -headcount, -activeCount);
+            closureRepository.deleteLinks(oldAncestorIds, subtreeIds);
+        }
+
+        if (newParentId != null) {
+            List<DepartmentClosure> newAncestors = closureRepository.findByDescendantId(newParentId);
+            List<DepartmentClosure> links = new ArrayList<>(newAncestors.size() * subtree.size());
+            for (DepartmentClosure ancestor : newAncestors) {
+                for (DepartmentClosure descendant : subtree) {
+                    links.add(new DepartmentClosure(
+                            ancestor.getAncestorId(),
+                            descendant.getDescendantId(),
+                            ancestor.getDepth() + descendant.getDepth() + 1));
+                }
+            }
+            closureRepository.saveAll(links);
+            departmentRepository.adjustCounts(
+                    newAncestors.stream().map(DepartmentClosure::getAncestorId).toList(), headcount, activeCount);
+        }
+
+        logger.info("Moved department {} from parent {} to parent {}", id, oldParentId, newParentId);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.hcms.history.controller;
+
+import com.example.hcms.history.domain.ResourceType;
+import com.example.hcms.history.dto.ChangeLogStats;
+import com.example.hcms.history.dto.HistoryPage;
+import com.example.hcms.history.service.ChangeHistoryService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the change history of shifts, attendance groups and users
+ */
+@RestController
+@RequestMapping("/api/v1")
+public class ChangeHistoryController {
+
+    private final ChangeHistoryService historyService;
+
+    public ChangeHistoryController(ChangeHistoryService historyService) {
+        this.historyService = historyService;
+    }
+
+    /**
+     * A resource's changes, newest first. Pass the page's nextCursor as "before" to read older changes.
+     * Changes show up once the history writer has committed them, normally within a fraction of a second.
+     */
+    @GetMapping("/{resource:shifts|attendance-groups|users}/{id}/history")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
+    public ResponseEntity<HistoryPage> getHistory(
+            @PathVariable String resource,
+            @PathVariable Long id,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        return ResponseEntity.ok(historyService.getHistory(ResourceType.ofPath(resource), id, before, limit));
+    }
+
+    /**
+     * Counters of the history writer: queue depth, records written, dropped and failed, group commits
+     */
+    @GetMapping("/history/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ChangeLogStats> getStats() {
+        return ResponseEntity.ok(historyService.getStats());
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.hcms.history.domain;
+
+/**
+ * Kind of write a change record describes
+ */
+public enum ChangeAction {
+    CREATE,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,87 @@
+package com.example.hcms.history.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Change record entity - one committed create, update or delete of a tracked resource, with the
+ * changed fields as a compact JSON object of [old, new] pairs. Written in groups by the change log;
+ * IDs come from a pooled sequence so each group is inserted in JDBC batches.
+ */
+@Entity
+@Immutable
+@Table(name = "change_history", indexes = {
+        @Index(name = "idx_change_history_resource", columnList = "resource_type, resource_id, id")
+})
+public class ChangeRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "change_record_id")
+    @SequenceGenerator(name = "change_record_id", sequenceName = "change_history_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resource_type", nullable = false, length = 32)
+    private ResourceType resourceType;
+
+    @Column(name = "resource_id", nullable = false)
+    private Long resourceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeAction action;
+
+    // The authenticated user whose request made the change; null for jobs and startup tasks
+    @Column(name = "changed_by")
+    private Long changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String changes; // JSON: {"lateThresholdMinutes": [0, 5], ...}
+
+    public ChangeRecord() {
+    }
+
+    public ChangeRecord(ResourceType resourceType, Long resourceId, ChangeAction action, Long changedBy,
+            Instant changedAt, String changes) {
+        this.resourceType = resourceType;
+        this.resourceId = resourceId;
+        this.action = action;
+        this.changedBy = changedBy;
+        this.changedAt = changedAt;
+        this.changes = changes;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public ResourceType getResourceType() {
+        return resourceType;
+    }
+
+    public Long getResourceId() {
+        return resourceId;
+    }
+
+    public ChangeAction getAction() {
+        return action;
+    }
+
+    public Long getChangedBy() {
+        return changedBy;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    public String getChanges() {
+        return changes;
+    }
+}
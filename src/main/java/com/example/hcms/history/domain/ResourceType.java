@@ -0,0 +1,29 @@
+package com.example.hcms.history.domain;
+
+import java.util.Arrays;
+
+/**
+ * Resources whose changes are recorded, with the collection path their history is served under
+ */
+public enum ResourceType {
+    SHIFT("shifts"),
+    ATTENDANCE_GROUP("attendance-groups"),
+    USER("users");
+
+    private final String path;
+
+    ResourceType(String path) {
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * The resource type of a collection path such as "shifts", or null
+     */
+    public static ResourceType ofPath(String path) {
+        return Arrays.stream(values()).filter(type -> type.path.equals(path)).findFirst().orElse(null);
+    }
+}
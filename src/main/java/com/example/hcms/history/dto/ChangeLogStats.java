@@ -0,0 +1,54 @@
+package com.example.hcms.history.dto;
+
+/**
+ * Counters of the change history writer since startup
+ */
+public class ChangeLogStats {
+
+    private int capacity;
+    private int queued;
+    private long written;
+    private long dropped;
+    private long failed;
+    private long batches;
+    private int largestBatch;
+
+    public ChangeLogStats(int capacity, int queued, long written, long dropped, long failed, long batches,
+            int largestBatch) {
+        this.capacity = capacity;
+        this.queued = queued;
+        this.written = written;
+        this.dropped = dropped;
+        this.failed = failed;
+        this.batches = batches;
+        this.largestBatch = largestBatch;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public int getLargestBatch() {
+        return largestBatch;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.hcms.history.dto;
+
+import com.example.hcms.history.domain.ChangeAction;
+import com.example.hcms.history.domain.ChangeRecord;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+/**
+ * One entry of a resource's change history
+ */
+public class ChangeRecordResponse {
+
+    private Long id;
+    private ChangeAction action;
+    private Long changedBy;
+    private Instant changedAt;
+    private String changes;
+
+    public ChangeRecordResponse(ChangeRecord record) {
+        this.id = record.getId();
+        this.action = record.getAction();
+        this.changedBy = record.getChangedBy();
+        this.changedAt = record.getChangedAt();
+        this.changes = record.getChanges();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public ChangeAction getAction() {
+        return action;
+    }
+
+    public Long getChangedBy() {
+        return changedBy;
+    }
+
+    public Instant getChangedAt() {
+        return changedAt;
+    }
+
+    // Stored as JSON already: {"field": [old, new], ...}
+    @JsonRawValue
+    public String getChanges() {
+        return changes;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.hcms.history.dto;
+
+import java.util.List;
+
+/**
+ * One page of a resource's change history, newest first. Pass nextCursor as "before" to read the next
+ * page; it is null on the last page.
+ */
+public class HistoryPage {
+
+    private List<ChangeRecordResponse> items;
+    private Long nextCursor;
+
+    public HistoryPage(List<ChangeRecordResponse> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ChangeRecordResponse> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
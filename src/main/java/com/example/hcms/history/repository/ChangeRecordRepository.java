@@ -0,0 +1,24 @@
+package com.example.hcms.history.repository;
+
+import com.example.hcms.history.domain.ChangeRecord;
+import com.example.hcms.history.domain.ResourceType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for the append-only change history
+ */
+@org.springframework.stereotype.Repository
+public interface ChangeRecordRepository extends Repository<ChangeRecord, Long> {
+
+    List<ChangeRecord> saveAll(Iterable<ChangeRecord> records);
+
+    /**
+     * One keyset page of a resource's history, newest first: the records below an ID, read through the
+     * (resource_type, resource_id, id) index
+     */
+    List<ChangeRecord> findByResourceTypeAndResourceIdAndIdLessThanOrderByIdDesc(ResourceType resourceType,
+            Long resourceId, Long before, Pageable page);
+}
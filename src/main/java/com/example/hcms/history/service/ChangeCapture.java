@@ -0,0 +1,220 @@
+package com.example.hcms.history.service;
+
+import com.example.hcms.attendancegroup.domain.AttendanceGroup;
+import com.example.hcms.auth.domain.AttendanceGroupReassignedEvent;
+import com.example.hcms.auth.domain.User;
+import com.example.hcms.history.domain.ChangeAction;
+import com.example.hcms.history.domain.ChangeRecord;
+import com.example.hcms.history.domain.ResourceType;
+import com.example.hcms.shift.domain.Shift;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Captures field-level changes of shifts, attendance groups and users from Hibernate's post-commit
+ * events, so only committed writes are recorded and no service has to remember to log. Each event
+ * becomes one change record holding the changed fields as [old, new] pairs; the record is handed to
+ * the {@link ChangeLog} and written later in a group commit.
+ *
+ * Bookkeeping fields (version, timestamps, the derived member count) and credentials are not recorded.
+ * Collections mapped as separate tables (user roles, group sub-owners and shift usage) are not part of
+ * the entity's own state; sub-owners and shifts are recorded through the columns that mirror them.
+ * Bulk JPQL statements bypass the persistence context and raise no entity events. The one bulk write
+ * of a tracked field, moving users between attendance groups, publishes its own event carrying each
+ * user's previous group, and is recorded from that once it has committed.
+ */
+@Component
+public class ChangeCapture implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeCapture.class);
+
+    private static final Map<Class<?>, ResourceType> TRACKED = Map.of(
+            Shift.class, ResourceType.SHIFT,
+            AttendanceGroup.class, ResourceType.ATTENDANCE_GROUP,
+            User.class, ResourceType.USER);
+
+    private static final Set<String> IGNORED = Set.of("version", "createdAt", "updatedAt", "updatedBy",
+            "memberCount");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ChangeLog changeLog;
+    private final ObjectMapper objectMapper;
+
+    public ChangeCapture(EntityManagerFactory entityManagerFactory, ChangeLog changeLog, ObjectMapper objectMapper) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.changeLog = changeLog;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return TRACKED.containsKey(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        EntityPersister persister = event.getPersister();
+        Map<String, Object[]> changes = new LinkedHashMap<>();
+        Object[] state = event.getState();
+        for (int i = 0; i < state.length; i++) {
+            if (state[i] != null) {
+                put(changes, persister, i, null, state[i]);
+            }
+        }
+        record(persister, event.getId(), ChangeAction.CREATE, changes);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        Object[] oldState = event.getOldState();
+        Object[] state = event.getState();
+        Map<String, Object[]> changes = new LinkedHashMap<>();
+        if (event.getDirtyProperties() != null) {
+            for (int i : event.getDirtyProperties()) {
+                put(changes, persister, i, oldState != null ? oldState[i] : null, state[i]);
+            }
+        } else if (oldState != null) {
+            for (int i = 0; i < state.length; i++) {
+                if (!Objects.equals(oldState[i], state[i])) {
+                    put(changes, persister, i, oldState[i], state[i]);
+                }
+            }
+        }
+        // Touching only ignored fields (e.g. a version bump) is not a change worth recording
+        if (!changes.isEmpty()) {
+            record(persister, event.getId(), ChangeAction.UPDATE, changes);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        EntityPersister persister = event.getPersister();
+        Map<String, Object[]> changes = new LinkedHashMap<>();
+        Object[] state = event.getDeletedState();
+        for (int i = 0; state != null && i < state.length; i++) {
+            if (state[i] != null) {
+                put(changes, persister, i, state[i], null);
+            }
+        }
+        record(persister, event.getId(), ChangeAction.DELETE, changes);
+    }
+
+    /**
+     * Record a committed bulk move of users between attendance groups: one update per moved user, as
+     * the entity events would have recorded it
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceGroupReassigned(AttendanceGroupReassignedEvent event) {
+        event.getPreviousGroups().forEach((userId, previousGroupId) -> {
+            Map<String, Object[]> changes = new LinkedHashMap<>();
+            changes.put("attendanceGroupId", new Object[] { previousGroupId, event.getAttendanceGroupId() });
+            record(ResourceType.USER, userId, ChangeAction.UPDATE, changes);
+        });
+    }
+
+    // Nothing was committed, so there is nothing to record
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void put(Map<String, Object[]> changes, EntityPersister persister, int property, Object oldValue,
+            Object newValue) {
+        String name = persister.getPropertyNames()[property];
+        Type type = persister.getPropertyTypes()[property];
+        if (IGNORED.contains(name) || name.toLowerCase().contains("password") || type.isCollectionType()) {
+            return;
+        }
+        changes.put(name, new Object[] { plain(persister, type, oldValue), plain(persister, type, newValue) });
+    }
+
+    /**
+     * A JSON-friendly form of a property value: associations by ID, enums by name, dates and times in
+     * ISO form
+     */
+    private Object plain(EntityPersister persister, Type type, Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (type.isEntityType()) {
+            return persister.getFactory().getPersistenceUnitUtil().getIdentifier(value);
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+        if (value instanceof Collection<?> values) {
+            return values.stream().map(element -> plain(persister, type, element)).toList();
+        }
+        return value;
+    }
+
+    private void record(EntityPersister persister, Object id, ChangeAction action, Map<String, Object[]> changes) {
+        record(TRACKED.get(persister.getMappedClass()), (Long) id, action, changes);
+    }
+
+    private void record(ResourceType resourceType, Long id, ChangeAction action, Map<String, Object[]> changes) {
+        try {
+            changeLog.offer(new ChangeRecord(resourceType, id, action, currentUserId(), Instant.now(),
+                    objectMapper.writeValueAsString(changes)));
+        } catch (JsonProcessingException | RuntimeException e) {
+            // The change is committed already: never fail the caller over its history
+            logger.error("Failed to capture {} of {} {}", action, resourceType, id, e);
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof Long) {
+            return (Long) authentication.getPrincipal();
+        }
+        return null;
+    }
+}
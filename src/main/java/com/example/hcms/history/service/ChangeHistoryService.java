@@ -0,0 +1,21 @@
+package com.example.hcms.history.service;
+
+import com.example.hcms.history.domain.ResourceType;
+import com.example.hcms.history.dto.ChangeLogStats;
+import com.example.hcms.history.dto.HistoryPage;
+
+/**
+ * Service interface for reading the change history of shifts, attendance groups and users
+ */
+public interface ChangeHistoryService {
+
+    /**
+     * One page of a resource's changes, newest first
+     *
+     * @param before only changes with a lower ID (the previous page's nextCursor), or null for the newest
+     * @param limit  page size, 1 to 200
+     */
+    HistoryPage getHistory(ResourceType resourceType, Long resourceId, Long before, int limit);
+
+    ChangeLogStats getStats();
+}
@@ -0,0 +1,51 @@
+package com.example.hcms.history.service;
+
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.history.domain.ChangeRecord;
+import com.example.hcms.history.domain.ResourceType;
+import com.example.hcms.history.dto.ChangeLogStats;
+import com.example.hcms.history.dto.ChangeRecordResponse;
+import com.example.hcms.history.dto.HistoryPage;
+import com.example.hcms.history.repository.ChangeRecordRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Implementation of ChangeHistoryService. Pages are keyset pages on the record ID, so reading deep into a
+ * long history costs the same index range scan as reading its first page.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ChangeHistoryServiceImpl implements ChangeHistoryService {
+
+    private static final int MAX_LIMIT = 200;
+
+    private final ChangeRecordRepository repository;
+    private final ChangeLog changeLog;
+
+    public ChangeHistoryServiceImpl(ChangeRecordRepository repository, ChangeLog changeLog) {
+        this.repository = repository;
+        this.changeLog = changeLog;
+    }
+
+    @Override
+    public HistoryPage getHistory(ResourceType resourceType, Long resourceId, Long before, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidParameterException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        // Read one extra record to learn whether another page follows
+        List<ChangeRecord> records = repository.findByResourceTypeAndResourceIdAndIdLessThanOrderByIdDesc(
+                resourceType, resourceId, before != null ? before : Long.MAX_VALUE, PageRequest.of(0, limit + 1));
+        boolean more = records.size() > limit;
+        List<ChangeRecordResponse> items = records.stream().limit(limit).map(ChangeRecordResponse::new).toList();
+        return new HistoryPage(items, more ? items.get(items.size() - 1).getId() : null);
+    }
+
+    @Override
+    public ChangeLogStats getStats() {
+        return changeLog.getStats();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.hcms.history.service;
+
+import com.example.hcms.history.domain.ChangeRecord;
+import com.example.hcms.history.dto.ChangeLogStats;
+import com.example.hcms.history.repository.ChangeRecordRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Group-commit writer of the change history. Committing transactions hand their change records to a
+ * bounded lock-free queue and return; one writer thread drains the queue and inserts everything that
+ * arrived since its last write in one transaction, as JDBC batches. A burst of edits therefore costs a
+ * few multi-row inserts instead of an extra insert and commit per edit.
+ *
+ * When the queue is full, producers wake the writer and wait up to the offer timeout for room; a record
+ * that still does not fit is dropped and counted rather than stalling the request that made the change.
+ * On shutdown the writer drains whatever is queued before the data source closes.
+ */
+@Component
+public class ChangeLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLog.class);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private final ChangeRecordRepository repository;
+    private final TransactionTemplate transactions;
+    private final int capacity;
+    private final int maxBatch;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+
+    private final ConcurrentLinkedQueue<ChangeRecord> queue = new ConcurrentLinkedQueue<>();
+    // Reserved slots, so the capacity check does not walk the queue
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicInteger largestBatch = new AtomicInteger();
+    // Records taken off the queue whose batch is not written yet
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public ChangeLog(ChangeRecordRepository repository, PlatformTransactionManager transactionManager,
+            @Value("${app.history.capacity:10000}") int capacity,
+            @Value("${app.history.max-batch:500}") int maxBatch,
+            @Value("${app.history.flush-interval-ms:200}") long flushIntervalMillis,
+            @Value("${app.history.offer-timeout-ms:100}") long offerTimeoutMillis) {
+        this.repository = repository;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.maxBatch = maxBatch;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = new Thread(this::run, "change-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue a record for the next group commit.
+     *
+     * @return false if the queue stayed full for the offer timeout and the record was dropped
+     */
+    public boolean offer(ChangeRecord record) {
+        long deadline = 0;
+        while (true) {
+            int current = queued.get();
+            if (current < capacity) {
+                if (queued.compareAndSet(current, current + 1)) {
+                    queue.offer(record);
+                    if (current + 1 >= maxBatch) {
+                        // A full batch is waiting: no reason to sit out the flush interval
+                        LockSupport.unpark(writer);
+                    }
+                    return true;
+                }
+                continue;
+            }
+            long now = System.nanoTime();
+            if (deadline == 0) {
+                deadline = now + offerTimeoutNanos;
+            } else if (now - deadline >= 0 || !running) {
+                if (dropped.getAndIncrement() % 1000 == 0) {
+                    logger.warn("Change history queue full ({} records), dropping {} {} {}", capacity,
+                            record.getAction(), record.getResourceType(), record.getResourceId());
+                }
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+    }
+
+    /**
+     * Wait until every record queued so far is written (or failed).
+     *
+     * @return false if the timeout passed first
+     */
+    public boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (queued.get() > 0 || inFlight.get() > 0) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    public ChangeLogStats getStats() {
+        return new ChangeLogStats(capacity, queued.get(), written.get(), dropped.get(), failed.get(),
+                batches.get(), largestBatch.get());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        if (queued.get() > 0) {
+            logger.warn("Change history writer stopped with {} records unwritten", queued.get());
+        }
+    }
+
+    private void run() {
+        List<ChangeRecord> batch = new ArrayList<>(maxBatch);
+        while (running || queued.get() > 0) {
+            if (running && queued.get() < maxBatch) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            ChangeRecord record;
+            while (batch.size() < maxBatch && (record = queue.poll()) != null) {
+                // Count it in flight before releasing its slot, so flush() never sees it nowhere
+                inFlight.incrementAndGet();
+                queued.decrementAndGet();
+                batch.add(record);
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                inFlight.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<ChangeRecord> batch) {
+        try {
+            transactions.executeWithoutResult(status -> repository.saveAll(batch));
+            written.addAndGet(batch.size());
+            batches.incrementAndGet();
+            largestBatch.accumulateAndGet(batch.size(), Math::max);
+        } catch (RuntimeException e) {
+            failed.addAndGet(batch.size());
+            logger.error("Failed to write {} change history records", batch.size(), e);
+        }
+    }
+}
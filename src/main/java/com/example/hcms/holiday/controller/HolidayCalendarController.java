@@ -0,0 +1,66 @@
+package com.example.hcms.holiday.controller;
+
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.holiday.dto.HolidayCalendarResponse;
+import com.example.hcms.holiday.dto.HolidayImportResult;
+import com.example.hcms.holiday.dto.HolidayResponse;
+import com.example.hcms.holiday.service.HolidayService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for public holiday calendars
+ */
+@RestController
+@RequestMapping("/api/v1/holiday-calendars")
+public class HolidayCalendarController {
+
+    private static final Logger logger = LoggerFactory.getLogger(HolidayCalendarController.class);
+    private final HolidayService service;
+
+    public HolidayCalendarController(HolidayService service) {
+        this.service = service;
+    }
+
+    /**
+     * List all holiday calendars
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<List<HolidayCalendarResponse>> getCalendars() {
+        return ResponseEntity.ok(service.getCalendars());
+    }
+
+    /**
+     * Holidays of a calendar from one date to another inclusive
+     */
+    @GetMapping("/{code}/holidays")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<List<HolidayResponse>> getHolidays(
+            @PathVariable String code,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        if (to.isBefore(from)) {
+            throw new InvalidParameterException("to must not be before from");
+        }
+        return ResponseEntity.ok(service.getHolidays(code, from, to));
+    }
+
+    /**
+     * Re-import the holiday files from the configured import location
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<HolidayImportResult> importCalendars() {
+        logger.info("POST request to import holiday calendars");
+        return ResponseEntity.ok(service.importCalendars());
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.hcms.holiday.domain;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable set of dates stored as one 366-bit bitmap (six longs) per calendar year, indexed by day of
+ * year. Membership is one bit test and allocates nothing; years without dates take no space beyond a
+ * null slot.
+ */
+public final class DateSet {
+
+    public static final DateSet EMPTY = new DateSet(0, new long[0][]);
+
+    private static final int WORDS_PER_YEAR = 6;
+
+    private final int firstYear;
+    private final long[][] years;
+
+    private DateSet(int firstYear, long[][] years) {
+        this.firstYear = firstYear;
+        this.years = years;
+    }
+
+    /**
+     * The set of the given dates; nulls are ignored
+     */
+    public static DateSet of(Collection<LocalDate> dates) {
+        int first = Integer.MAX_VALUE;
+        int last = Integer.MIN_VALUE;
+        for (LocalDate date : dates) {
+            if (date != null) {
+                first = Math.min(first, date.getYear());
+                last = Math.max(last, date.getYear());
+            }
+        }
+        if (first > last) {
+            return EMPTY;
+        }
+        long[][] years = new long[last - first + 1][];
+        for (LocalDate date : dates) {
+            if (date != null) {
+                int index = date.getYear() - first;
+                if (years[index] == null) {
+                    years[index] = new long[WORDS_PER_YEAR];
+                }
+                int day = date.getDayOfYear() - 1;
+                years[index][day >>> 6] |= 1L << day;
+            }
+        }
+        return new DateSet(first, years);
+    }
+
+    public boolean contains(LocalDate date) {
+        int index = date.getYear() - firstYear;
+        if (index < 0 || index >= years.length) {
+            return false;
+        }
+        long[] bits = years[index];
+        int day = date.getDayOfYear() - 1;
+        return bits != null && (bits[day >>> 6] & 1L << day) != 0;
+    }
+
+    public boolean isEmpty() {
+        return years.length == 0;
+    }
+
+    /**
+     * Dates in either set
+     */
+    public DateSet union(DateSet other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        int first = Math.min(firstYear, other.firstYear);
+        int last = Math.max(firstYear + years.length, other.firstYear + other.years.length) - 1;
+        long[][] merged = new long[last - first + 1][];
+        for (DateSet set : List.of(this, other)) {
+            for (int i = 0; i < set.years.length; i++) {
+                long[] bits = set.years[i];
+                if (bits == null) {
+                    continue;
+                }
+                int index = set.firstYear + i - first;
+                if (merged[index] == null) {
+                    merged[index] = Arrays.copyOf(bits, WORDS_PER_YEAR);
+                } else {
+                    for (int word = 0; word < WORDS_PER_YEAR; word++) {
+                        merged[index][word] |= bits[word];
+                    }
+                }
+            }
+        }
+        return new DateSet(first, merged);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.hcms.holiday.domain;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Holiday calendar entity - the public holidays of one country or region, imported from files
+ */
+@Entity
+@Table(name = "holiday_calendars", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_holiday_calendars_code", columnNames = "code")
+})
+public class HolidayCalendar {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String code;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    // ISO 3166-1 alpha-2 country code
+    @Column(nullable = false, length = 2)
+    private String country;
+
+    @Column(length = 64)
+    private String region;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+        updatedAt = Instant.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = Instant.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.hcms.holiday.domain;
+
+/**
+ * Published when holiday calendars are imported. Any group observing public holidays may schedule
+ * differently afterwards; listeners re-read the calendars they need once the import has committed.
+ */
+public class HolidaysChangedEvent {
+}
@@ -0,0 +1,69 @@
+package com.example.hcms.holiday.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Public holiday entity - one non-working date of a holiday calendar
+ */
+@Entity
+@Table(name = "public_holidays", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_public_holidays_calendar_date", columnNames = { "calendar_id", "holiday_date" })
+})
+public class PublicHoliday {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "calendar_id", nullable = false)
+    private Long calendarId;
+
+    @Column(name = "holiday_date", nullable = false)
+    private LocalDate date;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    public PublicHoliday() {
+    }
+
+    public PublicHoliday(Long calendarId, LocalDate date, String name) {
+        this.calendarId = calendarId;
+        this.date = date;
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCalendarId() {
+        return calendarId;
+    }
+
+    public void setCalendarId(Long calendarId) {
+        this.calendarId = calendarId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.hcms.holiday.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Format of a holiday import file, e.g.
+ * {@code {"code": "ID", "name": "Indonesia", "country": "ID", "holidays": [{"date": "2025-08-17", "name": "Independence Day"}]}}.
+ * Every year that appears in {@code holidays} replaces that year of the calendar.
+ */
+public class HolidayCalendarFile {
+
+    private String code;
+    private String name;
+    private String country;
+    private String region;
+    private List<Entry> holidays;
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public List<Entry> getHolidays() {
+        return holidays;
+    }
+
+    public void setHolidays(List<Entry> holidays) {
+        this.holidays = holidays;
+    }
+
+    /**
+     * One holiday of the file
+     */
+    public static class Entry {
+
+        private LocalDate date;
+        private String name;
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public void setDate(LocalDate date) {
+            this.date = date;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.hcms.holiday.dto;
+
+/**
+ * Response DTO for a holiday calendar
+ */
+public class HolidayCalendarResponse {
+
+    private Long id;
+    private String code;
+    private String name;
+    private String country;
+    private String region;
+
+    public HolidayCalendarResponse(Long id, String code, String name, String country, String region) {
+        this.id = id;
+        this.code = code;
+        this.name = name;
+        this.country = country;
+        this.region = region;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.hcms.holiday.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of importing the holiday files: the calendars written and how many holidays they now hold
+ * for the imported years
+ */
+public class HolidayImportResult {
+
+    private List<String> calendars;
+    private int holidays;
+
+    public HolidayImportResult(List<String> calendars, int holidays) {
+        this.calendars = calendars;
+        this.holidays = holidays;
+    }
+
+    public List<String> getCalendars() {
+        return calendars;
+    }
+
+    public int getHolidays() {
+        return holidays;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.hcms.holiday.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Response DTO for one public holiday
+ */
+public class HolidayResponse {
+
+    private LocalDate date;
+    private String name;
+
+    public HolidayResponse(LocalDate date, String name) {
+        this.date = date;
+        this.name = name;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
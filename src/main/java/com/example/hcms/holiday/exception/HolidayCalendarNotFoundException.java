@@ -0,0 +1,14 @@
+package com.example.hcms.holiday.exception;
+
+/**
+ * Exception thrown when a holiday calendar is not found
+ */
+public class HolidayCalendarNotFoundException extends RuntimeException {
+    public HolidayCalendarNotFoundException(String message) {
+        super(message);
+    }
+
+    public HolidayCalendarNotFoundException(Long calendarId) {
+        super("Holiday calendar with ID " + calendarId + " not found");
+    }
+}
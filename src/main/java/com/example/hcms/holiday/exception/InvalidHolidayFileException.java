@@ -0,0 +1,14 @@
+package com.example.hcms.holiday.exception;
+
+/**
+ * Exception thrown when a holiday import file cannot be read or is malformed
+ */
+public class InvalidHolidayFileException extends RuntimeException {
+    public InvalidHolidayFileException(String message) {
+        super(message);
+    }
+
+    public InvalidHolidayFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
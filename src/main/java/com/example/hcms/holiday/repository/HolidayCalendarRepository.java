@@ -0,0 +1,19 @@
+package com.example.hcms.holiday.repository;
+
+import com.example.hcms.holiday.domain.HolidayCalendar;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for HolidayCalendar entities
+ */
+@Repository
+public interface HolidayCalendarRepository extends JpaRepository<HolidayCalendar, Long> {
+
+    /**
+     * Find a calendar by its unique code
+     */
+    Optional<HolidayCalendar> findByCode(String code);
+}
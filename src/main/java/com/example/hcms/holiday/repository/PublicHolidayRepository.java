@@ -0,0 +1,39 @@
+package com.example.hcms.holiday.repository;
+
+import com.example.hcms.holiday.domain.PublicHoliday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for PublicHoliday entities
+ */
+@Repository
+public interface PublicHolidayRepository extends JpaRepository<PublicHoliday, Long> {
+
+    /**
+     * Holidays of a calendar in a date range, in date order (covered by the calendar/date unique key)
+     */
+    List<PublicHoliday> findByCalendarIdAndDateBetweenOrderByDate(Long calendarId, LocalDate from, LocalDate to);
+
+    /**
+     * Every holiday date of a calendar
+     */
+    @Query("SELECT h.date FROM PublicHoliday h WHERE h.calendarId = :calendarId")
+    List<LocalDate> findDatesByCalendarId(@Param("calendarId") Long calendarId);
+
+    /**
+     * Remove a calendar's holidays in a date range, before re-importing it
+     *
+     * @return number of holidays removed
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM PublicHoliday h WHERE h.calendarId = :calendarId AND h.date BETWEEN :from AND :to")
+    int deleteByCalendarIdAndDateBetween(@Param("calendarId") Long calendarId, @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+}
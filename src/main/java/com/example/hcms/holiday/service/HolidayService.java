@@ -0,0 +1,42 @@
+package com.example.hcms.holiday.service;
+
+import com.example.hcms.holiday.domain.DateSet;
+import com.example.hcms.holiday.dto.HolidayCalendarResponse;
+import com.example.hcms.holiday.dto.HolidayImportResult;
+import com.example.hcms.holiday.dto.HolidayResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Service interface for public holiday calendars
+ */
+public interface HolidayService {
+
+    /**
+     * All calendars, ordered by code
+     */
+    List<HolidayCalendarResponse> getCalendars();
+
+    /**
+     * Holidays of a calendar from one date to another inclusive
+     *
+     * @throws com.example.hcms.holiday.exception.HolidayCalendarNotFoundException if no calendar has the code
+     */
+    List<HolidayResponse> getHolidays(String code, LocalDate from, LocalDate to);
+
+    /**
+     * Import every file at the configured import location, replacing the years each file covers
+     *
+     * @throws com.example.hcms.holiday.exception.InvalidHolidayFileException if a file is unreadable or invalid
+     */
+    HolidayImportResult importCalendars();
+
+    /**
+     * Holiday dates of a calendar as an in-memory bitmap, cached until the next import
+     *
+     * @param calendarId the calendar, or null for the configured default calendar
+     * @return the dates, empty if the calendar does not exist
+     */
+    DateSet getHolidayDates(Long calendarId);
+}
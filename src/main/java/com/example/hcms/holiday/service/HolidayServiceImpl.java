@@ -0,0 +1,207 @@
+package com.example.hcms.holiday.service;
+
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.holiday.domain.DateSet;
+import com.example.hcms.holiday.domain.HolidayCalendar;
+import com.example.hcms.holiday.domain.HolidaysChangedEvent;
+import com.example.hcms.holiday.domain.PublicHoliday;
+import com.example.hcms.holiday.dto.HolidayCalendarFile;
+import com.example.hcms.holiday.dto.HolidayCalendarResponse;
+import com.example.hcms.holiday.dto.HolidayImportResult;
+import com.example.hcms.holiday.dto.HolidayResponse;
+import com.example.hcms.holiday.exception.HolidayCalendarNotFoundException;
+import com.example.hcms.holiday.exception.InvalidHolidayFileException;
+import com.example.hcms.holiday.repository.HolidayCalendarRepository;
+import com.example.hcms.holiday.repository.PublicHolidayRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Implementation of HolidayService. Calendars are written only by the file import, so the per-calendar
+ * date bitmaps are cached, each tagged with the holiday watermark it was loaded at, and reloaded on
+ * first use after an import commits.
+ */
+@Service
+@Transactional
+public class HolidayServiceImpl implements HolidayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HolidayServiceImpl.class);
+    // Cache key of the default calendar, which is looked up by code
+    private static final Long DEFAULT_CALENDAR = -1L;
+
+    private final HolidayCalendarRepository calendarRepository;
+    private final PublicHolidayRepository holidayRepository;
+    private final ChangeWatermarks watermarks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final String importLocation;
+    private final String defaultCalendar;
+
+    private final Map<Long, CachedDates> dateSets = new ConcurrentHashMap<>();
+
+    public HolidayServiceImpl(HolidayCalendarRepository calendarRepository,
+            PublicHolidayRepository holidayRepository,
+            ChangeWatermarks watermarks,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            @Value("${app.holidays.import-location:classpath*:holidays/*.json}") String importLocation,
+            @Value("${app.holidays.default-calendar:ID}") String defaultCalendar) {
+        this.calendarRepository = calendarRepository;
+        this.holidayRepository = holidayRepository;
+        this.watermarks = watermarks;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.importLocation = importLocation;
+        this.defaultCalendar = defaultCalendar;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HolidayCalendarResponse> getCalendars() {
+        return calendarRepository.findAll(Sort.by("code")).stream()
+                .map(calendar -> new HolidayCalendarResponse(calendar.getId(), calendar.getCode(),
+                        calendar.getName(), calendar.getCountry(), calendar.getRegion()))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HolidayResponse> getHolidays(String code, LocalDate from, LocalDate to) {
+        HolidayCalendar calendar = calendarRepository.findByCode(code)
+                .orElseThrow(() -> new HolidayCalendarNotFoundException("Holiday calendar " + code + " not found"));
+        return holidayRepository.findByCalendarIdAndDateBetweenOrderByDate(calendar.getId(), from, to).stream()
+                .map(holiday -> new HolidayResponse(holiday.getDate(), holiday.getName()))
+                .toList();
+    }
+
+    @Override
+    public HolidayImportResult importCalendars() {
+        Resource[] resources;
+        try {
+            resources = new PathMatchingResourcePatternResolver().getResources(importLocation);
+        } catch (IOException e) {
+            throw new InvalidHolidayFileException("Cannot list holiday files at " + importLocation, e);
+        }
+        List<String> codes = new ArrayList<>();
+        int holidays = 0;
+        for (Resource resource : resources) {
+            HolidayCalendarFile file = read(resource);
+            codes.add(file.getCode());
+            holidays += importCalendar(file);
+        }
+        watermarks.bump(ChangeWatermarks.HOLIDAYS);
+        eventPublisher.publishEvent(new HolidaysChangedEvent());
+        logger.info("Imported {} holidays into calendars {} from {}", holidays, codes, importLocation);
+        return new HolidayImportResult(codes, holidays);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DateSet getHolidayDates(Long calendarId) {
+        // The mark is read before loading, so an import committing meanwhile is seen next time
+        long mark = watermarks.current(ChangeWatermarks.HOLIDAYS);
+        Long key = calendarId != null ? calendarId : DEFAULT_CALENDAR;
+        CachedDates cached = dateSets.get(key);
+        if (cached != null && cached.mark == mark) {
+            return cached.dates;
+        }
+        Long id = calendarId != null ? calendarId
+                : calendarRepository.findByCode(defaultCalendar).map(HolidayCalendar::getId).orElse(null);
+        DateSet dates = id != null ? DateSet.of(holidayRepository.findDatesByCalendarId(id)) : DateSet.EMPTY;
+        dateSets.put(key, new CachedDates(mark, dates));
+        return dates;
+    }
+
+    private HolidayCalendarFile read(Resource resource) {
+        HolidayCalendarFile file;
+        try (InputStream in = resource.getInputStream()) {
+            file = objectMapper.readValue(in, HolidayCalendarFile.class);
+        } catch (IOException e) {
+            throw new InvalidHolidayFileException("Cannot read holiday file " + resource.getFilename() + ": "
+                    + e.getMessage(), e);
+        }
+        String name = resource.getFilename();
+        require(file.getCode() != null && file.getCode().matches("[A-Za-z0-9_-]{1,32}"), name,
+                "code must be 1-32 letters, digits, '-' or '_'");
+        require(file.getName() != null && !file.getName().isBlank() && file.getName().length() <= 100, name,
+                "name is required (at most 100 characters)");
+        require(file.getCountry() != null && file.getCountry().matches("[A-Za-z]{2}"), name,
+                "country must be an ISO 3166-1 alpha-2 code");
+        require(file.getRegion() == null || file.getRegion().length() <= 64, name,
+                "region must be at most 64 characters");
+        require(file.getHolidays() != null, name, "holidays is required");
+        Set<LocalDate> dates = new HashSet<>();
+        for (HolidayCalendarFile.Entry entry : file.getHolidays()) {
+            require(entry != null && entry.getDate() != null, name, "every holiday needs a date");
+            require(entry.getName() != null && !entry.getName().isBlank() && entry.getName().length() <= 100, name,
+                    "holiday " + entry.getDate() + " needs a name (at most 100 characters)");
+            require(dates.add(entry.getDate()), name, "holiday " + entry.getDate() + " is listed twice");
+        }
+        return file;
+    }
+
+    /**
+     * Upsert the calendar and replace the years the file covers
+     *
+     * @return number of holidays written
+     */
+    private int importCalendar(HolidayCalendarFile file) {
+        HolidayCalendar calendar = calendarRepository.findByCode(file.getCode()).orElseGet(HolidayCalendar::new);
+        calendar.setCode(file.getCode());
+        calendar.setName(file.getName().trim());
+        calendar.setCountry(file.getCountry().toUpperCase(Locale.ROOT));
+        calendar.setRegion(file.getRegion());
+        calendar = calendarRepository.save(calendar);
+
+        TreeSet<Integer> years = new TreeSet<>();
+        file.getHolidays().forEach(entry -> years.add(entry.getDate().getYear()));
+        for (Integer year : years) {
+            holidayRepository.deleteByCalendarIdAndDateBetween(calendar.getId(), LocalDate.of(year, 1, 1),
+                    LocalDate.of(year, 12, 31));
+        }
+        Long calendarId = calendar.getId();
+        holidayRepository.saveAll(file.getHolidays().stream()
+                .map(entry -> new PublicHoliday(calendarId, entry.getDate(), entry.getName().trim()))
+                .toList());
+        return file.getHolidays().size();
+    }
+
+    private static void require(boolean valid, String file, String message) {
+        if (!valid) {
+            throw new InvalidHolidayFileException("Holiday file " + file + ": " + message);
+        }
+    }
+
+    /**
+     * A calendar's dates and the holiday watermark they were read at
+     */
+    private static final class CachedDates {
+        private final long mark;
+        private final DateSet dates;
+
+        CachedDates(long mark, DateSet dates) {
+            this.mark = mark;
+            this.dates = dates;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.hcms.impact.controller;
+
+import com.example.hcms.impact.dto.ScheduleImpactPage;
+import com.example.hcms.impact.service.ScheduleImpactService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST controller for the schedule impact feed of shift and attendance group edits
+ */
+@RestController
+@RequestMapping("/api/v1/schedule-impacts")
+public class ScheduleImpactController {
+
+    private final ScheduleImpactService impactService;
+
+    public ScheduleImpactController(ScheduleImpactService impactService) {
+        this.impactService = impactService;
+    }
+
+    /**
+     * The entries after a cursor, in commit order. Each caller has its own delivery budget in user-days per
+     * minute; a page stops where the budget runs out, and a read with no budget left is answered with 429
+     * and a Retry-After header.
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ScheduleImpactPage> getFeed(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication) {
+
+        return ResponseEntity.ok(impactService.getFeed(requireUserId(authentication), after, limit));
+    }
+
+    private Long requireUserId(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof Long) {
+            return (Long) authentication.getPrincipal();
+        }
+        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+    }
+}
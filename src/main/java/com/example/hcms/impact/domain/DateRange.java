@@ -0,0 +1,35 @@
+package com.example.hcms.impact.domain;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A run of consecutive dates, both ends included
+ */
+public final class DateRange {
+
+    private final LocalDate from;
+    private final LocalDate to;
+
+    public DateRange(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public int days() {
+        return (int) ChronoUnit.DAYS.between(from, to) + 1;
+    }
+
+    @Override
+    public String toString() {
+        return from + "/" + to;
+    }
+}
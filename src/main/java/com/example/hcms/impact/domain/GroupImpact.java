@@ -0,0 +1,39 @@
+package com.example.hcms.impact.domain;
+
+import java.util.List;
+
+/**
+ * The planned impact of one edit on one attendance group: every member, on every date of the ranges.
+ * Members share the group's schedule, so the (user, date) pairs are the cross product of the two lists.
+ */
+public final class GroupImpact {
+
+    private final Long groupId;
+    private final List<Long> userIds;
+    private final List<DateRange> ranges;
+
+    public GroupImpact(Long groupId, List<Long> userIds, List<DateRange> ranges) {
+        this.groupId = groupId;
+        this.userIds = List.copyOf(userIds);
+        this.ranges = List.copyOf(ranges);
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    public List<DateRange> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * The number of (user, date) pairs affected
+     */
+    public long userDays() {
+        return (long) userIds.size() * ranges.stream().mapToInt(DateRange::days).sum();
+    }
+}
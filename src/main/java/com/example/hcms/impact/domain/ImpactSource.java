@@ -0,0 +1,9 @@
+package com.example.hcms.impact.domain;
+
+/**
+ * The kind of edit a schedule impact was planned for
+ */
+public enum ImpactSource {
+    SHIFT,
+    ATTENDANCE_GROUP
+}
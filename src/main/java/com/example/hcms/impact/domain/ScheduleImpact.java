@@ -0,0 +1,114 @@
+package com.example.hcms.impact.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Schedule impact entity - one entry of the schedule impact feed: the members of one attendance group
+ * and the date ranges on which one shift or group edit changed their schedule. Members and ranges are
+ * stored as compact JSON arrays, so an edit touching a thousand members over a month is a single row.
+ * Entries are written in the edit's own transaction and numbered into the feed once it has committed
+ * (see ScheduleImpactSequencer); downstream consumers read them in feed position order.
+ */
+@Entity
+@Immutable
+@Table(name = "schedule_impacts", indexes = {
+        @Index(name = "uk_schedule_impacts_feed_position", columnList = "feed_position", unique = true)
+})
+public class ScheduleImpact {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "schedule_impact_id")
+    @SequenceGenerator(name = "schedule_impact_id", sequenceName = "schedule_impacts_seq", allocationSize = 50)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source_type", nullable = false, length = 32)
+    private ImpactSource sourceType;
+
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    // As given with the edit; null if it applies at once
+    @Column(name = "effective_from")
+    private LocalDate effectiveFrom;
+
+    @Column(name = "user_ids", nullable = false, columnDefinition = "TEXT")
+    private String userIds; // JSON: [12, 15, 31]
+
+    @Column(name = "date_ranges", nullable = false, columnDefinition = "TEXT")
+    private String dateRanges; // JSON: [["2026-10-05", "2026-10-05"], ["2026-10-12", "2026-10-16"]]
+
+    // Members times dates, the entry's cost against a consumer's delivery budget
+    @Column(name = "user_days", nullable = false)
+    private Long userDays;
+
+    @Column(name = "planned_at", nullable = false)
+    private Instant plannedAt;
+
+    // Null until the sequencer numbers the committed entry; never written through the entity
+    @Column(name = "feed_position", insertable = false, updatable = false)
+    private Long feedPosition;
+
+    public ScheduleImpact() {
+    }
+
+    public ScheduleImpact(ImpactSource sourceType, Long sourceId, Long groupId, LocalDate effectiveFrom,
+            String userIds, String dateRanges, Long userDays, Instant plannedAt) {
+        this.sourceType = sourceType;
+        this.sourceId = sourceId;
+        this.groupId = groupId;
+        this.effectiveFrom = effectiveFrom;
+        this.userIds = userIds;
+        this.dateRanges = dateRanges;
+        this.userDays = userDays;
+        this.plannedAt = plannedAt;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public ImpactSource getSourceType() {
+        return sourceType;
+    }
+
+    public Long getSourceId() {
+        return sourceId;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public String getUserIds() {
+        return userIds;
+    }
+
+    public String getDateRanges() {
+        return dateRanges;
+    }
+
+    public Long getUserDays() {
+        return userDays;
+    }
+
+    public Instant getPlannedAt() {
+        return plannedAt;
+    }
+
+    public Long getFeedPosition() {
+        return feedPosition;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.hcms.impact.dto;
+
+import java.util.List;
+
+/**
+ * One page of the schedule impact feed in commit order. Pass nextCursor, the last entry's position, as
+ * "after" to read on; it stays the same on an empty page, so it can be kept and polled.
+ */
+public class ScheduleImpactPage {
+
+    private List<ScheduleImpactResponse> items;
+    private Long nextCursor;
+    private boolean hasMore;
+
+    public ScheduleImpactPage(List<ScheduleImpactResponse> items, Long nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<ScheduleImpactResponse> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.hcms.impact.dto;
+
+import com.example.hcms.impact.domain.ImpactSource;
+import com.example.hcms.impact.domain.ScheduleImpact;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One entry of the schedule impact feed: these members of this group, on these dates
+ */
+public class ScheduleImpactResponse {
+
+    private Long id;
+    // The entry's place in the feed, in commit order; the cursor for reading on
+    private Long position;
+    private ImpactSource sourceType;
+    private Long sourceId;
+    private Long groupId;
+    private LocalDate effectiveFrom;
+    private String userIds;
+    private String dateRanges;
+    private Long userDays;
+    private Instant plannedAt;
+
+    public ScheduleImpactResponse(ScheduleImpact impact) {
+        this.id = impact.getId();
+        this.position = impact.getFeedPosition();
+        this.sourceType = impact.getSourceType();
+        this.sourceId = impact.getSourceId();
+        this.groupId = impact.getGroupId();
+        this.effectiveFrom = impact.getEffectiveFrom();
+        this.userIds = impact.getUserIds();
+        this.dateRanges = impact.getDateRanges();
+        this.userDays = impact.getUserDays();
+        this.plannedAt = impact.getPlannedAt();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getPosition() {
+        return position;
+    }
+
+    public ImpactSource getSourceType() {
+        return sourceType;
+    }
+
+    public Long getSourceId() {
+        return sourceId;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    // Stored as JSON already: [12, 15, 31]
+    @JsonRawValue
+    public String getUserIds() {
+        return userIds;
+    }
+
+    // Stored as JSON already: [["2026-10-05", "2026-10-05"], ...], both ends included
+    @JsonRawValue
+    public String getDateRanges() {
+        return dateRanges;
+    }
+
+    public Long getUserDays() {
+        return userDays;
+    }
+
+    public Instant getPlannedAt() {
+        return plannedAt;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.hcms.impact.repository;
+
+import com.example.hcms.impact.domain.ScheduleImpact;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repository for the append-only schedule impact feed
+ */
+@org.springframework.stereotype.Repository
+public interface ScheduleImpactRepository extends Repository<ScheduleImpact, Long> {
+
+    List<ScheduleImpact> saveAll(Iterable<ScheduleImpact> impacts);
+
+    /**
+     * One keyset page of the feed, oldest first: the numbered entries above a position, read through
+     * the unique position index
+     */
+    List<ScheduleImpact> findByFeedPositionGreaterThanOrderByFeedPositionAsc(Long after, Pageable page);
+
+    /**
+     * Entries above an ID in ID order, whether numbered into the feed yet or not
+     */
+    List<ScheduleImpact> findByIdGreaterThanOrderByIdAsc(Long after, Pageable page);
+
+    /**
+     * The committed entries not numbered yet, in ID order
+     */
+    @Query("SELECT i.id FROM ScheduleImpact i WHERE i.feedPosition IS NULL ORDER BY i.id")
+    List<Long> findUnsequencedIds(Pageable page);
+
+    /**
+     * The highest position handed out, or 0 before the first
+     */
+    @Query("SELECT COALESCE(MAX(i.feedPosition), 0) FROM ScheduleImpact i")
+    long findLastFeedPosition();
+
+    /**
+     * Number an entry, unless it has a position already
+     *
+     * @return 1 if numbered, 0 if it had a position
+     */
+    @Modifying
+    @Query(value = "UPDATE schedule_impacts SET feed_position = :position WHERE id = :id AND feed_position IS NULL",
+            nativeQuery = true)
+    int assignFeedPosition(@Param("id") Long id, @Param("position") long position);
+}
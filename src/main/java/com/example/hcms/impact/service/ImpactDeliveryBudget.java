@@ -0,0 +1,67 @@
+package com.example.hcms.impact.service;
+
+import com.example.hcms.auth.exception.RateLimitExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles how much schedule impact each feed consumer is handed, in user-days, so a sweeping edit
+ * reaches downstream systems at a pace they can reload at instead of all at once. Every consumer has a
+ * token bucket holding up to a minute's budget, refilled continuously. An entry costs its user-days;
+ * one larger than the whole bucket costs a full bucket, so it is delivered once the bucket is full.
+ */
+@Component
+public class ImpactDeliveryBudget {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final ConcurrentHashMap<Long, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public ImpactDeliveryBudget(@Value("${app.impact.delivery-user-days-per-minute:100000}") long perMinute) {
+        this.capacity = perMinute;
+        this.refillPerNano = (double) perMinute / TimeUnit.MINUTES.toNanos(1);
+    }
+
+    /**
+     * Take the budget for as many of the entries, in order, as it covers
+     *
+     * @param consumerId the consumer reading the feed
+     * @param costs the entries' user-days
+     * @return the number of entries covered, at least one if there are any
+     * @throws RateLimitExceededException if not even the first entry is covered yet
+     */
+    public int admit(Long consumerId, long[] costs) {
+        Bucket bucket = buckets.computeIfAbsent(consumerId, id -> new Bucket(capacity, System.nanoTime()));
+        synchronized (bucket) {
+            long now = System.nanoTime();
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.refilledAt) * refillPerNano);
+            bucket.refilledAt = now;
+            int admitted = 0;
+            while (admitted < costs.length && Math.min(costs[admitted], capacity) <= bucket.tokens) {
+                bucket.tokens -= Math.min(costs[admitted], capacity);
+                admitted++;
+            }
+            if (admitted == 0 && costs.length > 0) {
+                double missing = Math.min(costs[0], capacity) - bucket.tokens;
+                int seconds = (int) Math.max(1, Math.ceil(missing / refillPerNano / TimeUnit.SECONDS.toNanos(1)));
+                throw new RateLimitExceededException(
+                        "Schedule impact delivery budget used up. Please try again in " + seconds + " seconds",
+                        seconds);
+            }
+            return admitted;
+        }
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long refilledAt;
+
+        Bucket(double tokens, long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.hcms.impact.service;
+
+import com.example.hcms.attendancegroup.domain.AttendanceGroup;
+import com.example.hcms.attendancegroup.domain.AttendanceGroupStatus;
+import com.example.hcms.attendancegroup.domain.GroupSchedule;
+import com.example.hcms.attendancegroup.repository.AttendanceGroupRepository;
+import com.example.hcms.auth.repository.UserRepository;
+import com.example.hcms.auth.repository.UserRepository.GroupAssignmentView;
+import com.example.hcms.holiday.domain.DateSet;
+import com.example.hcms.holiday.service.HolidayService;
+import com.example.hcms.impact.domain.DateRange;
+import com.example.hcms.impact.domain.GroupImpact;
+import com.example.hcms.shift.domain.ShiftSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Plans which (group, members, date ranges) a shift or attendance group edit affects, by comparing the
+ * schedule before and after the edit day by day over a window: from the edit's effective date, today if it
+ * has none, to {@code app.impact.horizon-days} ahead. An effective date is honoured back to
+ * {@code app.attendance.recompute-days} ago. Group schedules are not versioned, so an edit without one
+ * plans no historical dates: the resolver would apply the new schedule to them.
+ *
+ * <ul>
+ * <li>A shift edit that changes nothing a result depends on (name, code, description) plans nothing.
+ * Otherwise it affects the dates on which an active group using the shift schedules it, through a weekday
+ * column or the default shift, except the group's special days and observed holidays.</li>
+ * <li>A group edit affects the dates whose scheduled day differs before and after: another shift on the
+ * weekday, a special day added or removed, a holiday calendar swapped. A changed time zone or shift type,
+ * and deleting the group, affect every date.</li>
+ * </ul>
+ *
+ * Groups come from the shift usage index and the members of all affected groups from one query on the
+ * user attendance group index; holidays come from the holiday service's cache.
+ */
+@Component
+public class ScheduleImpactPlanner {
+
+    // Scheduled-day codes of dates that are off whatever the weekday's shift
+    private static final long SPECIAL_DAY = -1;
+    private static final long HOLIDAY = -2;
+
+    private final AttendanceGroupRepository groupRepository;
+    private final UserRepository userRepository;
+    private final HolidayService holidayService;
+    private final int historyDays;
+    private final int horizonDays;
+
+    public ScheduleImpactPlanner(AttendanceGroupRepository groupRepository, UserRepository userRepository,
+            HolidayService holidayService, @Value("${app.attendance.recompute-days:31}") int historyDays,
+            @Value("${app.impact.horizon-days:31}") int horizonDays) {
+        this.groupRepository = groupRepository;
+        this.userRepository = userRepository;
+        this.holidayService = holidayService;
+        this.historyDays = historyDays;
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * Plan the impact of a shift edit
+     *
+     * @param before the shift before the edit
+     * @param after the shift after the edit
+     * @param effectiveFrom the first date the edit applies to, or null for today
+     * @return one entry per affected group with members, in group ID order
+     */
+    public List<GroupImpact> planShiftChange(ShiftSnapshot before, ShiftSnapshot after, LocalDate effectiveFrom) {
+        if (before.hasSameRules(after)) {
+            return List.of();
+        }
+        LocalDate from = windowStart(effectiveFrom);
+        int days = windowDays(from);
+        List<Long> groupIds = groupRepository.findIdsByShiftUsage(List.of(after.getId()));
+        if (days <= 0 || groupIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BitSet> affected = new HashMap<>();
+        for (AttendanceGroup group : groupRepository.findByIdInAndStatus(groupIds, AttendanceGroupStatus.ACTIVE)) {
+            GroupSchedule schedule = GroupSchedule.of(group);
+            DateSet holidays = holidaysOf(schedule);
+            BitSet dates = new BitSet(days);
+            LocalDate date = from;
+            for (int day = 0; day < days; day++, date = date.plusDays(1)) {
+                if (dayCode(schedule, holidays, date) == after.getId()) {
+                    dates.set(day);
+                }
+            }
+            if (!dates.isEmpty()) {
+                affected.put(group.getId(), dates);
+            }
+        }
+        return withMembers(from, affected);
+    }
+
+    /**
+     * Plan the impact of an attendance group edit or delete
+     *
+     * @param before the group's schedule before the edit
+     * @param after the group's schedule after the edit
+     * @param effectiveFrom the first date the edit applies to, or null for today
+     * @return at most one entry, if the group has members and any date is affected
+     */
+    public List<GroupImpact> planGroupChange(GroupSchedule before, GroupSchedule after, LocalDate effectiveFrom) {
+        if (!before.isActive() && !after.isActive()) {
+            return List.of();
+        }
+        LocalDate from = windowStart(effectiveFrom);
+        int days = windowDays(from);
+        if (days <= 0) {
+            return List.of();
+        }
+        BitSet dates = new BitSet(days);
+        if (before.isActive() != after.isActive() || before.getShiftType() != after.getShiftType()
+                || !Objects.equals(before.getTimezone(), after.getTimezone())) {
+            dates.set(0, days);
+        } else {
+            DateSet oldHolidays = holidaysOf(before);
+            DateSet newHolidays = holidaysOf(after);
+            LocalDate date = from;
+            for (int day = 0; day < days; day++, date = date.plusDays(1)) {
+                if (dayCode(before, oldHolidays, date) != dayCode(after, newHolidays, date)) {
+                    dates.set(day);
+                }
+            }
+        }
+        return dates.isEmpty() ? List.of() : withMembers(from, Map.of(after.getGroupId(), dates));
+    }
+
+    private LocalDate windowStart(LocalDate effectiveFrom) {
+        if (effectiveFrom == null) {
+            return LocalDate.now();
+        }
+        LocalDate from = LocalDate.now().minusDays(historyDays);
+        return effectiveFrom.isAfter(from) ? effectiveFrom : from;
+    }
+
+    private int windowDays(LocalDate from) {
+        return (int) ChronoUnit.DAYS.between(from, LocalDate.now().plusDays(horizonDays)) + 1;
+    }
+
+    private DateSet holidaysOf(GroupSchedule schedule) {
+        return schedule.isUsePublicHolidays() ? holidayService.getHolidayDates(schedule.getHolidayCalendarId())
+                : DateSet.EMPTY;
+    }
+
+    /**
+     * What a group schedules on a date, as the schedule resolver decides it: a special day, a holiday,
+     * the weekday's shift ID, or 0 for a rest day
+     */
+    private static long dayCode(GroupSchedule schedule, DateSet holidays, LocalDate date) {
+        if (schedule.isSpecialDay(date)) {
+            return SPECIAL_DAY;
+        }
+        if (holidays.contains(date)) {
+            return HOLIDAY;
+        }
+        Long shiftId = schedule.shiftOn(date.getDayOfWeek());
+        return shiftId != null ? shiftId : 0;
+    }
+
+    /**
+     * Attach the members of the affected groups, read in one query, and fold each group's dates into
+     * ranges; groups without members are left out
+     */
+    private List<GroupImpact> withMembers(LocalDate from, Map<Long, BitSet> affected) {
+        if (affected.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<Long>> members = new LinkedHashMap<>();
+        for (GroupAssignmentView user : userRepository.findGroupAssignmentsByAttendanceGroupIdIn(affected.keySet())) {
+            members.computeIfAbsent(user.getAttendanceGroupId(), id -> new ArrayList<>()).add(user.getId());
+        }
+        return affected.entrySet().stream()
+                .filter(entry -> members.containsKey(entry.getKey()))
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new GroupImpact(entry.getKey(), members.get(entry.getKey()),
+                        ranges(from, entry.getValue())))
+                .toList();
+    }
+
+    private static List<DateRange> ranges(LocalDate from, BitSet dates) {
+        List<DateRange> ranges = new ArrayList<>();
+        for (int start = dates.nextSetBit(0); start >= 0; start = dates.nextSetBit(start)) {
+            int end = dates.nextClearBit(start);
+            ranges.add(new DateRange(from.plusDays(start), from.plusDays(end - 1)));
+            start = end;
+        }
+        return ranges;
+    }
+}
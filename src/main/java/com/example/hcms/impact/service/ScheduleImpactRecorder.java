@@ -0,0 +1,99 @@
+package com.example.hcms.impact.service;
+
+import com.example.hcms.attendance.service.RecomputeMarker;
+import com.example.hcms.attendancegroup.domain.AttendanceGroupChangedEvent;
+import com.example.hcms.attendancegroup.domain.GroupSchedule;
+import com.example.hcms.attendancegroup.repository.AttendanceGroupRepository;
+import com.example.hcms.impact.domain.DateRange;
+import com.example.hcms.impact.domain.GroupImpact;
+import com.example.hcms.impact.domain.ImpactSource;
+import com.example.hcms.impact.domain.ScheduleImpact;
+import com.example.hcms.impact.repository.ScheduleImpactRepository;
+import com.example.hcms.shift.domain.ShiftChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Plans the impact of shift and attendance group edits and records it, before the edit's transaction
+ * commits: one feed entry per affected group, and recompute marks over exactly the planned dates. An edit,
+ * its feed entries and its marks therefore commit (or roll back) together. A shift edit carries its rules
+ * before and after, and the edited group is read back from the persistence context, so planning costs no
+ * query for either.
+ */
+@Component
+public class ScheduleImpactRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleImpactRecorder.class);
+
+    private final ScheduleImpactPlanner planner;
+    private final ScheduleImpactRepository repository;
+    private final AttendanceGroupRepository groupRepository;
+    private final RecomputeMarker recomputeMarker;
+
+    public ScheduleImpactRecorder(ScheduleImpactPlanner planner, ScheduleImpactRepository repository,
+            AttendanceGroupRepository groupRepository, RecomputeMarker recomputeMarker) {
+        this.planner = planner;
+        this.repository = repository;
+        this.groupRepository = groupRepository;
+        this.recomputeMarker = recomputeMarker;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onShiftChanged(ShiftChangedEvent event) {
+        // A new shift is not in use yet, a shift in use by an active group cannot be deleted, and a
+        // scheduled version coming into force was planned when the edit wrote it
+        if (event.getPrevious() == null) {
+            return;
+        }
+        record(ImpactSource.SHIFT, event.getShiftId(), event.getEffectiveFrom(),
+                planner.planShiftChange(event.getPrevious(), event.getUpdated(), event.getEffectiveFrom()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onGroupChanged(AttendanceGroupChangedEvent event) {
+        // A new group has no members yet; they are marked as they are assigned
+        if (event.getPrevious() == null) {
+            return;
+        }
+        groupRepository.findById(event.getGroupId()).ifPresent(group -> record(ImpactSource.ATTENDANCE_GROUP,
+                group.getId(), event.getEffectiveFrom(),
+                planner.planGroupChange(event.getPrevious(), GroupSchedule.of(group), event.getEffectiveFrom())));
+    }
+
+    private void record(ImpactSource source, Long sourceId, LocalDate effectiveFrom, List<GroupImpact> impacts) {
+        if (impacts.isEmpty()) {
+            logger.debug("{} {} changed no schedule", source, sourceId);
+            return;
+        }
+        Instant now = Instant.now();
+        List<ScheduleImpact> entries = new ArrayList<>(impacts.size());
+        long userDays = 0;
+        for (GroupImpact impact : impacts) {
+            entries.add(new ScheduleImpact(source, sourceId, impact.getGroupId(), effectiveFrom,
+                    impact.getUserIds().stream().map(String::valueOf).collect(Collectors.joining(",", "[", "]")),
+                    impact.getRanges().stream().map(ScheduleImpactRecorder::toJson)
+                            .collect(Collectors.joining(",", "[", "]")),
+                    impact.userDays(), now));
+            for (DateRange range : impact.getRanges()) {
+                recomputeMarker.markGroup(impact.getGroupId(), range.getFrom(), range.getTo());
+            }
+            userDays += impact.userDays();
+        }
+        repository.saveAll(entries);
+        logger.info("{} {} affects {} user-days in {} attendance groups", source, sourceId, userDays,
+                entries.size());
+    }
+
+    private static String toJson(DateRange range) {
+        return "[\"" + range.getFrom() + "\",\"" + range.getTo() + "\"]";
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.hcms.impact.service;
+
+import com.example.hcms.attendancegroup.domain.AttendanceGroupChangedEvent;
+import com.example.hcms.impact.repository.ScheduleImpactRepository;
+import com.example.hcms.shift.domain.ShiftChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Numbers committed schedule impact entries into the feed. Entry IDs come from a pooled sequence and
+ * are taken when an edit plans its impact, not when it commits, so an entry can commit after another
+ * with a higher ID; a consumer paging by ID would already be past it. Feed positions are handed out
+ * instead by one writer, in increasing order and only to entries that have committed, so every entry
+ * below a position a consumer has read is visible already and a cursor never skips one.
+ *
+ * The writer runs once each shift or group edit has committed, and on a fixed delay
+ * ({@code app.impact.sequence-interval-ms}) for entries whose edit's own run failed. A position is
+ * unique and an entry that has one is never numbered again, so a run racing another instance's fails
+ * and is retried rather than handing out a position twice.
+ */
+@Component
+public class ScheduleImpactSequencer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduleImpactSequencer.class);
+    private static final int BATCH = 500;
+
+    private final ScheduleImpactRepository repository;
+    private final TransactionTemplate transactions;
+
+    public ScheduleImpactSequencer(ScheduleImpactRepository repository,
+            PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transactions = new TransactionTemplate(transactionManager);
+        // Runs from after-commit callbacks, where the edit's transaction is still bound
+        this.transactions.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onShiftChanged(ShiftChangedEvent event) {
+        trySequence();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupChanged(AttendanceGroupChangedEvent event) {
+        trySequence();
+    }
+
+    @Scheduled(fixedDelayString = "${app.impact.sequence-interval-ms:5000}")
+    public void poll() {
+        trySequence();
+    }
+
+    /**
+     * Number every committed entry that has no position yet, oldest ID first, a batch per transaction
+     *
+     * @return the number of entries numbered
+     */
+    public synchronized int sequence() {
+        int numbered = 0;
+        while (true) {
+            int[] batch = transactions.execute(status -> {
+                List<Long> ids = repository.findUnsequencedIds(PageRequest.of(0, BATCH));
+                long position = repository.findLastFeedPosition();
+                int count = 0;
+                for (Long id : ids) {
+                    if (repository.assignFeedPosition(id, position + 1) == 1) {
+                        position++;
+                        count++;
+                    }
+                }
+                return new int[] { ids.size(), count };
+            });
+            numbered += batch[1];
+            if (batch[0] < BATCH) {
+                if (numbered > 0) {
+                    logger.debug("Numbered {} schedule impact entries into the feed", numbered);
+                }
+                return numbered;
+            }
+        }
+    }
+
+    private void trySequence() {
+        try {
+            sequence();
+        } catch (RuntimeException e) {
+            // The entries stay unnumbered, so the next run picks them up
+            logger.warn("Failed to number schedule impact entries, retrying on the next run", e);
+        }
+    }
+}
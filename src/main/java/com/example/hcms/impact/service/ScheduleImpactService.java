@@ -0,0 +1,19 @@
+package com.example.hcms.impact.service;
+
+import com.example.hcms.impact.dto.ScheduleImpactPage;
+
+/**
+ * Service interface for reading the schedule impact feed
+ */
+public interface ScheduleImpactService {
+
+    /**
+     * The next entries of the feed in commit order, as far as the consumer's delivery budget covers
+     *
+     * @param consumerId the user reading the feed, whose budget is charged
+     * @param after      only entries at a higher position (the previous page's nextCursor), or null from the
+     *                   start
+     * @param limit      page size, 1 to 200
+     */
+    ScheduleImpactPage getFeed(Long consumerId, Long after, int limit);
+}
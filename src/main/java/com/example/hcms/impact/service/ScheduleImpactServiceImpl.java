@@ -0,0 +1,49 @@
+package com.example.hcms.impact.service;
+
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.impact.domain.ScheduleImpact;
+import com.example.hcms.impact.dto.ScheduleImpactPage;
+import com.example.hcms.impact.dto.ScheduleImpactResponse;
+import com.example.hcms.impact.repository.ScheduleImpactRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Implementation of ScheduleImpactService. Pages are keyset pages on the feed position, which follows
+ * commit order (see {@link ScheduleImpactSequencer}); a page is cut short where the consumer's delivery
+ * budget runs out, and the rest follows on later reads.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ScheduleImpactServiceImpl implements ScheduleImpactService {
+
+    private static final int MAX_LIMIT = 200;
+
+    private final ScheduleImpactRepository repository;
+    private final ImpactDeliveryBudget budget;
+
+    public ScheduleImpactServiceImpl(ScheduleImpactRepository repository, ImpactDeliveryBudget budget) {
+        this.repository = repository;
+        this.budget = budget;
+    }
+
+    @Override
+    public ScheduleImpactPage getFeed(Long consumerId, Long after, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidParameterException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        long cursor = after != null ? after : 0;
+        // Read one extra entry to learn whether more follow
+        List<ScheduleImpact> entries = repository.findByFeedPositionGreaterThanOrderByFeedPositionAsc(cursor,
+                PageRequest.of(0, limit + 1));
+        int admitted = budget.admit(consumerId, entries.stream().limit(limit)
+                .mapToLong(ScheduleImpact::getUserDays).toArray());
+        List<ScheduleImpactResponse> items = entries.stream().limit(admitted).map(ScheduleImpactResponse::new)
+                .toList();
+        return new ScheduleImpactPage(items, items.isEmpty() ? cursor : items.get(items.size() - 1).getPosition(),
+                entries.size() > admitted);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.hcms.overtime.controller;
+
+import com.example.hcms.overtime.domain.OvertimeStatus;
+import com.example.hcms.overtime.dto.OvertimeEntryPage;
+import com.example.hcms.overtime.dto.OvertimeEntryResponse;
+import com.example.hcms.overtime.service.OvertimeService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST controller for the overtime ledger and its approval queues
+ */
+@RestController
+@RequestMapping("/api/v1/overtime")
+public class OvertimeController {
+
+    private final OvertimeService overtimeService;
+
+    public OvertimeController(OvertimeService overtimeService) {
+        this.overtimeService = overtimeService;
+    }
+
+    /**
+     * The entries in a status after a cursor, oldest first; by default the approval queue of pending
+     * entries, optionally of one attendance group
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
+    public ResponseEntity<OvertimeEntryPage> getQueue(
+            @RequestParam(defaultValue = "PENDING") OvertimeStatus status,
+            @RequestParam(required = false) Long groupId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        return ResponseEntity.ok(overtimeService.getQueue(status, groupId, after, limit));
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
+    public ResponseEntity<OvertimeEntryResponse> getEntry(@PathVariable Long id) {
+        return ResponseEntity.ok(overtimeService.getEntry(id));
+    }
+
+    @PostMapping("/{id}/approve")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
+    public ResponseEntity<OvertimeEntryResponse> approve(@PathVariable Long id, Authentication authentication) {
+        return ResponseEntity.ok(overtimeService.decide(id, true, requireUserId(authentication)));
+    }
+
+    @PostMapping("/{id}/reject")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
+    public ResponseEntity<OvertimeEntryResponse> reject(@PathVariable Long id, Authentication authentication) {
+        return ResponseEntity.ok(overtimeService.decide(id, false, requireUserId(authentication)));
+    }
+
+    private Long requireUserId(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof Long) {
+            return (Long) authentication.getPrincipal();
+        }
+        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+    }
+}
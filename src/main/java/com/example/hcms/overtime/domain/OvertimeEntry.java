@@ -0,0 +1,200 @@
+package com.example.hcms.overtime.domain;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Overtime ledger entity - the overtime of one user's day, one row per (user, date). Rows are written by
+ * the daily attendance engine whenever it computes the day, and removed once the day has no overtime
+ * left or its group stops recording overtime; approvers decide pending rows through the approval queue,
+ * once. A recompute that moves the span or its minutes puts the entry back to its initial state, since an
+ * earlier decision covered different hours.
+ */
+@Entity
+@Table(name = "overtime_ledger", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_overtime_ledger_user_date", columnNames = { "user_id", "work_date" })
+}, indexes = {
+        @Index(name = "idx_overtime_ledger_status", columnList = "status, id"),
+        @Index(name = "idx_overtime_ledger_group_status", columnList = "attendance_group_id, status, id")
+})
+public class OvertimeEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "overtime_entry_id")
+    @SequenceGenerator(name = "overtime_entry_id", sequenceName = "overtime_ledger_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "work_date", nullable = false)
+    private LocalDate workDate;
+
+    @Column(name = "attendance_group_id", nullable = false)
+    private Long attendanceGroupId;
+
+    @Column(name = "shift_id")
+    private Long shiftId;
+
+    // The shift version whose expected end the overtime counts from
+    @Column(name = "shift_version_id")
+    private Long shiftVersionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OvertimeKind kind;
+
+    @Column(name = "starts_at", nullable = false)
+    private Instant startsAt;
+
+    @Column(name = "ends_at", nullable = false)
+    private Instant endsAt;
+
+    // Whole minutes in the span, and the minutes that count after rounding
+    @Column(name = "raw_minutes", nullable = false)
+    private Integer rawMinutes;
+
+    @Column(nullable = false)
+    private Integer minutes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OvertimeStatus status;
+
+    // Null while pending and when approved on recording
+    @Column(name = "decided_by")
+    private Long decidedBy;
+
+    @Column(name = "decided_at")
+    private Instant decidedAt;
+
+    // When the overtime last changed
+    @Column(name = "computed_at", nullable = false)
+    private Instant computedAt;
+
+    // Optimistic lock, so a decision and a recompute of the same day do not overwrite each other
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    public OvertimeEntry() {
+    }
+
+    public OvertimeEntry(Long userId, LocalDate workDate) {
+        this.userId = userId;
+        this.workDate = workDate;
+    }
+
+    /**
+     * Take a derived segment. A new or moved segment waits in the approval queue if approval is required
+     * and is approved at once otherwise.
+     *
+     * @return whether anything changed
+     */
+    public boolean apply(OvertimeSegment segment, boolean approvalRequired, Instant now) {
+        boolean moved = computedAt == null
+                || kind != segment.getKind()
+                || !Objects.equals(startsAt, segment.getStartsAt())
+                || !Objects.equals(endsAt, segment.getEndsAt())
+                || minutes != segment.getMinutes();
+        boolean changed = moved
+                || !Objects.equals(attendanceGroupId, segment.getAttendanceGroupId())
+                || !Objects.equals(shiftId, segment.getShiftId())
+                || !Objects.equals(shiftVersionId, segment.getShiftVersionId())
+                || rawMinutes != segment.getRawMinutes();
+        if (changed) {
+            attendanceGroupId = segment.getAttendanceGroupId();
+            shiftId = segment.getShiftId();
+            shiftVersionId = segment.getShiftVersionId();
+            kind = segment.getKind();
+            startsAt = segment.getStartsAt();
+            endsAt = segment.getEndsAt();
+            rawMinutes = segment.getRawMinutes();
+            minutes = segment.getMinutes();
+            computedAt = now;
+        }
+        if (moved) {
+            status = approvalRequired ? OvertimeStatus.PENDING : OvertimeStatus.APPROVED;
+            decidedBy = null;
+            decidedAt = null;
+        }
+        return changed;
+    }
+
+    /**
+     * Record an approver's decision on a pending entry
+     */
+    public void decide(boolean approved, Long approverId, Instant now) {
+        status = approved ? OvertimeStatus.APPROVED : OvertimeStatus.REJECTED;
+        decidedBy = approverId;
+        decidedAt = now;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getWorkDate() {
+        return workDate;
+    }
+
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+
+    public Long getShiftId() {
+        return shiftId;
+    }
+
+    public Long getShiftVersionId() {
+        return shiftVersionId;
+    }
+
+    public OvertimeKind getKind() {
+        return kind;
+    }
+
+    public Instant getStartsAt() {
+        return startsAt;
+    }
+
+    public Instant getEndsAt() {
+        return endsAt;
+    }
+
+    public Integer getRawMinutes() {
+        return rawMinutes;
+    }
+
+    public Integer getMinutes() {
+        return minutes;
+    }
+
+    public OvertimeStatus getStatus() {
+        return status;
+    }
+
+    public Long getDecidedBy() {
+        return decidedBy;
+    }
+
+    public Instant getDecidedAt() {
+        return decidedAt;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.hcms.overtime.domain;
+
+/**
+ * What an overtime entry was worked on
+ */
+public enum OvertimeKind {
+    WORKING_DAY, // Past the expected end of the day's shift
+    NON_WORKING_DAY // On a rest day, special day or public holiday
+}
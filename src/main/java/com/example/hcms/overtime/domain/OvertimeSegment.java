@@ -0,0 +1,63 @@
+package com.example.hcms.overtime.domain;
+
+import java.time.Instant;
+
+/**
+ * The overtime derived from one user's day: the span worked beyond the schedule, and its minutes before
+ * and after the rounding rules
+ */
+public final class OvertimeSegment {
+
+    private final OvertimeKind kind;
+    private final Long attendanceGroupId;
+    private final Long shiftId;
+    private final Long shiftVersionId;
+    private final Instant startsAt;
+    private final Instant endsAt;
+    private final int rawMinutes;
+    private final int minutes;
+
+    public OvertimeSegment(OvertimeKind kind, Long attendanceGroupId, Long shiftId, Long shiftVersionId,
+            Instant startsAt, Instant endsAt, int rawMinutes, int minutes) {
+        this.kind = kind;
+        this.attendanceGroupId = attendanceGroupId;
+        this.shiftId = shiftId;
+        this.shiftVersionId = shiftVersionId;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+        this.rawMinutes = rawMinutes;
+        this.minutes = minutes;
+    }
+
+    public OvertimeKind getKind() {
+        return kind;
+    }
+
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+
+    public Long getShiftId() {
+        return shiftId;
+    }
+
+    public Long getShiftVersionId() {
+        return shiftVersionId;
+    }
+
+    public Instant getStartsAt() {
+        return startsAt;
+    }
+
+    public Instant getEndsAt() {
+        return endsAt;
+    }
+
+    public int getRawMinutes() {
+        return rawMinutes;
+    }
+
+    public int getMinutes() {
+        return minutes;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.hcms.overtime.domain;
+
+/**
+ * Approval state of an overtime entry
+ */
+public enum OvertimeStatus {
+    PENDING, // In the approval queue
+    APPROVED, // By an approver, or on recording where the group needs no approval
+    REJECTED
+}
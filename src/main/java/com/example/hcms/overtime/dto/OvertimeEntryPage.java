@@ -0,0 +1,31 @@
+package com.example.hcms.overtime.dto;
+
+import java.util.List;
+
+/**
+ * One page of an overtime queue, oldest first. Pass nextCursor as "after" to read on.
+ */
+public class OvertimeEntryPage {
+
+    private List<OvertimeEntryResponse> items;
+    private Long nextCursor;
+    private boolean hasMore;
+
+    public OvertimeEntryPage(List<OvertimeEntryResponse> items, Long nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<OvertimeEntryResponse> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.hcms.overtime.dto;
+
+import com.example.hcms.overtime.domain.OvertimeEntry;
+import com.example.hcms.overtime.domain.OvertimeKind;
+import com.example.hcms.overtime.domain.OvertimeStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One overtime ledger entry
+ */
+public class OvertimeEntryResponse {
+
+    private Long id;
+    private Long userId;
+    private LocalDate workDate;
+    private Long attendanceGroupId;
+    private Long shiftId;
+    private Long shiftVersionId;
+    private OvertimeKind kind;
+    private Instant startsAt;
+    private Instant endsAt;
+    private Integer rawMinutes;
+    private Integer minutes;
+    private OvertimeStatus status;
+    private Long decidedBy;
+    private Instant decidedAt;
+    private Instant computedAt;
+
+    public OvertimeEntryResponse(OvertimeEntry entry) {
+        this.id = entry.getId();
+        this.userId = entry.getUserId();
+        this.workDate = entry.getWorkDate();
+        this.attendanceGroupId = entry.getAttendanceGroupId();
+        this.shiftId = entry.getShiftId();
+        this.shiftVersionId = entry.getShiftVersionId();
+        this.kind = entry.getKind();
+        this.startsAt = entry.getStartsAt();
+        this.endsAt = entry.getEndsAt();
+        this.rawMinutes = entry.getRawMinutes();
+        this.minutes = entry.getMinutes();
+        this.status = entry.getStatus();
+        this.decidedBy = entry.getDecidedBy();
+        this.decidedAt = entry.getDecidedAt();
+        this.computedAt = entry.getComputedAt();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getWorkDate() {
+        return workDate;
+    }
+
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+
+    public Long getShiftId() {
+        return shiftId;
+    }
+
+    public Long getShiftVersionId() {
+        return shiftVersionId;
+    }
+
+    public OvertimeKind getKind() {
+        return kind;
+    }
+
+    public Instant getStartsAt() {
+        return startsAt;
+    }
+
+    public Instant getEndsAt() {
+        return endsAt;
+    }
+
+    public Integer getRawMinutes() {
+        return rawMinutes;
+    }
+
+    public Integer getMinutes() {
+        return minutes;
+    }
+
+    public OvertimeStatus getStatus() {
+        return status;
+    }
+
+    public Long getDecidedBy() {
+        return decidedBy;
+    }
+
+    public Instant getDecidedAt() {
+        return decidedAt;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.hcms.overtime.exception;
+
+import com.example.hcms.overtime.domain.OvertimeStatus;
+
+/**
+ * Exception thrown when deciding an overtime entry that is no longer pending
+ */
+public class OvertimeEntryDecidedException extends RuntimeException {
+    public OvertimeEntryDecidedException(Long entryId, OvertimeStatus status) {
+        super("Overtime entry " + entryId + " is already " + status);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.hcms.overtime.exception;
+
+/**
+ * Exception thrown when an overtime entry is not found
+ */
+public class OvertimeEntryNotFoundException extends RuntimeException {
+    public OvertimeEntryNotFoundException(Long entryId) {
+        super("Overtime entry with ID " + entryId + " not found");
+    }
+}
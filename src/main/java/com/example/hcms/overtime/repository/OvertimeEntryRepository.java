@@ -0,0 +1,39 @@
+package com.example.hcms.overtime.repository;
+
+import com.example.hcms.overtime.domain.OvertimeEntry;
+import com.example.hcms.overtime.domain.OvertimeStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the overtime ledger
+ */
+@org.springframework.stereotype.Repository
+public interface OvertimeEntryRepository extends Repository<OvertimeEntry, Long> {
+
+    Optional<OvertimeEntry> findById(Long id);
+
+    List<OvertimeEntry> saveAll(Iterable<OvertimeEntry> entries);
+
+    void deleteAll(Iterable<? extends OvertimeEntry> entries);
+
+    /**
+     * The entries of one user's dates, through the unique (user, date) key
+     */
+    List<OvertimeEntry> findByUserIdAndWorkDateBetweenOrderByWorkDate(Long userId, LocalDate from, LocalDate to);
+
+    /**
+     * One keyset page of a queue, oldest first: the entries in a status above an ID
+     */
+    List<OvertimeEntry> findByStatusAndIdGreaterThanOrderByIdAsc(OvertimeStatus status, Long after, Pageable page);
+
+    /**
+     * One keyset page of one group's queue, oldest first
+     */
+    List<OvertimeEntry> findByAttendanceGroupIdAndStatusAndIdGreaterThanOrderByIdAsc(Long attendanceGroupId,
+            OvertimeStatus status, Long after, Pageable page);
+}
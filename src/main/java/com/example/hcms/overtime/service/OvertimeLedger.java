@@ -0,0 +1,138 @@
+package com.example.hcms.overtime.service;
+
+import com.example.hcms.attendance.domain.DayResult;
+import com.example.hcms.attendancegroup.domain.PunchPolicy;
+import com.example.hcms.attendancegroup.domain.ShiftInstance;
+import com.example.hcms.overtime.domain.OvertimeEntry;
+import com.example.hcms.overtime.domain.OvertimeKind;
+import com.example.hcms.overtime.domain.OvertimeSegment;
+import com.example.hcms.overtime.repository.OvertimeEntryRepository;
+import com.example.hcms.shift.domain.ShiftRules;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derives overtime from computed days and keeps the overtime ledger in step with them. The daily
+ * attendance engine calls it for the days it computes, in the same transaction, so the ledger is
+ * maintained per (user, date) as punches and schedules change and a period is never rescanned.
+ *
+ * <ul>
+ * <li>On a working day, overtime runs from the expected end of the day's shift instance to its
+ * clock-out. Clock-outs later than the shift's {@code clockOutLateMinutes} past the end belong to no
+ * instance, so that allowance is the most overtime a shift records.</li>
+ * <li>On a rest day, special day or public holiday, the span from clock-in to clock-out is all overtime.
+ * FREE groups schedule no hours to work beyond, and record none.</li>
+ * <li>Spans shorter than {@code app.overtime.min-block-minutes} are dropped; the rest count in whole
+ * blocks of {@code app.overtime.rounding-minutes}, rounded down.</li>
+ * </ul>
+ *
+ * Only groups with {@code recordOvertime} set are recorded; a day computed under a group that has it
+ * off loses any entry recorded before. Working-day overtime always waits for approval; non-working-day
+ * overtime does if the group sets {@code nonWorkingDayApproval}, and is approved on recording otherwise.
+ */
+@Component
+public class OvertimeLedger {
+
+    private final OvertimeEntryRepository repository;
+    private final int roundingMinutes;
+    private final int minBlockMinutes;
+
+    public OvertimeLedger(OvertimeEntryRepository repository,
+            @Value("${app.overtime.rounding-minutes:15}") int roundingMinutes,
+            @Value("${app.overtime.min-block-minutes:30}") int minBlockMinutes) {
+        this.repository = repository;
+        this.roundingMinutes = Math.max(1, roundingMinutes);
+        this.minBlockMinutes = minBlockMinutes;
+    }
+
+    /**
+     * The overtime of a computed day
+     *
+     * @param instance the day's shift instance, or null on a day without one
+     * @return the segment, or null if the day has no overtime that counts
+     */
+    public OvertimeSegment derive(ShiftInstance instance, DayResult result) {
+        Instant in = result.getClockIn();
+        Instant out = result.getClockOut();
+        if (result.getAttendanceGroupId() == null || out == null) {
+            return null;
+        }
+        if (instance != null) {
+            long seconds = instance.overtime(in != null ? in.getEpochSecond() : ShiftRules.NO_PUNCH,
+                    out.getEpochSecond());
+            return segment(OvertimeKind.WORKING_DAY, result, out.minusSeconds(seconds), out, seconds);
+        }
+        return switch (result.getDayType()) {
+            case REST, SPECIAL_DAY, PUBLIC_HOLIDAY -> in != null && out.isAfter(in) ? segment(
+                    OvertimeKind.NON_WORKING_DAY, result, in, out, out.getEpochSecond() - in.getEpochSecond()) : null;
+            default -> null;
+        };
+    }
+
+    /**
+     * Write one run of a user's computed dates: insert new overtime, update overtime that changed, and
+     * remove entries of dates that no longer have any
+     *
+     * @param dates    the computed dates, ascending
+     * @param segments the overtime of each computed date; a date without one has none, as has every date
+     *                 when the policy does not record overtime
+     * @return the number of entries written or removed
+     */
+    public int record(long userId, PunchPolicy policy, List<LocalDate> dates,
+            Map<LocalDate, OvertimeSegment> segments) {
+        if (dates.isEmpty()) {
+            return 0;
+        }
+        if (!policy.isRecordOvertime()) {
+            segments = Map.of();
+        }
+        Map<LocalDate, OvertimeEntry> entries = new HashMap<>();
+        repository.findByUserIdAndWorkDateBetweenOrderByWorkDate(userId, dates.get(0), dates.get(dates.size() - 1))
+                .forEach(entry -> entries.put(entry.getWorkDate(), entry));
+        Instant now = Instant.now();
+        List<OvertimeEntry> inserts = new ArrayList<>();
+        List<OvertimeEntry> removed = new ArrayList<>();
+        int written = 0;
+        for (LocalDate date : dates) {
+            OvertimeSegment segment = segments.get(date);
+            OvertimeEntry entry = entries.get(date);
+            if (segment == null) {
+                if (entry != null) {
+                    removed.add(entry);
+                }
+                continue;
+            }
+            boolean approvalRequired = segment.getKind() == OvertimeKind.WORKING_DAY
+                    || policy.isNonWorkingDayApproval();
+            if (entry == null) {
+                entry = new OvertimeEntry(userId, date);
+                entry.apply(segment, approvalRequired, now);
+                inserts.add(entry);
+                written++;
+            } else if (entry.apply(segment, approvalRequired, now)) {
+                // Managed: flushed at commit
+                written++;
+            }
+        }
+        repository.saveAll(inserts);
+        repository.deleteAll(removed);
+        return written + removed.size();
+    }
+
+    private OvertimeSegment segment(OvertimeKind kind, DayResult result, Instant start, Instant end, long seconds) {
+        int rawMinutes = (int) (seconds / 60);
+        int minutes = rawMinutes - rawMinutes % roundingMinutes;
+        if (rawMinutes < minBlockMinutes || minutes == 0) {
+            return null;
+        }
+        return new OvertimeSegment(kind, result.getAttendanceGroupId(), result.getShiftId(),
+                result.getShiftVersionId(), start, end, rawMinutes, minutes);
+    }
+}
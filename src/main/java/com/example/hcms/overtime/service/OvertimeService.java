@@ -0,0 +1,31 @@
+package com.example.hcms.overtime.service;
+
+import com.example.hcms.overtime.domain.OvertimeStatus;
+import com.example.hcms.overtime.dto.OvertimeEntryPage;
+import com.example.hcms.overtime.dto.OvertimeEntryResponse;
+
+/**
+ * Service interface for the overtime ledger and its approval queues
+ */
+public interface OvertimeService {
+
+    /**
+     * The next entries in a status, oldest first
+     *
+     * @param groupId only this attendance group's entries, or null for every group
+     * @param after   only entries with a higher ID (the previous page's nextCursor), or null from the start
+     * @param limit   page size, 1 to 200
+     */
+    OvertimeEntryPage getQueue(OvertimeStatus status, Long groupId, Long after, int limit);
+
+    OvertimeEntryResponse getEntry(Long entryId);
+
+    /**
+     * Approve or reject a pending entry. An entry is decided once; it is pending again only after a
+     * recompute moves its span.
+     *
+     * @param userId the approver
+     * @throws com.example.hcms.overtime.exception.OvertimeEntryDecidedException if the entry is not pending
+     */
+    OvertimeEntryResponse decide(Long entryId, boolean approved, Long userId);
+}
@@ -0,0 +1,67 @@
+package com.example.hcms.overtime.service;
+
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.overtime.domain.OvertimeEntry;
+import com.example.hcms.overtime.domain.OvertimeStatus;
+import com.example.hcms.overtime.dto.OvertimeEntryPage;
+import com.example.hcms.overtime.dto.OvertimeEntryResponse;
+import com.example.hcms.overtime.exception.OvertimeEntryDecidedException;
+import com.example.hcms.overtime.exception.OvertimeEntryNotFoundException;
+import com.example.hcms.overtime.repository.OvertimeEntryRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Implementation of OvertimeService. Queues are keyset pages on the entry ID within a status, read
+ * through the (status, id) and (group, status, id) indexes.
+ */
+@Service
+@Transactional(readOnly = true)
+public class OvertimeServiceImpl implements OvertimeService {
+
+    private static final int MAX_LIMIT = 200;
+
+    private final OvertimeEntryRepository repository;
+
+    public OvertimeServiceImpl(OvertimeEntryRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public OvertimeEntryPage getQueue(OvertimeStatus status, Long groupId, Long after, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidParameterException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        long cursor = after != null ? after : 0;
+        // Read one extra entry to learn whether more follow
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<OvertimeEntry> entries = groupId != null
+                ? repository.findByAttendanceGroupIdAndStatusAndIdGreaterThanOrderByIdAsc(groupId, status, cursor, page)
+                : repository.findByStatusAndIdGreaterThanOrderByIdAsc(status, cursor, page);
+        List<OvertimeEntryResponse> items = entries.stream().limit(limit).map(OvertimeEntryResponse::new).toList();
+        return new OvertimeEntryPage(items, items.isEmpty() ? cursor : items.get(items.size() - 1).getId(),
+                entries.size() > limit);
+    }
+
+    @Override
+    public OvertimeEntryResponse getEntry(Long entryId) {
+        return new OvertimeEntryResponse(repository.findById(entryId)
+                .orElseThrow(() -> new OvertimeEntryNotFoundException(entryId)));
+    }
+
+    @Override
+    @Transactional
+    public OvertimeEntryResponse decide(Long entryId, boolean approved, Long userId) {
+        OvertimeEntry entry = repository.findById(entryId)
+                .orElseThrow(() -> new OvertimeEntryNotFoundException(entryId));
+        if (entry.getStatus() != OvertimeStatus.PENDING) {
+            throw new OvertimeEntryDecidedException(entryId, entry.getStatus());
+        }
+        entry.decide(approved, userId, Instant.now());
+        return new OvertimeEntryResponse(entry);
+    }
+}
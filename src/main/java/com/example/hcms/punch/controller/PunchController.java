@@ -0,0 +1,97 @@
+package com.example.hcms.punch.controller;
+
+import com.example.hcms.punch.domain.PunchRejection;
+import com.example.hcms.punch.dto.PunchBatchRequest;
+import com.example.hcms.punch.dto.PunchBatchResponse;
+import com.example.hcms.punch.dto.PunchRequest;
+import com.example.hcms.punch.dto.PunchResponse;
+import com.example.hcms.punch.exception.PunchRejectedException;
+import com.example.hcms.punch.service.PunchService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * REST controller for clock punches from kiosks and mobile apps
+ */
+@RestController
+@RequestMapping("/api/v1/punches")
+public class PunchController {
+
+    private final PunchService punchService;
+
+    public PunchController(PunchService punchService) {
+        this.punchService = punchService;
+    }
+
+    /**
+     * Record a punch for the caller, or (HR admins and admins) for the user it names. 201 when
+     * recorded, 200 with the original when the device event was already recorded.
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<PunchResponse> recordPunch(
+            @Valid @RequestBody @NonNull PunchRequest request,
+            Authentication authentication) {
+
+        PunchResponse punch = punchService.recordPunch(request, requireUserId(authentication),
+                mayPunchForOthers(authentication));
+        return ResponseEntity.status(punch.isDuplicate() ? HttpStatus.OK : HttpStatus.CREATED).body(punch);
+    }
+
+    /**
+     * Record several punches, such as a kiosk's buffer. Each punch is accepted, a duplicate or rejected
+     * on its own; the response lists them in request order.
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<PunchBatchResponse> recordPunches(
+            @Valid @RequestBody @NonNull PunchBatchRequest request,
+            Authentication authentication) {
+
+        return ResponseEntity.ok(punchService.recordPunches(request, requireUserId(authentication),
+                mayPunchForOthers(authentication)));
+    }
+
+    /**
+     * A user's punches from one instant (inclusive) to another (exclusive), at most 31 days, in time
+     * order. Employees may only read their own.
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<List<PunchResponse>> getPunches(
+            @RequestParam(required = false) Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            Authentication authentication) {
+
+        Long callerId = requireUserId(authentication);
+        Long target = userId != null ? userId : callerId;
+        if (!target.equals(callerId) && !mayPunchForOthers(authentication)) {
+            throw new PunchRejectedException(PunchRejection.NOT_PERMITTED);
+        }
+        return ResponseEntity.ok(punchService.getPunches(target, from, to));
+    }
+
+    private Long requireUserId(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof Long) {
+            return (Long) authentication.getPrincipal();
+        }
+        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+    }
+
+    private boolean mayPunchForOthers(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority())
+                        || "ROLE_HR_ADMIN".equals(authority.getAuthority()));
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.hcms.punch.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * Punch entity - one clock-in or clock-out as received from a device. Rows are append-only: they are
+ * never updated or deleted, and a device event (device ID and event ID) is stored at most once.
+ * IDs come from a pooled sequence so a batch of punches is inserted in JDBC batches.
+ */
+@Entity
+@Immutable
+@Table(name = "punches", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_punches_device_event", columnNames = { "device_id", "event_id" })
+}, indexes = {
+        @Index(name = "idx_punches_user_time", columnList = "user_id, punched_at")
+})
+public class Punch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "punch_id")
+    @SequenceGenerator(name = "punch_id", sequenceName = "punches_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "punched_at", nullable = false)
+    private Instant punchedAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "punch_type", nullable = false, length = 16)
+    private PunchType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PunchSource source;
+
+    @Column(name = "device_id", nullable = false, length = 64)
+    private String deviceId;
+
+    @Column(name = "event_id", nullable = false, length = 64)
+    private String eventId;
+
+    // The user's attendance group when the punch was received
+    @Column(name = "attendance_group_id")
+    private Long attendanceGroupId;
+
+    @Column(name = "photo_url", length = 512)
+    private String photoUrl;
+
+    @Column(nullable = false)
+    private Boolean offsite = false;
+
+    @Column(name = "received_at", nullable = false)
+    private Instant receivedAt;
+
+    public Punch() {
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Instant getPunchedAt() {
+        return punchedAt;
+    }
+
+    public void setPunchedAt(Instant punchedAt) {
+        this.punchedAt = punchedAt;
+    }
+
+    public PunchType getType() {
+        return type;
+    }
+
+    public void setType(PunchType type) {
+        this.type = type;
+    }
+
+    public PunchSource getSource() {
+        return source;
+    }
+
+    public void setSource(PunchSource source) {
+        this.source = source;
+    }
+
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    public void setDeviceId(String deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+
+    public void setAttendanceGroupId(Long attendanceGroupId) {
+        this.attendanceGroupId = attendanceGroupId;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public void setPhotoUrl(String photoUrl) {
+        this.photoUrl = photoUrl;
+    }
+
+    public Boolean getOffsite() {
+        return offsite;
+    }
+
+    public void setOffsite(Boolean offsite) {
+        this.offsite = offsite;
+    }
+
+    public Instant getReceivedAt() {
+        return receivedAt;
+    }
+
+    public void setReceivedAt(Instant receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.hcms.punch.domain;
+
+/**
+ * Why a punch was not recorded; the name is the error code returned to the client
+ */
+public enum PunchRejection {
+    USER_NOT_FOUND("User not found"),
+    NO_ATTENDANCE_GROUP("User has no active attendance group"),
+    NOT_PERMITTED("Only HR admins and admins may punch for, or read the punches of, other users"),
+    PHOTO_REQUIRED("The user's attendance group requires a photo with each punch"),
+    OFFSITE_NOT_ALLOWED("The user's attendance group does not allow offsite punches"),
+    IN_FUTURE("Punch time is ahead of the server clock"),
+    TOO_OLD("Punch time is older than the accepted backlog");
+
+    private final String message;
+
+    PunchRejection(String message) {
+        this.message = message;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.hcms.punch.domain;
+
+/**
+ * Where a punch was recorded
+ */
+public enum PunchSource {
+    KIOSK,
+    MOBILE,
+    WEB
+}
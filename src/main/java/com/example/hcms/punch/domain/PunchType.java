@@ -0,0 +1,9 @@
+package com.example.hcms.punch.domain;
+
+/**
+ * Direction of a punch
+ */
+public enum PunchType {
+    CLOCK_IN,
+    CLOCK_OUT
+}
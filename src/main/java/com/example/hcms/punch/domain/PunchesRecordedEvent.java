@@ -0,0 +1,20 @@
+package com.example.hcms.punch.domain;
+
+import java.util.List;
+
+/**
+ * Published inside the transaction that inserts new punches (duplicates are not included). Carries the
+ * punches themselves: they are immutable, and listeners need only their users and times.
+ */
+public class PunchesRecordedEvent {
+
+    private final List<Punch> punches;
+
+    public PunchesRecordedEvent(List<Punch> punches) {
+        this.punches = List.copyOf(punches);
+    }
+
+    public List<Punch> getPunches() {
+        return punches;
+    }
+}
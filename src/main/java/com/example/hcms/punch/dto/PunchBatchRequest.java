@@ -0,0 +1,25 @@
+package com.example.hcms.punch.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * Request DTO for POST /api/v1/punches/batch, such as a kiosk flushing its buffer
+ */
+public class PunchBatchRequest {
+
+    // Each element validated; a null element is rejected with the rest rather than failing later
+    @NotEmpty(message = "At least one punch is required")
+    private List<@NotNull(message = "Punches must not be null") @Valid PunchRequest> punches;
+
+    public List<PunchRequest> getPunches() {
+        return punches;
+    }
+
+    public void setPunches(List<PunchRequest> punches) {
+        this.punches = punches;
+    }
+}
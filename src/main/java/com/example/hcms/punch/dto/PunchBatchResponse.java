@@ -0,0 +1,89 @@
+package com.example.hcms.punch.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Outcome of a punch batch: counts, and one result per punch in request order
+ */
+public class PunchBatchResponse {
+
+    private int accepted;
+    private int duplicates;
+    private int rejected;
+    private List<Result> results;
+
+    public PunchBatchResponse(List<Result> results) {
+        this.results = results;
+        for (Result result : results) {
+            switch (result.getStatus()) {
+                case ACCEPTED -> accepted++;
+                case DUPLICATE -> duplicates++;
+                case REJECTED -> rejected++;
+            }
+        }
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public enum Status {
+        ACCEPTED,
+        DUPLICATE,
+        REJECTED
+    }
+
+    /**
+     * One punch of the batch: its ID if recorded (now or before), else the rejection code and message
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Result {
+        private final int index;
+        private final Status status;
+        private final Long punchId;
+        private final String code;
+        private final String message;
+
+        public Result(int index, Status status, Long punchId, String code, String message) {
+            this.index = index;
+            this.status = status;
+            this.punchId = punchId;
+            this.code = code;
+            this.message = message;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public Long getPunchId() {
+            return punchId;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.hcms.punch.dto;
+
+import com.example.hcms.punch.domain.PunchSource;
+import com.example.hcms.punch.domain.PunchType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+
+/**
+ * DTO for recording a punch. The device ID and event ID together are the idempotency key: sending the
+ * same device event again returns the punch recorded the first time.
+ */
+public class PunchRequest {
+
+    // The punching user; defaults to the caller
+    private Long userId;
+
+    @NotNull(message = "Punch time is required")
+    private Instant punchedAt;
+
+    @NotNull(message = "Punch type is required")
+    private PunchType type;
+
+    @NotNull(message = "Punch source is required")
+    private PunchSource source;
+
+    @NotBlank(message = "Device ID is required")
+    @Size(max = 64, message = "Device ID must not exceed 64 characters")
+    private String deviceId;
+
+    @NotBlank(message = "Event ID is required")
+    @Size(max = 64, message = "Event ID must not exceed 64 characters")
+    private String eventId;
+
+    @Size(max = 512, message = "Photo URL must not exceed 512 characters")
+    private String photoUrl;
+
+    private Boolean offsite = false;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Instant getPunchedAt() {
+        return punchedAt;
+    }
+
+    public void setPunchedAt(Instant punchedAt) {
+        this.punchedAt = punchedAt;
+    }
+
+    public PunchType getType() {
+        return type;
+    }
+
+    public void setType(PunchType type) {
+        this.type = type;
+    }
+
+    public PunchSource getSource() {
+        return source;
+    }
+
+    public void setSource(PunchSource source) {
+        this.source = source;
+    }
+
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    public void setDeviceId(String deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public void setPhotoUrl(String photoUrl) {
+        this.photoUrl = photoUrl;
+    }
+
+    public Boolean getOffsite() {
+        return offsite;
+    }
+
+    public void setOffsite(Boolean offsite) {
+        this.offsite = offsite;
+    }
+}
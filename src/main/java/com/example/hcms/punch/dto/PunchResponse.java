@@ -0,0 +1,90 @@
+package com.example.hcms.punch.dto;
+
+import com.example.hcms.punch.domain.Punch;
+import com.example.hcms.punch.domain.PunchSource;
+import com.example.hcms.punch.domain.PunchType;
+
+import java.time.Instant;
+
+/**
+ * Response DTO for a recorded punch; {@code duplicate} is set when the device event had already been
+ * recorded and this is the original
+ */
+public class PunchResponse {
+
+    private Long id;
+    private Long userId;
+    private Instant punchedAt;
+    private PunchType type;
+    private PunchSource source;
+    private String deviceId;
+    private String eventId;
+    private Long attendanceGroupId;
+    private String photoUrl;
+    private Boolean offsite;
+    private Instant receivedAt;
+    private boolean duplicate;
+
+    public PunchResponse(Punch punch, boolean duplicate) {
+        this.id = punch.getId();
+        this.userId = punch.getUserId();
+        this.punchedAt = punch.getPunchedAt();
+        this.type = punch.getType();
+        this.source = punch.getSource();
+        this.deviceId = punch.getDeviceId();
+        this.eventId = punch.getEventId();
+        this.attendanceGroupId = punch.getAttendanceGroupId();
+        this.photoUrl = punch.getPhotoUrl();
+        this.offsite = punch.getOffsite();
+        this.receivedAt = punch.getReceivedAt();
+        this.duplicate = duplicate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Instant getPunchedAt() {
+        return punchedAt;
+    }
+
+    public PunchType getType() {
+        return type;
+    }
+
+    public PunchSource getSource() {
+        return source;
+    }
+
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+
+    public String getPhotoUrl() {
+        return photoUrl;
+    }
+
+    public Boolean getOffsite() {
+        return offsite;
+    }
+
+    public Instant getReceivedAt() {
+        return receivedAt;
+    }
+
+    public boolean isDuplicate() {
+        return duplicate;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.hcms.punch.exception;
+
+import com.example.hcms.punch.domain.PunchRejection;
+
+/**
+ * Exception thrown when a single punch fails validation against the user's attendance group
+ */
+public class PunchRejectedException extends RuntimeException {
+
+    private final PunchRejection rejection;
+
+    public PunchRejectedException(PunchRejection rejection) {
+        super(rejection.getMessage());
+        this.rejection = rejection;
+    }
+
+    public PunchRejection getRejection() {
+        return rejection;
+    }
+}
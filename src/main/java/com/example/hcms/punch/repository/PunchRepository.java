@@ -0,0 +1,38 @@
+package com.example.hcms.punch.repository;
+
+import com.example.hcms.punch.domain.Punch;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the append-only punch store: inserts and reads only, no updates or deletes
+ */
+@org.springframework.stereotype.Repository
+public interface PunchRepository extends Repository<Punch, Long> {
+
+    Punch save(Punch punch);
+
+    List<Punch> saveAll(Iterable<Punch> punches);
+
+    Optional<Punch> findByDeviceIdAndEventId(String deviceId, String eventId);
+
+    /**
+     * Punches already recorded for some events of one device (unique key lookup)
+     */
+    List<Punch> findByDeviceIdAndEventIdIn(String deviceId, Collection<String> eventIds);
+
+    /**
+     * A user's punches from one instant (inclusive) to another (exclusive) in time order, read through
+     * the (user_id, punched_at) index
+     */
+    @Query("SELECT p FROM Punch p WHERE p.userId = :userId AND p.punchedAt >= :from AND p.punchedAt < :to "
+            + "ORDER BY p.punchedAt, p.id")
+    List<Punch> findByUserIdInRange(@Param("userId") Long userId, @Param("from") Instant from,
+            @Param("to") Instant to);
+}
@@ -0,0 +1,39 @@
+package com.example.hcms.punch.service;
+
+import com.example.hcms.punch.dto.PunchBatchRequest;
+import com.example.hcms.punch.dto.PunchBatchResponse;
+import com.example.hcms.punch.dto.PunchRequest;
+import com.example.hcms.punch.dto.PunchResponse;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service interface for recording and reading clock punches
+ */
+public interface PunchService {
+
+    /**
+     * Record one punch, or return the original if its device event was recorded before
+     *
+     * @param callerId  the authenticated user, punching for themselves unless the request names a user
+     * @param anyUser   whether the caller may punch for other users
+     * @throws com.example.hcms.punch.exception.PunchRejectedException if validation fails
+     */
+    PunchResponse recordPunch(PunchRequest request, Long callerId, boolean anyUser);
+
+    /**
+     * Record several punches in one transaction; each is accepted, a duplicate or rejected on its own
+     *
+     * @throws com.example.hcms.common.exception.InvalidParameterException above the configured batch size
+     */
+    PunchBatchResponse recordPunches(PunchBatchRequest request, Long callerId, boolean anyUser);
+
+    /**
+     * A user's punches from one instant (inclusive) to another (exclusive) in time order
+     *
+     * @throws com.example.hcms.common.exception.InvalidParameterException if the range is reversed or
+     *                                                                     longer than allowed
+     */
+    List<PunchResponse> getPunches(Long userId, Instant from, Instant to);
+}
@@ -0,0 +1,231 @@
+package com.example.hcms.punch.service;
+
+import com.example.hcms.attendancegroup.domain.PunchPolicy;
+import com.example.hcms.attendancegroup.service.ScheduleResolver;
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.punch.domain.Punch;
+import com.example.hcms.punch.domain.PunchRejection;
+import com.example.hcms.punch.domain.PunchesRecordedEvent;
+import com.example.hcms.punch.dto.PunchBatchRequest;
+import com.example.hcms.punch.dto.PunchBatchResponse;
+import com.example.hcms.punch.dto.PunchBatchResponse.Result;
+import com.example.hcms.punch.dto.PunchBatchResponse.Status;
+import com.example.hcms.punch.dto.PunchRequest;
+import com.example.hcms.punch.dto.PunchResponse;
+import com.example.hcms.punch.exception.PunchRejectedException;
+import com.example.hcms.punch.repository.PunchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of PunchService. Punches are validated against the user's attendance group policy as
+ * compiled by {@link ScheduleResolver}, so the only statements on the single-punch path are the
+ * idempotency key lookup and the insert. A batch looks its keys up once per device and inserts all new
+ * punches in one transaction.
+ *
+ * Recording runs in its own transactions: if a concurrent request inserts the same device event first,
+ * the unique key rejects the insert and the punch recorded by the other request is returned instead.
+ * New punches are published as a {@link PunchesRecordedEvent} inside the inserting transaction.
+ */
+@Service
+@Transactional
+public class PunchServiceImpl implements PunchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PunchServiceImpl.class);
+    private static final int MAX_READ_DAYS = 31;
+
+    private final PunchRepository repository;
+    private final ScheduleResolver scheduleResolver;
+    private final TransactionTemplate transactions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxBatchSize;
+    private final Duration maxClockSkew;
+    private final Duration maxAge;
+
+    public PunchServiceImpl(PunchRepository repository, ScheduleResolver scheduleResolver,
+            PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+            @Value("${app.punches.max-batch-size:500}") int maxBatchSize,
+            @Value("${app.punches.max-clock-skew-seconds:300}") long maxClockSkewSeconds,
+            @Value("${app.punches.max-age-hours:72}") long maxAgeHours) {
+        this.repository = repository;
+        this.scheduleResolver = scheduleResolver;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.maxBatchSize = maxBatchSize;
+        this.maxClockSkew = Duration.ofSeconds(maxClockSkewSeconds);
+        this.maxAge = Duration.ofHours(maxAgeHours);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PunchResponse recordPunch(PunchRequest request, Long callerId, boolean anyUser) {
+        return record(toPunch(request, callerId, anyUser, Instant.now()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PunchBatchResponse recordPunches(PunchBatchRequest request, Long callerId, boolean anyUser) {
+        List<PunchRequest> punches = request.getPunches();
+        if (punches.size() > maxBatchSize) {
+            throw new InvalidParameterException("A batch holds at most " + maxBatchSize + " punches");
+        }
+        Instant now = Instant.now();
+        Result[] results = new Result[punches.size()];
+        Punch[] valid = new Punch[punches.size()];
+        for (int i = 0; i < punches.size(); i++) {
+            try {
+                valid[i] = toPunch(punches.get(i), callerId, anyUser, now);
+            } catch (PunchRejectedException e) {
+                results[i] = new Result(i, Status.REJECTED, null, e.getRejection().name(), e.getMessage());
+            }
+        }
+        try {
+            transactions.executeWithoutResult(status -> insertNew(valid, results));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request recorded some of these events first: fall back to one at a time
+            logger.debug("Punch batch raced on a device event, recording {} punches one by one", valid.length);
+            for (int i = 0; i < valid.length; i++) {
+                if (valid[i] != null) {
+                    valid[i].setId(null);
+                    PunchResponse punch = record(valid[i]);
+                    results[i] = new Result(i, punch.isDuplicate() ? Status.DUPLICATE : Status.ACCEPTED,
+                            punch.getId(), null, null);
+                }
+            }
+        }
+        return new PunchBatchResponse(Arrays.asList(results));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PunchResponse> getPunches(Long userId, Instant from, Instant to) {
+        if (to.isBefore(from) || Duration.between(from, to).compareTo(Duration.ofDays(MAX_READ_DAYS)) > 0) {
+            throw new InvalidParameterException("Punch range must cover at most " + MAX_READ_DAYS + " days");
+        }
+        return repository.findByUserIdInRange(userId, from, to).stream()
+                .map(punch -> new PunchResponse(punch, false))
+                .toList();
+    }
+
+    /**
+     * Insert one validated punch, or return the punch already recorded for its device event
+     */
+    private PunchResponse record(Punch punch) {
+        try {
+            return transactions.execute(status -> repository
+                    .findByDeviceIdAndEventId(punch.getDeviceId(), punch.getEventId())
+                    .map(existing -> new PunchResponse(existing, true))
+                    .orElseGet(() -> {
+                        Punch saved = repository.save(punch);
+                        eventPublisher.publishEvent(new PunchesRecordedEvent(List.of(saved)));
+                        return new PunchResponse(saved, false);
+                    }));
+        } catch (DataIntegrityViolationException e) {
+            return transactions.execute(status -> repository
+                    .findByDeviceIdAndEventId(punch.getDeviceId(), punch.getEventId())
+                    .map(existing -> new PunchResponse(existing, true))
+                    .orElseThrow(() -> e));
+        }
+    }
+
+    /**
+     * Look the batch's keys up once per device, then insert the punches not seen before; a device event
+     * repeated within the batch is a duplicate of its first occurrence
+     */
+    private void insertNew(Punch[] valid, Result[] results) {
+        Map<String, Map<String, Long>> recorded = new HashMap<>();
+        for (Punch punch : valid) {
+            if (punch != null) {
+                recorded.computeIfAbsent(punch.getDeviceId(), device -> new HashMap<>())
+                        .put(punch.getEventId(), null);
+            }
+        }
+        recorded.forEach((device, events) -> repository.findByDeviceIdAndEventIdIn(device, events.keySet())
+                .forEach(existing -> events.put(existing.getEventId(), existing.getId())));
+
+        boolean[] inserted = new boolean[valid.length];
+        List<Punch> saved = new ArrayList<>();
+        for (int i = 0; i < valid.length; i++) {
+            Punch punch = valid[i];
+            if (punch != null && recorded.get(punch.getDeviceId()).get(punch.getEventId()) == null) {
+                // IDs come from the pooled sequence on save, before the batched insert at commit
+                recorded.get(punch.getDeviceId()).put(punch.getEventId(), repository.save(punch).getId());
+                inserted[i] = true;
+                saved.add(punch);
+            }
+        }
+        if (!saved.isEmpty()) {
+            eventPublisher.publishEvent(new PunchesRecordedEvent(saved));
+        }
+        for (int i = 0; i < valid.length; i++) {
+            Punch punch = valid[i];
+            if (punch != null) {
+                results[i] = new Result(i, inserted[i] ? Status.ACCEPTED : Status.DUPLICATE,
+                        recorded.get(punch.getDeviceId()).get(punch.getEventId()), null, null);
+            }
+        }
+    }
+
+    /**
+     * Validate a punch against the user's attendance group policy, from cached data only
+     */
+    private Punch toPunch(PunchRequest request, Long callerId, boolean anyUser, Instant now) {
+        Long userId = request.getUserId() != null ? request.getUserId() : callerId;
+        if (userId == null) {
+            throw new PunchRejectedException(PunchRejection.USER_NOT_FOUND);
+        }
+        if (!userId.equals(callerId) && !anyUser) {
+            throw new PunchRejectedException(PunchRejection.NOT_PERMITTED);
+        }
+        PunchPolicy policy = scheduleResolver.punchPolicy(userId);
+        if (policy == null) {
+            throw new PunchRejectedException(PunchRejection.USER_NOT_FOUND);
+        }
+        if (policy.getGroupId() == null) {
+            throw new PunchRejectedException(PunchRejection.NO_ATTENDANCE_GROUP);
+        }
+        if (request.getPunchedAt().isAfter(now.plus(maxClockSkew))) {
+            throw new PunchRejectedException(PunchRejection.IN_FUTURE);
+        }
+        if (request.getPunchedAt().isBefore(now.minus(maxAge))) {
+            throw new PunchRejectedException(PunchRejection.TOO_OLD);
+        }
+        boolean hasPhoto = request.getPhotoUrl() != null && !request.getPhotoUrl().isBlank();
+        if (policy.isRequirePhoto() && !hasPhoto) {
+            throw new PunchRejectedException(PunchRejection.PHOTO_REQUIRED);
+        }
+        boolean offsite = Boolean.TRUE.equals(request.getOffsite());
+        if (offsite && !policy.isAllowOffsite()) {
+            throw new PunchRejectedException(PunchRejection.OFFSITE_NOT_ALLOWED);
+        }
+
+        Punch punch = new Punch();
+        punch.setUserId(userId);
+        punch.setPunchedAt(request.getPunchedAt());
+        punch.setType(request.getType());
+        punch.setSource(request.getSource());
+        punch.setDeviceId(request.getDeviceId().trim());
+        punch.setEventId(request.getEventId().trim());
+        punch.setAttendanceGroupId(policy.getGroupId());
+        punch.setPhotoUrl(hasPhoto ? request.getPhotoUrl().trim() : null);
+        punch.setOffsite(offsite);
+        punch.setReceivedAt(now);
+        return punch;
+    }
+}
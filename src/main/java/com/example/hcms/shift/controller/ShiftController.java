@@ -1,8 +1,13 @@
 package com.example.hcms.shift.controller;
 
+import com.example.hcms.common.dto.MultiGetResponse;
+import com.example.hcms.common.web.EntityTags;
+import com.example.hcms.common.web.FieldSet;
+import com.example.hcms.common.web.MultiGetLimits;
 import com.example.hcms.shift.domain.ShiftStatus;
 import com.example.hcms.shift.dto.CreateShiftRequest;
 import com.example.hcms.shift.dto.ShiftResponse;
+import com.example.hcms.shift.dto.ShiftUsageResponse;
 import com.example.hcms.shift.dto.UpdateShiftRequest;
 import com.example.hcms.shift.service.ShiftService;
 import jakarta.validation.Valid;
@@ -12,6 +17,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,6 +27,8 @@ import org.springframework.lang.NonNull;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+
 /**
  * REST controller for shift management
  */
@@ -28,34 +37,100 @@ import org.springframework.web.server.ResponseStatusException;
 public class ShiftController {
 
     private static final Logger logger = LoggerFactory.getLogger(ShiftController.class);
+    // Let clients keep the body but check back every time (overrides Spring Security's no-store)
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
     private final ShiftService shiftService;
+    private final MultiGetLimits multiGetLimits;
 
-    public ShiftController(ShiftService shiftService) {
+    public ShiftController(ShiftService shiftService, MultiGetLimits multiGetLimits) {
         this.shiftService = shiftService;
+        this.multiGetLimits = multiGetLimits;
     }
 
     /**
-     * Get all shifts with pagination and filtering
+     * Get all shifts with pagination and filtering. A matching If-None-Match returns 304
+     * without touching the database; fields=id,name returns only those columns.
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
-    public ResponseEntity<Page<ShiftResponse>> getAllShifts(
+    public ResponseEntity<Page<?>> getAllShifts(
             @RequestParam(required = false) String search,
             @RequestParam(required = false) ShiftStatus status,
-            @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) @NonNull Pageable pageable) {
+            @RequestParam(required = false) String fields,
+            @PageableDefault(size = 20, sort = "name", direction = Sort.Direction.ASC) @NonNull Pageable pageable,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        FieldSet fieldSet = shiftService.selectFields(fields);
+        // Tag before loading: a write landing in between only makes the tag older than the body
+        String etag = shiftService.getShiftsETag(search, status, pageable, fieldSet);
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
 
-        Page<ShiftResponse> shifts = shiftService.getAllShifts(search, status, pageable);
-        return ResponseEntity.ok(shifts);
+        Page<?> shifts = fieldSet != null
+                ? shiftService.getAllShifts(search, status, pageable, fieldSet)
+                : shiftService.getAllShifts(search, status, pageable);
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(shifts);
     }
 
     /**
-     * Get a specific shift by ID
+     * Get several shifts by ID (ids=1,2,3) with one query. Items come back in request order,
+     * unknown IDs as not-found items; fields= works as on the list.
+     */
+    @GetMapping(params = "ids")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<MultiGetResponse<Object>> getShiftsByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields) {
+
+        FieldSet fieldSet = shiftService.selectFields(fields);
+        List<Long> distinctIds = multiGetLimits.distinct(ids);
+        java.util.Map<Long, ?> shifts = fieldSet != null
+                ? shiftService.getShiftFieldsByIds(distinctIds, fieldSet)
+                : shiftService.getShiftsByIds(distinctIds);
+        return ResponseEntity.ok(MultiGetResponse.of(ids, shifts));
+    }
+
+    /**
+     * Get a specific shift by ID. A matching If-None-Match returns 304 after reading only
+     * the version and updatedAt columns; fields= works as on the list.
      */
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
-    public ResponseEntity<ShiftResponse> getShiftById(@PathVariable @NonNull Long id) {
-        ShiftResponse shift = shiftService.toResponse(shiftService.getShiftById(id));
-        return ResponseEntity.ok(shift);
+    public ResponseEntity<?> getShiftById(
+            @PathVariable @NonNull Long id,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        FieldSet fieldSet = shiftService.selectFields(fields);
+        if (fieldSet != null) {
+            // The projection carries no version, so tag from the validator read just before it
+            String etag = EntityTags.forFields(shiftService.getShiftETag(id), fieldSet);
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+            }
+            java.util.Map<String, Object> shift = shiftService.getShiftFields(id, fieldSet);
+            return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(shift);
+        }
+
+        if (ifNoneMatch != null) {
+            String etag = shiftService.getShiftETag(id);
+            if (EntityTags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+            }
+        }
+
+        ShiftResponse shift = shiftService.getShift(id);
+        return ResponseEntity.ok().eTag(shiftService.eTagOf(shift)).cacheControl(REVALIDATE).body(shift);
+    }
+
+    /**
+     * List the active attendance groups that use a shift, and in which slots
+     */
+    @GetMapping("/{id}/usage")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<ShiftUsageResponse> getShiftUsage(@PathVariable @NonNull Long id) {
+        return ResponseEntity.ok(shiftService.getShiftUsage(id));
     }
 
     /**
@@ -73,17 +148,18 @@ public class ShiftController {
         }
 
         ShiftResponse shift = shiftService.createShift(request, userId);
-        return ResponseEntity.status(HttpStatus.CREATED).body(shift);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(shiftService.eTagOf(shift)).body(shift);
     }
 
     /**
-     * Update an existing shift
+     * Update an existing shift. An If-Match header makes the write conditional (412 on a stale version).
      */
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
     public ResponseEntity<ShiftResponse> updateShift(
             @PathVariable @NonNull Long id,
             @Valid @RequestBody @NonNull UpdateShiftRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
 
         Long userId = extractUserId(authentication);
@@ -91,17 +167,19 @@ public class ShiftController {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
         }
 
-        ShiftResponse shift = shiftService.updateShift(id, request, userId);
-        return ResponseEntity.ok(shift);
+        ShiftResponse shift = shiftService.updateShift(id, request, userId, EntityTags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(shiftService.eTagOf(shift)).body(shift);
     }
 
     /**
-     * Delete a shift (soft delete - sets status to INACTIVE)
+     * Delete a shift (soft delete - sets status to INACTIVE). Honours If-Match like PUT; 409 while
+     * an active attendance group still uses it.
      */
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
     public ResponseEntity<java.util.Map<String, String>> deleteShift(
             @PathVariable @NonNull Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             Authentication authentication) {
 
         logger.info("DELETE request for shift id: {}", id);
@@ -113,7 +191,7 @@ public class ShiftController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        shiftService.deleteShift(id, userId);
+        shiftService.deleteShift(id, userId, EntityTags.expectedVersion(ifMatch));
         logger.info("Successfully deleted shift id: {}", id);
         return ResponseEntity.ok(java.util.Map.of("message", "Successfully deleted shift"));
     }
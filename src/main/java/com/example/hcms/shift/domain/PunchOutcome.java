@@ -0,0 +1,48 @@
+package com.example.hcms.shift.domain;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * What a day's clock-in and clock-out mean against its shift. {@link ShiftRules#classify} returns these
+ * as a bit mask ({@link #bit()}); 0 means on time.
+ */
+public enum PunchOutcome {
+    /** Clocked in after the late threshold */
+    LATE,
+    /** Clocked in after the half-day late threshold (instead of {@link #LATE}) */
+    HALF_DAY_LATE,
+    /** Clocked out before the early-out threshold */
+    EARLY_OUT,
+    /** Clocked out before the half-day early threshold (instead of {@link #EARLY_OUT}) */
+    HALF_DAY_EARLY,
+    /** A required clock-in is missing while the clock-out is present */
+    MISSING_CLOCK_IN,
+    /** A required clock-out is missing while the clock-in is present */
+    MISSING_CLOCK_OUT,
+    /** No required punch is present */
+    ABSENT;
+
+    private static final PunchOutcome[] VALUES = values();
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public boolean in(int outcomes) {
+        return (outcomes & bit()) != 0;
+    }
+
+    /**
+     * The outcomes of a bit mask; allocates, so meant for responses rather than hot loops
+     */
+    public static Set<PunchOutcome> decode(int outcomes) {
+        Set<PunchOutcome> set = EnumSet.noneOf(PunchOutcome.class);
+        for (PunchOutcome outcome : VALUES) {
+            if (outcome.in(outcomes)) {
+                set.add(outcome);
+            }
+        }
+        return set;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.hcms.shift.domain;
+
+/**
+ * Published by a broker adapter when another replica reports a committed shift change, so this
+ * replica's {@code ShiftCatalog} re-reads the shift. A null shift ID means every shift, e.g. after
+ * the adapter reconnects and may have missed messages.
+ */
+public class RemoteShiftChangedEvent {
+
+    private final Long shiftId;
+
+    public RemoteShiftChangedEvent(Long shiftId) {
+        this.shiftId = shiftId;
+    }
+
+    public Long getShiftId() {
+        return shiftId;
+    }
+}
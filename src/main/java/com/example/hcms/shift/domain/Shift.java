@@ -108,6 +108,11 @@ public class Shift {
     @Column(nullable = true)
     private Long updatedBy;
 
+    // Optimistic lock; incremented on every update and exposed as the ETag
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Legacy fields (kept for backward compatibility)
     @Column(nullable = true)
     private Boolean isOvernight;
@@ -146,6 +151,32 @@ public class Shift {
         calculateWorkingHours();
     }
 
+    /**
+     * Take the rules (the fields daily results depend on) of a snapshot, e.g. of a shift version
+     */
+    public void applyRules(ShiftSnapshot rules) {
+        shiftType = rules.getShiftType();
+        dateType = rules.getDateType();
+        startTime = rules.getStartTime();
+        endTime = rules.getEndTime();
+        isNextDayEnd = rules.getIsNextDayEnd();
+        requireClockIn = rules.getRequireClockIn();
+        requireClockOut = rules.getRequireClockOut();
+        clockInEarlyMinutes = rules.getClockInEarlyMinutes();
+        lateThresholdMinutes = rules.getLateThresholdMinutes();
+        halfDayLateThresholdMinutes = rules.getHalfDayLateThresholdMinutes();
+        clockOutLateMinutes = rules.getClockOutLateMinutes();
+        earlyOutThresholdMinutes = rules.getEarlyOutThresholdMinutes();
+        halfDayEarlyThresholdMinutes = rules.getHalfDayEarlyThresholdMinutes();
+        flexLateHours = rules.getFlexLateHours();
+        flexLateMinutes = rules.getFlexLateMinutes();
+        flexEarlyHours = rules.getFlexEarlyHours();
+        flexEarlyMinutes = rules.getFlexEarlyMinutes();
+        hasBreaks = rules.getHasBreaks();
+        breakDurationMinutes = rules.getBreakDurationMinutes();
+        calculateWorkingHours();
+    }
+
     public void calculateWorkingHours() {
         if (startTime != null && endTime != null) {
             int minutes;
@@ -400,6 +431,14 @@ public class Shift {
         this.updatedBy = updatedBy;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // Legacy getters/setters for backward compatibility
     public Boolean getIsOvernight() {
         return isOvernight;
@@ -0,0 +1,52 @@
+package com.example.hcms.shift.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a shift is created, updated or deleted. Listeners re-read the shift, or look up the
+ * groups using it through the shift usage index, once the write has committed. Updates also carry the
+ * shift's rules before and after the edit on the date the editor said it takes effect from, so the
+ * schedule impact can be planned; rules effective after today are not on the shift's row yet.
+ */
+public class ShiftChangedEvent {
+
+    private final Long shiftId;
+    private final ShiftSnapshot previous;
+    private final ShiftSnapshot updated;
+    private final LocalDate effectiveFrom;
+
+    public ShiftChangedEvent(Long shiftId) {
+        this(shiftId, null, null, null);
+    }
+
+    public ShiftChangedEvent(Long shiftId, ShiftSnapshot previous, ShiftSnapshot updated, LocalDate effectiveFrom) {
+        this.shiftId = shiftId;
+        this.previous = previous;
+        this.updated = updated;
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    public Long getShiftId() {
+        return shiftId;
+    }
+
+    /**
+     * The shift before an update, with the rules it had from the effective date on, or null for a create,
+     * a delete or a scheduled version coming into force
+     */
+    public ShiftSnapshot getPrevious() {
+        return previous;
+    }
+
+    /**
+     * The shift after an update, with the rules it has from the effective date on, or null if there is no
+     * previous shift
+     */
+    public ShiftSnapshot getUpdated() {
+        return updated;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+}
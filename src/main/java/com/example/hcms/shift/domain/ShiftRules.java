@@ -0,0 +1,168 @@
+package com.example.hcms.shift.domain;
+
+import java.time.Instant;
+
+/**
+ * A shift's clock-in and clock-out rules compiled into primitive boundaries, in seconds from midnight
+ * at the start of the shift's date, plus bit flags. {@link #classify} then needs only integer compares
+ * per punch pair and allocates nothing. Compiled once per {@link ShiftSnapshot}.
+ *
+ * <ul>
+ * <li>A clock-in counts from {@code clockInEarlyMinutes} before the start until the (scheduled) end;
+ * a clock-out counts after that window opens and up to {@code clockOutLateMinutes} past the end, and
+ * must follow the clock-in. Punches outside these windows are treated as missing.</li>
+ * <li>Clocking in after start + {@code lateThresholdMinutes} is late; after start +
+ * {@code halfDayLateThresholdMinutes}, half-day late instead. Clocking out before end -
+ * {@code earlyOutThresholdMinutes} is an early out; before end - {@code halfDayEarlyThresholdMinutes},
+ * half-day early instead.</li>
+ * <li>On a FLEXTIME shift, arriving up to the flex early/late allowance before or after the start moves
+ * the expected end by the same amount, and the late thresholds count from start + flex late.</li>
+ * <li>Only required punches are checked. If none of them is present the day is absent; an off-days
+ * shift has no outcomes at all.</li>
+ * </ul>
+ */
+public final class ShiftRules {
+
+    /**
+     * Passed for a punch that does not exist
+     */
+    public static final long NO_PUNCH = Long.MIN_VALUE;
+
+    private static final int REQUIRE_IN = 1;
+    private static final int REQUIRE_OUT = 1 << 1;
+    private static final int FLEXTIME = 1 << 2;
+    private static final int OFF_DAY = 1 << 3;
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private static final int LATE = PunchOutcome.LATE.bit();
+    private static final int HALF_DAY_LATE = PunchOutcome.HALF_DAY_LATE.bit();
+    private static final int EARLY_OUT = PunchOutcome.EARLY_OUT.bit();
+    private static final int HALF_DAY_EARLY = PunchOutcome.HALF_DAY_EARLY.bit();
+    private static final int MISSING_CLOCK_IN = PunchOutcome.MISSING_CLOCK_IN.bit();
+    private static final int MISSING_CLOCK_OUT = PunchOutcome.MISSING_CLOCK_OUT.bit();
+    private static final int ABSENT = PunchOutcome.ABSENT.bit();
+
+    private final int flags;
+    private final int start;
+    private final int end;
+    private final int earliestIn;
+    private final int latestOut;
+    private final int lateAfter;
+    private final int halfDayLateAfter;
+    private final int earlyOut;
+    private final int halfDayEarly;
+    private final int flexEarly;
+    private final int flexLate;
+
+    private ShiftRules(ShiftSnapshot shift) {
+        boolean flextime = shift.getShiftType() == ShiftType.FLEXTIME;
+        this.flags = (!Boolean.FALSE.equals(shift.getRequireClockIn()) ? REQUIRE_IN : 0)
+                | (!Boolean.FALSE.equals(shift.getRequireClockOut()) ? REQUIRE_OUT : 0)
+                | (flextime ? FLEXTIME : 0)
+                | (shift.getDateType() == DateType.OFF_DAYS ? OFF_DAY : 0);
+        this.start = shift.getStartTime() != null ? shift.getStartTime().toSecondOfDay() : 0;
+        this.end = (shift.getEndTime() != null ? shift.getEndTime().toSecondOfDay() : 0)
+                + (Boolean.TRUE.equals(shift.getIsNextDayEnd()) ? SECONDS_PER_DAY : 0);
+        this.flexLate = flextime
+                ? (minutes(shift.getFlexLateHours(), 1) * 60 + minutes(shift.getFlexLateMinutes(), 0)) * 60 : 0;
+        this.flexEarly = flextime
+                ? (minutes(shift.getFlexEarlyHours(), 1) * 60 + minutes(shift.getFlexEarlyMinutes(), 0)) * 60 : 0;
+        this.earliestIn = start - minutes(shift.getClockInEarlyMinutes(), 60) * 60;
+        this.latestOut = end + minutes(shift.getClockOutLateMinutes(), 480) * 60;
+        this.lateAfter = start + flexLate + minutes(shift.getLateThresholdMinutes(), 0) * 60;
+        this.halfDayLateAfter = start + flexLate + minutes(shift.getHalfDayLateThresholdMinutes(), 30) * 60;
+        this.earlyOut = minutes(shift.getEarlyOutThresholdMinutes(), 0) * 60;
+        this.halfDayEarly = minutes(shift.getHalfDayEarlyThresholdMinutes(), 30) * 60;
+    }
+
+    public static ShiftRules compile(ShiftSnapshot shift) {
+        return new ShiftRules(shift);
+    }
+
+    /**
+     * Classify a day's punches
+     *
+     * @param dayStart epoch second of midnight starting the shift's date, in the group's time zone
+     * @param clockIn  epoch second of the clock-in, or {@link #NO_PUNCH}
+     * @param clockOut epoch second of the clock-out, or {@link #NO_PUNCH}
+     * @return a mask of {@link PunchOutcome#bit()}s; 0 is on time
+     */
+    public int classify(long dayStart, long clockIn, long clockOut) {
+        if ((flags & OFF_DAY) != 0) {
+            return 0;
+        }
+        long in = clockIn == NO_PUNCH ? NO_PUNCH : clockIn - dayStart;
+        boolean hasIn = in != NO_PUNCH && in >= earliestIn && in < end;
+        long out = clockOut == NO_PUNCH ? NO_PUNCH : clockOut - dayStart;
+        boolean hasOut = out != NO_PUNCH && out > earliestIn && out <= latestOut && (!hasIn || out > in);
+
+        boolean requireIn = (flags & REQUIRE_IN) != 0;
+        boolean requireOut = (flags & REQUIRE_OUT) != 0;
+        if ((requireIn || requireOut) && !(requireIn && hasIn) && !(requireOut && hasOut)) {
+            return ABSENT;
+        }
+        int outcomes = 0;
+        if (requireIn) {
+            if (!hasIn) {
+                outcomes |= MISSING_CLOCK_IN;
+            } else if (in > halfDayLateAfter) {
+                outcomes |= HALF_DAY_LATE;
+            } else if (in > lateAfter) {
+                outcomes |= LATE;
+            }
+        }
+        if (requireOut) {
+            if (!hasOut) {
+                outcomes |= MISSING_CLOCK_OUT;
+            } else {
+                long expectedEnd = expectedEnd(hasIn, in);
+                if (out < expectedEnd - halfDayEarly) {
+                    outcomes |= HALF_DAY_EARLY;
+                } else if (out < expectedEnd - earlyOut) {
+                    outcomes |= EARLY_OUT;
+                }
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Seconds a day's clock-out falls after the expected end, which a flextime arrival moves within the
+     * allowance. Only a clock-out inside the window counts, so {@code clockOutLateMinutes} caps the overtime
+     * a shift can record.
+     *
+     * @return 0 without a clock-out in the window, and always on an off-days shift
+     */
+    public long overtime(long dayStart, long clockIn, long clockOut) {
+        if ((flags & OFF_DAY) != 0 || clockOut == NO_PUNCH) {
+            return 0;
+        }
+        long in = clockIn == NO_PUNCH ? NO_PUNCH : clockIn - dayStart;
+        boolean hasIn = in != NO_PUNCH && in >= earliestIn && in < end;
+        long out = clockOut - dayStart;
+        if (out <= earliestIn || out > latestOut || (hasIn && out <= in)) {
+            return 0;
+        }
+        return Math.max(0, out - expectedEnd(hasIn, in));
+    }
+
+    /**
+     * {@link #classify(long, long, long)} for instants; null punches are missing
+     */
+    public int classify(Instant dayStart, Instant clockIn, Instant clockOut) {
+        return classify(dayStart.getEpochSecond(), clockIn != null ? clockIn.getEpochSecond() : NO_PUNCH,
+                clockOut != null ? clockOut.getEpochSecond() : NO_PUNCH);
+    }
+
+    // Flextime moves the expected end with the arrival, within the allowance
+    private long expectedEnd(boolean hasIn, long in) {
+        if ((flags & FLEXTIME) != 0 && hasIn) {
+            return end + Math.max(-flexEarly, Math.min(flexLate, in - start));
+        }
+        return end;
+    }
+
+    private static int minutes(Integer value, int defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+}
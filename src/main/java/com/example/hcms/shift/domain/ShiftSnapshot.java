@@ -0,0 +1,262 @@
+package com.example.hcms.shift.domain;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Immutable copy of a shift's definition, as held by the in-process shift catalog and safe to share
+ * between threads, with its clock-in and clock-out rules compiled once. A snapshot can also carry the
+ * rules of one {@link ShiftVersion}, for computing dates on which that version was in force.
+ */
+public final class ShiftSnapshot {
+
+    // The fields daily results depend on, which are kept per shift version
+    private static final List<Function<ShiftSnapshot, Object>> RULE_FIELDS = List.of(
+            ShiftSnapshot::getShiftType, ShiftSnapshot::getDateType, ShiftSnapshot::getStartTime,
+            ShiftSnapshot::getEndTime, ShiftSnapshot::getIsNextDayEnd, ShiftSnapshot::getRequireClockIn,
+            ShiftSnapshot::getRequireClockOut, ShiftSnapshot::getClockInEarlyMinutes,
+            ShiftSnapshot::getLateThresholdMinutes, ShiftSnapshot::getHalfDayLateThresholdMinutes,
+            ShiftSnapshot::getClockOutLateMinutes, ShiftSnapshot::getEarlyOutThresholdMinutes,
+            ShiftSnapshot::getHalfDayEarlyThresholdMinutes, ShiftSnapshot::getFlexLateHours,
+            ShiftSnapshot::getFlexLateMinutes, ShiftSnapshot::getFlexEarlyHours, ShiftSnapshot::getFlexEarlyMinutes,
+            ShiftSnapshot::getHasBreaks, ShiftSnapshot::getBreakDurationMinutes);
+
+    private final Long id;
+    private final String code;
+    private final String name;
+    private final String description;
+    private final ShiftType shiftType;
+    private final DateType dateType;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    private final Boolean isNextDayEnd;
+    private final Boolean requireClockIn;
+    private final Boolean requireClockOut;
+    private final Integer clockInEarlyMinutes;
+    private final Integer lateThresholdMinutes;
+    private final Integer halfDayLateThresholdMinutes;
+    private final Integer clockOutLateMinutes;
+    private final Integer earlyOutThresholdMinutes;
+    private final Integer halfDayEarlyThresholdMinutes;
+    private final Integer flexLateHours;
+    private final Integer flexLateMinutes;
+    private final Integer flexEarlyHours;
+    private final Integer flexEarlyMinutes;
+    private final Boolean hasBreaks;
+    private final Integer breakDurationMinutes;
+    private final Integer workingHoursMinutes;
+    private final ShiftStatus status;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+    private final Long version;
+    // The shift version whose rules this snapshot carries; null for the shift's row as it is
+    private final Long shiftVersionId;
+    private final ShiftRules rules;
+
+    public ShiftSnapshot(Shift shift) {
+        this.id = shift.getId();
+        this.code = shift.getCode();
+        this.name = shift.getName();
+        this.description = shift.getDescription();
+        this.shiftType = shift.getShiftType();
+        this.dateType = shift.getDateType();
+        this.startTime = shift.getStartTime();
+        this.endTime = shift.getEndTime();
+        this.isNextDayEnd = shift.getIsNextDayEnd();
+        this.requireClockIn = shift.getRequireClockIn();
+        this.requireClockOut = shift.getRequireClockOut();
+        this.clockInEarlyMinutes = shift.getClockInEarlyMinutes();
+        this.lateThresholdMinutes = shift.getLateThresholdMinutes();
+        this.halfDayLateThresholdMinutes = shift.getHalfDayLateThresholdMinutes();
+        this.clockOutLateMinutes = shift.getClockOutLateMinutes();
+        this.earlyOutThresholdMinutes = shift.getEarlyOutThresholdMinutes();
+        this.halfDayEarlyThresholdMinutes = shift.getHalfDayEarlyThresholdMinutes();
+        this.flexLateHours = shift.getFlexLateHours();
+        this.flexLateMinutes = shift.getFlexLateMinutes();
+        this.flexEarlyHours = shift.getFlexEarlyHours();
+        this.flexEarlyMinutes = shift.getFlexEarlyMinutes();
+        this.hasBreaks = shift.getHasBreaks();
+        this.breakDurationMinutes = shift.getBreakDurationMinutes();
+        this.workingHoursMinutes = shift.getWorkingHoursMinutes();
+        this.status = shift.getStatus();
+        this.createdAt = shift.getCreatedAt();
+        this.updatedAt = shift.getUpdatedAt();
+        this.version = shift.getVersion();
+        this.shiftVersionId = null;
+        this.rules = ShiftRules.compile(this);
+    }
+
+    /**
+     * A shift with the rules of one of its versions in place of its current ones
+     */
+    public ShiftSnapshot(ShiftSnapshot shift, ShiftVersion rules) {
+        this.id = shift.id;
+        this.code = shift.code;
+        this.name = shift.name;
+        this.description = shift.description;
+        this.shiftType = rules.getShiftType();
+        this.dateType = rules.getDateType();
+        this.startTime = rules.getStartTime();
+        this.endTime = rules.getEndTime();
+        this.isNextDayEnd = rules.getIsNextDayEnd();
+        this.requireClockIn = rules.getRequireClockIn();
+        this.requireClockOut = rules.getRequireClockOut();
+        this.clockInEarlyMinutes = rules.getClockInEarlyMinutes();
+        this.lateThresholdMinutes = rules.getLateThresholdMinutes();
+        this.halfDayLateThresholdMinutes = rules.getHalfDayLateThresholdMinutes();
+        this.clockOutLateMinutes = rules.getClockOutLateMinutes();
+        this.earlyOutThresholdMinutes = rules.getEarlyOutThresholdMinutes();
+        this.halfDayEarlyThresholdMinutes = rules.getHalfDayEarlyThresholdMinutes();
+        this.flexLateHours = rules.getFlexLateHours();
+        this.flexLateMinutes = rules.getFlexLateMinutes();
+        this.flexEarlyHours = rules.getFlexEarlyHours();
+        this.flexEarlyMinutes = rules.getFlexEarlyMinutes();
+        this.hasBreaks = rules.getHasBreaks();
+        this.breakDurationMinutes = rules.getBreakDurationMinutes();
+        this.workingHoursMinutes = rules.getWorkingHoursMinutes();
+        this.status = shift.status;
+        this.createdAt = shift.createdAt;
+        this.updatedAt = shift.updatedAt;
+        this.version = shift.version;
+        this.shiftVersionId = rules.getId();
+        this.rules = ShiftRules.compile(this);
+    }
+
+    /**
+     * Whether two snapshots have the same rules, i.e. differ at most in name, code, description, status
+     * or bookkeeping, so every daily result is the same under either
+     */
+    public boolean hasSameRules(ShiftSnapshot other) {
+        return RULE_FIELDS.stream().allMatch(field -> Objects.equals(field.apply(this), field.apply(other)));
+    }
+
+    public boolean isActive() {
+        return status == ShiftStatus.ACTIVE;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public ShiftType getShiftType() {
+        return shiftType;
+    }
+
+    public DateType getDateType() {
+        return dateType;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public Boolean getIsNextDayEnd() {
+        return isNextDayEnd;
+    }
+
+    public Boolean getRequireClockIn() {
+        return requireClockIn;
+    }
+
+    public Boolean getRequireClockOut() {
+        return requireClockOut;
+    }
+
+    public Integer getClockInEarlyMinutes() {
+        return clockInEarlyMinutes;
+    }
+
+    public Integer getLateThresholdMinutes() {
+        return lateThresholdMinutes;
+    }
+
+    public Integer getHalfDayLateThresholdMinutes() {
+        return halfDayLateThresholdMinutes;
+    }
+
+    public Integer getClockOutLateMinutes() {
+        return clockOutLateMinutes;
+    }
+
+    public Integer getEarlyOutThresholdMinutes() {
+        return earlyOutThresholdMinutes;
+    }
+
+    public Integer getHalfDayEarlyThresholdMinutes() {
+        return halfDayEarlyThresholdMinutes;
+    }
+
+    public Integer getFlexLateHours() {
+        return flexLateHours;
+    }
+
+    public Integer getFlexLateMinutes() {
+        return flexLateMinutes;
+    }
+
+    public Integer getFlexEarlyHours() {
+        return flexEarlyHours;
+    }
+
+    public Integer getFlexEarlyMinutes() {
+        return flexEarlyMinutes;
+    }
+
+    public Boolean getHasBreaks() {
+        return hasBreaks;
+    }
+
+    public Integer getBreakDurationMinutes() {
+        return breakDurationMinutes;
+    }
+
+    public Integer getWorkingHoursMinutes() {
+        return workingHoursMinutes;
+    }
+
+    public ShiftStatus getStatus() {
+        return status;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Long getShiftVersionId() {
+        return shiftVersionId;
+    }
+
+    /**
+     * The shift's punch rules, compiled when the snapshot was taken
+     */
+    public ShiftRules getRules() {
+        return rules;
+    }
+}
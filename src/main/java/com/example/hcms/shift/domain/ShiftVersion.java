@@ -0,0 +1,237 @@
+package com.example.hcms.shift.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Shift version entity - the rules of a shift in force from a date on, written whenever a shift is created
+ * or its rules are edited and never changed afterwards. Only the fields daily results depend on are kept;
+ * name, code and status belong to the shift itself.
+ *
+ * A later version supersedes every earlier one from its effective date on, whatever their dates: the
+ * rules in force on a date are those of the newest version effective on or before it.
+ */
+@Entity
+@Immutable
+@Table(name = "shift_versions", indexes = {
+        @Index(name = "idx_shift_versions_shift", columnList = "shift_id, id")
+})
+public class ShiftVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shift_version_id")
+    @SequenceGenerator(name = "shift_version_id", sequenceName = "shift_versions_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "shift_id", nullable = false)
+    private Long shiftId;
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ShiftType shiftType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DateType dateType;
+
+    @Column(nullable = false)
+    private LocalTime startTime;
+
+    @Column(nullable = false)
+    private LocalTime endTime;
+
+    @Column(nullable = false)
+    private Boolean isNextDayEnd;
+
+    @Column(nullable = false)
+    private Boolean requireClockIn;
+
+    @Column(nullable = false)
+    private Boolean requireClockOut;
+
+    @Column(nullable = false)
+    private Integer clockInEarlyMinutes;
+
+    @Column(nullable = false)
+    private Integer lateThresholdMinutes;
+
+    @Column(nullable = false)
+    private Integer halfDayLateThresholdMinutes;
+
+    @Column(nullable = false)
+    private Integer clockOutLateMinutes;
+
+    @Column(nullable = false)
+    private Integer earlyOutThresholdMinutes;
+
+    @Column(nullable = false)
+    private Integer halfDayEarlyThresholdMinutes;
+
+    @Column(nullable = false)
+    private Integer flexLateHours;
+
+    @Column(nullable = false)
+    private Integer flexLateMinutes;
+
+    @Column(nullable = false)
+    private Integer flexEarlyHours;
+
+    @Column(nullable = false)
+    private Integer flexEarlyMinutes;
+
+    @Column(nullable = false)
+    private Boolean hasBreaks;
+
+    @Column(nullable = false)
+    private Integer breakDurationMinutes;
+
+    private Integer workingHoursMinutes;
+
+    // The user whose edit wrote the version; null for the migration's initial versions
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public ShiftVersion() {
+    }
+
+    /**
+     * The rules a shift holds now, in force from a date on
+     */
+    public ShiftVersion(Shift shift, LocalDate effectiveFrom, Long createdBy) {
+        this.shiftId = shift.getId();
+        this.effectiveFrom = effectiveFrom;
+        this.shiftType = shift.getShiftType();
+        this.dateType = shift.getDateType();
+        this.startTime = shift.getStartTime();
+        this.endTime = shift.getEndTime();
+        this.isNextDayEnd = shift.getIsNextDayEnd();
+        this.requireClockIn = shift.getRequireClockIn();
+        this.requireClockOut = shift.getRequireClockOut();
+        this.clockInEarlyMinutes = shift.getClockInEarlyMinutes();
+        this.lateThresholdMinutes = shift.getLateThresholdMinutes();
+        this.halfDayLateThresholdMinutes = shift.getHalfDayLateThresholdMinutes();
+        this.clockOutLateMinutes = shift.getClockOutLateMinutes();
+        this.earlyOutThresholdMinutes = shift.getEarlyOutThresholdMinutes();
+        this.halfDayEarlyThresholdMinutes = shift.getHalfDayEarlyThresholdMinutes();
+        this.flexLateHours = shift.getFlexLateHours();
+        this.flexLateMinutes = shift.getFlexLateMinutes();
+        this.flexEarlyHours = shift.getFlexEarlyHours();
+        this.flexEarlyMinutes = shift.getFlexEarlyMinutes();
+        this.hasBreaks = shift.getHasBreaks();
+        this.breakDurationMinutes = shift.getBreakDurationMinutes();
+        this.workingHoursMinutes = shift.getWorkingHoursMinutes();
+        this.createdBy = createdBy;
+        this.createdAt = Instant.now();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getShiftId() {
+        return shiftId;
+    }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public ShiftType getShiftType() {
+        return shiftType;
+    }
+
+    public DateType getDateType() {
+        return dateType;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public Boolean getIsNextDayEnd() {
+        return isNextDayEnd;
+    }
+
+    public Boolean getRequireClockIn() {
+        return requireClockIn;
+    }
+
+    public Boolean getRequireClockOut() {
+        return requireClockOut;
+    }
+
+    public Integer getClockInEarlyMinutes() {
+        return clockInEarlyMinutes;
+    }
+
+    public Integer getLateThresholdMinutes() {
+        return lateThresholdMinutes;
+    }
+
+    public Integer getHalfDayLateThresholdMinutes() {
+        return halfDayLateThresholdMinutes;
+    }
+
+    public Integer getClockOutLateMinutes() {
+        return clockOutLateMinutes;
+    }
+
+    public Integer getEarlyOutThresholdMinutes() {
+        return earlyOutThresholdMinutes;
+    }
+
+    public Integer getHalfDayEarlyThresholdMinutes() {
+        return halfDayEarlyThresholdMinutes;
+    }
+
+    public Integer getFlexLateHours() {
+        return flexLateHours;
+    }
+
+    public Integer getFlexLateMinutes() {
+        return flexLateMinutes;
+    }
+
+    public Integer getFlexEarlyHours() {
+        return flexEarlyHours;
+    }
+
+    public Integer getFlexEarlyMinutes() {
+        return flexEarlyMinutes;
+    }
+
+    public Boolean getHasBreaks() {
+        return hasBreaks;
+    }
+
+    public Integer getBreakDurationMinutes() {
+        return breakDurationMinutes;
+    }
+
+    public Integer getWorkingHoursMinutes() {
+        return workingHoursMinutes;
+    }
+
+    public Long getCreatedBy() {
+        return createdBy;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
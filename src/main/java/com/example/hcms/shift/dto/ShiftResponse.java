@@ -42,6 +42,7 @@ public class ShiftResponse {
     private String status;
     private Instant createdAt;
     private Instant updatedAt;
+    private Long version;
 
     public ShiftResponse() {
     }
@@ -262,4 +263,12 @@ public class ShiftResponse {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
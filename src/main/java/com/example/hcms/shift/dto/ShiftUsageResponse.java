@@ -0,0 +1,53 @@
+package com.example.hcms.shift.dto;
+
+import java.util.List;
+
+/**
+ * The active attendance groups that use a shift, and in which slots
+ */
+public class ShiftUsageResponse {
+
+    private final Long shiftId;
+    private final List<GroupUsage> groups;
+
+    public ShiftUsageResponse(Long shiftId, List<GroupUsage> groups) {
+        this.shiftId = shiftId;
+        this.groups = groups;
+    }
+
+    public Long getShiftId() {
+        return shiftId;
+    }
+
+    public List<GroupUsage> getGroups() {
+        return groups;
+    }
+
+    /**
+     * One group using the shift: its default shift (DEFAULT) and/or weekdays (MONDAY ... SUNDAY)
+     */
+    public static class GroupUsage {
+
+        private final Long groupId;
+        private final String groupName;
+        private final List<String> slots;
+
+        public GroupUsage(Long groupId, String groupName, List<String> slots) {
+            this.groupId = groupId;
+            this.groupName = groupName;
+            this.slots = slots;
+        }
+
+        public Long getGroupId() {
+            return groupId;
+        }
+
+        public String getGroupName() {
+            return groupName;
+        }
+
+        public List<String> getSlots() {
+            return slots;
+        }
+    }
+}
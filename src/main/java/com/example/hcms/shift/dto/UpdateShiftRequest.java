@@ -1,11 +1,27 @@
 package com.example.hcms.shift.dto;
 
+import java.time.LocalDate;
+
 /**
  * DTO for updating an existing shift
  * All fields are optional for partial updates
  */
 public class UpdateShiftRequest extends CreateShiftRequest {
+
+    // First date the new rules are in force (yyyy-MM-dd); earlier dates keep the rules in force on them.
+    // Omitted: today. A past date corrects the results back to it; a future one leaves the shift's current
+    // rules in place until then. At most app.attendance.recompute-days back and app.impact.horizon-days ahead.
+    private LocalDate effectiveFrom;
+
     public UpdateShiftRequest() {
         super();
     }
+
+    public LocalDate getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDate effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
 }
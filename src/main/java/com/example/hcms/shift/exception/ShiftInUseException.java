@@ -0,0 +1,10 @@
+package com.example.hcms.shift.exception;
+
+/**
+ * Exception thrown when attempting to delete a shift that active attendance groups still use
+ */
+public class ShiftInUseException extends RuntimeException {
+    public ShiftInUseException(Long id) {
+        super("Shift " + id + " is still used by active attendance groups");
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Optional;
 
 /**
@@ -14,6 +15,21 @@ import java.util.Optional;
  */
 @Repository
 public interface ShiftRepository extends JpaRepository<Shift, Long> {
+
+    /**
+     * Just the columns a strong ETag is built from
+     */
+    interface ValidatorView {
+        Long getVersion();
+
+        Instant getUpdatedAt();
+    }
+
+    /**
+     * Read the validator of a shift without loading the entity
+     */
+    Optional<ValidatorView> findValidatorById(Long id);
+
     Optional<Shift> findByCode(String code);
 
     Page<Shift> findByStatus(ShiftStatus status, Pageable pageable);
@@ -0,0 +1,34 @@
+package com.example.hcms.shift.repository;
+
+import com.example.hcms.shift.domain.ShiftVersion;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for the append-only shift versions, read through the (shift_id, id) index
+ */
+@org.springframework.stereotype.Repository
+public interface ShiftVersionRepository extends Repository<ShiftVersion, Long> {
+
+    ShiftVersion save(ShiftVersion version);
+
+    /**
+     * A shift's newest version, whose rules are in force from its effective date on
+     */
+    Optional<ShiftVersion> findFirstByShiftIdOrderByIdDesc(Long shiftId);
+
+    /**
+     * All of a shift's versions, oldest first
+     */
+    List<ShiftVersion> findByShiftIdOrderByIdAsc(Long shiftId);
+
+    /**
+     * Shifts with a version effective between two dates, inclusive
+     */
+    @Query("SELECT DISTINCT v.shiftId FROM ShiftVersion v WHERE v.effectiveFrom BETWEEN :from AND :to")
+    List<Long> findShiftIdsByEffectiveFromBetween(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,236 @@
+package com.example.hcms.shift.service;
+
+import com.example.hcms.shift.domain.RemoteShiftChangedEvent;
+import com.example.hcms.shift.domain.Shift;
+import com.example.hcms.shift.domain.ShiftChangedEvent;
+import com.example.hcms.shift.domain.ShiftSnapshot;
+import com.example.hcms.shift.repository.ShiftRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-process catalog of every shift as an immutable {@link ShiftSnapshot}, keyed by ID and (for active
+ * shifts) by code. The whole table is read on first use; afterwards each committed shift write
+ * ({@link ShiftChangedEvent}) re-reads just that shift. Reads are a volatile load and a map lookup with
+ * no locking; writers copy the maps and publish a new catalog state, bumping {@link #version()}.
+ *
+ * IDs missing from the catalog are read through from the database, which also picks up shifts written
+ * by another replica. Updates made by another replica arrive through a {@link ShiftChangeBroadcaster}:
+ * each local change is handed to every broadcaster bean, and a {@link RemoteShiftChangedEvent} published
+ * by the receiving adapter re-reads the shift. No broadcaster ships with the application, so across
+ * replicas the catalog is only as fresh as such an adapter makes it.
+ */
+@Component
+public class ShiftCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShiftCatalog.class);
+
+    private final ShiftRepository shiftRepository;
+    private final ObjectProvider<ShiftChangeBroadcaster> broadcasters;
+
+    // Replaced wholesale on every change; null until first use
+    private volatile State state;
+    // Version of the last state dropped by invalidateAll, so versions keep increasing across reloads
+    private volatile long droppedVersion;
+
+    public ShiftCatalog(ShiftRepository shiftRepository, ObjectProvider<ShiftChangeBroadcaster> broadcasters) {
+        this.shiftRepository = shiftRepository;
+        this.broadcasters = broadcasters;
+    }
+
+    /**
+     * Re-read a shift once its write has committed. Runs before other shift listeners, so anything
+     * they recompute sees the new definition.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onShiftChanged(ShiftChangedEvent event) {
+        invalidate(event.getShiftId());
+        broadcasters.orderedStream().forEach(broadcaster -> {
+            try {
+                broadcaster.broadcast(event.getShiftId());
+            } catch (RuntimeException e) {
+                // The write has committed; other replicas catch up on their next reload
+                logger.warn("Could not broadcast change of shift {}", event.getShiftId(), e);
+            }
+        });
+    }
+
+    /**
+     * Re-read a shift another replica changed, or everything if the message names no shift
+     */
+    @EventListener
+    public void onRemoteShiftChanged(RemoteShiftChangedEvent event) {
+        if (event.getShiftId() != null) {
+            invalidate(event.getShiftId());
+        } else {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * A shift of any status
+     *
+     * @return the snapshot, or null if the shift does not exist
+     */
+    public ShiftSnapshot get(Long id) {
+        if (id == null) {
+            return null;
+        }
+        ShiftSnapshot shift = current().byId.get(id);
+        return shift != null ? shift : readThrough(id);
+    }
+
+    /**
+     * Several shifts of any status; one IN query covers the IDs not yet in the catalog
+     *
+     * @return snapshots by ID, in request order; unknown IDs are absent
+     */
+    public Map<Long, ShiftSnapshot> getAll(Collection<Long> ids) {
+        State current = current();
+        Map<Long, ShiftSnapshot> shifts = new LinkedHashMap<>();
+        boolean missing = false;
+        for (Long id : ids) {
+            if (id != null) {
+                ShiftSnapshot shift = current.byId.get(id);
+                missing |= shift == null;
+                shifts.put(id, shift);
+            }
+        }
+        if (missing) {
+            for (Shift shift : shiftRepository.findAllById(
+                    shifts.keySet().stream().filter(id -> shifts.get(id) == null).toList())) {
+                shifts.put(shift.getId(), apply(new ShiftSnapshot(shift)));
+            }
+            shifts.values().removeIf(shift -> shift == null);
+        }
+        return shifts;
+    }
+
+    /**
+     * An active shift by its code
+     *
+     * @return the snapshot, or null if no active shift has that code
+     */
+    public ShiftSnapshot getByCode(String code) {
+        return code != null ? current().byCode.get(code) : null;
+    }
+
+    /**
+     * Increases with every change the catalog applies and every reload; 0 before first use
+     */
+    public long version() {
+        State current = state;
+        return current != null ? current.version : droppedVersion;
+    }
+
+    /**
+     * Re-read one shift from the database
+     */
+    public void invalidate(Long id) {
+        if (state == null) {
+            // Not loaded yet: the first read will see the committed row
+            return;
+        }
+        Shift shift = shiftRepository.findById(id).orElse(null);
+        if (shift != null) {
+            apply(new ShiftSnapshot(shift));
+        } else {
+            remove(id);
+        }
+    }
+
+    /**
+     * Drop the whole catalog; the next read reloads it
+     */
+    public synchronized void invalidateAll() {
+        State current = state;
+        if (current != null) {
+            droppedVersion = current.version;
+            state = null;
+            logger.info("Shift catalog dropped at version {}", current.version);
+        }
+    }
+
+    private State current() {
+        State current = state;
+        return current != null ? current : load();
+    }
+
+    private synchronized State load() {
+        if (state == null) {
+            Map<Long, ShiftSnapshot> byId = new HashMap<>();
+            shiftRepository.findAll().forEach(shift -> byId.put(shift.getId(), new ShiftSnapshot(shift)));
+            state = new State(byId, droppedVersion + 1);
+            logger.debug("Loaded {} shifts into the shift catalog", byId.size());
+        }
+        return state;
+    }
+
+    private ShiftSnapshot readThrough(Long id) {
+        return shiftRepository.findById(id).map(shift -> apply(new ShiftSnapshot(shift))).orElse(null);
+    }
+
+    /**
+     * Publish a snapshot unless the catalog already holds a newer version of the shift
+     *
+     * @return the snapshot now in the catalog
+     */
+    private synchronized ShiftSnapshot apply(ShiftSnapshot shift) {
+        State current = current();
+        ShiftSnapshot held = current.byId.get(shift.getId());
+        if (held != null && versionOf(held) >= versionOf(shift)) {
+            // A slower reader or listener must not overwrite a newer definition
+            return held;
+        }
+        Map<Long, ShiftSnapshot> byId = new HashMap<>(current.byId);
+        byId.put(shift.getId(), shift);
+        state = new State(byId, current.version + 1);
+        return shift;
+    }
+
+    private synchronized void remove(Long id) {
+        State current = current();
+        if (current.byId.containsKey(id)) {
+            Map<Long, ShiftSnapshot> byId = new HashMap<>(current.byId);
+            byId.remove(id);
+            state = new State(byId, current.version + 1);
+        }
+    }
+
+    private static long versionOf(ShiftSnapshot shift) {
+        return shift.getVersion() != null ? shift.getVersion() : -1;
+    }
+
+    /**
+     * One published catalog: never modified after construction
+     */
+    private static final class State {
+        private final Map<Long, ShiftSnapshot> byId;
+        private final Map<String, ShiftSnapshot> byCode;
+        private final long version;
+
+        State(Map<Long, ShiftSnapshot> byId, long version) {
+            this.byId = Map.copyOf(byId);
+            Map<String, ShiftSnapshot> byCode = new HashMap<>();
+            for (ShiftSnapshot shift : byId.values()) {
+                if (shift.isActive() && shift.getCode() != null) {
+                    byCode.put(shift.getCode(), shift);
+                }
+            }
+            this.byCode = Map.copyOf(byCode);
+            this.version = version;
+        }
+    }
+}
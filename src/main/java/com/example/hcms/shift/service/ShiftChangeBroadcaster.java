@@ -0,0 +1,15 @@
+package com.example.hcms.shift.service;
+
+/**
+ * Sends this replica's committed shift changes to the other replicas. A broker adapter implements it
+ * as a bean and, on the receiving side, publishes a {@link com.example.hcms.shift.domain.RemoteShiftChangedEvent}.
+ * No implementation ships with the application: without one, a replica sees another's writes only for
+ * shifts it has not cached yet, or after {@link ShiftCatalog#invalidateAll()}.
+ */
+public interface ShiftChangeBroadcaster {
+
+    /**
+     * Called after the shift's write has committed and the local catalog has re-read it
+     */
+    void broadcast(Long shiftId);
+}
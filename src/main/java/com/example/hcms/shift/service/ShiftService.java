@@ -1,14 +1,19 @@
 package com.example.hcms.shift.service;
 
+import com.example.hcms.common.web.FieldSet;
 import com.example.hcms.shift.domain.Shift;
 import com.example.hcms.shift.domain.ShiftStatus;
 import com.example.hcms.shift.dto.CreateShiftRequest;
 import com.example.hcms.shift.dto.ShiftResponse;
+import com.example.hcms.shift.dto.ShiftUsageResponse;
 import com.example.hcms.shift.dto.UpdateShiftRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.lang.NonNull;
 
+import java.util.Collection;
+import java.util.Map;
+
 /**
  * Service interface for shift management
  */
@@ -18,11 +23,49 @@ public interface ShiftService {
      */
     Shift getShiftById(@NonNull Long id);
 
+    /**
+     * Get a shift's representation from the in-process shift catalog, without a database read once
+     * the catalog holds it
+     */
+    ShiftResponse getShift(@NonNull Long id);
+
     /**
      * Get all shifts with optional filtering
      */
     Page<ShiftResponse> getAllShifts(String search, ShiftStatus status, @NonNull Pageable pageable);
 
+    /**
+     * Parse a fields= selection for shifts
+     *
+     * @return the selection, or null for the full representation
+     */
+    FieldSet selectFields(String fields);
+
+    /**
+     * Get shifts with the same filtering as {@link #getAllShifts}, reading only the selected columns
+     */
+    Page<Map<String, Object>> getAllShifts(String search, ShiftStatus status, @NonNull Pageable pageable,
+            @NonNull FieldSet fields);
+
+    /**
+     * Get the selected fields of a single shift
+     */
+    Map<String, Object> getShiftFields(@NonNull Long id, @NonNull FieldSet fields);
+
+    /**
+     * Get several shifts from the shift catalog; IDs it does not hold yet are read with one IN query
+     *
+     * @return responses by ID; unknown IDs are absent
+     */
+    Map<Long, ShiftResponse> getShiftsByIds(@NonNull Collection<Long> ids);
+
+    /**
+     * Get the selected fields of several shifts with one IN query
+     *
+     * @return rows by ID; unknown IDs are absent
+     */
+    Map<Long, Map<String, Object>> getShiftFieldsByIds(@NonNull Collection<Long> ids, @NonNull FieldSet fields);
+
     /**
      * Create a new shift
      */
@@ -30,13 +73,43 @@ public interface ShiftService {
 
     /**
      * Update an existing shift
+     *
+     * @param expectedVersion version from If-Match, or null for an unconditional update
      */
-    ShiftResponse updateShift(@NonNull Long id, @NonNull UpdateShiftRequest request, @NonNull Long userId);
+    ShiftResponse updateShift(@NonNull Long id, @NonNull UpdateShiftRequest request, @NonNull Long userId,
+            Long expectedVersion);
 
     /**
      * Delete (soft delete) a shift
+     *
+     * @param expectedVersion version from If-Match, or null for an unconditional delete
+     * @throws com.example.hcms.shift.exception.ShiftInUseException if an active attendance group uses it
+     */
+    void deleteShift(@NonNull Long id, @NonNull Long userId, Long expectedVersion);
+
+    /**
+     * The active attendance groups using a shift, read from the shift usage index
+     */
+    ShiftUsageResponse getShiftUsage(@NonNull Long id);
+
+    /**
+     * Current ETag of a shift, read from its version and updatedAt only
+     *
+     * @return the ETag, or null if the shift does not exist
+     */
+    String getShiftETag(@NonNull Long id);
+
+    /**
+     * Current ETag of a shift list query, derived from the in-memory table watermark
+     *
+     * @param fields the sparse fieldset, or null for the full representation
+     */
+    String getShiftsETag(String search, ShiftStatus status, @NonNull Pageable pageable, FieldSet fields);
+
+    /**
+     * ETag of a shift representation
      */
-    void deleteShift(@NonNull Long id, @NonNull Long userId);
+    String eTagOf(ShiftResponse shift);
 
     /**
      * Convert shift entity to response DTO
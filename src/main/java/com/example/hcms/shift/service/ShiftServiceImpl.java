@@ -1,21 +1,52 @@
 package com.example.hcms.shift.service;
 
+import com.example.hcms.attendancegroup.domain.AttendanceGroupStatus;
+import com.example.hcms.attendancegroup.domain.ShiftSlot;
+import com.example.hcms.attendancegroup.repository.AttendanceGroupRepository;
+import com.example.hcms.attendancegroup.repository.AttendanceGroupRepository.ShiftUsageView;
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.common.exception.PreconditionFailedException;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.EntityTags;
+import com.example.hcms.common.web.FieldSet;
+import com.example.hcms.common.web.ResponseFields;
 import com.example.hcms.shift.domain.DateType;
 import com.example.hcms.shift.domain.Shift;
+import com.example.hcms.shift.domain.ShiftChangedEvent;
+import com.example.hcms.shift.domain.ShiftSnapshot;
 import com.example.hcms.shift.domain.ShiftStatus;
 import com.example.hcms.shift.domain.ShiftType;
+import com.example.hcms.shift.domain.ShiftVersion;
 import com.example.hcms.shift.dto.CreateShiftRequest;
 import com.example.hcms.shift.dto.ShiftResponse;
+import com.example.hcms.shift.dto.ShiftUsageResponse;
 import com.example.hcms.shift.dto.UpdateShiftRequest;
+import com.example.hcms.shift.exception.ShiftInUseException;
 import com.example.hcms.shift.exception.ShiftNotFoundException;
 import com.example.hcms.shift.repository.ShiftRepository;
+import com.example.hcms.shift.repository.ShiftVersionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.springframework.lang.NonNull;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Service implementation for shift management - Lark-style
@@ -24,10 +55,65 @@ import java.time.LocalTime;
 @Transactional
 public class ShiftServiceImpl implements ShiftService {
 
+    /**
+     * Sparse fieldset registry; every conversion mirrors {@link #toResponse(Shift)}
+     */
+    private static final ResponseFields<Shift> FIELDS = ResponseFields.builder(Shift.class)
+            .column("id")
+            .column("code")
+            .column("name")
+            .column("description")
+            .column("shiftType", "shiftType", v -> v != null ? v.toString() : "FIXED_TIME")
+            .column("dateType", "dateType", v -> v != null ? v.toString() : "WORK_DAYS")
+            .column("startTime", "startTime", v -> Objects.toString(v, null))
+            .column("endTime", "endTime", v -> Objects.toString(v, null))
+            .column("isNextDayEnd")
+            .column("requireClockIn")
+            .column("requireClockOut")
+            .column("clockInEarlyMinutes")
+            .column("lateThresholdMinutes")
+            .column("halfDayLateThresholdMinutes")
+            .column("clockOutLateMinutes")
+            .column("earlyOutThresholdMinutes")
+            .column("halfDayEarlyThresholdMinutes")
+            .column("flexLateHours")
+            .column("flexLateMinutes")
+            .column("flexEarlyHours")
+            .column("flexEarlyMinutes")
+            .column("hasBreaks")
+            .column("breakDurationMinutes")
+            .column("workingHoursMinutes")
+            .column("status", "status", v -> Objects.toString(v, null))
+            .column("createdAt")
+            .column("updatedAt")
+            .column("version")
+            .build();
+
     private final ShiftRepository shiftRepository;
+    private final ShiftVersionRepository versionRepository;
+    private final ShiftCatalog shiftCatalog;
+    private final AttendanceGroupRepository groupRepository;
+    private final ChangeWatermarks watermarks;
+    private final SparseQueries sparseQueries;
+    private final ApplicationEventPublisher eventPublisher;
+    // How far back and ahead an edit may take effect: the dates schedule impacts are planned over
+    private final int recomputeDays;
+    private final int horizonDays;
 
-    public ShiftServiceImpl(ShiftRepository shiftRepository) {
+    public ShiftServiceImpl(ShiftRepository shiftRepository, ShiftVersionRepository versionRepository,
+            ShiftCatalog shiftCatalog, AttendanceGroupRepository groupRepository, ChangeWatermarks watermarks,
+            SparseQueries sparseQueries, ApplicationEventPublisher eventPublisher,
+            @Value("${app.attendance.recompute-days:31}") int recomputeDays,
+            @Value("${app.impact.horizon-days:31}") int horizonDays) {
         this.shiftRepository = shiftRepository;
+        this.versionRepository = versionRepository;
+        this.shiftCatalog = shiftCatalog;
+        this.groupRepository = groupRepository;
+        this.watermarks = watermarks;
+        this.sparseQueries = sparseQueries;
+        this.eventPublisher = eventPublisher;
+        this.recomputeDays = recomputeDays;
+        this.horizonDays = horizonDays;
     }
 
     @Override
@@ -37,6 +123,17 @@ public class ShiftServiceImpl implements ShiftService {
                 .orElseThrow(() -> new ShiftNotFoundException(id));
     }
 
+    // Served from memory, so no transaction (and no pooled connection) unless the catalog reads through
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ShiftResponse getShift(@NonNull Long id) {
+        ShiftSnapshot shift = shiftCatalog.get(id);
+        if (shift == null) {
+            throw new ShiftNotFoundException(id);
+        }
+        return toResponse(shift);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ShiftResponse> getAllShifts(String search, ShiftStatus status, @NonNull Pageable pageable) {
@@ -56,6 +153,51 @@ public class ShiftServiceImpl implements ShiftService {
         return shifts.map(this::toResponse);
     }
 
+    @Override
+    public FieldSet selectFields(String fields) {
+        return FIELDS.select(fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> getAllShifts(String search, ShiftStatus status, @NonNull Pageable pageable,
+            @NonNull FieldSet fields) {
+        Specification<Shift> spec;
+        if (search != null && !search.trim().isEmpty()) {
+            // Same rules as the full listing: search is name-only and ACTIVE-only
+            String pattern = "%" + search.toLowerCase() + "%";
+            spec = (root, query, cb) -> cb.and(
+                    cb.equal(root.get("status"), ShiftStatus.ACTIVE),
+                    cb.like(cb.lower(root.get("name")), pattern));
+        } else {
+            ShiftStatus effectiveStatus = status != null ? status : ShiftStatus.ACTIVE;
+            spec = (root, query, cb) -> cb.equal(root.get("status"), effectiveStatus);
+        }
+        return sparseQueries.findPage(FIELDS, fields, spec, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Object> getShiftFields(@NonNull Long id, @NonNull FieldSet fields) {
+        return sparseQueries.findOne(FIELDS, fields, (root, query, cb) -> cb.equal(root.get("id"), id))
+                .orElseThrow(() -> new ShiftNotFoundException(id));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Map<Long, ShiftResponse> getShiftsByIds(@NonNull Collection<Long> ids) {
+        Map<Long, ShiftResponse> shifts = new HashMap<>();
+        shiftCatalog.getAll(ids).forEach((id, shift) -> shifts.put(id, toResponse(shift)));
+        return shifts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Map<String, Object>> getShiftFieldsByIds(@NonNull Collection<Long> ids,
+            @NonNull FieldSet fields) {
+        return sparseQueries.findAllById(FIELDS, fields, ids, null);
+    }
+
     @Override
     public ShiftResponse createShift(@NonNull CreateShiftRequest request, @NonNull Long userId) {
         Shift shift = new Shift();
@@ -106,12 +248,35 @@ public class ShiftServiceImpl implements ShiftService {
         shift.setStatus(ShiftStatus.ACTIVE);
 
         Shift savedShift = shiftRepository.save(shift);
+        versionRepository.save(new ShiftVersion(savedShift, LocalDate.now(), userId));
+        watermarks.bump(ChangeWatermarks.SHIFTS);
+        eventPublisher.publishEvent(new ShiftChangedEvent(savedShift.getId()));
         return toResponse(savedShift);
     }
 
     @Override
-    public ShiftResponse updateShift(@NonNull Long id, @NonNull UpdateShiftRequest request, @NonNull Long userId) {
+    public ShiftResponse updateShift(@NonNull Long id, @NonNull UpdateShiftRequest request, @NonNull Long userId,
+            Long expectedVersion) {
         Shift shift = getShiftById(id);
+        checkVersion(shift, expectedVersion);
+        LocalDate today = LocalDate.now();
+        LocalDate effectiveFrom = request.getEffectiveFrom() != null ? request.getEffectiveFrom() : today;
+        if (request.getEffectiveFrom() != null && (effectiveFrom.isBefore(today.minusDays(recomputeDays))
+                || effectiveFrom.isAfter(today.plusDays(horizonDays)))) {
+            throw new InvalidParameterException("effectiveFrom must be between " + today.minusDays(recomputeDays)
+                    + " and " + today.plusDays(horizonDays));
+        }
+        ShiftSnapshot current = new ShiftSnapshot(shift);
+        // A version scheduled after today is always the newest: edits before its date are rejected below
+        ShiftVersion scheduled = versionRepository.findFirstByShiftIdOrderByIdDesc(id)
+                .filter(version -> version.getEffectiveFrom().isAfter(today))
+                .orElse(null);
+        // The rules the edit starts from: those in force on its effective date
+        ShiftSnapshot previous = current;
+        if (scheduled != null && !effectiveFrom.isBefore(scheduled.getEffectiveFrom())) {
+            previous = new ShiftSnapshot(current, scheduled);
+            shift.applyRules(previous);
+        }
 
         // Basic info
         if (request.getName() != null && !request.getName().isEmpty()) {
@@ -191,20 +356,106 @@ public class ShiftServiceImpl implements ShiftService {
         }
 
         shift.setUpdatedBy(userId);
-        Shift updatedShift = shiftRepository.save(shift);
+        shift.calculateWorkingHours();
+        ShiftSnapshot updated = new ShiftSnapshot(shift);
+        // New rules apply from the effective date on; dates before it keep the version in force on them
+        if (!previous.hasSameRules(updated)) {
+            if (scheduled != null && effectiveFrom.isBefore(scheduled.getEffectiveFrom())) {
+                // It would silently supersede the scheduled version
+                throw new InvalidParameterException("Shift " + id + " has new rules scheduled from "
+                        + scheduled.getEffectiveFrom() + "; effectiveFrom must not be earlier");
+            }
+            versionRepository.save(new ShiftVersion(shift, effectiveFrom, userId));
+            // The row's version moves with every version written, so caches keyed on it reload
+            shift.setUpdatedAt(Instant.now());
+        }
+        if (effectiveFrom.isAfter(today)) {
+            // The row holds the rules in force today; ShiftVersionActivationJob applies these on their date
+            shift.applyRules(current);
+        }
+        // Flush so the versioned UPDATE runs now and the response carries the new version
+        Shift updatedShift = shiftRepository.saveAndFlush(shift);
+        watermarks.bump(ChangeWatermarks.SHIFTS);
+        eventPublisher.publishEvent(new ShiftChangedEvent(id, previous, updated, effectiveFrom));
         return toResponse(updatedShift);
     }
 
     @Override
-    public void deleteShift(@NonNull Long id, @NonNull Long userId) {
+    public void deleteShift(@NonNull Long id, @NonNull Long userId, Long expectedVersion) {
         Shift shift = getShiftById(id);
+        checkVersion(shift, expectedVersion);
+        if (groupRepository.existsByShiftUsage(id, AttendanceGroupStatus.ACTIVE)) {
+            throw new ShiftInUseException(id);
+        }
         shift.setStatus(ShiftStatus.INACTIVE);
         shift.setUpdatedBy(userId);
-        shiftRepository.save(shift);
+        shiftRepository.saveAndFlush(shift);
+        watermarks.bump(ChangeWatermarks.SHIFTS);
+        eventPublisher.publishEvent(new ShiftChangedEvent(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ShiftUsageResponse getShiftUsage(@NonNull Long id) {
+        if (!shiftRepository.existsById(id)) {
+            throw new ShiftNotFoundException(id);
+        }
+        // Rows arrive ordered by group name; slots are listed default first, then Monday to Sunday
+        Map<Long, ShiftUsageResponse.GroupUsage> groups = new LinkedHashMap<>();
+        for (ShiftUsageView usage : groupRepository.findShiftUsage(id, AttendanceGroupStatus.ACTIVE)) {
+            groups.computeIfAbsent(usage.getGroupId(),
+                    groupId -> new ShiftUsageResponse.GroupUsage(groupId, usage.getGroupName(), new ArrayList<>()))
+                    .getSlots().add(usage.getSlot().name());
+        }
+        groups.values().forEach(group -> group.getSlots().sort(Comparator.comparing(ShiftSlot::valueOf)));
+        return new ShiftUsageResponse(id, List.copyOf(groups.values()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getShiftETag(@NonNull Long id) {
+        return shiftRepository.findValidatorById(id)
+                .map(v -> EntityTags.forResource(v.getVersion(), epochSecond(v.getUpdatedAt()), null))
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public String getShiftsETag(String search, ShiftStatus status, @NonNull Pageable pageable, FieldSet fields) {
+        return EntityTags.forList(watermarks.stamp(ChangeWatermarks.SHIFTS),
+                search, status, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString(),
+                fields != null ? fields.key() : null);
+    }
+
+    @Override
+    public String eTagOf(ShiftResponse shift) {
+        return EntityTags.forResource(shift.getVersion(), epochSecond(shift.getUpdatedAt()), null);
+    }
+
+    /**
+     * Seconds only: the column has no fractional part, so an in-memory timestamp must
+     * produce the same tag as the value read back from the database
+     */
+    private static long epochSecond(Instant instant) {
+        return instant != null ? instant.getEpochSecond() : 0L;
+    }
+
+    /**
+     * Reject a conditional write whose If-Match version is stale. The race between this
+     * check and commit is covered by the versioned UPDATE, so no row lock is taken.
+     */
+    private void checkVersion(Shift shift, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(shift.getVersion())) {
+            throw new PreconditionFailedException("Shift", shift.getId(), expectedVersion, shift.getVersion());
+        }
     }
 
     @Override
     public ShiftResponse toResponse(Shift shift) {
+        return toResponse(new ShiftSnapshot(shift));
+    }
+
+    private ShiftResponse toResponse(ShiftSnapshot shift) {
         ShiftResponse response = new ShiftResponse();
         response.setId(shift.getId());
         response.setCode(shift.getCode());
@@ -233,6 +484,7 @@ public class ShiftServiceImpl implements ShiftService {
         response.setStatus(shift.getStatus().toString());
         response.setCreatedAt(shift.getCreatedAt());
         response.setUpdatedAt(shift.getUpdatedAt());
+        response.setVersion(shift.getVersion());
         return response;
     }
 }
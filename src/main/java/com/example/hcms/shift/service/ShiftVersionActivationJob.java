@@ -0,0 +1,104 @@
+package com.example.hcms.shift.service;
+
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.shift.domain.ShiftChangedEvent;
+import com.example.hcms.shift.domain.ShiftSnapshot;
+import com.example.hcms.shift.repository.ShiftRepository;
+import com.example.hcms.shift.repository.ShiftVersionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Applies shift rules scheduled for a later date to the shift once that date has come. Until then the
+ * shift's row, and every read of it (the shift catalog, the schedule resolver, the shift and attendance
+ * group responses), holds the rules in force today; only {@link ShiftVersions} sees the scheduled ones.
+ *
+ * Runs shortly after midnight and at startup, so a date passed while the application was down is caught
+ * up. The schedule impact of the new rules was planned when the edit wrote them, so nothing is planned
+ * here.
+ */
+@Component
+public class ShiftVersionActivationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShiftVersionActivationJob.class);
+
+    private final ShiftRepository shiftRepository;
+    private final ShiftVersionRepository versionRepository;
+    private final ShiftVersions shiftVersions;
+    private final ChangeWatermarks watermarks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactions;
+    private final int recomputeDays;
+
+    public ShiftVersionActivationJob(ShiftRepository shiftRepository, ShiftVersionRepository versionRepository,
+            ShiftVersions shiftVersions, ChangeWatermarks watermarks, ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.attendance.recompute-days:31}") int recomputeDays) {
+        this.shiftRepository = shiftRepository;
+        this.versionRepository = versionRepository;
+        this.shiftVersions = shiftVersions;
+        this.watermarks = watermarks;
+        this.eventPublisher = eventPublisher;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.recomputeDays = recomputeDays;
+    }
+
+    @Scheduled(cron = "${app.shifts.version-activation-cron:0 5 0 * * *}")
+    public void activateToday() {
+        activate(LocalDate.now());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        activate(LocalDate.now());
+    }
+
+    /**
+     * Bring every shift with a version that took effect in the last {@code app.attendance.recompute-days}
+     * days up to the rules in force on a date, one transaction per shift
+     *
+     * @return the number of shifts changed
+     */
+    public int activate(LocalDate date) {
+        int activated = 0;
+        for (Long shiftId : versionRepository.findShiftIdsByEffectiveFromBetween(date.minusDays(recomputeDays),
+                date)) {
+            try {
+                if (Boolean.TRUE.equals(transactions.execute(status -> activate(shiftId, date)))) {
+                    activated++;
+                }
+            } catch (RuntimeException e) {
+                // E.g. an edit of the same shift won the optimistic lock; the next run retries
+                logger.warn("Failed to apply the rules of shift {} in force on {}", shiftId, date, e);
+            }
+        }
+        if (activated > 0) {
+            logger.info("Applied scheduled rules to {} shifts for {}", activated, date);
+        }
+        return activated;
+    }
+
+    private boolean activate(Long shiftId, LocalDate date) {
+        ShiftSnapshot due = shiftVersions.rulesOn(shiftId, date);
+        return shiftRepository.findById(shiftId)
+                .filter(shift -> due != null && !new ShiftSnapshot(shift).hasSameRules(due))
+                .map(shift -> {
+                    shift.applyRules(due);
+                    shiftRepository.saveAndFlush(shift);
+                    watermarks.bump(ChangeWatermarks.SHIFTS);
+                    eventPublisher.publishEvent(new ShiftChangedEvent(shiftId));
+                    return true;
+                })
+                .orElse(false);
+    }
+}
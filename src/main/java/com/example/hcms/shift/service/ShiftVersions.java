@@ -0,0 +1,114 @@
+package com.example.hcms.shift.service;
+
+import com.example.hcms.shift.domain.ShiftSnapshot;
+import com.example.hcms.shift.domain.ShiftVersion;
+import com.example.hcms.shift.repository.ShiftVersionRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The rules in force for a shift on a date, from its {@link ShiftVersion}s. Per shift, the newest version
+ * is read on first use and kept in memory: it is in force from its effective date on, so dates since then
+ * (nearly every lookup) are answered from it without a query. The first lookup of an earlier date loads
+ * all the shift's versions once, folds them into a timeline of non-overlapping periods and keeps it;
+ * lookups are then a binary search, O(log versions).
+ *
+ * Entries are tied to the catalog snapshot they were built from: a shift write replaces the snapshot once
+ * it has committed, together with any version it wrote, and the next lookup rebuilds the entry.
+ */
+@Component
+public class ShiftVersions {
+
+    private final ShiftCatalog shiftCatalog;
+    private final ShiftVersionRepository repository;
+    private final ConcurrentHashMap<Long, Versions> byShift = new ConcurrentHashMap<>();
+
+    public ShiftVersions(ShiftCatalog shiftCatalog, ShiftVersionRepository repository) {
+        this.shiftCatalog = shiftCatalog;
+        this.repository = repository;
+    }
+
+    /**
+     * A shift with the rules in force on a date. Dates before the first version get the first version's
+     * rules; a shift without versions gets its current ones.
+     *
+     * @return the snapshot, or null if the shift does not exist
+     */
+    public ShiftSnapshot rulesOn(Long shiftId, LocalDate date) {
+        ShiftSnapshot shift = shiftCatalog.get(shiftId);
+        if (shift == null) {
+            return null;
+        }
+        Versions versions = byShift.get(shiftId);
+        if (versions == null || versions.shift != shift) {
+            versions = repository.findFirstByShiftIdOrderByIdDesc(shiftId)
+                    .map(newest -> new Versions(shift, newest))
+                    .orElseGet(() -> new Versions(shift, null));
+            byShift.put(shiftId, versions);
+        }
+        return versions.on(date);
+    }
+
+    /**
+     * One shift's versions: the newest always, the earlier ones once a date before it is looked up
+     */
+    private final class Versions {
+        private final ShiftSnapshot shift;
+        private final ShiftSnapshot newest;
+        private final LocalDate newestFrom;
+        // Start of each period, ascending, and the rules in force from it to the next
+        private LocalDate[] starts;
+        private ShiftSnapshot[] periods;
+
+        Versions(ShiftSnapshot shift, ShiftVersion newest) {
+            this.shift = shift;
+            this.newest = newest != null ? new ShiftSnapshot(shift, newest) : shift;
+            this.newestFrom = newest != null ? newest.getEffectiveFrom() : LocalDate.MIN;
+        }
+
+        ShiftSnapshot on(LocalDate date) {
+            if (!date.isBefore(newestFrom)) {
+                return newest;
+            }
+            synchronized (this) {
+                if (starts == null) {
+                    load();
+                }
+            }
+            int index = Arrays.binarySearch(starts, date);
+            // Not found: insertion point - 1 is the last period starting before the date
+            int period = index >= 0 ? index : Math.max(0, -index - 2);
+            return periods[period];
+        }
+
+        /**
+         * Fold the versions, oldest first, into periods: each version ends every period starting on or
+         * after its effective date and opens its own
+         */
+        private void load() {
+            List<ShiftVersion> timeline = new ArrayList<>();
+            for (ShiftVersion version : repository.findByShiftIdOrderByIdAsc(shift.getId())) {
+                while (!timeline.isEmpty()
+                        && !timeline.get(timeline.size() - 1).getEffectiveFrom().isBefore(version.getEffectiveFrom())) {
+                    timeline.remove(timeline.size() - 1);
+                }
+                timeline.add(version);
+            }
+            LocalDate[] loadedStarts = new LocalDate[timeline.size()];
+            ShiftSnapshot[] loadedPeriods = new ShiftSnapshot[timeline.size()];
+            for (int i = 0; i < timeline.size(); i++) {
+                ShiftVersion version = timeline.get(i);
+                loadedStarts[i] = version.getEffectiveFrom();
+                loadedPeriods[i] = version.getId().equals(newest.getShiftVersionId()) ? newest
+                        : new ShiftSnapshot(shift, version);
+            }
+            periods = loadedPeriods;
+            starts = loadedStarts;
+        }
+    }
+}
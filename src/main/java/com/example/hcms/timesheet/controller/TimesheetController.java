@@ -0,0 +1,67 @@
+package com.example.hcms.timesheet.controller;
+
+import com.example.hcms.timesheet.dto.TimesheetResponse;
+import com.example.hcms.timesheet.dto.TimesheetRunResponse;
+import com.example.hcms.timesheet.service.TimesheetService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * REST controller for month-end timesheets
+ */
+@RestController
+@RequestMapping("/api/v1/timesheets")
+public class TimesheetController {
+
+    private final TimesheetService timesheetService;
+
+    public TimesheetController(TimesheetService timesheetService) {
+        this.timesheetService = timesheetService;
+    }
+
+    /**
+     * Start aggregating a month (yyyy-MM) in the background, or resume its unfinished run. Poll the run
+     * for progress.
+     */
+    @PostMapping("/runs")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
+    public ResponseEntity<TimesheetRunResponse> startRun(
+            @RequestParam YearMonth month,
+            Authentication authentication) {
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(timesheetService.startRun(month, requireUserId(authentication)));
+    }
+
+    @GetMapping("/runs/{id}")
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
+    public ResponseEntity<TimesheetRunResponse> getRun(@PathVariable Long id) {
+        return ResponseEntity.ok(timesheetService.getRun(id));
+    }
+
+    /**
+     * A group's timesheets for a month, as the month's last run wrote them
+     */
+    @GetMapping
+    @PreAuthorize("hasAnyRole('HR_ADMIN', 'ADMIN')")
+    public ResponseEntity<List<TimesheetResponse>> getTimesheets(
+            @RequestParam YearMonth month,
+            @RequestParam Long groupId) {
+
+        return ResponseEntity.ok(timesheetService.getTimesheets(month, groupId));
+    }
+
+    private Long requireUserId(Authentication authentication) {
+        if (authentication != null && authentication.getPrincipal() instanceof Long) {
+            return (Long) authentication.getPrincipal();
+        }
+        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not authenticated");
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.hcms.timesheet.domain;
+
+import com.example.hcms.attendance.domain.DailyStatus;
+import com.example.hcms.attendance.repository.DailyAttendanceRepository.DayView;
+import com.example.hcms.attendancegroup.domain.ScheduleDayType;
+import com.example.hcms.shift.domain.PunchOutcome;
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Timesheet entity - one user's attendance totals for a month, folded from the user's daily attendance
+ * results by a timesheet run. Running the month again replaces the row.
+ */
+@Entity
+@Table(name = "timesheets", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_timesheets_period_user", columnNames = { "period_start", "user_id" })
+}, indexes = {
+        @Index(name = "idx_timesheets_period_group", columnList = "period_start, attendance_group_id")
+})
+public class Timesheet {
+
+    private static final int LATE = PunchOutcome.LATE.bit() | PunchOutcome.HALF_DAY_LATE.bit();
+    private static final int EARLY_OUT = PunchOutcome.EARLY_OUT.bit() | PunchOutcome.HALF_DAY_EARLY.bit();
+    private static final int HALF_DAY = PunchOutcome.HALF_DAY_LATE.bit() | PunchOutcome.HALF_DAY_EARLY.bit();
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "timesheet_id")
+    @SequenceGenerator(name = "timesheet_id", sequenceName = "timesheets_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // First day of the month
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    // The user's group when the timesheet was written
+    @Column(name = "attendance_group_id", nullable = false)
+    private Long attendanceGroupId;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    // Days with a shift
+    @Column(name = "days_scheduled", nullable = false)
+    private Integer daysScheduled = 0;
+
+    // Days with any punch
+    @Column(name = "days_worked", nullable = false)
+    private Integer daysWorked = 0;
+
+    @Column(name = "late_count", nullable = false)
+    private Integer lateCount = 0;
+
+    @Column(name = "late_minutes", nullable = false)
+    private Integer lateMinutes = 0;
+
+    @Column(name = "early_out_count", nullable = false)
+    private Integer earlyOutCount = 0;
+
+    @Column(name = "early_out_minutes", nullable = false)
+    private Integer earlyOutMinutes = 0;
+
+    // Days half-day late or half-day early
+    @Column(name = "half_days", nullable = false)
+    private Integer halfDays = 0;
+
+    @Column(nullable = false)
+    private Integer absences = 0;
+
+    @Column(name = "worked_minutes", nullable = false)
+    private Integer workedMinutes = 0;
+
+    @Column(name = "computed_at", nullable = false)
+    private Instant computedAt;
+
+    public Timesheet() {
+    }
+
+    public Timesheet(Long userId, LocalDate periodStart, Long attendanceGroupId, Long runId, Instant computedAt) {
+        this.userId = userId;
+        this.periodStart = periodStart;
+        this.attendanceGroupId = attendanceGroupId;
+        this.runId = runId;
+        this.computedAt = computedAt;
+    }
+
+    /**
+     * Add one day's result to the totals
+     */
+    public void add(DayView day) {
+        int outcomes = day.getOutcomes();
+        if (day.getDayType() == ScheduleDayType.WORKING) {
+            daysScheduled++;
+        }
+        if (day.getClockIn() != null || day.getClockOut() != null) {
+            daysWorked++;
+        }
+        if ((outcomes & LATE) != 0) {
+            lateCount++;
+            lateMinutes += day.getLateMinutes();
+        }
+        if ((outcomes & EARLY_OUT) != 0) {
+            earlyOutCount++;
+            earlyOutMinutes += day.getEarlyOutMinutes();
+        }
+        if ((outcomes & HALF_DAY) != 0) {
+            halfDays++;
+        }
+        if (day.getStatus() == DailyStatus.ABSENT) {
+            absences++;
+        }
+        workedMinutes += day.getWorkedMinutes();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+
+    public Long getRunId() {
+        return runId;
+    }
+
+    public Integer getDaysScheduled() {
+        return daysScheduled;
+    }
+
+    public Integer getDaysWorked() {
+        return daysWorked;
+    }
+
+    public Integer getLateCount() {
+        return lateCount;
+    }
+
+    public Integer getLateMinutes() {
+        return lateMinutes;
+    }
+
+    public Integer getEarlyOutCount() {
+        return earlyOutCount;
+    }
+
+    public Integer getEarlyOutMinutes() {
+        return earlyOutMinutes;
+    }
+
+    public Integer getHalfDays() {
+        return halfDays;
+    }
+
+    public Integer getAbsences() {
+        return absences;
+    }
+
+    public Integer getWorkedMinutes() {
+        return workedMinutes;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+}
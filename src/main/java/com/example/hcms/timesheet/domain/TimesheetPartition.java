@@ -0,0 +1,90 @@
+package com.example.hcms.timesheet.domain;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Timesheet partition entity - the members of one attendance group within a range of user IDs, the unit
+ * a timesheet run aggregates in one transaction. Its status is written in the same transaction as its
+ * timesheets, so it is the run's checkpoint: a done partition is never aggregated again by that run.
+ */
+@Entity
+@Table(name = "timesheet_partitions", indexes = {
+        @Index(name = "idx_timesheet_partitions_run", columnList = "run_id, status")
+})
+public class TimesheetPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "timesheet_partition_id")
+    @SequenceGenerator(name = "timesheet_partition_id", sequenceName = "timesheet_partitions_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "group_id", nullable = false)
+    private Long groupId;
+
+    // Members with IDs in this range, both inclusive, as the group has them when the partition runs
+    @Column(name = "from_user_id", nullable = false)
+    private Long fromUserId;
+
+    @Column(name = "to_user_id", nullable = false)
+    private Long toUserId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TimesheetPartitionStatus status = TimesheetPartitionStatus.PENDING;
+
+    // Timesheets written when done
+    @Column(nullable = false)
+    private Integer timesheets = 0;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    public TimesheetPartition() {
+    }
+
+    public TimesheetPartition(Long runId, Long groupId, Long fromUserId, Long toUserId) {
+        this.runId = runId;
+        this.groupId = groupId;
+        this.fromUserId = fromUserId;
+        this.toUserId = toUserId;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRunId() {
+        return runId;
+    }
+
+    public Long getGroupId() {
+        return groupId;
+    }
+
+    public Long getFromUserId() {
+        return fromUserId;
+    }
+
+    public Long getToUserId() {
+        return toUserId;
+    }
+
+    public TimesheetPartitionStatus getStatus() {
+        return status;
+    }
+
+    public Integer getTimesheets() {
+        return timesheets;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+}
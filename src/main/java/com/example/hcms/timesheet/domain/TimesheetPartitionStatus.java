@@ -0,0 +1,10 @@
+package com.example.hcms.timesheet.domain;
+
+/**
+ * Progress of one partition of a timesheet run
+ */
+public enum TimesheetPartitionStatus {
+    PENDING, // Not aggregated yet
+    DONE, // Timesheets written; a resumed run skips it
+    FAILED // Rolled back; a resumed run aggregates it again
+}
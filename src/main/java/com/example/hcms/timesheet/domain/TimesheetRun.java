@@ -0,0 +1,101 @@
+package com.example.hcms.timesheet.domain;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Timesheet run entity - one month-end aggregation of a month's timesheets. Its work is planned once as
+ * {@link TimesheetPartition}s, whose progress survives a restart; running the month again while a run is
+ * unfinished resumes that run instead of planning a new one.
+ */
+@Entity
+@Table(name = "timesheet_runs", indexes = {
+        @Index(name = "idx_timesheet_runs_period", columnList = "period_start, status")
+})
+public class TimesheetRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // First day of the month
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TimesheetRunStatus status = TimesheetRunStatus.RUNNING;
+
+    @Column(nullable = false)
+    private Integer partitions = 0;
+
+    // The user who started the run; null for the scheduled month close
+    @Column(name = "started_by")
+    private Long startedBy;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    public TimesheetRun() {
+    }
+
+    public TimesheetRun(LocalDate periodStart, Long startedBy, Instant startedAt) {
+        this.periodStart = periodStart;
+        this.startedBy = startedBy;
+        this.startedAt = startedAt;
+    }
+
+    public void planned(int partitions) {
+        this.partitions = partitions;
+    }
+
+    /**
+     * Work through the partitions not done yet
+     */
+    public void resume() {
+        status = TimesheetRunStatus.RUNNING;
+        finishedAt = null;
+    }
+
+    /**
+     * End a pass over the partitions: completed if every partition is done, failed otherwise
+     */
+    public void finish(boolean complete, Instant now) {
+        status = complete ? TimesheetRunStatus.COMPLETED : TimesheetRunStatus.FAILED;
+        finishedAt = now;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public TimesheetRunStatus getStatus() {
+        return status;
+    }
+
+    public Integer getPartitions() {
+        return partitions;
+    }
+
+    public Long getStartedBy() {
+        return startedBy;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.hcms.timesheet.domain;
+
+/**
+ * Lifecycle of a month-end timesheet run
+ */
+public enum TimesheetRunStatus {
+    RUNNING, // Planned or working through its partitions; also a run interrupted by a restart
+    COMPLETED, // Every partition is done
+    FAILED // Finished a pass with failed partitions; starting the month again resumes it
+}
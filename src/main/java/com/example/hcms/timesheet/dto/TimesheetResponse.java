@@ -0,0 +1,100 @@
+package com.example.hcms.timesheet.dto;
+
+import com.example.hcms.timesheet.domain.Timesheet;
+
+import java.time.Instant;
+import java.time.YearMonth;
+
+/**
+ * One user's attendance totals for a month
+ */
+public class TimesheetResponse {
+
+    private Long userId;
+    private YearMonth month;
+    private Long attendanceGroupId;
+    private Integer daysScheduled;
+    private Integer daysWorked;
+    private Integer lateCount;
+    private Integer lateMinutes;
+    private Integer earlyOutCount;
+    private Integer earlyOutMinutes;
+    private Integer halfDays;
+    private Integer absences;
+    private Integer workedMinutes;
+    private Long runId;
+    private Instant computedAt;
+
+    public TimesheetResponse(Timesheet timesheet) {
+        this.userId = timesheet.getUserId();
+        this.month = YearMonth.from(timesheet.getPeriodStart());
+        this.attendanceGroupId = timesheet.getAttendanceGroupId();
+        this.daysScheduled = timesheet.getDaysScheduled();
+        this.daysWorked = timesheet.getDaysWorked();
+        this.lateCount = timesheet.getLateCount();
+        this.lateMinutes = timesheet.getLateMinutes();
+        this.earlyOutCount = timesheet.getEarlyOutCount();
+        this.earlyOutMinutes = timesheet.getEarlyOutMinutes();
+        this.halfDays = timesheet.getHalfDays();
+        this.absences = timesheet.getAbsences();
+        this.workedMinutes = timesheet.getWorkedMinutes();
+        this.runId = timesheet.getRunId();
+        this.computedAt = timesheet.getComputedAt();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public Long getAttendanceGroupId() {
+        return attendanceGroupId;
+    }
+
+    public Integer getDaysScheduled() {
+        return daysScheduled;
+    }
+
+    public Integer getDaysWorked() {
+        return daysWorked;
+    }
+
+    public Integer getLateCount() {
+        return lateCount;
+    }
+
+    public Integer getLateMinutes() {
+        return lateMinutes;
+    }
+
+    public Integer getEarlyOutCount() {
+        return earlyOutCount;
+    }
+
+    public Integer getEarlyOutMinutes() {
+        return earlyOutMinutes;
+    }
+
+    public Integer getHalfDays() {
+        return halfDays;
+    }
+
+    public Integer getAbsences() {
+        return absences;
+    }
+
+    public Integer getWorkedMinutes() {
+        return workedMinutes;
+    }
+
+    public Long getRunId() {
+        return runId;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+}
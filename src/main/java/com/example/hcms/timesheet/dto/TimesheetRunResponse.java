@@ -0,0 +1,77 @@
+package com.example.hcms.timesheet.dto;
+
+import com.example.hcms.timesheet.domain.TimesheetRun;
+import com.example.hcms.timesheet.domain.TimesheetRunStatus;
+
+import java.time.Instant;
+import java.time.YearMonth;
+
+/**
+ * A timesheet run and its progress
+ */
+public class TimesheetRunResponse {
+
+    private Long id;
+    private YearMonth month;
+    private TimesheetRunStatus status;
+    private Integer partitions;
+    private long donePartitions;
+    private long failedPartitions;
+    private long timesheets;
+    private Long startedBy;
+    private Instant startedAt;
+    private Instant finishedAt;
+
+    public TimesheetRunResponse(TimesheetRun run, long donePartitions, long failedPartitions, long timesheets) {
+        this.id = run.getId();
+        this.month = YearMonth.from(run.getPeriodStart());
+        this.status = run.getStatus();
+        this.partitions = run.getPartitions();
+        this.donePartitions = donePartitions;
+        this.failedPartitions = failedPartitions;
+        this.timesheets = timesheets;
+        this.startedBy = run.getStartedBy();
+        this.startedAt = run.getStartedAt();
+        this.finishedAt = run.getFinishedAt();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public YearMonth getMonth() {
+        return month;
+    }
+
+    public TimesheetRunStatus getStatus() {
+        return status;
+    }
+
+    public Integer getPartitions() {
+        return partitions;
+    }
+
+    public long getDonePartitions() {
+        return donePartitions;
+    }
+
+    public long getFailedPartitions() {
+        return failedPartitions;
+    }
+
+    public long getTimesheets() {
+        return timesheets;
+    }
+
+    public Long getStartedBy() {
+        return startedBy;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+}
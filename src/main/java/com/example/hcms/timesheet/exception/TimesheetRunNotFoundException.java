@@ -0,0 +1,10 @@
+package com.example.hcms.timesheet.exception;
+
+/**
+ * Exception thrown when a timesheet run is not found
+ */
+public class TimesheetRunNotFoundException extends RuntimeException {
+    public TimesheetRunNotFoundException(Long runId) {
+        super("Timesheet run with ID " + runId + " not found");
+    }
+}
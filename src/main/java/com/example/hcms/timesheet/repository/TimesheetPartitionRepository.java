@@ -0,0 +1,42 @@
+package com.example.hcms.timesheet.repository;
+
+import com.example.hcms.timesheet.domain.TimesheetPartition;
+import com.example.hcms.timesheet.domain.TimesheetPartitionStatus;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository for the partitions of timesheet runs, read through the (run_id, status) index
+ */
+@org.springframework.stereotype.Repository
+public interface TimesheetPartitionRepository extends Repository<TimesheetPartition, Long> {
+
+    List<TimesheetPartition> saveAll(Iterable<TimesheetPartition> partitions);
+
+    /**
+     * A run's partitions in any status but one, e.g. those a resumed run still has to aggregate
+     */
+    List<TimesheetPartition> findByRunIdAndStatusNotOrderByIdAsc(Long runId, TimesheetPartitionStatus status);
+
+    long countByRunIdAndStatus(Long runId, TimesheetPartitionStatus status);
+
+    /**
+     * Timesheets written by a run's done partitions
+     */
+    @Query("SELECT COALESCE(SUM(p.timesheets), 0) FROM TimesheetPartition p WHERE p.runId = :runId")
+    long sumTimesheetsByRunId(@Param("runId") Long runId);
+
+    /**
+     * Record a partition's outcome
+     */
+    @Modifying
+    @Query("UPDATE TimesheetPartition p SET p.status = :status, p.timesheets = :timesheets, "
+            + "p.finishedAt = :finishedAt WHERE p.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") TimesheetPartitionStatus status,
+            @Param("timesheets") int timesheets, @Param("finishedAt") Instant finishedAt);
+}
@@ -0,0 +1,34 @@
+package com.example.hcms.timesheet.repository;
+
+import com.example.hcms.timesheet.domain.Timesheet;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for monthly timesheets
+ */
+@org.springframework.stereotype.Repository
+public interface TimesheetRepository extends Repository<Timesheet, Long> {
+
+    List<Timesheet> saveAll(Iterable<Timesheet> timesheets);
+
+    /**
+     * A group's timesheets for a month, in user ID order
+     */
+    List<Timesheet> findByPeriodStartAndAttendanceGroupIdOrderByUserIdAsc(LocalDate periodStart,
+            Long attendanceGroupId);
+
+    /**
+     * Delete several users' timesheets for a month, ahead of writing them again
+     */
+    @Modifying
+    @Query("DELETE FROM Timesheet t WHERE t.periodStart = :periodStart AND t.userId IN :userIds")
+    int deleteByPeriodStartAndUserIdIn(@Param("periodStart") LocalDate periodStart,
+            @Param("userIds") Collection<Long> userIds);
+}
@@ -0,0 +1,28 @@
+package com.example.hcms.timesheet.repository;
+
+import com.example.hcms.timesheet.domain.TimesheetRun;
+import com.example.hcms.timesheet.domain.TimesheetRunStatus;
+import org.springframework.data.repository.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository for month-end timesheet runs
+ */
+@org.springframework.stereotype.Repository
+public interface TimesheetRunRepository extends Repository<TimesheetRun, Long> {
+
+    TimesheetRun save(TimesheetRun run);
+
+    Optional<TimesheetRun> findById(Long id);
+
+    /**
+     * A month's newest run in any status but one, e.g. the unfinished run to resume
+     */
+    Optional<TimesheetRun> findFirstByPeriodStartAndStatusNotOrderByIdDesc(LocalDate periodStart,
+            TimesheetRunStatus status);
+
+    List<TimesheetRun> findByStatusOrderByIdAsc(TimesheetRunStatus status);
+}
@@ -0,0 +1,275 @@
+package com.example.hcms.timesheet.service;
+
+import com.example.hcms.attendance.repository.DailyAttendanceRepository;
+import com.example.hcms.attendance.repository.DailyAttendanceRepository.DayView;
+import com.example.hcms.attendance.service.DailyAttendanceEngine;
+import com.example.hcms.attendancegroup.domain.AttendanceGroupStatus;
+import com.example.hcms.attendancegroup.repository.AttendanceGroupRepository;
+import com.example.hcms.auth.repository.UserRepository;
+import com.example.hcms.auth.repository.UserRepository.GroupAssignmentView;
+import com.example.hcms.timesheet.domain.Timesheet;
+import com.example.hcms.timesheet.domain.TimesheetPartition;
+import com.example.hcms.timesheet.domain.TimesheetPartitionStatus;
+import com.example.hcms.timesheet.domain.TimesheetRun;
+import com.example.hcms.timesheet.domain.TimesheetRunStatus;
+import com.example.hcms.timesheet.exception.TimesheetRunNotFoundException;
+import com.example.hcms.timesheet.repository.TimesheetPartitionRepository;
+import com.example.hcms.timesheet.repository.TimesheetRepository;
+import com.example.hcms.timesheet.repository.TimesheetRunRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Month-end timesheet aggregation. A run plans its work once as partitions: the members of each active
+ * attendance group, in ranges of at most {@code app.timesheets.partition-size} user IDs. A fixed pool of
+ * workers aggregates the partitions in parallel, each in one short transaction that streams its members'
+ * daily attendance results for the month through a cursor, folds them into one {@link Timesheet} per user
+ * and replaces the month's rows in JDBC batches.
+ *
+ * A partition is marked done in the transaction that writes its timesheets, so partitions are the run's
+ * checkpoints: a run cut short by a failure or a restart resumes with the partitions not done yet, and
+ * aggregating a partition twice writes the same rows. Pending recompute marks are worked off before a
+ * run reads the results, which already apply each day's schedule, shift version and punches.
+ */
+@Component
+public class TimesheetJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimesheetJob.class);
+
+    private final TimesheetRunRepository runRepository;
+    private final TimesheetPartitionRepository partitionRepository;
+    private final TimesheetRepository timesheetRepository;
+    private final DailyAttendanceRepository dailyRepository;
+    private final DailyAttendanceEngine attendanceEngine;
+    private final AttendanceGroupRepository groupRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactions;
+    private final int partitionSize;
+    // Partition workers, and the thread runs started over the API or resumed at startup execute on
+    private final ExecutorService workers;
+    private final ExecutorService coordinator;
+    // Runs executing on this node; executing one of them again returns at once
+    private final Set<Long> executing = ConcurrentHashMap.newKeySet();
+
+    public TimesheetJob(TimesheetRunRepository runRepository, TimesheetPartitionRepository partitionRepository,
+            TimesheetRepository timesheetRepository, DailyAttendanceRepository dailyRepository,
+            DailyAttendanceEngine attendanceEngine, AttendanceGroupRepository groupRepository,
+            UserRepository userRepository, PlatformTransactionManager transactionManager,
+            @Value("${app.timesheets.parallelism:4}") int parallelism,
+            @Value("${app.timesheets.partition-size:500}") int partitionSize) {
+        this.runRepository = runRepository;
+        this.partitionRepository = partitionRepository;
+        this.timesheetRepository = timesheetRepository;
+        this.dailyRepository = dailyRepository;
+        this.attendanceEngine = attendanceEngine;
+        this.groupRepository = groupRepository;
+        this.userRepository = userRepository;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.partitionSize = partitionSize;
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "timesheet-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.coordinator = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "timesheet-run");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Close the month that just ended
+     */
+    @Scheduled(cron = "${app.timesheets.close-cron:0 0 2 1 * *}")
+    public void closeLastMonth() {
+        TimesheetRun run = run(YearMonth.now().minusMonths(1), null);
+        logger.info("Timesheet run {} for {} finished {}", run.getId(), run.getPeriodStart(), run.getStatus());
+    }
+
+    /**
+     * Resume the runs a restart interrupted
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (TimesheetRun run : runRepository.findByStatusOrderByIdAsc(TimesheetRunStatus.RUNNING)) {
+            logger.info("Resuming timesheet run {} for {}", run.getId(), run.getPeriodStart());
+            submit(run.getId());
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Run a month to the end on the calling thread
+     *
+     * @return the run, completed or failed
+     */
+    public TimesheetRun run(YearMonth month, Long startedBy) {
+        return execute(prepare(month, startedBy).getId());
+    }
+
+    /**
+     * The month's unfinished run to resume, or a newly planned one
+     */
+    public synchronized TimesheetRun prepare(YearMonth month, Long startedBy) {
+        return transactions.execute(status -> runRepository
+                .findFirstByPeriodStartAndStatusNotOrderByIdDesc(month.atDay(1), TimesheetRunStatus.COMPLETED)
+                .orElseGet(() -> plan(month, startedBy)));
+    }
+
+    /**
+     * Execute a prepared run in the background
+     */
+    public void submit(Long runId) {
+        coordinator.execute(() -> {
+            try {
+                execute(runId);
+            } catch (RuntimeException e) {
+                logger.error("Timesheet run {} failed", runId, e);
+            }
+        });
+    }
+
+    /**
+     * Aggregate the partitions of a run that are not done yet, in parallel, then complete the run if every
+     * partition is done or fail it otherwise
+     *
+     * @return the run; if it is already executing on this node, as it is now
+     */
+    public TimesheetRun execute(Long runId) {
+        if (!executing.add(runId)) {
+            return runRepository.findById(runId).orElseThrow(() -> new TimesheetRunNotFoundException(runId));
+        }
+        try {
+            LocalDate periodStart = transactions.execute(status -> {
+                TimesheetRun run = runRepository.findById(runId)
+                        .orElseThrow(() -> new TimesheetRunNotFoundException(runId));
+                run.resume();
+                return run.getPeriodStart();
+            });
+            attendanceEngine.recomputeDirty();
+
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (TimesheetPartition partition : partitionRepository.findByRunIdAndStatusNotOrderByIdAsc(runId,
+                    TimesheetPartitionStatus.DONE)) {
+                futures.add(workers.submit(() -> aggregate(periodStart, partition)));
+            }
+            boolean complete = true;
+            for (Future<Boolean> future : futures) {
+                try {
+                    complete &= future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while aggregating timesheets", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Timesheet worker failed", e.getCause());
+                }
+            }
+            boolean allDone = complete;
+            return transactions.execute(status -> {
+                TimesheetRun run = runRepository.findById(runId)
+                        .orElseThrow(() -> new TimesheetRunNotFoundException(runId));
+                run.finish(allDone, Instant.now());
+                return run;
+            });
+        } finally {
+            executing.remove(runId);
+        }
+    }
+
+    /**
+     * Plan a run: one partition per range of at most partition-size members of each active group, read
+     * from the attendance group index
+     */
+    private TimesheetRun plan(YearMonth month, Long startedBy) {
+        TimesheetRun run = runRepository.save(new TimesheetRun(month.atDay(1), startedBy, Instant.now()));
+        List<Long> groupIds = groupRepository.findIdsByStatus(AttendanceGroupStatus.ACTIVE);
+        Map<Long, List<Long>> members = new TreeMap<>();
+        if (!groupIds.isEmpty()) {
+            for (GroupAssignmentView user : userRepository.findGroupAssignmentsByAttendanceGroupIdIn(groupIds)) {
+                members.computeIfAbsent(user.getAttendanceGroupId(), id -> new ArrayList<>()).add(user.getId());
+            }
+        }
+        List<TimesheetPartition> partitions = new ArrayList<>();
+        members.forEach((groupId, userIds) -> {
+            for (int from = 0; from < userIds.size(); from += partitionSize) {
+                int to = Math.min(from + partitionSize, userIds.size()) - 1;
+                partitions.add(new TimesheetPartition(run.getId(), groupId, userIds.get(from), userIds.get(to)));
+            }
+        });
+        partitionRepository.saveAll(partitions);
+        run.planned(partitions.size());
+        logger.info("Planned timesheet run {} for {}: {} partitions", run.getId(), month, partitions.size());
+        return run;
+    }
+
+    /**
+     * Aggregate one partition in its own transaction, or mark it failed
+     *
+     * @return whether it is done
+     */
+    private boolean aggregate(LocalDate periodStart, TimesheetPartition partition) {
+        try {
+            transactions.executeWithoutResult(status -> aggregatePartition(periodStart, partition));
+            return true;
+        } catch (RuntimeException e) {
+            logger.error("Failed to aggregate timesheet partition {} of run {} (group {}, users {} to {})",
+                    partition.getId(), partition.getRunId(), partition.getGroupId(), partition.getFromUserId(),
+                    partition.getToUserId(), e);
+            transactions.executeWithoutResult(status -> partitionRepository.updateStatus(partition.getId(),
+                    TimesheetPartitionStatus.FAILED, 0, Instant.now()));
+            return false;
+        }
+    }
+
+    private void aggregatePartition(LocalDate periodStart, TimesheetPartition partition) {
+        List<Long> userIds = userRepository.findIdsByAttendanceGroupIdAndIdBetween(partition.getGroupId(),
+                partition.getFromUserId(), partition.getToUserId());
+        Instant now = Instant.now();
+        Map<Long, Timesheet> timesheets = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            timesheets.put(userId, new Timesheet(userId, periodStart, partition.getGroupId(), partition.getRunId(),
+                    now));
+        }
+        if (!userIds.isEmpty()) {
+            try (Stream<DayView> days = dailyRepository.streamDays(userIds, periodStart,
+                    periodStart.plusMonths(1).minusDays(1))) {
+                days.forEach(day -> timesheets.get(day.getUserId()).add(day));
+            }
+            timesheetRepository.deleteByPeriodStartAndUserIdIn(periodStart, userIds);
+            timesheetRepository.saveAll(timesheets.values());
+        }
+        partitionRepository.updateStatus(partition.getId(), TimesheetPartitionStatus.DONE, timesheets.size(), now);
+    }
+}
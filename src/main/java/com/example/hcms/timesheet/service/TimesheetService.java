@@ -0,0 +1,28 @@
+package com.example.hcms.timesheet.service;
+
+import com.example.hcms.timesheet.dto.TimesheetResponse;
+import com.example.hcms.timesheet.dto.TimesheetRunResponse;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Service interface for month-end timesheets
+ */
+public interface TimesheetService {
+
+    /**
+     * Start aggregating a month's timesheets in the background, or resume the month's unfinished run
+     *
+     * @param month a month that has started; the current month gives totals so far
+     * @param userId the user starting the run
+     */
+    TimesheetRunResponse startRun(YearMonth month, Long userId);
+
+    TimesheetRunResponse getRun(Long runId);
+
+    /**
+     * A group's timesheets for a month, in user ID order
+     */
+    List<TimesheetResponse> getTimesheets(YearMonth month, Long attendanceGroupId);
+}
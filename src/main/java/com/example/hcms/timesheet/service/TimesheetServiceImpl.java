@@ -0,0 +1,68 @@
+package com.example.hcms.timesheet.service;
+
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.timesheet.domain.TimesheetPartitionStatus;
+import com.example.hcms.timesheet.domain.TimesheetRun;
+import com.example.hcms.timesheet.dto.TimesheetResponse;
+import com.example.hcms.timesheet.dto.TimesheetRunResponse;
+import com.example.hcms.timesheet.exception.TimesheetRunNotFoundException;
+import com.example.hcms.timesheet.repository.TimesheetPartitionRepository;
+import com.example.hcms.timesheet.repository.TimesheetRepository;
+import com.example.hcms.timesheet.repository.TimesheetRunRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Implementation of TimesheetService. Runs are executed by {@link TimesheetJob}; this service starts them
+ * and reads their progress and output.
+ */
+@Service
+public class TimesheetServiceImpl implements TimesheetService {
+
+    private final TimesheetJob job;
+    private final TimesheetRunRepository runRepository;
+    private final TimesheetPartitionRepository partitionRepository;
+    private final TimesheetRepository timesheetRepository;
+
+    public TimesheetServiceImpl(TimesheetJob job, TimesheetRunRepository runRepository,
+            TimesheetPartitionRepository partitionRepository, TimesheetRepository timesheetRepository) {
+        this.job = job;
+        this.runRepository = runRepository;
+        this.partitionRepository = partitionRepository;
+        this.timesheetRepository = timesheetRepository;
+    }
+
+    @Override
+    public TimesheetRunResponse startRun(YearMonth month, Long userId) {
+        if (month.isAfter(YearMonth.now())) {
+            throw new InvalidParameterException("month has not started yet");
+        }
+        // Planned and committed before a worker looks for it
+        TimesheetRun run = job.prepare(month, userId);
+        job.submit(run.getId());
+        return toResponse(run);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TimesheetRunResponse getRun(Long runId) {
+        return toResponse(runRepository.findById(runId).orElseThrow(() -> new TimesheetRunNotFoundException(runId)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TimesheetResponse> getTimesheets(YearMonth month, Long attendanceGroupId) {
+        return timesheetRepository.findByPeriodStartAndAttendanceGroupIdOrderByUserIdAsc(month.atDay(1),
+                attendanceGroupId).stream().map(TimesheetResponse::new).toList();
+    }
+
+    private TimesheetRunResponse toResponse(TimesheetRun run) {
+        return new TimesheetRunResponse(run,
+                partitionRepository.countByRunIdAndStatus(run.getId(), TimesheetPartitionStatus.DONE),
+                partitionRepository.countByRunIdAndStatus(run.getId(), TimesheetPartitionStatus.FAILED),
+                partitionRepository.sumTimesheetsByRunId(run.getId()));
+    }
+}
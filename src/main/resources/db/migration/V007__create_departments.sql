@@ -0,0 +1,34 @@
+-- V007: Department tree (adjacency list + closure table) with cached subtree counts
+
+CREATE TABLE departments (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    name VARCHAR(100) NOT NULL,
+    parent_id BIGINT,
+
+    -- Subtree aggregates, maintained incrementally on user writes
+    headcount INT NOT NULL DEFAULT 0,
+    active_count INT NOT NULL DEFAULT 0,
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    INDEX idx_departments_parent (parent_id),
+    CONSTRAINT fk_departments_parent FOREIGN KEY (parent_id) REFERENCES departments(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE department_closure (
+    ancestor_id BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth INT NOT NULL,
+
+    PRIMARY KEY (ancestor_id, descendant_id),
+    INDEX idx_department_closure_descendant (descendant_id, ancestor_id),
+
+    CONSTRAINT fk_department_closure_ancestor
+        FOREIGN KEY (ancestor_id) REFERENCES departments(id) ON DELETE CASCADE,
+    CONSTRAINT fk_department_closure_descendant
+        FOREIGN KEY (descendant_id) REFERENCES departments(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Per-department counts by status without scanning the user table
+CREATE INDEX idx_user_department_status ON user(department_id, status);
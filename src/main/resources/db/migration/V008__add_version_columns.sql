@@ -0,0 +1,5 @@
+-- V008: Optimistic locking columns for conditional writes (If-Match / ETag)
+
+ALTER TABLE shifts ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE attendance_groups ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE user ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- V009: Denormalized member count on attendance groups, maintained on user writes
+
+ALTER TABLE attendance_groups ADD COLUMN IF NOT EXISTS member_count INT NOT NULL DEFAULT 0;
+
+UPDATE attendance_groups g
+SET member_count = (SELECT COUNT(*) FROM user u WHERE u.attendance_group_id = g.id);
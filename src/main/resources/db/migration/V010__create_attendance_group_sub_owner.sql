@@ -0,0 +1,19 @@
+-- V010: Normalized sub-owners of attendance groups, for "groups I manage" lookups.
+-- attendance_groups.sub_owner_ids stays the representation served by the API.
+
+CREATE TABLE attendance_group_sub_owner (
+    group_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+
+    PRIMARY KEY (group_id, user_id),
+    INDEX idx_attendance_group_sub_owner_user (user_id, group_id),
+
+    CONSTRAINT fk_attendance_group_sub_owner_group
+        FOREIGN KEY (group_id) REFERENCES attendance_groups(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT IGNORE INTO attendance_group_sub_owner (group_id, user_id)
+SELECT g.id, jt.user_id
+FROM attendance_groups g,
+     JSON_TABLE(g.sub_owner_ids, '$[*]' COLUMNS (user_id BIGINT PATH '$')) jt
+WHERE JSON_VALID(g.sub_owner_ids) AND jt.user_id IS NOT NULL;
@@ -0,0 +1,33 @@
+-- V011: Public holiday calendars imported from files, and the calendar an attendance group observes
+
+CREATE TABLE holiday_calendars (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    code VARCHAR(32) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    country VARCHAR(2) NOT NULL,
+    region VARCHAR(64),
+
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    UNIQUE KEY uk_holiday_calendars_code (code)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE public_holidays (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    calendar_id BIGINT NOT NULL,
+    holiday_date DATE NOT NULL,
+    name VARCHAR(100) NOT NULL,
+
+    -- Also serves range reads of one calendar in date order
+    UNIQUE KEY uk_public_holidays_calendar_date (calendar_id, holiday_date),
+
+    CONSTRAINT fk_public_holidays_calendar
+        FOREIGN KEY (calendar_id) REFERENCES holiday_calendars(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- NULL means the configured default calendar (app.holidays.default-calendar)
+ALTER TABLE attendance_groups
+    ADD COLUMN holiday_calendar_id BIGINT NULL AFTER use_public_holidays,
+    ADD CONSTRAINT fk_attendance_groups_holiday_calendar
+        FOREIGN KEY (holiday_calendar_id) REFERENCES holiday_calendars(id);
@@ -0,0 +1,33 @@
+-- V012: Reverse index from shifts to the attendance groups that use them.
+-- One row per group and slot (DEFAULT or a weekday); maintained alongside the shift columns.
+
+CREATE TABLE shift_usage (
+    group_id BIGINT NOT NULL,
+    weekday VARCHAR(10) NOT NULL,
+    shift_id BIGINT NOT NULL,
+
+    PRIMARY KEY (group_id, weekday),
+    INDEX idx_shift_usage_shift (shift_id, group_id),
+
+    CONSTRAINT fk_shift_usage_group
+        FOREIGN KEY (group_id) REFERENCES attendance_groups(id) ON DELETE CASCADE,
+    CONSTRAINT fk_shift_usage_shift
+        FOREIGN KEY (shift_id) REFERENCES shifts(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO shift_usage (group_id, weekday, shift_id)
+SELECT id, 'DEFAULT', default_shift_id FROM attendance_groups WHERE default_shift_id IS NOT NULL
+UNION ALL
+SELECT id, 'MONDAY', monday_shift_id FROM attendance_groups WHERE monday_shift_id IS NOT NULL
+UNION ALL
+SELECT id, 'TUESDAY', tuesday_shift_id FROM attendance_groups WHERE tuesday_shift_id IS NOT NULL
+UNION ALL
+SELECT id, 'WEDNESDAY', wednesday_shift_id FROM attendance_groups WHERE wednesday_shift_id IS NOT NULL
+UNION ALL
+SELECT id, 'THURSDAY', thursday_shift_id FROM attendance_groups WHERE thursday_shift_id IS NOT NULL
+UNION ALL
+SELECT id, 'FRIDAY', friday_shift_id FROM attendance_groups WHERE friday_shift_id IS NOT NULL
+UNION ALL
+SELECT id, 'SATURDAY', saturday_shift_id FROM attendance_groups WHERE saturday_shift_id IS NOT NULL
+UNION ALL
+SELECT id, 'SUNDAY', sunday_shift_id FROM attendance_groups WHERE sunday_shift_id IS NOT NULL;
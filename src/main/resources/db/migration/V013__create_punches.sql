@@ -0,0 +1,26 @@
+-- V013: Append-only clock punches from kiosks and mobile apps
+
+-- Pooled IDs (the entity allocates 50 at a time) so batches insert in JDBC batches
+CREATE SEQUENCE punches_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE punches (
+    id BIGINT NOT NULL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    punched_at TIMESTAMP(3) NOT NULL,
+    punch_type VARCHAR(16) NOT NULL,
+    source VARCHAR(16) NOT NULL,
+    device_id VARCHAR(64) NOT NULL,
+    event_id VARCHAR(64) NOT NULL,
+    attendance_group_id BIGINT NULL,
+    photo_url VARCHAR(512),
+    offsite BOOLEAN NOT NULL DEFAULT FALSE,
+    received_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+
+    -- Idempotency key: one row per device event
+    UNIQUE KEY uk_punches_device_event (device_id, event_id),
+    -- A user's punches over a time range
+    INDEX idx_punches_user_time (user_id, punched_at)
+
+    -- No foreign keys: users and groups are validated from cached data before the insert, and punches
+    -- are kept as received even if the user is removed later
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,29 @@
+-- V014: Field-level change history of shifts, attendance groups and users
+
+-- Pooled IDs (the entity allocates 50 at a time) so each group commit inserts in JDBC batches
+CREATE SEQUENCE change_history_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE change_history (
+    id BIGINT NOT NULL,
+    resource_type VARCHAR(32) NOT NULL,
+    resource_id BIGINT NOT NULL,
+    action VARCHAR(16) NOT NULL,
+    changed_by BIGINT NULL,
+    -- DATETIME rather than TIMESTAMP: RANGE COLUMNS partitioning does not accept TIMESTAMP columns
+    changed_at DATETIME(3) NOT NULL,
+    -- Changed fields as {"field": [old, new], ...}
+    changes TEXT NOT NULL,
+
+    -- The partitioning column must be part of every unique key
+    PRIMARY KEY (id, changed_at),
+    -- Keyset pages of one resource's history, newest first
+    INDEX idx_change_history_resource (resource_type, resource_id, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+-- Yearly partitions: old years are archived or dropped whole instead of deleted row by row. Add the
+-- next year's partition by splitting pmax before it starts.
+PARTITION BY RANGE COLUMNS (changed_at) (
+    PARTITION p2025 VALUES LESS THAN ('2026-01-01'),
+    PARTITION p2026 VALUES LESS THAN ('2027-01-01'),
+    PARTITION p2027 VALUES LESS THAN ('2028-01-01'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
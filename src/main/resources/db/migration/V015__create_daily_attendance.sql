@@ -0,0 +1,36 @@
+-- V015: Computed daily attendance results and the marks of cells waiting to be recomputed
+
+-- Pooled IDs (the entities allocate 50 at a time) so results and marks insert in JDBC batches
+CREATE SEQUENCE daily_attendance_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE attendance_recompute_marks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE daily_attendance (
+    id BIGINT NOT NULL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    work_date DATE NOT NULL,
+    attendance_group_id BIGINT NULL,
+    shift_id BIGINT NULL,
+    day_type VARCHAR(32) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    -- PunchOutcome bits; 0 is on time
+    outcomes INT NOT NULL DEFAULT 0,
+    clock_in TIMESTAMP(3) NULL,
+    clock_out TIMESTAMP(3) NULL,
+    late_minutes INT NOT NULL DEFAULT 0,
+    early_out_minutes INT NOT NULL DEFAULT 0,
+    worked_minutes INT NOT NULL DEFAULT 0,
+    computed_at TIMESTAMP(3) NOT NULL,
+
+    -- One result per user and day; also serves a user's date range
+    UNIQUE KEY uk_daily_attendance_user_date (user_id, work_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE attendance_recompute_marks (
+    id BIGINT NOT NULL PRIMARY KEY,
+    -- USER, GROUP or ALL; target_id is the user or group ID
+    scope VARCHAR(16) NOT NULL,
+    target_id BIGINT NULL,
+    from_date DATE NOT NULL,
+    to_date DATE NOT NULL,
+    marked_at TIMESTAMP(3) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
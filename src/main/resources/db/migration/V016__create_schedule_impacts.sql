@@ -0,0 +1,19 @@
+-- V016: Feed of the schedule impact of shift and attendance group edits
+
+-- Pooled IDs (the entity allocates 50 at a time) so an edit's entries insert in JDBC batches
+CREATE SEQUENCE schedule_impacts_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE schedule_impacts (
+    -- Consumers page through the feed by ID
+    id BIGINT NOT NULL PRIMARY KEY,
+    -- SHIFT or ATTENDANCE_GROUP; source_id is the edited shift or group
+    source_type VARCHAR(32) NOT NULL,
+    source_id BIGINT NOT NULL,
+    group_id BIGINT NOT NULL,
+    effective_from DATE NULL,
+    -- Affected members as [id, ...] and dates as [["from", "to"], ...]
+    user_ids TEXT NOT NULL,
+    date_ranges TEXT NOT NULL,
+    user_days BIGINT NOT NULL,
+    planned_at TIMESTAMP(3) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,54 @@
+-- V017: Immutable versions of shift rules, and the version each daily result was computed with
+
+-- Pooled IDs (the entity allocates 50 at a time)
+CREATE SEQUENCE shift_versions_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE shift_versions (
+    id BIGINT NOT NULL PRIMARY KEY,
+    shift_id BIGINT NOT NULL,
+    -- In force from this date on, until a later version's date; a newer version supersedes older
+    -- ones from its date on, whatever theirs
+    effective_from DATE NOT NULL,
+    shift_type VARCHAR(20) NOT NULL,
+    date_type VARCHAR(20) NOT NULL,
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    is_next_day_end BOOLEAN NOT NULL,
+    require_clock_in BOOLEAN NOT NULL,
+    require_clock_out BOOLEAN NOT NULL,
+    clock_in_early_minutes INT NOT NULL,
+    late_threshold_minutes INT NOT NULL,
+    half_day_late_threshold_minutes INT NOT NULL,
+    clock_out_late_minutes INT NOT NULL,
+    early_out_threshold_minutes INT NOT NULL,
+    half_day_early_threshold_minutes INT NOT NULL,
+    flex_late_hours INT NOT NULL,
+    flex_late_minutes INT NOT NULL,
+    flex_early_hours INT NOT NULL,
+    flex_early_minutes INT NOT NULL,
+    has_breaks BOOLEAN NOT NULL,
+    break_duration_minutes INT NOT NULL,
+    working_hours_minutes INT NULL,
+    created_by BIGINT NULL,
+    created_at TIMESTAMP(3) NOT NULL,
+
+    -- A shift's newest version, and all of its versions in order
+    INDEX idx_shift_versions_shift (shift_id, id),
+    CONSTRAINT fk_shift_versions_shift FOREIGN KEY (shift_id) REFERENCES shifts(id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Every existing shift starts with its current rules, in force since it was created
+INSERT INTO shift_versions (id, shift_id, effective_from, shift_type, date_type, start_time, end_time,
+        is_next_day_end, require_clock_in, require_clock_out, clock_in_early_minutes, late_threshold_minutes,
+        half_day_late_threshold_minutes, clock_out_late_minutes, early_out_threshold_minutes,
+        half_day_early_threshold_minutes, flex_late_hours, flex_late_minutes, flex_early_hours, flex_early_minutes,
+        has_breaks, break_duration_minutes, working_hours_minutes, created_by, created_at)
+SELECT NEXTVAL(shift_versions_seq), id, DATE(created_at), shift_type, date_type, start_time, end_time,
+        is_next_day_end, require_clock_in, require_clock_out, clock_in_early_minutes,
+        COALESCE(late_threshold_minutes, 0), half_day_late_threshold_minutes, clock_out_late_minutes,
+        early_out_threshold_minutes, half_day_early_threshold_minutes, flex_late_hours, flex_late_minutes,
+        flex_early_hours, flex_early_minutes, has_breaks, COALESCE(break_duration_minutes, 0),
+        working_hours_minutes, NULL, CURRENT_TIMESTAMP(3)
+FROM shifts ORDER BY id;
+
+ALTER TABLE daily_attendance ADD COLUMN shift_version_id BIGINT NULL AFTER shift_id;
@@ -0,0 +1,58 @@
+-- V018: Month-end timesheets and the runs and partitions that aggregate them
+
+-- Pooled IDs (the entities allocate 50 at a time) so partitions and timesheets insert in JDBC batches
+CREATE SEQUENCE timesheet_partitions_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE timesheets_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE timesheet_runs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    -- First day of the month
+    period_start DATE NOT NULL,
+    -- RUNNING, COMPLETED or FAILED
+    status VARCHAR(16) NOT NULL,
+    partitions INT NOT NULL DEFAULT 0,
+    started_by BIGINT NULL,
+    started_at TIMESTAMP(3) NOT NULL,
+    finished_at TIMESTAMP(3) NULL,
+
+    -- A month's unfinished run, and runs to resume at startup
+    INDEX idx_timesheet_runs_period (period_start, status)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE timesheet_partitions (
+    id BIGINT NOT NULL PRIMARY KEY,
+    run_id BIGINT NOT NULL,
+    group_id BIGINT NOT NULL,
+    -- Members of the group with IDs in this range, both inclusive
+    from_user_id BIGINT NOT NULL,
+    to_user_id BIGINT NOT NULL,
+    -- PENDING, DONE or FAILED; written with the partition's timesheets, so it is the run's checkpoint
+    status VARCHAR(16) NOT NULL,
+    timesheets INT NOT NULL DEFAULT 0,
+    finished_at TIMESTAMP(3) NULL,
+
+    INDEX idx_timesheet_partitions_run (run_id, status),
+    CONSTRAINT fk_timesheet_partitions_run FOREIGN KEY (run_id) REFERENCES timesheet_runs (id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE timesheets (
+    id BIGINT NOT NULL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    period_start DATE NOT NULL,
+    attendance_group_id BIGINT NOT NULL,
+    run_id BIGINT NOT NULL,
+    days_scheduled INT NOT NULL DEFAULT 0,
+    days_worked INT NOT NULL DEFAULT 0,
+    late_count INT NOT NULL DEFAULT 0,
+    late_minutes INT NOT NULL DEFAULT 0,
+    early_out_count INT NOT NULL DEFAULT 0,
+    early_out_minutes INT NOT NULL DEFAULT 0,
+    half_days INT NOT NULL DEFAULT 0,
+    absences INT NOT NULL DEFAULT 0,
+    worked_minutes INT NOT NULL DEFAULT 0,
+    computed_at TIMESTAMP(3) NOT NULL,
+
+    -- One timesheet per user and month; a later run replaces it
+    UNIQUE KEY uk_timesheets_period_user (period_start, user_id),
+    INDEX idx_timesheets_period_group (period_start, attendance_group_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
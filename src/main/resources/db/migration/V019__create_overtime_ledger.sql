@@ -0,0 +1,32 @@
+-- V019: Overtime ledger, one entry per user and day with overtime, kept by the daily attendance engine
+
+-- Pooled IDs (the entity allocates 50 at a time) so entries insert in JDBC batches
+CREATE SEQUENCE overtime_ledger_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE overtime_ledger (
+    id BIGINT NOT NULL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    work_date DATE NOT NULL,
+    attendance_group_id BIGINT NOT NULL,
+    shift_id BIGINT NULL,
+    -- The shift version whose expected end the overtime counts from
+    shift_version_id BIGINT NULL,
+    -- WORKING_DAY or NON_WORKING_DAY
+    kind VARCHAR(16) NOT NULL,
+    starts_at TIMESTAMP(3) NOT NULL,
+    ends_at TIMESTAMP(3) NOT NULL,
+    -- Whole minutes in the span, and the minutes that count after rounding
+    raw_minutes INT NOT NULL,
+    minutes INT NOT NULL,
+    -- PENDING, APPROVED or REJECTED
+    status VARCHAR(16) NOT NULL,
+    decided_by BIGINT NULL,
+    decided_at TIMESTAMP(3) NULL,
+    computed_at TIMESTAMP(3) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+
+    UNIQUE KEY uk_overtime_ledger_user_date (user_id, work_date),
+    -- Approval queues, across groups and per group, read as keyset pages on the ID
+    INDEX idx_overtime_ledger_status (status, id),
+    INDEX idx_overtime_ledger_group_status (attendance_group_id, status, id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
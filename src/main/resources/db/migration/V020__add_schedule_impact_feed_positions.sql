@@ -0,0 +1,10 @@
+-- V020: Commit-ordered positions for the schedule impact feed
+
+-- Pooled IDs are taken when an edit plans its impact, not when it commits, so they can commit out of
+-- order. Positions are given by one writer once an entry has committed; consumers page by position.
+ALTER TABLE schedule_impacts ADD COLUMN IF NOT EXISTS feed_position BIGINT NULL;
+
+-- Entries written so far have all committed; numbering them by ID keeps issued cursors valid
+UPDATE schedule_impacts SET feed_position = id WHERE feed_position IS NULL;
+
+CREATE UNIQUE INDEX uk_schedule_impacts_feed_position ON schedule_impacts (feed_position);
@@ -0,0 +1,191 @@
+package com.example.hcms.attendance.service;
+
+import com.example.hcms.attendance.domain.DailyStatus;
+import com.example.hcms.attendance.domain.RecomputeMark;
+import com.example.hcms.attendance.domain.RecomputeScope;
+import com.example.hcms.attendance.dto.DailyAttendanceResponse;
+import com.example.hcms.attendance.repository.RecomputeMarkRepository;
+import com.example.hcms.attendancegroup.service.AttendanceGroupServiceImpl;
+import com.example.hcms.attendancegroup.service.ScheduleResolver;
+import com.example.hcms.attendancegroup.service.ShiftInstanceMatcher;
+import com.example.hcms.auth.dto.UpdateUserRequest;
+import com.example.hcms.auth.service.UserMembershipIndex;
+import com.example.hcms.auth.service.UserService;
+import com.example.hcms.common.config.SecurityConfig;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.department.service.DepartmentServiceImpl;
+import com.example.hcms.holiday.service.HolidayServiceImpl;
+import com.example.hcms.impact.service.ScheduleImpactPlanner;
+import com.example.hcms.impact.service.ScheduleImpactRecorder;
+import com.example.hcms.overtime.service.OvertimeLedger;
+import com.example.hcms.punch.domain.PunchType;
+import com.example.hcms.punch.service.PunchServiceImpl;
+import com.example.hcms.shift.domain.PunchOutcome;
+import com.example.hcms.shift.dto.UpdateShiftRequest;
+import com.example.hcms.shift.service.ShiftCatalog;
+import com.example.hcms.shift.service.ShiftService;
+import com.example.hcms.shift.service.ShiftServiceImpl;
+import com.example.hcms.shift.service.ShiftVersions;
+import com.example.hcms.support.AttendanceFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.hcms.support.AttendanceFixtures.JAKARTA;
+import static com.example.hcms.support.AttendanceFixtures.fixedGroup;
+import static com.example.hcms.support.AttendanceFixtures.officeShift;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Daily attendance engine: punches, shift edits and group moves mark cells dirty in their own transaction, and the
+ * worker pool recomputes exactly those cells, deterministically, without rewriting unchanged rows and with
+ * the shift rules in force on each day
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ DailyAttendanceEngine.class, RecomputeMarker.class, DailyAttendanceServiceImpl.class,
+        PunchServiceImpl.class, ShiftInstanceMatcher.class, ScheduleResolver.class, AttendanceGroupServiceImpl.class,
+        ShiftServiceImpl.class, UserService.class, UserMembershipIndex.class, HolidayServiceImpl.class,
+        DepartmentServiceImpl.class, SecurityConfig.class, ShiftCatalog.class, ShiftVersions.class,
+        ChangeWatermarks.class, SparseQueries.class, ScheduleImpactRecorder.class, ScheduleImpactPlanner.class,
+        OvertimeLedger.class, AttendanceFixtures.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DailyAttendanceEngineTest {
+
+    @Autowired
+    private DailyAttendanceEngine engine;
+
+    @Autowired
+    private DailyAttendanceService attendanceService;
+
+    @Autowired
+    private RecomputeMarkRepository markRepository;
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AttendanceFixtures fixtures;
+
+    @Test
+    public void testPunchesAndShiftEditsRecomputeOnlyChangedResults() {
+        Long shiftId = fixtures.createShift(officeShift("Daily office"));
+        Long groupId = fixtures.createGroup(fixedGroup("Daily Jakarta", shiftId));
+        Long userId = fixtures.createUser("Daily Worker", groupId);
+        engine.recomputeDirty();
+
+        LocalDate today = LocalDate.now(JAKARTA);
+        LocalDate first = today.minusDays(2);
+        LocalDate second = today.minusDays(1);
+        fixtures.punch(userId, first, LocalTime.of(9, 5), PunchType.CLOCK_IN, "d1-in");
+        fixtures.punch(userId, first, LocalTime.of(18, 0), PunchType.CLOCK_OUT, "d1-out");
+        fixtures.punch(userId, second, LocalTime.of(8, 55), PunchType.CLOCK_IN, "d2-in");
+        fixtures.punch(userId, second, LocalTime.of(18, 30), PunchType.CLOCK_OUT, "d2-out");
+        // Punching marks the punch dates and their neighbours only
+        assertEquals(4, engine.recomputeDirty());
+        assertTrue(markRepository.findAll().isEmpty());
+
+        List<DailyAttendanceResponse> days = attendanceService.getDailyAttendance(userId, first, second);
+        DailyAttendanceResponse late = days.get(0);
+        assertEquals(DailyStatus.IRREGULAR, late.getStatus());
+        assertEquals(Set.of(PunchOutcome.LATE), late.getOutcomes());
+        assertEquals(5, late.getLateMinutes());
+        assertEquals(8 * 60 + 55 - 60, late.getWorkedMinutes(), "net of the hour's break");
+        DailyAttendanceResponse onTime = days.get(1);
+        assertEquals(DailyStatus.NORMAL, onTime.getStatus());
+        assertEquals(9 * 60 + 35 - 60, onTime.getWorkedMinutes());
+        assertEquals(DailyStatus.ABSENT,
+                attendanceService.getDailyAttendance(userId, first.minusDays(1), first.minusDays(1)).get(0).getStatus());
+
+        // Recomputing the same cells again gives the same results and rewrites nothing
+        markRepository.save(new RecomputeMark(RecomputeScope.USER, userId, first, second));
+        assertEquals(2, engine.recomputeDirty());
+        List<DailyAttendanceResponse> again = attendanceService.getDailyAttendance(userId, first, second);
+        assertEquals(late.getComputedAt(), again.get(0).getComputedAt());
+        assertEquals(onTime.getComputedAt(), again.get(1).getComputedAt());
+
+        // From the late day on, a more lenient threshold turns that day on time; both days now reference the
+        // new version
+        shiftService.updateShift(shiftId, updateShift(15, first), 1L, null);
+        assertTrue(engine.recomputeDirty() > 0);
+        List<DailyAttendanceResponse> edited = attendanceService.getDailyAttendance(userId, first, second);
+        assertEquals(DailyStatus.NORMAL, edited.get(0).getStatus());
+        assertEquals(0, edited.get(0).getLateMinutes());
+        assertEquals(DailyStatus.NORMAL, edited.get(1).getStatus());
+        assertNotNull(late.getShiftVersionId());
+        assertNotEquals(late.getShiftVersionId(), edited.get(0).getShiftVersionId());
+        assertEquals(edited.get(0).getShiftVersionId(), edited.get(1).getShiftVersionId());
+
+        // A stricter threshold from tomorrow on leaves past results as they were
+        shiftService.updateShift(shiftId, updateShift(0, today.plusDays(1)), 1L, null);
+        engine.recomputeDirty();
+        List<DailyAttendanceResponse> future = attendanceService.getDailyAttendance(userId, first, second);
+        assertEquals(edited.get(0).getComputedAt(), future.get(0).getComputedAt());
+        assertEquals(edited.get(1).getComputedAt(), future.get(1).getComputedAt());
+    }
+
+    @Test
+    public void testOnlyGroupMovesMarkUsersFromToday() {
+        Long shiftId = fixtures.createShift(officeShift("Daily move office"));
+        Long fromId = fixtures.createGroup(fixedGroup("Daily Move From", shiftId));
+        Long toId = fixtures.createGroup(fixedGroup("Daily Move To", shiftId));
+        Long userId = fixtures.createUser("Daily Mover", fromId);
+        Long otherId = fixtures.createUser("Daily Stayer", fromId);
+        assertTrue(userMarks(userId).isEmpty(), "a new user has no past days to recompute");
+
+        UpdateUserRequest rename = new UpdateUserRequest();
+        rename.setName("Daily Mover Renamed");
+        userService.updateUser(userId, rename, null);
+        userService.resetPassword(userId, "daily-password");
+        assertTrue(userMarks(userId).isEmpty());
+
+        UpdateUserRequest move = new UpdateUserRequest();
+        move.setAttendanceGroupId(toId);
+        userService.updateUser(userId, move, null);
+        userService.reassignAttendanceGroup(List.of(otherId), toId);
+        LocalDate today = LocalDate.now();
+        for (Long movedId : List.of(userId, otherId)) {
+            List<RecomputeMark> marks = userMarks(movedId);
+            assertEquals(1, marks.size());
+            assertEquals(today, marks.get(0).getFromDate());
+            assertEquals(today.plusDays(1), marks.get(0).getToDate());
+        }
+        engine.recomputeDirty();
+    }
+
+    private List<RecomputeMark> userMarks(Long userId) {
+        return markRepository.findAll().stream()
+                .filter(mark -> mark.getScope() == RecomputeScope.USER && userId.equals(mark.getTargetId()))
+                .toList();
+    }
+
+    private static UpdateShiftRequest updateShift(int lateThresholdMinutes, LocalDate effectiveFrom) {
+        UpdateShiftRequest request = new UpdateShiftRequest();
+        request.setEffectiveFrom(effectiveFrom);
+        request.setName("Daily office");
+        request.setStartTime("09:00");
+        request.setEndTime("18:00");
+        request.setLateThresholdMinutes(lateThresholdMinutes);
+        request.setHasBreaks(true);
+        request.setBreakDurationMinutes(60);
+        return request;
+    }
+}
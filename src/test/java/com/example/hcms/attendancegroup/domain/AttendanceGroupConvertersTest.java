@@ -0,0 +1,98 @@
+package com.example.hcms.attendancegroup.domain;
+
+import com.example.hcms.attendancegroup.repository.AttendanceGroupRepository;
+import com.example.hcms.common.repository.JsonColumnConverter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JSON column converters: storage format, tolerance of bad data and dirty checking
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AttendanceGroupConvertersTest {
+
+    @Autowired
+    private AttendanceGroupRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testColumnsKeepTheirJsonFormat() {
+        AttendanceGroup group = new AttendanceGroup();
+        group.setName("Converted");
+        group.setSubOwnerIds(List.of(7L, 8L));
+        group.setSpecialDays(List.of(LocalDate.of(2025, 12, 25)));
+        group.setCorrectionTypes(EnumSet.of(CorrectionType.EARLY_OUT, CorrectionType.LATE_IN));
+        Long id = repository.save(group).getId();
+
+        assertEquals(List.of("[7,8]", "[\"2025-12-25\"]", "[\"LATE_IN\",\"EARLY_OUT\"]"), jdbcTemplate.queryForList(
+                "SELECT sub_owner_ids, special_days, correction_types FROM attendance_groups WHERE id = ?", id)
+                .stream().flatMap(row -> row.values().stream()).map(String::valueOf).toList());
+
+        AttendanceGroup loaded = repository.findById(id).orElseThrow();
+        assertEquals(List.of(7L, 8L), loaded.getSubOwnerIds());
+        assertEquals(List.of(LocalDate.of(2025, 12, 25)), loaded.getSpecialDays());
+        assertEquals(Set.of(CorrectionType.LATE_IN, CorrectionType.EARLY_OUT), loaded.getCorrectionTypes());
+        assertThrows(UnsupportedOperationException.class, () -> loaded.getSubOwnerIds().add(9L));
+    }
+
+    @Test
+    public void testMalformedValuesAreDroppedAndCounted() {
+        AttendanceGroup group = new AttendanceGroup();
+        group.setName("Malformed");
+        Long id = repository.save(group).getId();
+        jdbcTemplate.update("UPDATE attendance_groups SET sub_owner_ids = ?, special_days = ?, correction_types = ? "
+                + "WHERE id = ?", "not json", "[\"2025-02-30\",\"2025-03-01\"]", "[\"LATE_IN\",\"late_in\"]", id);
+
+        long before = JsonColumnConverter.malformedCount();
+        AttendanceGroup loaded = repository.findById(id).orElseThrow();
+
+        assertEquals(List.of(), loaded.getSubOwnerIds());
+        assertEquals(List.of(LocalDate.of(2025, 3, 1)), loaded.getSpecialDays());
+        assertEquals(Set.of(CorrectionType.LATE_IN), loaded.getCorrectionTypes());
+        assertEquals(before + 3, JsonColumnConverter.malformedCount());
+    }
+
+    @Test
+    public void testLoadingDoesNotMakeTheEntityDirty() {
+        AttendanceGroup group = new AttendanceGroup();
+        group.setName("Clean");
+        group.setSubOwnerIds(List.of(1L));
+        group.setCorrectionTypes(EnumSet.of(CorrectionType.REGULAR));
+        Long id = repository.save(group).getId();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                repository.findById(id).orElseThrow().getCorrectionTypes());
+        assertEquals(0, statistics.getEntityUpdateCount());
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.hcms.attendancegroup.service;
+
+import com.example.hcms.attendancegroup.domain.AttendanceGroupStatus;
+import com.example.hcms.attendancegroup.dto.AttendanceGroupResponse;
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.auth.domain.User;
+import com.example.hcms.auth.repository.UserRepository;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.shift.domain.Shift;
+import com.example.hcms.shift.repository.ShiftRepository;
+import com.example.hcms.shift.service.ShiftCatalog;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The group list must cost the same number of statements whatever the page size
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ AttendanceGroupServiceImpl.class, ShiftCatalog.class, ChangeWatermarks.class, SparseQueries.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AttendanceGroupListQueryCountTest {
+
+    private static final int GROUPS = 12;
+
+    @Autowired
+    private AttendanceGroupService service;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testListStatementCountIsConstant() {
+        for (int i = 0; i < GROUPS; i++) {
+            Shift shift = new Shift();
+            shift.setName("Counted shift " + i);
+            shift.setStartTime(LocalTime.of(8, 0));
+            shift.setEndTime(LocalTime.of(17, 0));
+            shift = shiftRepository.save(shift);
+
+            CreateAttendanceGroupRequest request = new CreateAttendanceGroupRequest();
+            request.setName(String.format("Counted group %02d", i));
+            request.setDefaultShiftId(shift.getId());
+            Long groupId = service.createGroup(request, 1L).getId();
+
+            User user = new User();
+            user.setEmail("counted" + i + "@example.com");
+            user.setUsername("counted" + i);
+            user.setPasswordHash("x");
+            user.setAttendanceGroupId(groupId);
+            userRepository.save(user);
+        }
+        // Users were saved directly, so bring the stored member counts up to date
+        assertEquals(GROUPS, service.reconcileMemberCounts());
+
+        long small = statementsForPage(3);
+        long large = statementsForPage(GROUPS - 1);
+
+        // Page select + total count; member counts are a column of the group row
+        assertEquals(2, small);
+        assertEquals(small, large);
+    }
+
+    private long statementsForPage(int size) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Page<AttendanceGroupResponse> page = service.getAllGroups("counted", AttendanceGroupStatus.ACTIVE, null,
+                PageRequest.of(0, size, Sort.by("name")));
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(size, page.getNumberOfElements());
+        for (AttendanceGroupResponse group : page.getContent()) {
+            assertNotNull(group.getDefaultShiftTime());
+            assertEquals(1, group.getMemberCount());
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.hcms.attendancegroup.service;
+
+import com.example.hcms.attendancegroup.domain.AttendanceGroupStatus;
+import com.example.hcms.attendancegroup.dto.AttendanceGroupResponse;
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.dto.UpdateAttendanceGroupRequest;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.shift.service.ShiftCatalog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The sub-owner table follows the group's subOwnerIds and backs the managedBy list filter
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ AttendanceGroupServiceImpl.class, ShiftCatalog.class, ChangeWatermarks.class, SparseQueries.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AttendanceGroupManagedByTest {
+
+    private static final long USER_ID = 1L;
+    private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by("name"));
+
+    @Autowired
+    private AttendanceGroupService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testSubOwnerRowsFollowCreateAndUpdate() {
+        AttendanceGroupResponse group = service.createGroup(request("Managed sync", List.of(31L, 32L, 31L)), USER_ID);
+        assertEquals(List.of(31L, 32L), subOwnerRows(group.getId()));
+
+        UpdateAttendanceGroupRequest update = new UpdateAttendanceGroupRequest();
+        update.setName("Managed sync");
+        update.setSubOwnerIds(List.of(32L, 33L));
+        AttendanceGroupResponse updated = service.updateGroup(group.getId(), update, USER_ID, null);
+
+        assertEquals(List.of(32L, 33L), subOwnerRows(group.getId()));
+        // The JSON column, and so the response format, is unchanged
+        assertEquals(List.of(32L, 33L), updated.getSubOwnerIds());
+    }
+
+    @Test
+    public void testManagedByFiltersFullAndSparseLists() {
+        service.createGroup(request("Managed A", List.of(41L, 42L)), USER_ID);
+        service.createGroup(request("Managed B", List.of(42L)), USER_ID);
+        service.createGroup(request("Managed C", List.of(43L)), USER_ID);
+
+        assertEquals(List.of("Managed A"), names(41L));
+        assertEquals(List.of("Managed A", "Managed B"), names(42L));
+        assertEquals(List.of(), names(44L));
+
+        List<Map<String, Object>> sparse = service.getAllGroups("managed", AttendanceGroupStatus.ACTIVE, 42L, PAGE,
+                service.selectFields("name")).getContent();
+        assertEquals(List.of(Map.of("name", "Managed A"), Map.of("name", "Managed B")), sparse);
+
+        assertNotEquals(service.getGroupsETag("managed", null, 41L, PAGE, null),
+                service.getGroupsETag("managed", null, 42L, PAGE, null));
+    }
+
+    private List<String> names(long managedBy) {
+        return service.getAllGroups("managed", AttendanceGroupStatus.ACTIVE, managedBy, PAGE).getContent().stream()
+                .map(AttendanceGroupResponse::getName)
+                .toList();
+    }
+
+    private List<Long> subOwnerRows(Long groupId) {
+        return jdbcTemplate.queryForList(
+                "SELECT user_id FROM attendance_group_sub_owner WHERE group_id = ? ORDER BY user_id",
+                Long.class, groupId);
+    }
+
+    private static CreateAttendanceGroupRequest request(String name, List<Long> subOwnerIds) {
+        CreateAttendanceGroupRequest request = new CreateAttendanceGroupRequest();
+        request.setName(name);
+        request.setSubOwnerIds(subOwnerIds);
+        return request;
+    }
+}
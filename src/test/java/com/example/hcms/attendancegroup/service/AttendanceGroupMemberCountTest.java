@@ -0,0 +1,127 @@
+package com.example.hcms.attendancegroup.service;
+
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.dto.MemberCountReconciliation;
+import com.example.hcms.attendancegroup.repository.AttendanceGroupRepository;
+import com.example.hcms.auth.dto.CreateUserRequest;
+import com.example.hcms.auth.dto.UpdateUserRequest;
+import com.example.hcms.auth.service.UserMembershipIndex;
+import com.example.hcms.auth.service.UserService;
+import com.example.hcms.common.config.SecurityConfig;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.department.service.DepartmentServiceImpl;
+import com.example.hcms.shift.service.ShiftCatalog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The stored member count must follow every user write path and be repairable when it drifts
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ AttendanceGroupServiceImpl.class, UserService.class, UserMembershipIndex.class, DepartmentServiceImpl.class,
+        SecurityConfig.class, ShiftCatalog.class, ChangeWatermarks.class, SparseQueries.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AttendanceGroupMemberCountTest {
+
+    @Autowired
+    private AttendanceGroupService groupService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AttendanceGroupRepository groupRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testCountFollowsUserWrites() {
+        Long day = createGroup("Counter day");
+        Long night = createGroup("Counter night");
+
+        Long alice = createUser("Counter Alice", day);
+        Long bob = createUser("Counter Bob", day);
+        Long carol = createUser("Counter Carol", null);
+        assertCounts(day, 2, night, 0);
+
+        UpdateUserRequest move = new UpdateUserRequest();
+        move.setAttendanceGroupId(night);
+        userService.updateUser(alice, move, null);
+        assertCounts(day, 1, night, 1);
+
+        // Bob and Carol join night; Alice is already there
+        assertEquals(2, userService.reassignAttendanceGroup(List.of(alice, bob, carol, -1L), night));
+        assertCounts(day, 0, night, 3);
+
+        assertEquals(1, userService.reassignAttendanceGroup(List.of(carol), null));
+        userService.deleteUser(bob, null);
+        assertCounts(day, 0, night, 1);
+
+        // A failed write must not leave its increment behind
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            createUser("Counter Dave", day);
+            status.setRollbackOnly();
+        });
+        assertCounts(day, 0, night, 1);
+    }
+
+    @Test
+    public void testReconciliationRepairsDrift() {
+        Long group = createGroup("Counter drift");
+        createUser("Counter Erin", group);
+        groupService.adjustMemberCount(group, 5);
+
+        MemberCountReconciliation result = groupService.reconcileMemberCount(group);
+        assertEquals(6, result.getStoredCount());
+        assertEquals(1, result.getActualCount());
+        assertTrue(result.isRepaired());
+        assertEquals(1, memberCount(group));
+
+        assertFalse(groupService.reconcileMemberCount(group).isRepaired());
+        groupService.adjustMemberCount(group, -1);
+        assertEquals(1, groupService.reconcileMemberCounts());
+        assertEquals(1, memberCount(group));
+    }
+
+    private Long createGroup(String name) {
+        CreateAttendanceGroupRequest request = new CreateAttendanceGroupRequest();
+        request.setName(name);
+        return groupService.createGroup(request, 1L).getId();
+    }
+
+    private Long createUser(String name, Long attendanceGroupId) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setName(name);
+        request.setAttendanceGroupId(attendanceGroupId);
+        return userService.createUser(request).getId();
+    }
+
+    private void assertCounts(Long first, int firstCount, Long second, int secondCount) {
+        assertEquals(firstCount, memberCount(first));
+        assertEquals(secondCount, memberCount(second));
+    }
+
+    private int memberCount(Long groupId) {
+        return groupRepository.findById(groupId).orElseThrow().getMemberCount();
+    }
+}
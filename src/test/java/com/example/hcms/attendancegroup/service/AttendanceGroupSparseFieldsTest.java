@@ -0,0 +1,127 @@
+package com.example.hcms.attendancegroup.service;
+
+import com.example.hcms.attendancegroup.domain.AttendanceGroupStatus;
+import com.example.hcms.attendancegroup.dto.AttendanceGroupResponse;
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.auth.domain.User;
+import com.example.hcms.auth.repository.UserRepository;
+import com.example.hcms.common.exception.InvalidFieldsException;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.common.web.FieldSet;
+import com.example.hcms.shift.domain.Shift;
+import com.example.hcms.shift.repository.ShiftRepository;
+import com.example.hcms.shift.service.ShiftCatalog;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sparse fieldsets must render every field exactly as the full representation does
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ AttendanceGroupServiceImpl.class, ShiftCatalog.class, ChangeWatermarks.class, SparseQueries.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AttendanceGroupSparseFieldsTest {
+
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private AttendanceGroupService service;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testEveryFieldMatchesFullRepresentation() {
+        Shift shift = new Shift();
+        shift.setName("Office hours");
+        shift.setStartTime(LocalTime.of(9, 0));
+        shift.setEndTime(LocalTime.of(18, 0));
+        shift = shiftRepository.save(shift);
+
+        Long withShift = createGroup("Sparse A", shift.getId()).getId();
+        createGroup("Sparse B", null);
+        addMember("sparse.member", withShift);
+
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("name"));
+        List<AttendanceGroupResponse> full = service.getAllGroups("sparse", AttendanceGroupStatus.ACTIVE, null, pageable)
+                .getContent();
+        ObjectNode first = objectMapper.valueToTree(full.get(0));
+        FieldSet allFields = service.selectFields(String.join(",", (Iterable<String>) first::fieldNames));
+        List<Map<String, Object>> sparse = service.getAllGroups("sparse", AttendanceGroupStatus.ACTIVE, null, pageable,
+                allFields).getContent();
+
+        assertEquals(2, sparse.size());
+        for (int i = 0; i < full.size(); i++) {
+            JsonNode expected = objectMapper.valueToTree(full.get(i));
+            assertEquals(expected, objectMapper.valueToTree(sparse.get(i)), "group " + full.get(i).getName());
+            assertEquals(expected, objectMapper.valueToTree(service.getGroupFields(full.get(i).getId(), allFields)));
+        }
+        assertNotNull(full.get(0).getDefaultShiftTime());
+        assertNull(full.get(1).getDefaultShiftId());
+
+        Page<Map<String, Object>> page = service.getAllGroups("sparse", AttendanceGroupStatus.ACTIVE, null, pageable,
+                service.selectFields("name,memberCount"));
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of("name", "memberCount"), List.copyOf(page.getContent().get(0).keySet()));
+        assertEquals(1, page.getContent().get(0).get("memberCount"));
+        assertEquals(0, page.getContent().get(1).get("memberCount"));
+    }
+
+    @Test
+    public void testUnknownFieldIsRejected() {
+        assertNull(service.selectFields(null));
+        assertThrows(InvalidFieldsException.class, () -> service.selectFields("id,passwordHash"));
+    }
+
+    private AttendanceGroupResponse createGroup(String name, Long defaultShiftId) {
+        CreateAttendanceGroupRequest request = new CreateAttendanceGroupRequest();
+        request.setName(name);
+        request.setDefaultShiftId(defaultShiftId);
+        request.setSubOwnerIds(List.of(7L, 8L));
+        request.setSpecialDays(List.of("2025-12-25"));
+        request.setCorrectionTypes(List.of("LATE_IN", "EARLY_OUT"));
+        request.setNonWorkingDayResetTime("05:30");
+        return service.createGroup(request, USER_ID);
+    }
+
+    private void addMember(String username, Long groupId) {
+        User user = new User();
+        user.setEmail(username + "@example.com");
+        user.setUsername(username);
+        user.setPasswordHash("x");
+        user.setAttendanceGroupId(groupId);
+        userRepository.save(user);
+        service.updateMemberCounts(null, groupId);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.hcms.attendancegroup.service;
+
+import com.example.hcms.attendancegroup.domain.MemberTrackingMode;
+import com.example.hcms.attendancegroup.domain.TrackingLevel;
+import com.example.hcms.attendancegroup.dto.AttendanceGroupResponse;
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.dto.GroupTrackingResponse;
+import com.example.hcms.attendancegroup.dto.UpdateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.exception.InvalidTrackingConditionException;
+import com.example.hcms.auth.dto.CreateUserRequest;
+import com.example.hcms.auth.dto.UpdateUserRequest;
+import com.example.hcms.auth.service.UserMembershipIndex;
+import com.example.hcms.auth.service.UserService;
+import com.example.hcms.common.config.SecurityConfig;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.department.service.DepartmentServiceImpl;
+import com.example.hcms.shift.service.ShiftCatalog;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiled tracking conditions over all members, kept current by user and group writes
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ AttendanceGroupServiceImpl.class, MemberTrackingEngine.class, UserService.class, UserMembershipIndex.class,
+        DepartmentServiceImpl.class, SecurityConfig.class, ShiftCatalog.class, ChangeWatermarks.class,
+        SparseQueries.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MemberTrackingEngineTest {
+
+    // Jakarta office staff except contractors, plus every engineer
+    private static final String REQUIRED = """
+            {"any": [
+              {"all": [{"attribute": "city", "in": ["Jakarta"]},
+                       {"not": {"attribute": "workforceType", "in": ["contractor"]}}]},
+              {"attribute": "jobTitle", "in": ["Engineer"]}
+            ]}""";
+
+    @Autowired
+    private AttendanceGroupService groupService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MemberTrackingEngine engine;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testConditionsSelectMembersAndFollowWrites() {
+        Long group = createGroup("Tracked office", REQUIRED).getId();
+        Long otherGroup = createGroup("Tracked elsewhere", REQUIRED).getId();
+        Long staff = createUser("Tracked Staff", group, " jakarta ", "Permanent", "Analyst");
+        Long contractor = createUser("Tracked Contractor", group, "Jakarta", "Contractor", "Analyst");
+        Long engineer = createUser("Tracked Engineer", group, "Bandung", "Contractor", "engineer");
+        Long outsider = createUser("Tracked Outsider", otherGroup, "Jakarta", "Permanent", "Analyst");
+
+        GroupTrackingResponse tracked = engine.getTrackedMembers(group);
+        assertEquals(List.of(staff, engineer), tracked.getRequiredUserIds());
+        assertEquals(List.of(contractor), tracked.getOptionalUserIds());
+        assertEquals(TrackingLevel.OPTIONAL, engine.getUserTracking(contractor).getTracking());
+        assertEquals(otherGroup, engine.getUserTracking(outsider).getAttendanceGroupId());
+
+        // Only the changed users are re-evaluated, from the membership index; the compiled group is reused
+        UpdateUserRequest convert = new UpdateUserRequest();
+        convert.setWorkforceType("Permanent");
+        userService.updateUser(contractor, convert, null);
+        UpdateUserRequest rename = new UpdateUserRequest();
+        rename.setFirstName("Renamed");
+        userService.updateUser(staff, rename, null);
+        assertEquals(1, userService.reassignAttendanceGroup(List.of(outsider), group));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        tracked = engine.getTrackedMembers(group);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(staff, contractor, engineer, outsider), tracked.getRequiredUserIds());
+        assertEquals(List.of(), tracked.getOptionalUserIds());
+
+        userService.deleteUser(engineer, null);
+        UpdateAttendanceGroupRequest update = new UpdateAttendanceGroupRequest();
+        update.setName("Tracked office");
+        update.setMemberTrackingRequiredConditions("{\"attribute\": \"workforceType\", \"in\": [\"permanent\"]}");
+        Long version = groupService.updateGroup(group, update, 1L, null).getVersion();
+
+        tracked = engine.getTrackedMembers(group);
+        assertEquals(version, tracked.getVersion());
+        assertEquals(List.of(staff, contractor, outsider), tracked.getRequiredUserIds());
+        Long newcomer = createUser("Tracked Newcomer", null, null, null, null);
+        assertEquals(TrackingLevel.NONE, engine.getUserTracking(newcomer).getTracking());
+    }
+
+    @Test
+    public void testInvalidConditionsAreRejected() {
+        for (String json : List.of("{", "{\"attribute\": \"salary\", \"in\": [1]}", "{\"all\": {}}",
+                "{\"attribute\": \"city\"}", "[]")) {
+            assertThrows(InvalidTrackingConditionException.class, () -> createGroup("Tracked invalid", json), json);
+        }
+    }
+
+    private AttendanceGroupResponse createGroup(String name, String required) {
+        CreateAttendanceGroupRequest request = new CreateAttendanceGroupRequest();
+        request.setName(name);
+        request.setMemberTrackingRequired(MemberTrackingMode.CUSTOM);
+        request.setMemberTrackingRequiredConditions(required);
+        request.setMemberTrackingOptional(MemberTrackingMode.ALL);
+        return groupService.createGroup(request, 1L);
+    }
+
+    private Long createUser(String name, Long groupId, String city, String workforceType, String jobTitle) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setName(name);
+        request.setAttendanceGroupId(groupId);
+        request.setCity(city);
+        request.setWorkforceType(workforceType);
+        request.setJobTitle(jobTitle);
+        return userService.createUser(request).getId();
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.hcms.attendancegroup.service;
+
+import com.example.hcms.attendancegroup.domain.GroupShiftType;
+import com.example.hcms.attendancegroup.domain.ScheduleDayType;
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.dto.NonWorkingDayResponse;
+import com.example.hcms.attendancegroup.dto.ScheduledDay;
+import com.example.hcms.attendancegroup.dto.UpdateAttendanceGroupRequest;
+import com.example.hcms.auth.dto.CreateUserRequest;
+import com.example.hcms.auth.service.UserMembershipIndex;
+import com.example.hcms.auth.service.UserService;
+import com.example.hcms.common.config.SecurityConfig;
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.department.service.DepartmentServiceImpl;
+import com.example.hcms.holiday.service.HolidayService;
+import com.example.hcms.holiday.service.HolidayServiceImpl;
+import com.example.hcms.shift.dto.CreateShiftRequest;
+import com.example.hcms.shift.dto.UpdateShiftRequest;
+import com.example.hcms.shift.exception.ShiftInUseException;
+import com.example.hcms.shift.service.ShiftCatalog;
+import com.example.hcms.shift.service.ShiftService;
+import com.example.hcms.shift.service.ShiftServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiled weekly calendars, shared day entries and invalidation on group, shift and user writes;
+ * shift writes drop only the calendars of the groups using the shift
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ AttendanceGroupServiceImpl.class, ScheduleResolver.class, ShiftServiceImpl.class, UserService.class,
+        UserMembershipIndex.class, HolidayServiceImpl.class, DepartmentServiceImpl.class, SecurityConfig.class,
+        ShiftCatalog.class, ChangeWatermarks.class, SparseQueries.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ScheduleResolverTest {
+
+    // Monday 22 December 2025 to Sunday 28 December 2025, with Christmas as a special day
+    private static final LocalDate MONDAY = LocalDate.of(2025, 12, 22);
+    private static final LocalDate CHRISTMAS = LocalDate.of(2025, 12, 25);
+
+    @Autowired
+    private AttendanceGroupService groupService;
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private HolidayService holidayService;
+
+    @Autowired
+    private ScheduleResolver resolver;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testWeeklyCalendarAndSpecialDays() {
+        Long day = createShift("Schedule day", "09:00", "18:00", false);
+        Long night = createShift("Schedule night", "22:00", "06:00", true);
+        CreateAttendanceGroupRequest fixed = groupRequest("Schedule fixed", GroupShiftType.FIXED, day, night);
+        Long fixedGroup = groupService.createGroup(fixed, 1L).getId();
+        CreateAttendanceGroupRequest scheduled = groupRequest("Schedule rostered", GroupShiftType.SCHEDULED, null,
+                null);
+        scheduled.setDefaultShiftId(night);
+        Long scheduledGroup = groupService.createGroup(scheduled, 1L).getId();
+        Long office = createUser("Schedule Office", fixedGroup);
+        Long rostered = createUser("Schedule Rostered", scheduledGroup);
+        Long unassigned = createUser("Schedule Unassigned", null);
+
+        ScheduledDay monday = resolver.resolve(office, MONDAY);
+        assertEquals(ScheduleDayType.WORKING, monday.getType());
+        assertEquals(day, monday.getShiftId());
+        assertEquals(LocalTime.of(9, 0), monday.getStartTime());
+        assertSame(monday, resolver.resolve(office, MONDAY.plusWeeks(5)));
+        assertEquals(ScheduleDayType.SPECIAL_DAY, resolver.resolve(office, CHRISTMAS).getType());
+        ScheduledDay saturday = resolver.resolve(office, MONDAY.plusDays(5));
+        assertEquals(night, saturday.getShiftId());
+        assertTrue(saturday.isNextDayEnd());
+        assertEquals(ScheduleDayType.REST, resolver.resolve(office, MONDAY.plusDays(6)).getType());
+        assertEquals(ScheduleDayType.UNASSIGNED, resolver.resolve(unassigned, MONDAY).getType());
+        assertThrows(RuntimeException.class, () -> resolver.resolve(Integer.MAX_VALUE, MONDAY));
+
+        // The batch compiles the rostered group in one query; compiled groups never touch the database
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Map<Long, ScheduledDay[]> week = resolver.resolve(List.of(rostered, office, unassigned, 999_999L), MONDAY,
+                MONDAY.plusDays(6));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        resolver.resolve(rostered, MONDAY);
+        resolver.resolve(List.of(office, rostered), MONDAY, MONDAY.plusMonths(3));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(rostered, office, unassigned), List.copyOf(week.keySet()));
+        for (int offset = 0; offset < 7; offset++) {
+            assertEquals(offset == 3 ? null : night, week.get(rostered)[offset].getShiftId());
+        }
+        assertEquals(ScheduleDayType.SPECIAL_DAY, week.get(office)[3].getType());
+        assertThrows(InvalidParameterException.class,
+                () -> resolver.resolve(List.of(office), MONDAY, MONDAY.minusDays(1)));
+        assertThrows(InvalidParameterException.class,
+                () -> resolver.resolve(List.of(office), MONDAY, MONDAY.plusYears(2)));
+    }
+
+    @Test
+    public void testWritesInvalidateCalendars() {
+        Long day = createShift("Schedule early", "09:00", "17:00", false);
+        Long group = groupService.createGroup(
+                groupRequest("Schedule changing", GroupShiftType.FIXED, day, null), 1L).getId();
+        Long other = groupService.createGroup(
+                groupRequest("Schedule free", GroupShiftType.FREE, day, null), 1L).getId();
+        Long member = createUser("Schedule Member", group);
+        Long late = createShift("Schedule late", "13:00", "21:00", false);
+        Long bystander = createUser("Schedule Bystander", groupService.createGroup(
+                groupRequest("Schedule bystanding", GroupShiftType.FIXED, late, null), 1L).getId());
+        assertEquals(LocalTime.of(9, 0), resolver.resolve(member, MONDAY).getStartTime());
+        ScheduledDay unaffected = resolver.resolve(bystander, MONDAY);
+
+        // A shift write only drops the calendars of the groups using it
+        UpdateShiftRequest earlier = new UpdateShiftRequest();
+        earlier.setStartTime("07:30");
+        shiftService.updateShift(day, earlier, 1L, null);
+        assertEquals(LocalTime.of(7, 30), resolver.resolve(member, MONDAY).getStartTime());
+        assertSame(unaffected, resolver.resolve(bystander, MONDAY));
+
+        UpdateAttendanceGroupRequest restOnMondays = new UpdateAttendanceGroupRequest();
+        restOnMondays.setName("Schedule changing");
+        restOnMondays.setShiftType(GroupShiftType.FIXED);
+        restOnMondays.setTuesdayShiftId(day);
+        groupService.updateGroup(group, restOnMondays, 1L, null);
+        assertEquals(ScheduleDayType.REST, resolver.resolve(member, MONDAY).getType());
+        assertEquals(day, resolver.resolve(member, MONDAY.plusDays(1)).getShiftId());
+
+        assertEquals(1, userService.reassignAttendanceGroup(List.of(member), other));
+        assertEquals(ScheduleDayType.FREE, resolver.resolve(member, MONDAY).getType());
+
+        assertThrows(ShiftInUseException.class, () -> shiftService.deleteShift(day, 1L, null));
+        groupService.deleteGroup(other, 1L, null);
+        assertEquals(ScheduleDayType.UNASSIGNED, resolver.resolve(member, MONDAY).getType());
+    }
+
+    @Test
+    public void testPublicHolidaysAndNonWorkingDays() {
+        Long day = createShift("Schedule holiday", "08:00", "17:00", false);
+        CreateAttendanceGroupRequest request = groupRequest("Schedule observant", GroupShiftType.FIXED, day, null);
+        request.setUsePublicHolidays(true);
+        Long group = groupService.createGroup(request, 1L).getId();
+        Long member = createUser("Schedule Observant", group);
+        holidayService.importCalendars();
+
+        // Labour Day (a Thursday) in the default calendar; Christmas stays a special day
+        LocalDate labourDay = LocalDate.of(2025, 5, 1);
+        assertEquals(ScheduleDayType.PUBLIC_HOLIDAY, resolver.resolve(member, labourDay).getType());
+        assertEquals(ScheduleDayType.SPECIAL_DAY, resolver.resolve(member, CHRISTMAS).getType());
+        assertEquals(ScheduleDayType.WORKING, resolver.resolve(member, labourDay.plusDays(1)).getType());
+
+        List<NonWorkingDayResponse> nonWorking = resolver.nonWorkingDays(group, labourDay.minusDays(3),
+                labourDay.plusDays(3));
+        assertEquals(List.of(labourDay, labourDay.plusDays(2), labourDay.plusDays(3)),
+                nonWorking.stream().map(NonWorkingDayResponse::getDate).toList());
+        assertEquals(List.of(ScheduleDayType.PUBLIC_HOLIDAY, ScheduleDayType.REST, ScheduleDayType.REST),
+                nonWorking.stream().map(NonWorkingDayResponse::getType).toList());
+        assertThrows(RuntimeException.class, () -> resolver.nonWorkingDays(Integer.MAX_VALUE, MONDAY, MONDAY));
+    }
+
+    private Long createShift(String name, String start, String end, boolean nextDayEnd) {
+        CreateShiftRequest request = new CreateShiftRequest();
+        request.setName(name);
+        request.setStartTime(start);
+        request.setEndTime(end);
+        request.setIsNextDayEnd(nextDayEnd);
+        return shiftService.createShift(request, 1L).getId();
+    }
+
+    /**
+     * A group working {@code weekday} Monday to Friday and {@code saturday} on Saturdays, off on Christmas
+     */
+    private static CreateAttendanceGroupRequest groupRequest(String name, GroupShiftType type, Long weekday,
+            Long saturday) {
+        CreateAttendanceGroupRequest request = new CreateAttendanceGroupRequest();
+        request.setName(name);
+        request.setShiftType(type);
+        request.setMondayShiftId(weekday);
+        request.setTuesdayShiftId(weekday);
+        request.setWednesdayShiftId(weekday);
+        request.setThursdayShiftId(weekday);
+        request.setFridayShiftId(weekday);
+        request.setSaturdayShiftId(saturday);
+        request.setSpecialDays(List.of(CHRISTMAS.toString()));
+        return request;
+    }
+
+    private Long createUser(String name, Long groupId) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setName(name);
+        request.setAttendanceGroupId(groupId);
+        return userService.createUser(request).getId();
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.hcms.attendancegroup.service;
+
+import com.example.hcms.attendancegroup.domain.GroupShiftType;
+import com.example.hcms.attendancegroup.domain.ShiftInstance;
+import com.example.hcms.attendancegroup.domain.ShiftInstanceIndex;
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.auth.service.UserMembershipIndex;
+import com.example.hcms.auth.service.UserService;
+import com.example.hcms.common.config.SecurityConfig;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.department.service.DepartmentServiceImpl;
+import com.example.hcms.holiday.service.HolidayServiceImpl;
+import com.example.hcms.shift.domain.PunchOutcome;
+import com.example.hcms.shift.dto.CreateShiftRequest;
+import com.example.hcms.shift.service.ShiftCatalog;
+import com.example.hcms.shift.service.ShiftServiceImpl;
+import com.example.hcms.shift.service.ShiftVersions;
+import com.example.hcms.support.AttendanceFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static com.example.hcms.support.AttendanceFixtures.JAKARTA;
+import static com.example.hcms.support.AttendanceFixtures.fixedGroup;
+import static com.example.hcms.support.AttendanceFixtures.shift;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Punches matched to shift instances: overnight shifts, overlapping windows and their tie-break, group
+ * time zones, and the index against a linear scan
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ ShiftInstanceMatcher.class, ScheduleResolver.class, AttendanceGroupServiceImpl.class,
+        ShiftServiceImpl.class, UserService.class, UserMembershipIndex.class, HolidayServiceImpl.class,
+        DepartmentServiceImpl.class, SecurityConfig.class, ShiftCatalog.class, ShiftVersions.class,
+        ChangeWatermarks.class, SparseQueries.class, AttendanceFixtures.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ShiftInstanceMatcherTest {
+
+    // Monday 2 June 2025
+    private static final LocalDate MONDAY = LocalDate.of(2025, 6, 2);
+    private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+
+    @Autowired
+    private ShiftInstanceMatcher matcher;
+
+    @Autowired
+    private AttendanceFixtures fixtures;
+
+    @Test
+    public void testOvernightAndOverlappingWindows() {
+        // Monday nights 21:00 to 05:00, Tuesdays 07:00 to 15:00: Monday's window (to 13:00) overlaps Tuesday's
+        Long night = createShift("Matcher night", "21:00", "05:00", true);
+        Long early = createShift("Matcher early", "07:00", "15:00", false);
+        Long group = fixtures.createGroup(fixedGroup("Matcher Jakarta",
+                day -> day == DayOfWeek.MONDAY ? night : day == DayOfWeek.TUESDAY ? early : null));
+        Long user = fixtures.createUser("Matcher Jakarta", group);
+        LocalDate tuesday = MONDAY.plusDays(1);
+
+        assertInstance(MONDAY, night, matcher.match(user, at(MONDAY, 20, 0, JAKARTA)));
+        assertInstance(MONDAY, night, matcher.match(user, at(tuesday, 4, 50, JAKARTA)));
+        // An hour from Monday's end and from Tuesday's start: the earlier instance wins
+        assertInstance(MONDAY, night, matcher.match(user, at(tuesday, 6, 0, JAKARTA)));
+        assertInstance(tuesday, early, matcher.match(user, at(tuesday, 6, 1, JAKARTA)));
+        assertInstance(tuesday, early, matcher.match(user, at(tuesday, 12, 0, JAKARTA)));
+        // Before Monday's window opens, and Wednesday is a rest day
+        assertNull(matcher.match(user, at(MONDAY, 19, 59, JAKARTA)));
+        assertNull(matcher.match(user, at(MONDAY.plusDays(2), 9, 0, JAKARTA)));
+
+        // The matched instance classifies its punches with the shift's rules
+        ShiftInstance monday = matcher.match(user, at(MONDAY, 21, 10, JAKARTA));
+        int outcomes = monday.classify(at(MONDAY, 21, 10, JAKARTA).getEpochSecond(),
+                at(tuesday, 4, 20, JAKARTA).getEpochSecond());
+        assertTrue(PunchOutcome.HALF_DAY_EARLY.in(outcomes));
+        assertTrue(PunchOutcome.LATE.in(outcomes));
+    }
+
+    @Test
+    public void testGroupTimeZoneAndLinearScan() {
+        Long day = createShift("Matcher office", "09:00", "18:00", false);
+        CreateAttendanceGroupRequest request = new CreateAttendanceGroupRequest();
+        request.setName("Matcher Tokyo");
+        request.setShiftType(GroupShiftType.SCHEDULED);
+        request.setTimezone("Asia/Tokyo");
+        request.setUsePublicHolidays(false);
+        request.setDefaultShiftId(day);
+        request.setSaturdayShiftId(createShift("Matcher weekend", "22:00", "07:00", true));
+        Long user = fixtures.createUser("Matcher Tokyo", fixtures.createGroup(request));
+
+        // 08:30 in Tokyo is 06:30 in Jakarta: the window is placed in the group's zone
+        ShiftInstance instance = matcher.match(user, at(MONDAY, 8, 30, TOKYO));
+        assertInstance(MONDAY, day, instance);
+        assertEquals(at(MONDAY, 9, 0, TOKYO).getEpochSecond(), instance.getStart());
+        assertNull(matcher.match(user, at(MONDAY, 7, 59, TOKYO)));
+
+        // Every five minutes over four weeks, the index agrees with scanning every instance
+        Instant from = at(MONDAY, 0, 0, TOKYO);
+        Instant to = at(MONDAY.plusWeeks(4), 0, 0, TOKYO);
+        ShiftInstanceIndex index = matcher.index(user, from, to);
+        assertEquals(4 * 7 + 4, index.size());
+        for (long time = from.getEpochSecond(); time < to.getEpochSecond(); time += 300) {
+            assertSame(scan(index, time), index.match(time), "at " + Instant.ofEpochSecond(time));
+        }
+        assertThrows(RuntimeException.class, () -> matcher.match(Integer.MAX_VALUE, from));
+    }
+
+    private static ShiftInstance scan(ShiftInstanceIndex index, long time) {
+        ShiftInstance best = null;
+        for (ShiftInstance candidate : index.instances()) {
+            if (candidate.accepts(time) && (best == null || candidate.distance(time) < best.distance(time)
+                    || candidate.distance(time) == best.distance(time) && candidate.getStart() < best.getStart())) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private static void assertInstance(LocalDate date, Long shiftId, ShiftInstance instance) {
+        assertNotNull(instance);
+        assertEquals(date, instance.getDate());
+        assertEquals(shiftId, instance.getShift().getId());
+    }
+
+    private static Instant at(LocalDate date, int hour, int minute, ZoneId zone) {
+        return date.atTime(hour, minute).atZone(zone).toInstant();
+    }
+
+    private Long createShift(String name, String start, String end, boolean nextDayEnd) {
+        CreateShiftRequest request = shift(name, start, end);
+        request.setIsNextDayEnd(nextDayEnd);
+        return fixtures.createShift(request);
+    }
+}
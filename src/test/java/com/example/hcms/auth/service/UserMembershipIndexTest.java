@@ -0,0 +1,142 @@
+package com.example.hcms.auth.service;
+
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.service.AttendanceGroupService;
+import com.example.hcms.attendancegroup.service.AttendanceGroupServiceImpl;
+import com.example.hcms.auth.domain.UserDimension;
+import com.example.hcms.auth.dto.CreateUserRequest;
+import com.example.hcms.auth.dto.UpdateUserRequest;
+import com.example.hcms.auth.dto.UserIndexStats;
+import com.example.hcms.auth.dto.UserResponse;
+import com.example.hcms.common.config.SecurityConfig;
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.department.service.DepartmentServiceImpl;
+import com.example.hcms.shift.service.ShiftCatalog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.hcms.auth.service.UserFilter.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Filtered counts and pages from the membership index must follow every committed user write
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ UserService.class, UserMembershipIndex.class, AttendanceGroupServiceImpl.class, DepartmentServiceImpl.class,
+        SecurityConfig.class, ShiftCatalog.class, ChangeWatermarks.class, SparseQueries.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class UserMembershipIndexTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AttendanceGroupService groupService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testFiltersFollowUserWrites() {
+        String group = createGroup("Indexed group").toString();
+        Long jakarta = createUser("Indexed Jakarta", group, "Jakarta", "Permanent");
+        Long contractor = createUser("Indexed Contractor", group, " jakarta", "Contractor");
+        Long bandung = createUser("Indexed Bandung", group, "Bandung", "Permanent");
+        Long elsewhere = createUser("Indexed Elsewhere", null, "Jakarta", "Permanent");
+
+        UserFilter inGroup = in(UserDimension.ATTENDANCE_GROUP, group);
+        assertEquals(2, userService.countUsers(and(inGroup, in(UserDimension.CITY, "JAKARTA"))));
+        assertEquals(1, userService.countUsers(and(inGroup, in(UserDimension.CITY, "Jakarta"),
+                not(in(UserDimension.WORKFORCE_TYPE, "contractor")))));
+        assertEquals(3, userService.countUsers(and(inGroup, or(in(UserDimension.CITY, "Bandung"),
+                in(UserDimension.STATUS, "INACTIVE")))));
+
+        // Invited users start INACTIVE; resetting the password activates them
+        userService.resetPassword(jakarta, "secret-password");
+        UpdateUserRequest move = new UpdateUserRequest();
+        move.setCity("Bandung");
+        userService.updateUser(contractor, move, null);
+        userService.deleteUser(bandung, null);
+        assertEquals(1, userService.reassignAttendanceGroup(List.of(elsewhere), Long.valueOf(group)));
+
+        UserFilter fromParams = fromParams(params(group, "active,!suspended", null));
+        assertEquals(1, userService.countUsers(fromParams));
+        assertEquals(List.of(contractor), ids(userService.getAllUsers(
+                fromParams(params(group, null, "!Jakarta,Bandung")), PageRequest.of(0, 5))));
+        assertEquals(List.of(elsewhere, jakarta), ids(userService.getAllUsers(and(inGroup,
+                in(UserDimension.CITY, "Jakarta")), PageRequest.of(0, 5, Sort.by("id").descending()))));
+
+        Page<UserResponse> second = userService.getAllUsers(inGroup, PageRequest.of(1, 2));
+        assertEquals(3, second.getTotalElements());
+        assertEquals(List.of(elsewhere), ids(second));
+
+        // A rolled-back write leaves the index untouched
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            userService.deleteUser(elsewhere, null);
+            status.setRollbackOnly();
+        });
+        assertEquals(3, userService.countUsers(inGroup));
+    }
+
+    @Test
+    public void testUnsupportedInputIsRejected() {
+        UserFilter filter = in(UserDimension.STATUS, "ACTIVE");
+        assertThrows(InvalidParameterException.class,
+                () -> userService.getAllUsers(filter, PageRequest.of(0, 5, Sort.by("email"))));
+        assertThrows(InvalidParameterException.class, () -> fromParams(params(null, " , ", null)));
+        assertNull(fromParams(params(null, null, " ")));
+
+        UserIndexStats stats = userService.getIndexStats();
+        assertTrue(stats.getEstimatedBytes() >= stats.getBitmapBytes());
+        assertEquals(UserDimension.values().length, stats.getDistinctValues().size());
+    }
+
+    private static Map<UserDimension, String> params(String group, String status, String city) {
+        Map<UserDimension, String> params = new EnumMap<>(UserDimension.class);
+        params.put(UserDimension.ATTENDANCE_GROUP, group);
+        params.put(UserDimension.STATUS, status);
+        params.put(UserDimension.CITY, city);
+        return params;
+    }
+
+    private static List<Long> ids(Page<UserResponse> page) {
+        return page.getContent().stream().map(UserResponse::getId).toList();
+    }
+
+    private Long createGroup(String name) {
+        CreateAttendanceGroupRequest request = new CreateAttendanceGroupRequest();
+        request.setName(name);
+        return groupService.createGroup(request, 1L).getId();
+    }
+
+    private Long createUser(String name, String groupId, String city, String workforceType) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setName(name);
+        request.setAttendanceGroupId(groupId != null ? Long.valueOf(groupId) : null);
+        request.setCity(city);
+        request.setWorkforceType(workforceType);
+        return userService.createUser(request).getId();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.hcms.batch.service;
+
+import com.example.hcms.batch.dto.BatchRequest;
+import com.example.hcms.batch.dto.BatchResponse;
+import com.example.hcms.batch.exception.BatchTooLargeException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.access.WebInvocationPrivilegeEvaluator;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing, validation and security propagation of batch sub-requests
+ */
+public class BatchServiceImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BatchServiceImpl service;
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    public void testSubRequestsRunWithCallerAuthenticationInOrder() throws Exception {
+        Authentication caller = new UsernamePasswordAuthenticationToken(42L, null,
+                List.of(new SimpleGrantedAuthority("ROLE_EMPLOYEE")));
+        SecurityContextHolder.getContext().setAuthentication(caller);
+        service = newService(new EchoServlet(), (contextPath, uri, method, auth) -> !uri.startsWith("/api/v1/users"), 6);
+
+        BatchResponse response = service.execute(batch(
+                sub("a", "GET", "/api/v1/shifts?fields=id,name&status=ACTIVE", Map.of("If-None-Match", "\"x\"")),
+                sub("b", "GET", "/api/v1/attendance-groups/7", Map.of("Authorization", "Bearer other")),
+                sub(null, "DELETE", "/api/v1/shifts/1", null),
+                sub("d", "GET", "/api/v1/shifts/../auth/login", null),
+                sub("e", "GET", "/api/v1/batch", null),
+                sub("f", "GET", "/api/v1/users/1", null)), new MockHttpServletRequest("POST", "/api/v1/batch"));
+
+        List<BatchResponse.SubResponse> items = response.getResponses();
+        assertEquals(List.of(200, 200, 405, 400, 403, 403), items.stream().map(BatchResponse.SubResponse::getStatus).toList());
+        assertEquals("2", items.get(2).getId());
+
+        Map<?, ?> first = objectMapper.readValue(items.get(0).getBody(), Map.class);
+        assertEquals("/api/v1/shifts", first.get("uri"));
+        assertEquals("id,name", first.get("fields"));
+        assertEquals("\"x\"", first.get("ifNoneMatch"));
+        assertEquals(42, first.get("principal"));
+        assertNotEquals(Thread.currentThread().getName(), first.get("thread"));
+        assertEquals("\"etag-/api/v1/shifts\"", items.get(0).getHeaders().get("ETag"));
+        assertNotNull(items.get(0).getDurationMs());
+
+        // Sub-request headers outside the allowlist are dropped
+        Map<?, ?> second = objectMapper.readValue(items.get(1).getBody(), Map.class);
+        assertNull(second.get("authorization"));
+    }
+
+    @Test
+    public void testFanOutIsCapped() {
+        service = newService(new EchoServlet(), (contextPath, uri, method, auth) -> true, 2);
+        BatchRequest.SubRequest[] subs = new BatchRequest.SubRequest[3];
+        for (int i = 0; i < subs.length; i++) {
+            subs[i] = sub(null, "GET", "/api/v1/shifts/" + i, null);
+        }
+        assertThrows(BatchTooLargeException.class,
+                () -> service.execute(batch(subs), new MockHttpServletRequest("POST", "/api/v1/batch")));
+    }
+
+    private BatchServiceImpl newService(DispatcherServlet servlet, PrivilegeEvaluator evaluator, int maxRequests) {
+        return new BatchServiceImpl(servlet, evaluator, objectMapper,
+                new String[] { "/api/v1/shifts/**", "/api/v1/attendance-groups/**", "/api/v1/users/**" },
+                maxRequests, 2, 4, 5000);
+    }
+
+    private static BatchRequest batch(BatchRequest.SubRequest... subs) {
+        BatchRequest request = new BatchRequest();
+        request.setRequests(List.of(subs));
+        return request;
+    }
+
+    private static BatchRequest.SubRequest sub(String id, String method, String path, Map<String, String> headers) {
+        BatchRequest.SubRequest sub = new BatchRequest.SubRequest();
+        sub.setId(id);
+        sub.setMethod(method);
+        sub.setPath(path);
+        sub.setHeaders(headers);
+        return sub;
+    }
+
+    /**
+     * URL rule stub; only the four-argument variant is consulted
+     */
+    @FunctionalInterface
+    private interface PrivilegeEvaluator extends WebInvocationPrivilegeEvaluator {
+        @Override
+        default boolean isAllowed(String uri, Authentication authentication) {
+            return isAllowed(null, uri, "GET", authentication);
+        }
+    }
+
+    /**
+     * Stands in for the real dispatcher: echoes what the handler would see
+     */
+    private class EchoServlet extends DispatcherServlet {
+        @Override
+        public void service(ServletRequest req, ServletResponse res) throws IOException {
+            HttpServletRequest request = (HttpServletRequest) req;
+            HttpServletResponse response = (HttpServletResponse) res;
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            response.setContentType("application/json");
+            response.setHeader("ETag", "\"etag-" + request.getRequestURI() + "\"");
+            Map<String, Object> echo = new HashMap<>();
+            echo.put("uri", request.getRequestURI());
+            echo.put("fields", request.getParameter("fields"));
+            echo.put("ifNoneMatch", request.getHeader("If-None-Match"));
+            echo.put("authorization", request.getHeader("Authorization"));
+            echo.put("principal", auth != null ? auth.getPrincipal() : null);
+            echo.put("thread", Thread.currentThread().getName());
+            objectMapper.writeValue(response.getOutputStream(), echo);
+        }
+    }
+}
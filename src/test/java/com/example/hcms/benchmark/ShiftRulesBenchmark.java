@@ -0,0 +1,126 @@
+package com.example.hcms.benchmark;
+
+import com.example.hcms.shift.domain.PunchOutcome;
+import com.example.hcms.shift.domain.Shift;
+import com.example.hcms.shift.domain.ShiftRules;
+import com.example.hcms.shift.domain.ShiftRulesReference;
+import com.example.hcms.shift.domain.ShiftSnapshot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Punch classification throughput: the compiled {@link ShiftRules} against the java.time reference
+ * reading, over about a million synthetic punch pairs spread across 1,000 random shifts. Each operation
+ * is the whole batch, reported per punch pair; the result is the number of on-time days, so neither loop
+ * is dead code.
+ * Add {@code -prof gc} to the runner options to see the compiled loop's allocation rate stay at zero.
+ *
+ * Run with: mvn -B test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.hcms.benchmark.ShiftRulesBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ShiftRulesBenchmark {
+
+    private static final int SHIFTS = 1_000;
+    private static final int PUNCHES = 1 << 20;
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private Shift[] shifts;
+    private ShiftRules[] rules;
+    private int[] shiftOf;
+    private long dayStart;
+    private long[] clockIns;
+    private long[] clockOuts;
+    private LocalDateTime[] clockInTimes;
+    private LocalDateTime[] clockOutTimes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        shifts = new Shift[SHIFTS];
+        rules = new ShiftRules[SHIFTS];
+        for (int i = 0; i < SHIFTS; i++) {
+            shifts[i] = ShiftRulesReference.randomShift(random);
+            rules[i] = new ShiftSnapshot(shifts[i]).getRules();
+        }
+        dayStart = DAY.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        shiftOf = new int[PUNCHES];
+        clockIns = new long[PUNCHES];
+        clockOuts = new long[PUNCHES];
+        clockInTimes = new LocalDateTime[PUNCHES];
+        clockOutTimes = new LocalDateTime[PUNCHES];
+        for (int p = 0; p < PUNCHES; p++) {
+            Shift shift = shifts[shiftOf[p] = random.nextInt(SHIFTS)];
+            int start = shift.getStartTime().toSecondOfDay();
+            int end = shift.getEndTime().toSecondOfDay() + (shift.getIsNextDayEnd() ? 86_400 : 0);
+            // Mostly near the boundaries, where the thresholds decide; one in twenty punches missing
+            clockIns[p] = random.nextInt(20) == 0 ? ShiftRules.NO_PUNCH
+                    : dayStart + start + random.nextInt(7_200) - 1_800;
+            clockOuts[p] = random.nextInt(20) == 0 ? ShiftRules.NO_PUNCH
+                    : dayStart + end + random.nextInt(7_200) - 5_400;
+            clockInTimes[p] = at(clockIns[p]);
+            clockOutTimes[p] = at(clockOuts[p]);
+        }
+        verify();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PUNCHES)
+    public int compiled() {
+        int onTime = 0;
+        for (int p = 0; p < PUNCHES; p++) {
+            if (rules[shiftOf[p]].classify(dayStart, clockIns[p], clockOuts[p]) == 0) {
+                onTime++;
+            }
+        }
+        return onTime;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PUNCHES)
+    public int reference() {
+        int onTime = 0;
+        for (int p = 0; p < PUNCHES; p++) {
+            if (ShiftRulesReference.classify(shifts[shiftOf[p]], DAY, clockInTimes[p], clockOutTimes[p])
+                    .isEmpty()) {
+                onTime++;
+            }
+        }
+        return onTime;
+    }
+
+    /**
+     * Sanity check before measuring: both readings agree on every generated pair
+     */
+    private void verify() {
+        for (int p = 0; p < PUNCHES; p++) {
+            int outcomes = rules[shiftOf[p]].classify(dayStart, clockIns[p], clockOuts[p]);
+            if (!PunchOutcome.decode(outcomes).equals(
+                    ShiftRulesReference.classify(shifts[shiftOf[p]], DAY, clockInTimes[p], clockOutTimes[p]))) {
+                throw new IllegalStateException("Compiled rules disagree with the reference at punch " + p);
+            }
+        }
+    }
+
+    private LocalDateTime at(long epochSecond) {
+        return epochSecond == ShiftRules.NO_PUNCH ? null
+                : LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ShiftRulesBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.hcms.benchmark;
+
+import com.example.hcms.HcmsApplication;
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.service.AttendanceGroupService;
+import com.example.hcms.common.web.FieldSet;
+import com.example.hcms.shift.dto.CreateShiftRequest;
+import com.example.hcms.shift.service.ShiftService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full vs sparse list responses: server work per request (query, mapping, JSON) and payload bytes.
+ * Boots the application on the in-memory "test" profile with 50 shifts and 50 groups.
+ * Single-threaded, so the average time is the CPU cost of one request; the {@code cpuNanos}
+ * and {@code payloadBytes} counters are reported per operation next to it.
+ *
+ * Run with: mvn -B test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.hcms.benchmark.SparseFieldsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SparseFieldsBenchmark {
+
+    private static final int ROWS = 50;
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /**
+     * "full" is the existing representation; the others are typical dropdown selections
+     */
+    @Param({ "full", "id,name", "id,name,memberCount" })
+    public String fields;
+
+    private ConfigurableApplicationContext context;
+    private ShiftService shiftService;
+    private AttendanceGroupService groupService;
+    private ObjectMapper objectMapper;
+    private FieldSet shiftFields;
+    private FieldSet groupFields;
+    private final Pageable page = PageRequest.of(0, ROWS, Sort.by("name"));
+
+    /**
+     * Per-operation counters reported alongside the timing
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Cost {
+        public long payloadBytes;
+        public long cpuNanos;
+        private long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+            cpuNanos = 0;
+            operations = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void average() {
+            if (operations > 0) {
+                payloadBytes /= operations;
+                cpuNanos /= operations;
+            }
+        }
+
+        void record(long bytes, long startCpu) {
+            payloadBytes += bytes;
+            cpuNanos += THREADS.getCurrentThreadCpuTime() - startCpu;
+            operations++;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(HcmsApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("logging.level.root=WARN", "logging.level.com.example.hcms=WARN")
+                .run();
+        shiftService = context.getBean(ShiftService.class);
+        groupService = context.getBean(AttendanceGroupService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        boolean full = "full".equals(fields);
+        shiftFields = full ? null : shiftService.selectFields(fields.replace(",memberCount", ""));
+        groupFields = full ? null : groupService.selectFields(fields);
+
+        for (int i = 0; i < ROWS; i++) {
+            CreateShiftRequest shift = new CreateShiftRequest();
+            shift.setName(String.format("Shift %03d", i));
+            shift.setStartTime("09:00");
+            shift.setEndTime("18:00");
+            Long shiftId = shiftService.createShift(shift, 1L).getId();
+
+            CreateAttendanceGroupRequest group = new CreateAttendanceGroupRequest();
+            group.setName(String.format("Group %03d", i));
+            group.setDefaultShiftId(shiftId);
+            group.setSubOwnerIds(List.of(1L, 2L, 3L));
+            group.setSpecialDays(List.of("2025-01-01", "2025-05-01", "2025-08-17", "2025-12-25"));
+            group.setCorrectionTypes(List.of("NO_RECORD", "LATE_IN", "EARLY_OUT", "REGULAR"));
+            groupService.createGroup(group, 1L);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] shifts(Cost cost) throws Exception {
+        long startCpu = THREADS.getCurrentThreadCpuTime();
+        Page<?> result = shiftFields == null
+                ? shiftService.getAllShifts(null, null, page)
+                : shiftService.getAllShifts(null, null, page, shiftFields);
+        byte[] json = objectMapper.writeValueAsBytes(result);
+        cost.record(json.length, startCpu);
+        return json;
+    }
+
+    @Benchmark
+    public byte[] attendanceGroups(Cost cost) throws Exception {
+        long startCpu = THREADS.getCurrentThreadCpuTime();
+        Page<?> result = groupFields == null
+                ? groupService.getAllGroups(null, null, null, page)
+                : groupService.getAllGroups(null, null, null, page, groupFields);
+        byte[] json = objectMapper.writeValueAsBytes(result);
+        cost.record(json.length, startCpu);
+        return json;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SparseFieldsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
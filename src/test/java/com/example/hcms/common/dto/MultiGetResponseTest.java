@@ -0,0 +1,49 @@
+package com.example.hcms.common.dto;
+
+import com.example.hcms.common.exception.TooManyIdsException;
+import com.example.hcms.common.web.MultiGetLimits;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for multi-get ordering, not-found markers and the ID cap
+ */
+public class MultiGetResponseTest {
+
+    @Test
+    public void testItemsFollowRequestOrderWithNotFoundMarkers() {
+        List<Long> requested = List.of(3L, 1L, 99L, 3L);
+        MultiGetResponse<String> response = MultiGetResponse.of(requested, Map.of(1L, "one", 3L, "three"));
+
+        assertEquals(requested, response.getItems().stream().map(MultiGetResponse.Item::getId).toList());
+        assertEquals(Arrays.asList("three", "one", null, "three"),
+                response.getItems().stream().map(MultiGetResponse.Item::getData).toList());
+        assertFalse(response.getItems().get(2).isFound());
+        assertEquals(1, response.getNotFound());
+    }
+
+    @Test
+    public void testEmptyIdsAreNotFound() {
+        // ?ids=, binds to nulls; none of them reaches the query
+        MultiGetResponse<String> empty = MultiGetResponse.of(Arrays.asList(null, null), Map.of());
+        assertEquals(2, empty.getNotFound());
+        assertFalse(empty.getItems().get(0).isFound());
+
+        MultiGetResponse<String> mixed = MultiGetResponse.of(Arrays.asList(1L, null), Map.of(1L, "one"));
+        assertEquals(Arrays.asList("one", null), mixed.getItems().stream().map(MultiGetResponse.Item::getData).toList());
+        assertEquals(1, mixed.getNotFound());
+    }
+
+    @Test
+    public void testLimitsDeduplicateAndEnforceCap() {
+        MultiGetLimits limits = new MultiGetLimits(3);
+
+        assertEquals(List.of(3L, 1L), limits.distinct(List.of(3L, 1L, 3L)));
+        assertThrows(TooManyIdsException.class, () -> limits.distinct(List.of(1L, 2L, 3L, 4L)));
+    }
+}
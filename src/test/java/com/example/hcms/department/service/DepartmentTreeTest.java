@@ -0,0 +1,169 @@
+package com.example.hcms.department.service;
+
+import com.example.hcms.attendancegroup.service.AttendanceGroupServiceImpl;
+import com.example.hcms.auth.dto.CreateUserRequest;
+import com.example.hcms.auth.dto.UpdateUserRequest;
+import com.example.hcms.auth.service.UserMembershipIndex;
+import com.example.hcms.auth.service.UserService;
+import com.example.hcms.common.config.SecurityConfig;
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.department.domain.Department;
+import com.example.hcms.department.domain.DepartmentClosure;
+import com.example.hcms.department.dto.CreateDepartmentRequest;
+import com.example.hcms.department.dto.DepartmentTreeNode;
+import com.example.hcms.department.dto.UpdateDepartmentRequest;
+import com.example.hcms.department.exception.DepartmentConflictException;
+import com.example.hcms.department.repository.DepartmentClosureRepository;
+import com.example.hcms.shift.service.ShiftCatalog;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The department tree: closure rows following creates, moves and deletes, subtree counts following
+ * user writes and moves, and moves that would create a cycle rejected
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ DepartmentServiceImpl.class, UserService.class, UserMembershipIndex.class, AttendanceGroupServiceImpl.class,
+        SecurityConfig.class, ShiftCatalog.class, ChangeWatermarks.class, SparseQueries.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DepartmentTreeTest {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DepartmentClosureRepository closureRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    public void testClosureAndCountsFollowWrites() {
+        Long root = createDepartment("Tree root", null);
+        Long sales = createDepartment("Tree sales", root);
+        Long field = createDepartment("Tree field", sales);
+        Long support = createDepartment("Tree support", root);
+        assertEquals(Map.of(field, 0, sales, 1, root, 2), ancestors(field));
+
+        // Users start invited (inactive); resetting a password activates them
+        Long alice = createUser("Tree Alice", field);
+        Long bob = createUser("Tree Bob", sales);
+        Long carol = createUser("Tree Carol", support);
+        userService.resetPassword(alice, "tree-password");
+        assertCounts(root, 3, 1);
+        assertCounts(sales, 2, 1);
+        assertCounts(field, 1, 1);
+        assertCounts(support, 1, 0);
+
+        UpdateUserRequest transfer = new UpdateUserRequest();
+        transfer.setDepartmentId(field);
+        userService.updateUser(carol, transfer, null);
+        assertCounts(support, 0, 0);
+        assertCounts(field, 2, 1);
+        assertCounts(sales, 3, 1);
+        assertCounts(root, 3, 1);
+
+        // Under its own subtree, or under itself
+        assertThrows(DepartmentConflictException.class, () -> updateDepartment(sales, "Tree sales", field));
+        assertThrows(DepartmentConflictException.class, () -> updateDepartment(sales, "Tree sales", sales));
+        assertEquals(Map.of(field, 0, sales, 1, root, 2), ancestors(field));
+
+        // The subtree and its counts move from the old ancestor chain to the new one
+        updateDepartment(field, "Tree field", support);
+        assertEquals(Map.of(field, 0, support, 1, root, 2), ancestors(field));
+        assertCounts(sales, 1, 0);
+        assertCounts(support, 2, 1);
+        assertCounts(root, 3, 1);
+        // A rename without a parent keeps the parent and writes no counts
+        updateDepartment(sales, "Tree sales renamed", null);
+        assertEquals(Map.of(sales, 0, root, 1), ancestors(sales));
+        assertCounts(sales, 1, 0);
+
+        DepartmentTreeNode rootNode = departmentService.getTree().stream()
+                .filter(node -> node.getId().equals(root))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(List.of("Tree sales renamed", "Tree support"),
+                rootNode.getChildren().stream().map(DepartmentTreeNode::getName).toList());
+        DepartmentTreeNode supportNode = rootNode.getChildren().get(1);
+        assertEquals(List.of(field), supportNode.getChildren().stream().map(DepartmentTreeNode::getId).toList());
+        assertEquals(2, supportNode.getHeadcount());
+
+        // Only empty leaves can be deleted; deleting one removes its closure rows
+        assertThrows(DepartmentConflictException.class, () -> departmentService.deleteDepartment(support));
+        assertThrows(DepartmentConflictException.class, () -> departmentService.deleteDepartment(sales));
+        userService.deleteUser(bob, null);
+        assertCounts(root, 2, 1);
+        departmentService.deleteDepartment(sales);
+        assertTrue(ancestors(sales).isEmpty());
+        assertFalse(closureRepository.findByAncestorId(root).stream()
+                .anyMatch(link -> link.getDescendantId().equals(sales)));
+
+        // Moving to the root is explicit, and cannot be combined with a parent
+        UpdateDepartmentRequest toRoot = new UpdateDepartmentRequest();
+        toRoot.setName("Tree field");
+        toRoot.setParentId(root);
+        toRoot.setMoveToRoot(true);
+        assertThrows(InvalidParameterException.class, () -> departmentService.updateDepartment(field, toRoot));
+        toRoot.setParentId(null);
+        assertNull(departmentService.updateDepartment(field, toRoot).getParentId());
+        assertEquals(Map.of(field, 0), ancestors(field));
+        assertCounts(support, 0, 0);
+        assertCounts(root, 0, 0);
+        assertCounts(field, 2, 1);
+    }
+
+    private Long createDepartment(String name, Long parentId) {
+        CreateDepartmentRequest request = new CreateDepartmentRequest();
+        request.setName(name);
+        request.setParentId(parentId);
+        return departmentService.createDepartment(request).getId();
+    }
+
+    private void updateDepartment(Long id, String name, Long parentId) {
+        UpdateDepartmentRequest request = new UpdateDepartmentRequest();
+        request.setName(name);
+        request.setParentId(parentId);
+        departmentService.updateDepartment(id, request);
+    }
+
+    private Long createUser(String name, Long departmentId) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setName(name);
+        request.setDepartmentId(departmentId);
+        return userService.createUser(request).getId();
+    }
+
+    /**
+     * Ancestor ID to depth, the department's self row included
+     */
+    private Map<Long, Integer> ancestors(Long departmentId) {
+        return closureRepository.findByDescendantId(departmentId).stream()
+                .collect(Collectors.toMap(DepartmentClosure::getAncestorId, DepartmentClosure::getDepth));
+    }
+
+    private void assertCounts(Long departmentId, int headcount, int activeCount) {
+        Department department = departmentService.getDepartmentById(departmentId);
+        assertEquals(headcount, department.getHeadcount(), "headcount of " + department.getName());
+        assertEquals(activeCount, department.getActiveCount(), "active count of " + department.getName());
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.hcms.history.service;
+
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.service.AttendanceGroupService;
+import com.example.hcms.attendancegroup.service.AttendanceGroupServiceImpl;
+import com.example.hcms.auth.dto.CreateUserRequest;
+import com.example.hcms.auth.service.UserMembershipIndex;
+import com.example.hcms.auth.service.UserService;
+import com.example.hcms.common.config.SecurityConfig;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.department.service.DepartmentServiceImpl;
+import com.example.hcms.history.domain.ChangeAction;
+import com.example.hcms.history.domain.ChangeRecord;
+import com.example.hcms.history.domain.ResourceType;
+import com.example.hcms.history.dto.ChangeLogStats;
+import com.example.hcms.history.dto.ChangeRecordResponse;
+import com.example.hcms.history.dto.HistoryPage;
+import com.example.hcms.shift.dto.CreateShiftRequest;
+import com.example.hcms.shift.dto.UpdateShiftRequest;
+import com.example.hcms.shift.service.ShiftCatalog;
+import com.example.hcms.shift.service.ShiftService;
+import com.example.hcms.shift.service.ShiftServiceImpl;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Change history: field diffs captured after commit, bulk group moves recorded per user, group-committed
+ * by the change log, keyset pages, and dropping when the queue stays full
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ ChangeCapture.class, ChangeLog.class, ChangeHistoryServiceImpl.class, ShiftServiceImpl.class,
+        AttendanceGroupServiceImpl.class, UserService.class, UserMembershipIndex.class, DepartmentServiceImpl.class,
+        SecurityConfig.class, ShiftCatalog.class, ChangeWatermarks.class, SparseQueries.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ChangeHistoryTest {
+
+    @Autowired
+    private ChangeHistoryService historyService;
+
+    @Autowired
+    private ChangeLog changeLog;
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private AttendanceGroupService groupService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    public void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testShiftChangesArePagedNewestFirst() throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(7L, null, List.of()));
+        Long shiftId = shiftService.createShift(createRequest(), 7L).getId();
+        shiftService.updateShift(shiftId, updateRequest(5), 7L, null);
+        shiftService.updateShift(shiftId, updateRequest(5), 7L, null); // no change, no record
+        shiftService.updateShift(shiftId, updateRequest(10), 7L, null);
+        shiftService.deleteShift(shiftId, 7L, null);
+        assertTrue(changeLog.flush(Duration.ofSeconds(5)));
+
+        HistoryPage first = historyService.getHistory(ResourceType.SHIFT, shiftId, null, 2);
+        assertEquals(List.of(ChangeAction.UPDATE, ChangeAction.UPDATE),
+                first.getItems().stream().map(ChangeRecordResponse::getAction).toList());
+        assertNotNull(first.getNextCursor());
+        HistoryPage second = historyService.getHistory(ResourceType.SHIFT, shiftId, first.getNextCursor(), 2);
+        assertEquals(List.of(ChangeAction.UPDATE, ChangeAction.CREATE),
+                second.getItems().stream().map(ChangeRecordResponse::getAction).toList());
+        assertNull(second.getNextCursor());
+
+        JsonNode deleted = objectMapper.readTree(first.getItems().get(0).getChanges());
+        assertEquals("[\"ACTIVE\",\"INACTIVE\"]", deleted.get("status").toString());
+        assertEquals(1, deleted.size(), "bookkeeping fields are not recorded");
+        JsonNode raised = objectMapper.readTree(first.getItems().get(1).getChanges());
+        assertEquals("[5,10]", raised.get("lateThresholdMinutes").toString());
+        JsonNode created = objectMapper.readTree(second.getItems().get(1).getChanges());
+        assertEquals("[null,\"09:00\"]", created.get("startTime").toString());
+        assertFalse(created.has("version"));
+        assertEquals(7L, second.getItems().get(1).getChangedBy());
+
+        ChangeLogStats stats = historyService.getStats();
+        assertEquals(0, stats.getQueued());
+        assertEquals(0, stats.getFailed());
+        assertTrue(stats.getWritten() >= 4);
+        assertTrue(stats.getBatches() <= stats.getWritten());
+    }
+
+    @Test
+    public void testBulkGroupMovesAreRecordedPerUser() throws Exception {
+        Long day = createGroup("History day");
+        Long night = createGroup("History night");
+        Long alice = createUser("History Alice", day);
+        Long bob = createUser("History Bob", null);
+        Long carol = createUser("History Carol", night);
+
+        assertEquals(2, userService.reassignAttendanceGroup(List.of(alice, bob, carol), night));
+        assertTrue(changeLog.flush(Duration.ofSeconds(5)));
+
+        List<ChangeRecordResponse> aliceHistory = historyService.getHistory(ResourceType.USER, alice, null, 10)
+                .getItems();
+        assertEquals(List.of(ChangeAction.UPDATE, ChangeAction.CREATE),
+                aliceHistory.stream().map(ChangeRecordResponse::getAction).toList());
+        assertEquals("{\"attendanceGroupId\":[" + day + "," + night + "]}",
+                objectMapper.readTree(aliceHistory.get(0).getChanges()).toString());
+        ChangeRecordResponse bobMove = historyService.getHistory(ResourceType.USER, bob, null, 10).getItems().get(0);
+        assertEquals("[null," + night + "]",
+                objectMapper.readTree(bobMove.getChanges()).get("attendanceGroupId").toString());
+        // Carol was in the group already, so only her creation is recorded
+        assertEquals(List.of(ChangeAction.CREATE), historyService.getHistory(ResourceType.USER, carol, null, 10)
+                .getItems().stream().map(ChangeRecordResponse::getAction).toList());
+    }
+
+    @Test
+    public void testFullQueueDropsAfterTheOfferTimeout() {
+        // Never started, so nothing drains the queue
+        ChangeLog stalled = new ChangeLog(null, null, 2, 500, 200, 20);
+        assertTrue(stalled.offer(record(1L)));
+        assertTrue(stalled.offer(record(2L)));
+        long start = System.nanoTime();
+        assertFalse(stalled.offer(record(3L)));
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+        ChangeLogStats stats = stalled.getStats();
+        assertEquals(2, stats.getQueued());
+        assertEquals(1, stats.getDropped());
+    }
+
+    private static ChangeRecord record(Long shiftId) {
+        return new ChangeRecord(ResourceType.SHIFT, shiftId, ChangeAction.UPDATE, null, Instant.now(), "{}");
+    }
+
+    private Long createGroup(String name) {
+        CreateAttendanceGroupRequest request = new CreateAttendanceGroupRequest();
+        request.setName(name);
+        return groupService.createGroup(request, 1L).getId();
+    }
+
+    private Long createUser(String name, Long attendanceGroupId) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setName(name);
+        request.setAttendanceGroupId(attendanceGroupId);
+        return userService.createUser(request).getId();
+    }
+
+    private static CreateShiftRequest createRequest() {
+        CreateShiftRequest request = new CreateShiftRequest();
+        request.setName("History shift");
+        request.setStartTime("09:00");
+        request.setEndTime("18:00");
+        request.setLateThresholdMinutes(0);
+        return request;
+    }
+
+    private static UpdateShiftRequest updateRequest(int lateThresholdMinutes) {
+        UpdateShiftRequest request = new UpdateShiftRequest();
+        request.setName("History shift");
+        request.setStartTime("09:00");
+        request.setEndTime("18:00");
+        request.setLateThresholdMinutes(lateThresholdMinutes);
+        return request;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.hcms.holiday.service;
+
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.holiday.domain.DateSet;
+import com.example.hcms.holiday.domain.PublicHoliday;
+import com.example.hcms.holiday.dto.HolidayImportResult;
+import com.example.hcms.holiday.dto.HolidayResponse;
+import com.example.hcms.holiday.exception.HolidayCalendarNotFoundException;
+import com.example.hcms.holiday.repository.HolidayCalendarRepository;
+import com.example.hcms.holiday.repository.PublicHolidayRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Holiday file import and the cached per-year date bitmaps
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "app.holidays.import-location=classpath*:holiday-fixtures/*.json",
+        "app.holidays.default-calendar=XT-TEST" })
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ HolidayServiceImpl.class, ChangeWatermarks.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class HolidayServiceTest {
+
+    @Autowired
+    private HolidayService holidayService;
+
+    @Autowired
+    private HolidayCalendarRepository calendarRepository;
+
+    @Autowired
+    private PublicHolidayRepository holidayRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testImportReplacesCoveredYearsAndRefreshesDates() {
+        HolidayImportResult result = holidayService.importCalendars();
+        assertEquals(List.of("XT-TEST"), result.getCalendars());
+        assertEquals(4, result.getHolidays());
+        Long calendarId = calendarRepository.findByCode("XT-TEST").orElseThrow().getId();
+        assertEquals("XT", calendarRepository.findById(calendarId).orElseThrow().getCountry());
+
+        // A holiday of a year the file covers is replaced; one of another year is kept
+        holidayRepository.save(new PublicHoliday(calendarId, LocalDate.of(2025, 6, 1), "Dropped"));
+        holidayRepository.save(new PublicHoliday(calendarId, LocalDate.of(2026, 1, 1), "Kept"));
+        holidayService.importCalendars();
+        List<HolidayResponse> holidays = holidayService.getHolidays("XT-TEST", LocalDate.of(2024, 12, 31),
+                LocalDate.of(2026, 1, 1));
+        assertEquals(List.of(LocalDate.of(2024, 12, 31), LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 25),
+                LocalDate.of(2026, 1, 1)), holidays.stream().map(HolidayResponse::getDate).toList());
+        assertEquals("Year End", holidays.get(0).getName());
+
+        DateSet dates = holidayService.getHolidayDates(null);
+        assertTrue(dates.contains(LocalDate.of(2024, 2, 29)));
+        assertTrue(dates.contains(LocalDate.of(2024, 12, 31)));
+        assertTrue(dates.contains(LocalDate.of(2026, 1, 1)));
+        assertFalse(dates.contains(LocalDate.of(2025, 2, 28)));
+        assertFalse(dates.contains(LocalDate.of(2025, 12, 31)));
+        assertFalse(dates.contains(LocalDate.of(2023, 1, 1)));
+        assertFalse(dates.contains(LocalDate.of(2030, 1, 1)));
+
+        // Cached until the next import
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertSame(dates, holidayService.getHolidayDates(null));
+        assertSame(holidayService.getHolidayDates(calendarId), holidayService.getHolidayDates(calendarId));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        holidayService.importCalendars();
+        assertNotSame(dates, holidayService.getHolidayDates(null));
+
+        assertTrue(holidayService.getHolidayDates(Long.MAX_VALUE).isEmpty());
+        assertThrows(HolidayCalendarNotFoundException.class,
+                () -> holidayService.getHolidays("NOPE", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+    }
+
+    @Test
+    public void testDateSetUnion() {
+        DateSet first = DateSet.of(List.of(LocalDate.of(2020, 12, 31), LocalDate.of(2024, 1, 1)));
+        DateSet second = DateSet.of(List.of(LocalDate.of(2022, 3, 1), LocalDate.of(2024, 1, 1),
+                LocalDate.of(2027, 7, 4)));
+        DateSet union = first.union(second);
+        for (LocalDate date : List.of(LocalDate.of(2020, 12, 31), LocalDate.of(2022, 3, 1),
+                LocalDate.of(2024, 1, 1), LocalDate.of(2027, 7, 4))) {
+            assertTrue(union.contains(date), date.toString());
+        }
+        assertFalse(union.contains(LocalDate.of(2021, 12, 31)));
+        assertFalse(first.contains(LocalDate.of(2022, 3, 1)));
+        assertSame(first, first.union(DateSet.EMPTY));
+        assertTrue(DateSet.of(List.of()).isEmpty());
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.hcms.impact.service;
+
+import com.example.hcms.impact.domain.ImpactSource;
+import com.example.hcms.impact.domain.ScheduleImpact;
+import com.example.hcms.impact.dto.ScheduleImpactPage;
+import com.example.hcms.impact.dto.ScheduleImpactResponse;
+import com.example.hcms.impact.repository.ScheduleImpactRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The schedule impact feed follows commit order: an entry committing after one with a higher ID still
+ * lands after every position a consumer has read
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ ScheduleImpactServiceImpl.class, ScheduleImpactSequencer.class, ImpactDeliveryBudget.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ScheduleImpactFeedTest {
+
+    @Autowired
+    private ScheduleImpactService impactService;
+
+    @Autowired
+    private ScheduleImpactSequencer sequencer;
+
+    @Autowired
+    private ScheduleImpactRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testEntriesCommittingOutOfIdOrderAreNotSkipped() throws Exception {
+        sequencer.sequence();
+        long start = repository.findLastFeedPosition();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // The slow edit takes the lower ID and holds its transaction open
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() -> tx.execute(status -> {
+            Long id = save(901L);
+            written.countDown();
+            await(release);
+            return id;
+        }));
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        Long fast = tx.execute(status -> save(902L));
+        assertEquals(1, sequencer.sequence());
+
+        ScheduleImpactPage first = impactService.getFeed(-47L, start, 10);
+        assertEquals(List.of(fast), first.getItems().stream().map(ScheduleImpactResponse::getId).toList());
+        assertEquals(start + 1, first.getNextCursor());
+
+        release.countDown();
+        Long late = slow.get(5, TimeUnit.SECONDS);
+        assertTrue(late < fast, "the uncommitted entry took the lower ID");
+        assertEquals(1, sequencer.sequence());
+        ScheduleImpactPage second = impactService.getFeed(-47L, first.getNextCursor(), 10);
+        assertEquals(List.of(late), second.getItems().stream().map(ScheduleImpactResponse::getId).toList());
+        assertEquals(start + 2, second.getNextCursor());
+        assertFalse(second.isHasMore());
+        assertEquals(0, sequencer.sequence());
+    }
+
+    private Long save(Long sourceId) {
+        ScheduleImpact impact = new ScheduleImpact(ImpactSource.SHIFT, sourceId, 1L, null, "[1]",
+                "[[\"2025-06-02\",\"2025-06-02\"]]", 1L, Instant.now());
+        return repository.saveAll(List.of(impact)).get(0).getId();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.example.hcms.impact.service;
+
+import com.example.hcms.attendance.domain.RecomputeMark;
+import com.example.hcms.attendance.domain.RecomputeScope;
+import com.example.hcms.attendance.repository.RecomputeMarkRepository;
+import com.example.hcms.attendance.service.RecomputeMarker;
+import com.example.hcms.attendancegroup.domain.GroupShiftType;
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.dto.UpdateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.service.AttendanceGroupService;
+import com.example.hcms.attendancegroup.service.AttendanceGroupServiceImpl;
+import com.example.hcms.attendancegroup.service.ScheduleResolver;
+import com.example.hcms.auth.exception.RateLimitExceededException;
+import com.example.hcms.auth.service.UserMembershipIndex;
+import com.example.hcms.auth.service.UserService;
+import com.example.hcms.common.config.SecurityConfig;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.department.service.DepartmentServiceImpl;
+import com.example.hcms.holiday.service.HolidayServiceImpl;
+import com.example.hcms.impact.domain.ImpactSource;
+import com.example.hcms.impact.domain.ScheduleImpact;
+import com.example.hcms.impact.repository.ScheduleImpactRepository;
+import com.example.hcms.shift.dto.UpdateShiftRequest;
+import com.example.hcms.shift.service.ShiftCatalog;
+import com.example.hcms.shift.service.ShiftService;
+import com.example.hcms.shift.service.ShiftServiceImpl;
+import com.example.hcms.support.AttendanceFixtures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static com.example.hcms.support.AttendanceFixtures.fixedGroup;
+import static com.example.hcms.support.AttendanceFixtures.shift;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Schedule impact planner: edits are diffed day by day, so the feed and the recompute marks cover exactly
+ * the (group, members, dates) whose schedule changed, and a future effective date plans no history
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ ScheduleImpactRecorder.class, ScheduleImpactPlanner.class, RecomputeMarker.class, ScheduleResolver.class,
+        AttendanceGroupServiceImpl.class, ShiftServiceImpl.class, UserService.class, UserMembershipIndex.class,
+        HolidayServiceImpl.class, DepartmentServiceImpl.class, SecurityConfig.class, ShiftCatalog.class,
+        ChangeWatermarks.class, SparseQueries.class, AttendanceFixtures.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ScheduleImpactPlannerTest {
+
+    // The default window: app.attendance.recompute-days back, app.impact.horizon-days ahead
+    private static final int HISTORY_DAYS = 31;
+    private static final int HORIZON_DAYS = 31;
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private AttendanceGroupService groupService;
+
+    @Autowired
+    private AttendanceFixtures fixtures;
+
+    @Autowired
+    private ScheduleImpactRepository impactRepository;
+
+    @Autowired
+    private RecomputeMarkRepository markRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testShiftEditPlansTheDaysEachGroupSchedulesIt() throws Exception {
+        Long shiftId = fixtures.createShift(shift("Impact office", "09:00", "18:00"));
+        Long otherId = fixtures.createShift(shift("Impact early", "09:00", "18:00"));
+        LocalDate specialDay = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.WEDNESDAY));
+        // Weekday columns Monday to Friday, with a special day off
+        Long fixedId = fixtures.createGroup(weekdays("Impact Fixed", shiftId, specialDay));
+        // The default shift, except on Mondays
+        CreateAttendanceGroupRequest scheduled = new CreateAttendanceGroupRequest();
+        scheduled.setName("Impact Scheduled");
+        scheduled.setShiftType(GroupShiftType.SCHEDULED);
+        scheduled.setDefaultShiftId(shiftId);
+        scheduled.setMondayShiftId(otherId);
+        scheduled.setUsePublicHolidays(false);
+        Long scheduledId = fixtures.createGroup(scheduled);
+        List<Long> fixedMembers = List.of(fixtures.createUser("Impact Fixed 1", fixedId),
+                fixtures.createUser("Impact Fixed 2", fixedId));
+        Long scheduledMember = fixtures.createUser("Impact Scheduled 1", scheduledId);
+
+        // Renaming changes no result
+        shiftService.updateShift(shiftId, updateShift("Impact office renamed", 0, null), 1L, null);
+        assertTrue(impactsOf(ImpactSource.SHIFT, shiftId).isEmpty());
+
+        // A correction back to the start of the recompute window
+        long lastMark = lastMarkId();
+        LocalDate windowStart = LocalDate.now().minusDays(HISTORY_DAYS);
+        shiftService.updateShift(shiftId, updateShift("Impact office renamed", 10, windowStart), 1L, null);
+        List<ScheduleImpact> impacts = impactsOf(ImpactSource.SHIFT, shiftId);
+        assertEquals(List.of(fixedId, scheduledId), impacts.stream().map(ScheduleImpact::getGroupId).toList());
+
+        Set<LocalDate> fixedDays = window(date -> date.getDayOfWeek().getValue() <= 5 && !date.equals(specialDay));
+        assertEquals(objectMapper.writeValueAsString(fixedMembers), impacts.get(0).getUserIds());
+        assertEquals(fixedDays, dates(impacts.get(0)));
+        assertEquals(2L * fixedDays.size(), impacts.get(0).getUserDays());
+
+        Set<LocalDate> scheduledDays = window(date -> date.getDayOfWeek() != DayOfWeek.MONDAY);
+        assertEquals("[" + scheduledMember + "]", impacts.get(1).getUserIds());
+        assertEquals(scheduledDays, dates(impacts.get(1)));
+
+        // Only the planned dates up to tomorrow are marked for recomputation
+        List<RecomputeMark> marks = marksAfter(lastMark);
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        assertEquals(fixedDays.stream().filter(date -> !date.isAfter(tomorrow)).collect(Collectors.toSet()),
+                markedDates(marks, fixedId));
+        assertEquals(scheduledDays.stream().filter(date -> !date.isAfter(tomorrow)).collect(Collectors.toSet()),
+                markedDates(marks, scheduledId));
+    }
+
+    @Test
+    public void testGroupEditFromAFutureDatePlansNoHistory() throws Exception {
+        Long shiftId = fixtures.createShift(shift("Impact late", "09:00", "18:00"));
+        Long otherId = fixtures.createShift(shift("Impact night", "09:00", "18:00"));
+        LocalDate specialDay = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.WEDNESDAY));
+        CreateAttendanceGroupRequest create = weekdays("Impact Future", shiftId, specialDay);
+        Long groupId = fixtures.createGroup(create);
+        Long memberId = fixtures.createUser("Impact Future 1", groupId);
+
+        // Wednesdays move to another shift from tomorrow on; the special day stays off either way
+        UpdateAttendanceGroupRequest update = new UpdateAttendanceGroupRequest();
+        update.setName("Impact Future");
+        update.setShiftType(GroupShiftType.FIXED);
+        update.setMondayShiftId(shiftId);
+        update.setTuesdayShiftId(shiftId);
+        update.setWednesdayShiftId(otherId);
+        update.setThursdayShiftId(shiftId);
+        update.setFridayShiftId(shiftId);
+        update.setSpecialDays(create.getSpecialDays());
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        update.setEffectiveFrom(tomorrow);
+        long lastMark = lastMarkId();
+        groupService.updateGroup(groupId, update, 1L, null);
+
+        List<ScheduleImpact> impacts = impactsOf(ImpactSource.ATTENDANCE_GROUP, groupId);
+        assertEquals(1, impacts.size());
+        assertEquals("[" + memberId + "]", impacts.get(0).getUserIds());
+        assertEquals(tomorrow, impacts.get(0).getEffectiveFrom());
+        assertEquals(window(date -> date.getDayOfWeek() == DayOfWeek.WEDNESDAY && !date.isBefore(tomorrow)
+                && !date.equals(specialDay)), dates(impacts.get(0)));
+        assertTrue(markedDates(marksAfter(lastMark), groupId).stream().noneMatch(date -> date.isBefore(tomorrow)));
+
+        // Deleting the group changes every member's every day from today on
+        groupService.deleteGroup(groupId, 1L, null);
+        impacts = impactsOf(ImpactSource.ATTENDANCE_GROUP, groupId);
+        assertEquals(2, impacts.size());
+        assertEquals(window(date -> !date.isBefore(LocalDate.now())), dates(impacts.get(1)));
+    }
+
+    @Test
+    public void testDeliveryBudgetCutsPagesAndAsksToRetry() {
+        ImpactDeliveryBudget budget = new ImpactDeliveryBudget(60);
+        assertEquals(2, budget.admit(1L, new long[] { 30, 20, 20 }));
+        RateLimitExceededException exceeded = assertThrows(RateLimitExceededException.class,
+                () -> budget.admit(1L, new long[] { 20 }));
+        assertTrue(exceeded.getRetryAfterSeconds() >= 9 && exceeded.getRetryAfterSeconds() <= 10);
+        // Consumers have separate budgets, and an entry beyond a whole bucket goes out once it is full
+        assertEquals(1, budget.admit(2L, new long[] { 1000, 1 }));
+        assertEquals(0, budget.admit(2L, new long[0]));
+    }
+
+    private List<ScheduleImpact> impactsOf(ImpactSource source, Long sourceId) {
+        return impactRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 1000)).stream()
+                .filter(impact -> impact.getSourceType() == source && impact.getSourceId().equals(sourceId))
+                .toList();
+    }
+
+    private Set<LocalDate> dates(ScheduleImpact impact) throws Exception {
+        Set<LocalDate> dates = new TreeSet<>();
+        for (String[] range : objectMapper.readValue(impact.getDateRanges(), String[][].class)) {
+            LocalDate.parse(range[0]).datesUntil(LocalDate.parse(range[1]).plusDays(1)).forEach(dates::add);
+        }
+        return dates;
+    }
+
+    private static Set<LocalDate> window(Predicate<LocalDate> affected) {
+        LocalDate today = LocalDate.now();
+        return today.minusDays(HISTORY_DAYS).datesUntil(today.plusDays(HORIZON_DAYS + 1)).filter(affected)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private long lastMarkId() {
+        return markRepository.findAll().stream().mapToLong(RecomputeMark::getId).max().orElse(0);
+    }
+
+    private List<RecomputeMark> marksAfter(long id) {
+        return markRepository.findAll().stream().filter(mark -> mark.getId() > id).toList();
+    }
+
+    private static Set<LocalDate> markedDates(List<RecomputeMark> marks, Long groupId) {
+        return marks.stream()
+                .filter(mark -> mark.getScope() == RecomputeScope.GROUP && groupId.equals(mark.getTargetId()))
+                .flatMap(mark -> mark.getFromDate().datesUntil(mark.getToDate().plusDays(1)))
+                .collect(Collectors.toSet());
+    }
+
+    private static UpdateShiftRequest updateShift(String name, int lateThresholdMinutes, LocalDate effectiveFrom) {
+        UpdateShiftRequest request = new UpdateShiftRequest();
+        request.setEffectiveFrom(effectiveFrom);
+        request.setName(name);
+        request.setStartTime("09:00");
+        request.setEndTime("18:00");
+        request.setLateThresholdMinutes(lateThresholdMinutes);
+        return request;
+    }
+
+    private static CreateAttendanceGroupRequest weekdays(String name, Long shiftId, LocalDate specialDay) {
+        CreateAttendanceGroupRequest request = fixedGroup(name, shiftId, DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+        request.setSpecialDays(List.of(specialDay.toString()));
+        return request;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.hcms.overtime.service;
+
+import com.example.hcms.attendance.service.DailyAttendanceEngine;
+import com.example.hcms.attendance.service.RecomputeMarker;
+import com.example.hcms.attendancegroup.domain.GroupShiftType;
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.dto.UpdateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.service.AttendanceGroupService;
+import com.example.hcms.attendancegroup.service.AttendanceGroupServiceImpl;
+import com.example.hcms.attendancegroup.service.ScheduleResolver;
+import com.example.hcms.attendancegroup.service.ShiftInstanceMatcher;
+import com.example.hcms.auth.service.UserMembershipIndex;
+import com.example.hcms.auth.service.UserService;
+import com.example.hcms.common.config.SecurityConfig;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.department.service.DepartmentServiceImpl;
+import com.example.hcms.holiday.service.HolidayServiceImpl;
+import com.example.hcms.impact.service.ScheduleImpactPlanner;
+import com.example.hcms.impact.service.ScheduleImpactRecorder;
+import com.example.hcms.overtime.domain.OvertimeEntry;
+import com.example.hcms.overtime.domain.OvertimeKind;
+import com.example.hcms.overtime.domain.OvertimeStatus;
+import com.example.hcms.overtime.dto.OvertimeEntryPage;
+import com.example.hcms.overtime.dto.OvertimeEntryResponse;
+import com.example.hcms.overtime.exception.OvertimeEntryDecidedException;
+import com.example.hcms.overtime.repository.OvertimeEntryRepository;
+import com.example.hcms.punch.domain.PunchType;
+import com.example.hcms.punch.service.PunchServiceImpl;
+import com.example.hcms.shift.service.ShiftCatalog;
+import com.example.hcms.shift.service.ShiftServiceImpl;
+import com.example.hcms.shift.service.ShiftVersions;
+import com.example.hcms.support.AttendanceFixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static com.example.hcms.support.AttendanceFixtures.JAKARTA;
+import static com.example.hcms.support.AttendanceFixtures.fixedGroup;
+import static com.example.hcms.support.AttendanceFixtures.officeShift;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The overtime ledger: entries derived from computed days under the group's overtime settings, rounded
+ * into blocks, a late clock-out updating only its own day's entry, decisions taken once, and a group that
+ * stops recording losing its recomputed days' entries
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ OvertimeLedger.class, OvertimeServiceImpl.class, DailyAttendanceEngine.class, RecomputeMarker.class,
+        PunchServiceImpl.class, ShiftInstanceMatcher.class, ScheduleResolver.class, AttendanceGroupServiceImpl.class,
+        ShiftServiceImpl.class, UserService.class, UserMembershipIndex.class, HolidayServiceImpl.class,
+        DepartmentServiceImpl.class, SecurityConfig.class, ShiftCatalog.class, ShiftVersions.class,
+        ChangeWatermarks.class, SparseQueries.class, ScheduleImpactRecorder.class, ScheduleImpactPlanner.class,
+        AttendanceFixtures.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OvertimeLedgerTest {
+
+    @Autowired
+    private DailyAttendanceEngine engine;
+
+    @Autowired
+    private OvertimeService overtimeService;
+
+    @Autowired
+    private OvertimeEntryRepository repository;
+
+    @Autowired
+    private AttendanceGroupService groupService;
+
+    @Autowired
+    private AttendanceFixtures fixtures;
+
+    @Test
+    public void testLedgerFollowsComputedDays() {
+        LocalDate today = LocalDate.now(JAKARTA);
+        LocalDate working = today.minusDays(1);
+        LocalDate restDay = today.minusDays(2);
+        Long shiftId = fixtures.createShift(officeShift("Overtime office"));
+        Long groupId = createGroup("Overtime Jakarta", shiftId, restDay.getDayOfWeek(), true);
+        Long userId = fixtures.createUser("Overtime Late", groupId);
+        Long shortUserId = fixtures.createUser("Overtime Short", groupId);
+        Long unrecordedId = fixtures.createUser("Overtime Unrecorded",
+                createGroup("Overtime Unrecorded Jakarta", shiftId, restDay.getDayOfWeek(), false));
+
+        fixtures.punch(userId, working, LocalTime.of(9, 0), PunchType.CLOCK_IN, "ot-in");
+        fixtures.punch(userId, working, LocalTime.of(19, 40), PunchType.CLOCK_OUT, "ot-out");
+        fixtures.punch(userId, restDay, LocalTime.of(10, 0), PunchType.CLOCK_IN, "ot-rest-in");
+        fixtures.punch(userId, restDay, LocalTime.of(12, 20), PunchType.CLOCK_OUT, "ot-rest-out");
+        // Under the minimum block
+        fixtures.punch(shortUserId, working, LocalTime.of(9, 0), PunchType.CLOCK_IN, "ot-short-in");
+        fixtures.punch(shortUserId, working, LocalTime.of(18, 20), PunchType.CLOCK_OUT, "ot-short-out");
+        // In a group that does not record overtime
+        fixtures.punch(unrecordedId, working, LocalTime.of(9, 0), PunchType.CLOCK_IN, "ot-unrecorded-in");
+        fixtures.punch(unrecordedId, working, LocalTime.of(21, 0), PunchType.CLOCK_OUT, "ot-unrecorded-out");
+        engine.recomputeDirty();
+
+        List<OvertimeEntry> entries = repository.findByUserIdAndWorkDateBetweenOrderByWorkDate(userId, restDay,
+                working);
+        assertEquals(2, entries.size());
+        OvertimeEntry rest = entries.get(0);
+        assertEquals(OvertimeKind.NON_WORKING_DAY, rest.getKind());
+        assertEquals(140, rest.getRawMinutes());
+        assertEquals(135, rest.getMinutes());
+        assertEquals(OvertimeStatus.APPROVED, rest.getStatus(), "the group approves non-working days itself");
+        OvertimeEntry late = entries.get(1);
+        assertEquals(OvertimeKind.WORKING_DAY, late.getKind());
+        assertEquals(working.atTime(18, 0).atZone(JAKARTA).toInstant(), late.getStartsAt());
+        assertEquals(100, late.getRawMinutes());
+        assertEquals(90, late.getMinutes());
+        assertEquals(OvertimeStatus.PENDING, late.getStatus());
+        assertTrue(repository.findByUserIdAndWorkDateBetweenOrderByWorkDate(shortUserId, restDay, working).isEmpty());
+        assertTrue(repository.findByUserIdAndWorkDateBetweenOrderByWorkDate(unrecordedId, restDay, working)
+                .isEmpty());
+
+        OvertimeEntryPage queue = overtimeService.getQueue(OvertimeStatus.PENDING, groupId, null, 10);
+        assertEquals(List.of(late.getId()), queue.getItems().stream().map(OvertimeEntryResponse::getId).toList());
+        OvertimeEntryResponse approved = overtimeService.decide(late.getId(), true, 1L);
+        assertEquals(OvertimeStatus.APPROVED, approved.getStatus());
+        assertEquals(1L, approved.getDecidedBy());
+        assertTrue(overtimeService.getQueue(OvertimeStatus.PENDING, groupId, null, 10).getItems().isEmpty());
+
+        // A later clock-out moves that day's entry, which needs approval again; the other day is untouched
+        fixtures.punch(userId, working, LocalTime.of(20, 10), PunchType.CLOCK_OUT, "ot-out-later");
+        engine.recomputeDirty();
+        entries = repository.findByUserIdAndWorkDateBetweenOrderByWorkDate(userId, restDay, working);
+        assertEquals(rest.getComputedAt(), entries.get(0).getComputedAt());
+        OvertimeEntry moved = entries.get(1);
+        assertEquals(late.getId(), moved.getId());
+        assertEquals(130, moved.getRawMinutes());
+        assertEquals(120, moved.getMinutes());
+        assertEquals(OvertimeStatus.PENDING, moved.getStatus());
+        assertNull(moved.getDecidedBy());
+
+        // An entry is decided once
+        overtimeService.decide(moved.getId(), false, 1L);
+        assertThrows(OvertimeEntryDecidedException.class, () -> overtimeService.decide(moved.getId(), true, 1L));
+        assertEquals(OvertimeStatus.REJECTED, repository.findById(moved.getId()).orElseThrow().getStatus());
+
+        // Once the group stops recording, a recomputed day loses its entry
+        groupService.updateGroup(groupId, stopRecording("Overtime Jakarta", shiftId, restDay.getDayOfWeek()), 1L,
+                null);
+        fixtures.punch(userId, restDay, LocalTime.of(12, 50), PunchType.CLOCK_OUT, "ot-rest-out-later");
+        engine.recomputeDirty();
+        assertTrue(repository.findByUserIdAndWorkDateBetweenOrderByWorkDate(userId, restDay, restDay).isEmpty());
+    }
+
+    /**
+     * A fixed group working the shift every day but one, approving its non-working-day overtime itself
+     */
+    private Long createGroup(String name, Long shiftId, DayOfWeek restDay, boolean recordOvertime) {
+        CreateAttendanceGroupRequest request = fixedGroup(name, shiftId, restDay);
+        request.setRecordOvertime(recordOvertime);
+        request.setNonWorkingDayApproval(false);
+        return fixtures.createGroup(request);
+    }
+
+    /**
+     * The same schedule as {@link #createGroup}, no longer recording overtime
+     */
+    private UpdateAttendanceGroupRequest stopRecording(String name, Long shiftId, DayOfWeek restDay) {
+        CreateAttendanceGroupRequest schedule = fixedGroup(name, shiftId, restDay);
+        UpdateAttendanceGroupRequest request = new UpdateAttendanceGroupRequest();
+        request.setName(name);
+        request.setShiftType(GroupShiftType.FIXED);
+        request.setTimezone(schedule.getTimezone());
+        request.setMondayShiftId(schedule.getMondayShiftId());
+        request.setTuesdayShiftId(schedule.getTuesdayShiftId());
+        request.setWednesdayShiftId(schedule.getWednesdayShiftId());
+        request.setThursdayShiftId(schedule.getThursdayShiftId());
+        request.setFridayShiftId(schedule.getFridayShiftId());
+        request.setSaturdayShiftId(schedule.getSaturdayShiftId());
+        request.setSundayShiftId(schedule.getSundayShiftId());
+        request.setUsePublicHolidays(false);
+        request.setRecordOvertime(false);
+        return request;
+    }
+}
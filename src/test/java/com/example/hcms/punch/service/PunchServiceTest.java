@@ -0,0 +1,172 @@
+package com.example.hcms.punch.service;
+
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.service.AttendanceGroupServiceImpl;
+import com.example.hcms.attendancegroup.service.ScheduleResolver;
+import com.example.hcms.auth.service.UserMembershipIndex;
+import com.example.hcms.auth.service.UserService;
+import com.example.hcms.common.config.SecurityConfig;
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.department.service.DepartmentServiceImpl;
+import com.example.hcms.holiday.service.HolidayServiceImpl;
+import com.example.hcms.punch.domain.PunchRejection;
+import com.example.hcms.punch.domain.PunchType;
+import com.example.hcms.punch.dto.PunchBatchRequest;
+import com.example.hcms.punch.dto.PunchBatchResponse;
+import com.example.hcms.punch.dto.PunchBatchResponse.Status;
+import com.example.hcms.punch.dto.PunchRequest;
+import com.example.hcms.punch.dto.PunchResponse;
+import com.example.hcms.punch.exception.PunchRejectedException;
+import com.example.hcms.shift.service.ShiftCatalog;
+import com.example.hcms.shift.service.ShiftServiceImpl;
+import com.example.hcms.support.AttendanceFixtures;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static com.example.hcms.support.AttendanceFixtures.freeGroup;
+import static com.example.hcms.support.AttendanceFixtures.punchRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Punch ingestion: idempotent device events, validation from the cached group policy, batches with
+ * per-punch outcomes, and range reads
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ PunchServiceImpl.class, ScheduleResolver.class, AttendanceGroupServiceImpl.class, ShiftServiceImpl.class,
+        UserService.class, UserMembershipIndex.class, HolidayServiceImpl.class, DepartmentServiceImpl.class,
+        SecurityConfig.class, ShiftCatalog.class, ChangeWatermarks.class, SparseQueries.class,
+        AttendanceFixtures.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class PunchServiceTest {
+
+    @Autowired
+    private PunchService punchService;
+
+    @Autowired
+    private AttendanceFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testSinglePunchIsIdempotentAndValidated() {
+        Long strict = createGroup("Punch strict", true, false);
+        Long user = fixtures.createUser("Punch Strict", strict);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        PunchRequest request = punch(null, now, "kiosk-1", "evt-1");
+        request.setPhotoUrl("https://photos.example.com/1.jpg");
+        PunchResponse recorded = punchService.recordPunch(request, user, false);
+        assertFalse(recorded.isDuplicate());
+        assertEquals(user, recorded.getUserId());
+        assertEquals(strict, recorded.getAttendanceGroupId());
+
+        // Replaying the device event returns the original with no insert
+        PunchResponse replay = punchService.recordPunch(request, user, false);
+        assertTrue(replay.isDuplicate());
+        assertEquals(recorded.getId(), replay.getId());
+
+        // Hot path: validation reads no tables, so a new punch is one key lookup and one insert
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        PunchRequest next = punch(null, now.plusSeconds(1), "kiosk-1", "evt-2");
+        next.setPhotoUrl("https://photos.example.com/2.jpg");
+        punchService.recordPunch(next, user, false);
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        assertRejected(PunchRejection.PHOTO_REQUIRED, punch(null, now, "kiosk-1", "evt-3"), user, false);
+        PunchRequest offsite = punch(null, now, "kiosk-1", "evt-4");
+        offsite.setPhotoUrl("https://photos.example.com/4.jpg");
+        offsite.setOffsite(true);
+        assertRejected(PunchRejection.OFFSITE_NOT_ALLOWED, offsite, user, false);
+        assertRejected(PunchRejection.NOT_PERMITTED, punch(1L, now, "kiosk-1", "evt-5"), user, false);
+        assertRejected(PunchRejection.USER_NOT_FOUND, punch(999_999L, now, "kiosk-1", "evt-6"), user, true);
+        assertRejected(PunchRejection.NO_ATTENDANCE_GROUP, punch(null, now, "phone-9", "evt-7"),
+                fixtures.createUser("Punch Ungrouped", null), false);
+        assertRejected(PunchRejection.IN_FUTURE, punch(user, now.plus(Duration.ofHours(1)), "kiosk-1", "evt-8"),
+                user, true);
+        assertRejected(PunchRejection.TOO_OLD, punch(user, now.minus(Duration.ofDays(10)), "kiosk-1", "evt-9"),
+                user, true);
+    }
+
+    @Test
+    public void testBatchOutcomesAndRangeReads() {
+        Long open = createGroup("Punch open", false, true);
+        Long first = fixtures.createUser("Punch First", open);
+        Long second = fixtures.createUser("Punch Second", open);
+        Instant start = Instant.now().truncatedTo(ChronoUnit.SECONDS).minus(Duration.ofHours(9));
+        punchService.recordPunch(punch(first, start, "gate-7", "b-0"), 1L, true);
+
+        PunchBatchRequest batch = new PunchBatchRequest();
+        PunchRequest offsite = punch(second, start.plusSeconds(5), "gate-8", "b-3");
+        offsite.setOffsite(true);
+        batch.setPunches(List.of(
+                punch(first, start, "gate-7", "b-0"),
+                punch(second, start.plusSeconds(2), "gate-7", "b-1"),
+                punch(second, start.plusSeconds(2), "gate-7", "b-1"),
+                punch(999_999L, start, "gate-7", "b-2"),
+                offsite,
+                punch(first, start.plus(Duration.ofHours(8)), "gate-8", "b-4")));
+        PunchBatchResponse response = punchService.recordPunches(batch, 1L, true);
+        assertEquals(List.of(Status.DUPLICATE, Status.ACCEPTED, Status.DUPLICATE, Status.REJECTED, Status.ACCEPTED,
+                Status.ACCEPTED), response.getResults().stream().map(PunchBatchResponse.Result::getStatus).toList());
+        assertEquals(3, response.getAccepted());
+        assertEquals(2, response.getDuplicates());
+        assertEquals(1, response.getRejected());
+        assertEquals(response.getResults().get(1).getPunchId(), response.getResults().get(2).getPunchId());
+        assertEquals("USER_NOT_FOUND", response.getResults().get(3).getCode());
+
+        // The whole batch again: all duplicates of the same rows
+        PunchBatchResponse again = punchService.recordPunches(batch, 1L, true);
+        assertEquals(0, again.getAccepted());
+        assertEquals(5, again.getDuplicates());
+        assertEquals(response.getResults().get(5).getPunchId(), again.getResults().get(5).getPunchId());
+
+        List<PunchResponse> punches = punchService.getPunches(first, start, start.plus(Duration.ofDays(1)));
+        assertEquals(List.of(start, start.plus(Duration.ofHours(8))),
+                punches.stream().map(PunchResponse::getPunchedAt).toList());
+        assertEquals(List.of(start.plusSeconds(2), start.plusSeconds(5)),
+                punchService.getPunches(second, start, start.plusSeconds(6)).stream()
+                        .map(PunchResponse::getPunchedAt).toList());
+        assertThrows(InvalidParameterException.class,
+                () -> punchService.getPunches(first, start, start.plus(Duration.ofDays(40))));
+    }
+
+    private void assertRejected(PunchRejection expected, PunchRequest request, Long callerId, boolean anyUser) {
+        PunchRejectedException e = assertThrows(PunchRejectedException.class,
+                () -> punchService.recordPunch(request, callerId, anyUser));
+        assertEquals(expected, e.getRejection());
+    }
+
+    private static PunchRequest punch(Long userId, Instant at, String deviceId, String eventId) {
+        return punchRequest(userId, at, PunchType.CLOCK_IN, deviceId, eventId);
+    }
+
+    private Long createGroup(String name, boolean requirePhoto, boolean allowOffsite) {
+        CreateAttendanceGroupRequest request = freeGroup(name);
+        request.setRequirePhoto(requirePhoto);
+        request.setAllowOffsite(allowOffsite);
+        return fixtures.createGroup(request);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.hcms.shift.domain;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Straightforward field-by-field reading of the punch rules documented on {@link ShiftRules}, using the
+ * entity's boxed getters and java.time arithmetic. The compiled rules are checked against it, over
+ * shifts drawn by {@link #randomShift(Random)}.
+ */
+public final class ShiftRulesReference {
+
+    private ShiftRulesReference() {
+    }
+
+    public static Set<PunchOutcome> classify(Shift shift, LocalDate date, LocalDateTime clockIn,
+            LocalDateTime clockOut) {
+        Set<PunchOutcome> outcomes = EnumSet.noneOf(PunchOutcome.class);
+        if (shift.getDateType() == DateType.OFF_DAYS) {
+            return outcomes;
+        }
+        LocalDateTime start = date.atTime(shift.getStartTime());
+        LocalDateTime end = date.atTime(shift.getEndTime());
+        if (shift.getIsNextDayEnd()) {
+            end = end.plusDays(1);
+        }
+        LocalDateTime windowOpens = start.minusMinutes(shift.getClockInEarlyMinutes());
+        LocalDateTime windowCloses = end.plusMinutes(shift.getClockOutLateMinutes());
+        boolean hasIn = clockIn != null && !clockIn.isBefore(windowOpens) && clockIn.isBefore(end);
+        boolean hasOut = clockOut != null && clockOut.isAfter(windowOpens) && !clockOut.isAfter(windowCloses)
+                && (!hasIn || clockOut.isAfter(clockIn));
+
+        boolean flextime = shift.getShiftType() == ShiftType.FLEXTIME;
+        Duration flexLate = flextime
+                ? Duration.ofHours(shift.getFlexLateHours()).plusMinutes(shift.getFlexLateMinutes())
+                : Duration.ZERO;
+        Duration flexEarly = flextime
+                ? Duration.ofHours(shift.getFlexEarlyHours()).plusMinutes(shift.getFlexEarlyMinutes())
+                : Duration.ZERO;
+
+        boolean requireIn = shift.getRequireClockIn();
+        boolean requireOut = shift.getRequireClockOut();
+        boolean anyRequired = requireIn || requireOut;
+        boolean requiredPresent = (requireIn && hasIn) || (requireOut && hasOut);
+        if (anyRequired && !requiredPresent) {
+            outcomes.add(PunchOutcome.ABSENT);
+            return outcomes;
+        }
+
+        if (requireIn) {
+            if (!hasIn) {
+                outcomes.add(PunchOutcome.MISSING_CLOCK_IN);
+            } else {
+                Duration lateness = Duration.between(start.plus(flexLate), clockIn);
+                if (lateness.compareTo(Duration.ofMinutes(shift.getHalfDayLateThresholdMinutes())) > 0) {
+                    outcomes.add(PunchOutcome.HALF_DAY_LATE);
+                } else if (lateness.compareTo(Duration.ofMinutes(shift.getLateThresholdMinutes())) > 0) {
+                    outcomes.add(PunchOutcome.LATE);
+                }
+            }
+        }
+        if (requireOut) {
+            if (!hasOut) {
+                outcomes.add(PunchOutcome.MISSING_CLOCK_OUT);
+            } else {
+                LocalDateTime expectedEnd = end;
+                if (flextime && hasIn) {
+                    Duration offset = Duration.between(start, clockIn);
+                    if (offset.compareTo(flexLate) > 0) {
+                        offset = flexLate;
+                    }
+                    if (offset.compareTo(flexEarly.negated()) < 0) {
+                        offset = flexEarly.negated();
+                    }
+                    expectedEnd = end.plus(offset);
+                }
+                Duration earliness = Duration.between(clockOut, expectedEnd);
+                if (earliness.compareTo(Duration.ofMinutes(shift.getHalfDayEarlyThresholdMinutes())) > 0) {
+                    outcomes.add(PunchOutcome.HALF_DAY_EARLY);
+                } else if (earliness.compareTo(Duration.ofMinutes(shift.getEarlyOutThresholdMinutes())) > 0) {
+                    outcomes.add(PunchOutcome.EARLY_OUT);
+                }
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * An arbitrary shift within the ranges the create request accepts
+     */
+    public static Shift randomShift(Random random) {
+        Shift shift = new Shift();
+        shift.setShiftType(random.nextInt(3) == 0 ? ShiftType.FLEXTIME : ShiftType.FIXED_TIME);
+        shift.setDateType(random.nextInt(20) == 0 ? DateType.OFF_DAYS : DateType.WORK_DAYS);
+        LocalTime start = LocalTime.of(random.nextInt(24), random.nextInt(4) * 15);
+        LocalTime end = start.plusMinutes(240 + random.nextInt(8) * 60);
+        shift.setStartTime(start);
+        shift.setEndTime(end);
+        shift.setIsNextDayEnd(end.isBefore(start));
+        shift.setRequireClockIn(random.nextInt(8) != 0);
+        shift.setRequireClockOut(random.nextInt(8) != 0);
+        shift.setClockInEarlyMinutes(random.nextInt(121));
+        shift.setLateThresholdMinutes(random.nextInt(31));
+        shift.setHalfDayLateThresholdMinutes(random.nextInt(121));
+        shift.setClockOutLateMinutes(random.nextInt(481));
+        shift.setEarlyOutThresholdMinutes(random.nextInt(31));
+        shift.setHalfDayEarlyThresholdMinutes(random.nextInt(121));
+        shift.setFlexLateHours(random.nextInt(3));
+        shift.setFlexLateMinutes(random.nextInt(60));
+        shift.setFlexEarlyHours(random.nextInt(3));
+        shift.setFlexEarlyMinutes(random.nextInt(60));
+        return shift;
+    }
+}
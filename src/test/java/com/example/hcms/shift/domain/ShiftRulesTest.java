@@ -0,0 +1,133 @@
+package com.example.hcms.shift.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compiled punch rules: worked examples, and a randomized cross-check against the reference reading
+ */
+public class ShiftRulesTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+    private static final int SHIFTS = 2_000;
+    private static final int PUNCHES_PER_SHIFT = 200;
+
+    @Test
+    public void testFixedAndFlextimeExamples() {
+        Shift shift = new Shift();
+        shift.setStartTime(LocalTime.of(9, 0));
+        shift.setEndTime(LocalTime.of(18, 0));
+        shift.setLateThresholdMinutes(5);
+        shift.setHalfDayLateThresholdMinutes(60);
+        shift.setEarlyOutThresholdMinutes(0);
+        shift.setHalfDayEarlyThresholdMinutes(60);
+        ShiftRules rules = new ShiftSnapshot(shift).getRules();
+
+        assertEquals(Set.of(), classify(rules, "08:55", "18:00"));
+        assertEquals(Set.of(), classify(rules, "09:05", "18:30"));
+        assertEquals(Set.of(PunchOutcome.LATE), classify(rules, "09:05:01", "18:00"));
+        assertEquals(Set.of(PunchOutcome.HALF_DAY_LATE, PunchOutcome.EARLY_OUT), classify(rules, "10:01", "17:59"));
+        assertEquals(Set.of(PunchOutcome.HALF_DAY_EARLY), classify(rules, "09:00", "16:30"));
+        assertEquals(Set.of(PunchOutcome.MISSING_CLOCK_OUT), classify(rules, "09:00", null));
+        // Before the clock-in window opens (60 minutes early by default) the punch does not count
+        assertEquals(Set.of(PunchOutcome.MISSING_CLOCK_IN), classify(rules, "07:30", "18:00"));
+        assertEquals(Set.of(PunchOutcome.ABSENT), classify(rules, null, null));
+
+        // Flextime: arriving 40 minutes late within a one hour allowance moves the expected end to 18:40
+        shift.setShiftType(ShiftType.FLEXTIME);
+        rules = new ShiftSnapshot(shift).getRules();
+        assertEquals(Set.of(), classify(rules, "09:40", "18:40"));
+        assertEquals(Set.of(PunchOutcome.EARLY_OUT), classify(rules, "09:40", "18:20"));
+        assertEquals(Set.of(PunchOutcome.LATE), classify(rules, "10:06", "19:00"));
+
+        // Off-days shifts and shifts without required punches have no outcomes
+        shift.setRequireClockIn(false);
+        shift.setRequireClockOut(false);
+        assertEquals(Set.of(), classify(new ShiftSnapshot(shift).getRules(), null, null));
+        shift.setRequireClockIn(true);
+        shift.setDateType(DateType.OFF_DAYS);
+        assertEquals(Set.of(), classify(new ShiftSnapshot(shift).getRules(), null, null));
+    }
+
+    @Test
+    public void testOvernightShiftInGroupTimeZone() {
+        Shift shift = new Shift();
+        shift.setStartTime(LocalTime.of(22, 0));
+        shift.setEndTime(LocalTime.of(6, 0));
+        shift.setIsNextDayEnd(true);
+        ShiftRules rules = new ShiftSnapshot(shift).getRules();
+        ZoneId jakarta = ZoneId.of("Asia/Jakarta");
+        Instant dayStart = DAY.atStartOfDay(jakarta).toInstant();
+
+        Instant in = DAY.atTime(21, 50).atZone(jakarta).toInstant();
+        Instant out = DAY.plusDays(1).atTime(6, 5).atZone(jakarta).toInstant();
+        assertEquals(0, rules.classify(dayStart, in, out));
+        assertEquals(PunchOutcome.EARLY_OUT.bit(), rules.classify(dayStart, in, out.minusSeconds(600)));
+        assertTrue(PunchOutcome.MISSING_CLOCK_IN.in(rules.classify(dayStart, null, out)));
+    }
+
+    /**
+     * Property: for arbitrary valid shifts and punches around them, the compiled rules agree with the
+     * reference. The seed is fixed so a failure reproduces; the message carries the failing case.
+     */
+    @Test
+    public void testCompiledRulesMatchReference() {
+        Random random = new Random(20250310L);
+        long dayStart = DAY.atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        for (int s = 0; s < SHIFTS; s++) {
+            Shift shift = ShiftRulesReference.randomShift(random);
+            ShiftRules rules = new ShiftSnapshot(shift).getRules();
+            int start = shift.getStartTime().toSecondOfDay();
+            int end = shift.getEndTime().toSecondOfDay() + (shift.getIsNextDayEnd() ? 86_400 : 0);
+            for (int p = 0; p < PUNCHES_PER_SHIFT; p++) {
+                Long in = random.nextInt(10) == 0 ? null : (long) start + around(random);
+                Long out = random.nextInt(10) == 0 ? null : (long) end + around(random);
+                Set<PunchOutcome> expected = ShiftRulesReference.classify(shift, DAY, at(in), at(out));
+                int actual = rules.classify(dayStart, in != null ? dayStart + in : ShiftRules.NO_PUNCH,
+                        out != null ? dayStart + out : ShiftRules.NO_PUNCH);
+                assertEquals(expected, PunchOutcome.decode(actual),
+                        () -> "shift " + describe(shift) + ", in " + at(in) + ", out " + at(out));
+            }
+        }
+    }
+
+    /**
+     * Seconds within about ten hours either side of a boundary, often landing exactly on a minute
+     */
+    private static long around(Random random) {
+        long minutes = random.nextInt(1_201) - 600;
+        return minutes * 60 + (random.nextBoolean() ? 0 : random.nextInt(60));
+    }
+
+    private static LocalDateTime at(Long secondsFromDayStart) {
+        return secondsFromDayStart != null ? DAY.atStartOfDay().plusSeconds(secondsFromDayStart) : null;
+    }
+
+    private static Set<PunchOutcome> classify(ShiftRules rules, String in, String out) {
+        Instant dayStart = DAY.atStartOfDay(ZoneOffset.UTC).toInstant();
+        return PunchOutcome.decode(rules.classify(dayStart,
+                in != null ? DAY.atTime(LocalTime.parse(in)).toInstant(ZoneOffset.UTC) : null,
+                out != null ? DAY.atTime(LocalTime.parse(out)).toInstant(ZoneOffset.UTC) : null));
+    }
+
+    private static String describe(Shift shift) {
+        return shift.getShiftType() + " " + shift.getDateType() + " " + shift.getStartTime() + "-"
+                + shift.getEndTime() + (shift.getIsNextDayEnd() ? "+1" : "") + " in=" + shift.getRequireClockIn()
+                + " out=" + shift.getRequireClockOut() + " early=" + shift.getClockInEarlyMinutes()
+                + " late=" + shift.getLateThresholdMinutes() + "/" + shift.getHalfDayLateThresholdMinutes()
+                + " outLate=" + shift.getClockOutLateMinutes() + " earlyOut=" + shift.getEarlyOutThresholdMinutes()
+                + "/" + shift.getHalfDayEarlyThresholdMinutes() + " flex=" + shift.getFlexLateHours() + "h"
+                + shift.getFlexLateMinutes() + "m/" + shift.getFlexEarlyHours() + "h" + shift.getFlexEarlyMinutes()
+                + "m";
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.hcms.shift.service;
+
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.shift.domain.RemoteShiftChangedEvent;
+import com.example.hcms.shift.domain.Shift;
+import com.example.hcms.shift.domain.ShiftSnapshot;
+import com.example.hcms.shift.dto.CreateShiftRequest;
+import com.example.hcms.shift.dto.UpdateShiftRequest;
+import com.example.hcms.shift.exception.ShiftNotFoundException;
+import com.example.hcms.shift.repository.ShiftRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The in-process shift catalog: reads without statements, refreshes on committed writes and the
+ * cross-node broadcaster and remote change events
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ShiftServiceImpl.class, ShiftCatalog.class, ChangeWatermarks.class, SparseQueries.class,
+        ShiftCatalogTest.RecordingBroadcaster.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ShiftCatalogTest {
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private ShiftCatalog catalog;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RecordingBroadcaster broadcaster;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    public void testServiceWritesRefreshCatalog() {
+        Long id = createShift("Catalog morning");
+        ShiftSnapshot created = catalog.get(id);
+        assertEquals("Catalog morning", created.getName());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertSame(created, catalog.get(id));
+        assertEquals("08:00", shiftService.getShift(id).getStartTime());
+        assertEquals(List.of(id), List.copyOf(shiftService.getShiftsByIds(List.of(id)).keySet()));
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        long version = catalog.version();
+        UpdateShiftRequest later = new UpdateShiftRequest();
+        later.setStartTime("09:15");
+        shiftService.updateShift(id, later, 1L, null);
+        assertTrue(catalog.version() > version);
+        assertEquals(LocalTime.of(9, 15), catalog.get(id).getStartTime());
+        assertTrue(broadcaster.shiftIds.contains(id));
+        assertEquals(LocalTime.of(8, 0), created.getStartTime());
+
+        shiftService.deleteShift(id, 1L, null);
+        assertFalse(catalog.get(id).isActive());
+        assertEquals("INACTIVE", shiftService.getShift(id).getStatus());
+        assertThrows(ShiftNotFoundException.class, () -> shiftService.getShift(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testExternalWritesAndInvalidationHook() {
+        // Load the catalog before the external write
+        catalog.get(createShift("Catalog loaded"));
+
+        // Written behind the catalog's back (another replica, or a script): read through by ID
+        Shift external = new Shift();
+        external.setCode("CAT-EXT");
+        external.setName("Catalog external");
+        external.setStartTime(LocalTime.of(6, 0));
+        external.setEndTime(LocalTime.of(14, 0));
+        external = shiftRepository.save(external);
+        assertEquals("Catalog external", catalog.get(external.getId()).getName());
+        assertEquals(external.getId(), catalog.getByCode("CAT-EXT").getId());
+
+        // A change relayed from another node replaces the held snapshot
+        external.setName("Catalog renamed");
+        shiftRepository.save(external);
+        assertEquals("Catalog external", catalog.get(external.getId()).getName());
+        eventPublisher.publishEvent(new RemoteShiftChangedEvent(external.getId()));
+        assertEquals("Catalog renamed", catalog.get(external.getId()).getName());
+
+        long version = catalog.version();
+        eventPublisher.publishEvent(new RemoteShiftChangedEvent(null));
+        assertEquals(version, catalog.version());
+        assertEquals("Catalog renamed", catalog.getByCode("CAT-EXT").getName());
+        assertTrue(catalog.version() > version);
+    }
+
+    private Long createShift(String name) {
+        CreateShiftRequest request = new CreateShiftRequest();
+        request.setName(name);
+        request.setStartTime("08:00");
+        request.setEndTime("16:00");
+        return shiftService.createShift(request, 1L).getId();
+    }
+
+    /**
+     * Stands in for a broker adapter
+     */
+    static class RecordingBroadcaster implements ShiftChangeBroadcaster {
+        private final List<Long> shiftIds = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void broadcast(Long shiftId) {
+            shiftIds.add(shiftId);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.hcms.shift.service;
+
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.common.web.EntityTags;
+import com.example.hcms.shift.domain.ShiftStatus;
+import com.example.hcms.shift.dto.CreateShiftRequest;
+import com.example.hcms.shift.dto.ShiftResponse;
+import com.example.hcms.shift.dto.UpdateShiftRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Validator tests backing If-None-Match on the shift read endpoints
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ShiftServiceImpl.class, ShiftCatalog.class, ChangeWatermarks.class, SparseQueries.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ShiftConditionalGetTest {
+
+    private static final long USER_ID = 1L;
+    private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by("name"));
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testValidatorTagMatchesServedRepresentation() {
+        Long shiftId = createShift().getId();
+
+        ShiftResponse served = shiftService.toResponse(shiftService.getShiftById(shiftId));
+        String etag = shiftService.getShiftETag(shiftId);
+        assertEquals(shiftService.eTagOf(served), etag);
+        assertTrue(EntityTags.matches("W/" + etag, etag));
+
+        shiftService.updateShift(shiftId, updateRequest(), USER_ID, null);
+        assertFalse(EntityTags.matches(etag, shiftService.getShiftETag(shiftId)));
+        assertNull(shiftService.getShiftETag(-1L));
+    }
+
+    @Test
+    public void testListTagMovesOnlyOnCommittedWrites() {
+        String before = shiftService.getShiftsETag(null, ShiftStatus.ACTIVE, PAGE, null);
+        shiftService.getAllShifts(null, ShiftStatus.ACTIVE, PAGE);
+        assertEquals(before, shiftService.getShiftsETag(null, ShiftStatus.ACTIVE, PAGE, null));
+        assertNotEquals(before, shiftService.getShiftsETag("night", ShiftStatus.ACTIVE, PAGE, null));
+        // Searches whose 32-bit hash codes collide
+        assertNotEquals(shiftService.getShiftsETag("Aa", ShiftStatus.ACTIVE, PAGE, null),
+                shiftService.getShiftsETag("BB", ShiftStatus.ACTIVE, PAGE, null));
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            createShift();
+            status.setRollbackOnly();
+        });
+        assertEquals(before, shiftService.getShiftsETag(null, ShiftStatus.ACTIVE, PAGE, null));
+
+        createShift();
+        assertNotEquals(before, shiftService.getShiftsETag(null, ShiftStatus.ACTIVE, PAGE, null));
+    }
+
+    private ShiftResponse createShift() {
+        CreateShiftRequest request = new CreateShiftRequest();
+        request.setName("Cached shift");
+        request.setStartTime("09:00");
+        request.setEndTime("18:00");
+        return shiftService.createShift(request, USER_ID);
+    }
+
+    private UpdateShiftRequest updateRequest() {
+        UpdateShiftRequest request = new UpdateShiftRequest();
+        request.setName("Cached shift (renamed)");
+        request.setStartTime("09:00");
+        request.setEndTime("18:00");
+        return request;
+    }
+}
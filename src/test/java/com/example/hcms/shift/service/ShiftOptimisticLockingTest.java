@@ -0,0 +1,179 @@
+package com.example.hcms.shift.service;
+
+import com.example.hcms.common.exception.PreconditionFailedException;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.shift.domain.Shift;
+import com.example.hcms.shift.dto.CreateShiftRequest;
+import com.example.hcms.shift.dto.ShiftResponse;
+import com.example.hcms.shift.dto.UpdateShiftRequest;
+import com.example.hcms.shift.repository.ShiftRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Contention tests for conditional (If-Match) shift writes backed by @Version.
+ * The H2 lock timeout is kept short, so any writer blocked behind another's row lock fails the test.
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ShiftServiceImpl.class, ShiftCatalog.class, ChangeWatermarks.class, SparseQueries.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ShiftOptimisticLockingTest {
+
+    private static final long USER_ID = 1L;
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testConcurrentConditionalUpdatesLoseNoUpdates() throws Exception {
+        Long shiftId = createShift().getId();
+        int threads = 8;
+        int incrementsPerThread = 20;
+        AtomicInteger conflicts = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < incrementsPerThread; i++) {
+                    // Read-modify-write with If-Match, retrying on 412 like a well-behaved client
+                    while (true) {
+                        Shift current = shiftRepository.findById(shiftId).orElseThrow();
+                        UpdateShiftRequest request = updateRequest(current.getLateThresholdMinutes() + 1);
+                        try {
+                            shiftService.updateShift(shiftId, request, USER_ID, current.getVersion());
+                            break;
+                        } catch (PreconditionFailedException | ObjectOptimisticLockingFailureException e) {
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            // Any lock wait beyond the H2 lock timeout surfaces here as an unexpected exception
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Shift result = shiftRepository.findById(shiftId).orElseThrow();
+        int expected = threads * incrementsPerThread;
+        assertEquals(expected, result.getLateThresholdMinutes(), "every successful update must be visible");
+        assertEquals((long) expected, result.getVersion(), "one version bump per successful update");
+        assertTrue(conflicts.get() > 0, "test should actually produce contention");
+    }
+
+    @Test
+    public void testStaleWriterIsRejectedWhileConcurrentWriterNeverWaits() throws Exception {
+        Long shiftId = createShift().getId();
+        CountDownLatch staleReadDone = new CountDownLatch(1);
+        CountDownLatch freshWriteDone = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Throwable> staleWriter = executor.submit(() -> {
+            TransactionTemplate tx = new TransactionTemplate(transactionManager);
+            try {
+                tx.executeWithoutResult(status -> {
+                    // Long-running transaction: reads version 0 and keeps the transaction open
+                    Shift loaded = shiftRepository.findById(shiftId).orElseThrow();
+                    staleReadDone.countDown();
+                    awaitQuietly(freshWriteDone);
+                    shiftService.updateShift(shiftId, updateRequest(99), USER_ID, loaded.getVersion());
+                });
+                return null;
+            } catch (Throwable e) {
+                return e;
+            }
+        });
+
+        assertTrue(staleReadDone.await(5, TimeUnit.SECONDS));
+        // The reader holds no row lock, so this write must complete immediately
+        ShiftResponse fresh = assertTimeoutPreemptively(Duration.ofSeconds(2),
+                () -> shiftService.updateShift(shiftId, updateRequest(5), USER_ID, 0L));
+        freshWriteDone.countDown();
+
+        Throwable staleFailure = staleWriter.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(1L, fresh.getVersion());
+        assertInstanceOf(ObjectOptimisticLockingFailureException.class, staleFailure);
+        Shift result = shiftRepository.findById(shiftId).orElseThrow();
+        assertEquals(5, result.getLateThresholdMinutes());
+        assertEquals(1L, result.getVersion());
+    }
+
+    @Test
+    public void testIfMatchWithOldVersionIsRejectedBeforeWriting() {
+        Long shiftId = createShift().getId();
+        shiftService.updateShift(shiftId, updateRequest(1), USER_ID, 0L);
+
+        assertThrows(PreconditionFailedException.class,
+                () -> shiftService.updateShift(shiftId, updateRequest(2), USER_ID, 0L));
+        assertThrows(PreconditionFailedException.class,
+                () -> shiftService.deleteShift(shiftId, USER_ID, 0L));
+
+        Shift result = shiftRepository.findById(shiftId).orElseThrow();
+        assertEquals(1, result.getLateThresholdMinutes());
+        assertEquals(1L, result.getVersion());
+    }
+
+    private ShiftResponse createShift() {
+        CreateShiftRequest request = new CreateShiftRequest();
+        request.setName("Contended shift");
+        request.setStartTime("09:00");
+        request.setEndTime("18:00");
+        request.setLateThresholdMinutes(0);
+        return shiftService.createShift(request, USER_ID);
+    }
+
+    private UpdateShiftRequest updateRequest(int lateThresholdMinutes) {
+        UpdateShiftRequest request = new UpdateShiftRequest();
+        request.setName("Contended shift");
+        request.setStartTime("09:00");
+        request.setEndTime("18:00");
+        request.setLateThresholdMinutes(lateThresholdMinutes);
+        return request;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
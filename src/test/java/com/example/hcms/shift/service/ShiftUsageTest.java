@@ -0,0 +1,114 @@
+package com.example.hcms.shift.service;
+
+import com.example.hcms.attendancegroup.domain.GroupShiftType;
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.dto.UpdateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.service.AttendanceGroupService;
+import com.example.hcms.attendancegroup.service.AttendanceGroupServiceImpl;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.shift.domain.ShiftStatus;
+import com.example.hcms.shift.dto.CreateShiftRequest;
+import com.example.hcms.shift.dto.ShiftUsageResponse;
+import com.example.hcms.shift.exception.ShiftInUseException;
+import com.example.hcms.shift.exception.ShiftNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The shift usage index: kept in step with group writes, listed per shift, and guarding shift deletes
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ ShiftServiceImpl.class, AttendanceGroupServiceImpl.class, ShiftCatalog.class, ChangeWatermarks.class,
+        SparseQueries.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ShiftUsageTest {
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private AttendanceGroupService groupService;
+
+    @Test
+    public void testUsageFollowsGroupWrites() {
+        Long shift = createShift("Usage morning");
+        Long other = createShift("Usage evening");
+        CreateAttendanceGroupRequest first = new CreateAttendanceGroupRequest();
+        first.setName("Usage B");
+        first.setShiftType(GroupShiftType.SCHEDULED);
+        first.setDefaultShiftId(shift);
+        first.setSundayShiftId(shift);
+        first.setMondayShiftId(shift);
+        Long firstGroup = groupService.createGroup(first, 1L).getId();
+        CreateAttendanceGroupRequest second = new CreateAttendanceGroupRequest();
+        second.setName("Usage A");
+        second.setShiftType(GroupShiftType.FIXED);
+        second.setFridayShiftId(shift);
+        second.setSaturdayShiftId(other);
+        Long secondGroup = groupService.createGroup(second, 1L).getId();
+
+        ShiftUsageResponse usage = shiftService.getShiftUsage(shift);
+        assertEquals(List.of(secondGroup, firstGroup),
+                usage.getGroups().stream().map(ShiftUsageResponse.GroupUsage::getGroupId).toList());
+        assertEquals(List.of("FRIDAY"), usage.getGroups().get(0).getSlots());
+        assertEquals(List.of("DEFAULT", "MONDAY", "SUNDAY"), usage.getGroups().get(1).getSlots());
+
+        // Moving Monday to another shift and dropping the default only rewrites those slots
+        UpdateAttendanceGroupRequest update = new UpdateAttendanceGroupRequest();
+        update.setName("Usage B");
+        update.setShiftType(GroupShiftType.SCHEDULED);
+        update.setMondayShiftId(other);
+        update.setSundayShiftId(shift);
+        groupService.updateGroup(firstGroup, update, 1L, null);
+        assertEquals(List.of("SUNDAY"), shiftService.getShiftUsage(shift).getGroups().get(1).getSlots());
+        assertEquals(List.of(secondGroup, firstGroup), shiftService.getShiftUsage(other).getGroups().stream()
+                .map(ShiftUsageResponse.GroupUsage::getGroupId).toList());
+
+        // Inactive groups no longer count
+        groupService.deleteGroup(secondGroup, 1L, null);
+        assertEquals(List.of(firstGroup), shiftService.getShiftUsage(other).getGroups().stream()
+                .map(ShiftUsageResponse.GroupUsage::getGroupId).toList());
+        assertThrows(ShiftNotFoundException.class, () -> shiftService.getShiftUsage(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testSharedShiftCannotBeDeleted() {
+        Long shift = createShift("Usage shared");
+        CreateAttendanceGroupRequest request = new CreateAttendanceGroupRequest();
+        request.setName("Usage sharing");
+        request.setShiftType(GroupShiftType.FIXED);
+        request.setWednesdayShiftId(shift);
+        Long group = groupService.createGroup(request, 1L).getId();
+
+        assertThrows(ShiftInUseException.class, () -> shiftService.deleteShift(shift, 1L, null));
+        assertEquals(ShiftStatus.ACTIVE, shiftService.getShiftById(shift).getStatus());
+
+        groupService.deleteGroup(group, 1L, null);
+        shiftService.deleteShift(shift, 1L, null);
+        assertEquals(ShiftStatus.INACTIVE, shiftService.getShiftById(shift).getStatus());
+    }
+
+    private Long createShift(String name) {
+        CreateShiftRequest request = new CreateShiftRequest();
+        request.setName(name);
+        request.setStartTime("08:00");
+        request.setEndTime("16:00");
+        return shiftService.createShift(request, 1L).getId();
+    }
+}
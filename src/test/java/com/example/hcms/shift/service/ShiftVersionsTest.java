@@ -0,0 +1,145 @@
+package com.example.hcms.shift.service;
+
+import com.example.hcms.common.exception.InvalidParameterException;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.shift.domain.ShiftSnapshot;
+import com.example.hcms.shift.dto.CreateShiftRequest;
+import com.example.hcms.shift.dto.UpdateShiftRequest;
+import com.example.hcms.shift.repository.ShiftVersionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Shift versions: written on create and on rule edits, the rules in force on a date, served from memory
+ * once loaded, and scheduled rules kept off the shift until their date
+ */
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ ShiftServiceImpl.class, ShiftCatalog.class, ShiftVersions.class, ShiftVersionActivationJob.class,
+        ChangeWatermarks.class, SparseQueries.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ShiftVersionsTest {
+
+    @Autowired
+    private ShiftService shiftService;
+
+    @Autowired
+    private ShiftVersions versions;
+
+    @Autowired
+    private ShiftVersionRepository versionRepository;
+
+    @Autowired
+    private ShiftCatalog catalog;
+
+    @Autowired
+    private ShiftVersionActivationJob activationJob;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testVersionsInForceByDate() {
+        LocalDate today = LocalDate.now();
+        CreateShiftRequest create = new CreateShiftRequest();
+        create.setName("Versions office");
+        create.setStartTime("09:00");
+        create.setEndTime("18:00");
+        create.setLateThresholdMinutes(5);
+        Long id = shiftService.createShift(create, 1L).getId();
+
+        ShiftSnapshot created = versions.rulesOn(id, today);
+        assertEquals(5, created.getLateThresholdMinutes());
+        assertNotNull(created.getShiftVersionId());
+        // Before the first version: its rules
+        assertEquals(created.getShiftVersionId(), versions.rulesOn(id, today.minusDays(100)).getShiftVersionId());
+
+        // Renaming writes no version
+        UpdateShiftRequest rename = new UpdateShiftRequest();
+        rename.setName("Versions office renamed");
+        rename.setLateThresholdMinutes(5);
+        shiftService.updateShift(id, rename, 1L, null);
+        assertEquals(1, versionRepository.findByShiftIdOrderByIdAsc(id).size());
+        assertEquals("Versions office renamed", versions.rulesOn(id, today).getName());
+
+        update(id, 10, today.minusDays(10));
+        update(id, 15, today.minusDays(5));
+        // A correction supersedes every later version from its date on
+        update(id, 25, today.minusDays(7));
+        assertEquals(10, versions.rulesOn(id, today.minusDays(8)).getLateThresholdMinutes());
+        assertEquals(25, versions.rulesOn(id, today.minusDays(7)).getLateThresholdMinutes());
+        assertEquals(25, versions.rulesOn(id, today).getLateThresholdMinutes());
+        assertEquals("Versions office renamed", versions.rulesOn(id, today.minusDays(8)).getName());
+
+        // A future version leaves today's rules in force, on the shift itself too, until its date
+        update(id, 20, today.plusDays(5));
+        assertEquals(5, versionRepository.findByShiftIdOrderByIdAsc(id).size());
+        assertEquals(20, versions.rulesOn(id, today.plusDays(5)).getLateThresholdMinutes());
+        assertEquals(25, versions.rulesOn(id, today).getLateThresholdMinutes());
+        assertEquals(25, versions.rulesOn(id, today.minusDays(5)).getLateThresholdMinutes());
+        assertEquals(10, versions.rulesOn(id, today.minusDays(60)).getLateThresholdMinutes());
+        assertEquals(25, shiftService.getShift(id).getLateThresholdMinutes());
+        assertEquals(25, catalog.get(id).getLateThresholdMinutes());
+
+        // Loaded once: every further lookup is answered from memory
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        for (int day = -40; day <= 40; day++) {
+            assertNotNull(versions.rulesOn(id, today.plusDays(day)));
+        }
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // Nothing may silently supersede the scheduled version, nor take effect outside the planned window;
+        // a rename still goes through
+        assertThrows(InvalidParameterException.class, () -> update(id, 30, today));
+        assertThrows(InvalidParameterException.class, () -> update(id, 30, today.plusDays(4)));
+        assertThrows(InvalidParameterException.class, () -> update(id, 30, today.minusDays(32)));
+        assertThrows(InvalidParameterException.class, () -> update(id, 30, today.plusDays(32)));
+        UpdateShiftRequest renameAgain = new UpdateShiftRequest();
+        renameAgain.setName("Versions office scheduled");
+        renameAgain.setLateThresholdMinutes(25);
+        shiftService.updateShift(id, renameAgain, 1L, null);
+        assertEquals(5, versionRepository.findByShiftIdOrderByIdAsc(id).size());
+
+        // A later edit may follow it
+        UpdateShiftRequest later = new UpdateShiftRequest();
+        later.setLateThresholdMinutes(20);
+        later.setBreakDurationMinutes(30);
+        later.setHasBreaks(true);
+        later.setEffectiveFrom(today.plusDays(6));
+        shiftService.updateShift(id, later, 1L, null);
+        assertEquals(20, versions.rulesOn(id, today.plusDays(6)).getLateThresholdMinutes());
+        assertEquals(30, versions.rulesOn(id, today.plusDays(6)).getBreakDurationMinutes());
+        assertEquals(25, shiftService.getShift(id).getLateThresholdMinutes());
+
+        // On its date, the scheduled rules reach the shift
+        assertEquals(0, activationJob.activate(today));
+        assertEquals(1, activationJob.activate(today.plusDays(5)));
+        assertEquals(20, shiftService.getShift(id).getLateThresholdMinutes());
+        assertFalse(shiftService.getShift(id).getHasBreaks());
+        assertEquals(20, catalog.get(id).getLateThresholdMinutes());
+        assertEquals(0, activationJob.activate(today.plusDays(5)));
+    }
+
+    private void update(Long id, int lateThresholdMinutes, LocalDate effectiveFrom) {
+        UpdateShiftRequest request = new UpdateShiftRequest();
+        request.setLateThresholdMinutes(lateThresholdMinutes);
+        request.setEffectiveFrom(effectiveFrom);
+        shiftService.updateShift(id, request, 1L, null);
+    }
+}
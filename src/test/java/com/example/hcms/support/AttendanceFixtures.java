@@ -0,0 +1,150 @@
+package com.example.hcms.support;
+
+import com.example.hcms.attendancegroup.domain.GroupShiftType;
+import com.example.hcms.attendancegroup.dto.CreateAttendanceGroupRequest;
+import com.example.hcms.attendancegroup.service.AttendanceGroupService;
+import com.example.hcms.auth.dto.CreateUserRequest;
+import com.example.hcms.auth.service.UserService;
+import com.example.hcms.punch.domain.PunchSource;
+import com.example.hcms.punch.domain.PunchType;
+import com.example.hcms.punch.dto.PunchRequest;
+import com.example.hcms.punch.service.PunchService;
+import com.example.hcms.shift.dto.CreateShiftRequest;
+import com.example.hcms.shift.service.ShiftService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Shifts, attendance groups, users and punches for service tests, written through the services as admin
+ * user 1. Import it next to the services under test; punching needs a {@link PunchService} among them.
+ * Request builders are static, so a test can adjust a request before creating it.
+ */
+@TestComponent
+public class AttendanceFixtures {
+
+    public static final ZoneId JAKARTA = ZoneId.of("Asia/Jakarta");
+
+    private final ShiftService shiftService;
+    private final AttendanceGroupService groupService;
+    private final UserService userService;
+    private final ObjectProvider<PunchService> punchService;
+
+    public AttendanceFixtures(ShiftService shiftService, AttendanceGroupService groupService, UserService userService,
+            ObjectProvider<PunchService> punchService) {
+        this.shiftService = shiftService;
+        this.groupService = groupService;
+        this.userService = userService;
+        this.punchService = punchService;
+    }
+
+    /**
+     * A shift without breaks
+     */
+    public static CreateShiftRequest shift(String name, String startTime, String endTime) {
+        CreateShiftRequest request = new CreateShiftRequest();
+        request.setName(name);
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+        return request;
+    }
+
+    /**
+     * A 09:00 to 18:00 shift with an hour's break
+     */
+    public static CreateShiftRequest officeShift(String name) {
+        CreateShiftRequest request = shift(name, "09:00", "18:00");
+        request.setHasBreaks(true);
+        request.setBreakDurationMinutes(60);
+        return request;
+    }
+
+    /**
+     * A FIXED group in Jakarta without public holidays
+     *
+     * @param shiftOf the shift of each weekday, null for a rest day
+     */
+    public static CreateAttendanceGroupRequest fixedGroup(String name, Function<DayOfWeek, Long> shiftOf) {
+        CreateAttendanceGroupRequest request = new CreateAttendanceGroupRequest();
+        request.setName(name);
+        request.setShiftType(GroupShiftType.FIXED);
+        request.setTimezone(JAKARTA.getId());
+        request.setMondayShiftId(shiftOf.apply(DayOfWeek.MONDAY));
+        request.setTuesdayShiftId(shiftOf.apply(DayOfWeek.TUESDAY));
+        request.setWednesdayShiftId(shiftOf.apply(DayOfWeek.WEDNESDAY));
+        request.setThursdayShiftId(shiftOf.apply(DayOfWeek.THURSDAY));
+        request.setFridayShiftId(shiftOf.apply(DayOfWeek.FRIDAY));
+        request.setSaturdayShiftId(shiftOf.apply(DayOfWeek.SATURDAY));
+        request.setSundayShiftId(shiftOf.apply(DayOfWeek.SUNDAY));
+        request.setUsePublicHolidays(false);
+        return request;
+    }
+
+    /**
+     * A FIXED group in Jakarta working one shift every day but its rest days
+     */
+    public static CreateAttendanceGroupRequest fixedGroup(String name, Long shiftId, DayOfWeek... restDays) {
+        Set<DayOfWeek> rest = Set.of(restDays);
+        return fixedGroup(name, day -> rest.contains(day) ? null : shiftId);
+    }
+
+    /**
+     * A FREE group, which schedules no shifts
+     */
+    public static CreateAttendanceGroupRequest freeGroup(String name) {
+        CreateAttendanceGroupRequest request = new CreateAttendanceGroupRequest();
+        request.setName(name);
+        request.setShiftType(GroupShiftType.FREE);
+        return request;
+    }
+
+    /**
+     * A kiosk punch by its device's own event ID
+     */
+    public static PunchRequest punchRequest(Long userId, Instant punchedAt, PunchType type, String deviceId,
+            String eventId) {
+        PunchRequest request = new PunchRequest();
+        request.setUserId(userId);
+        request.setPunchedAt(punchedAt);
+        request.setType(type);
+        request.setSource(PunchSource.KIOSK);
+        request.setDeviceId(deviceId);
+        request.setEventId(eventId);
+        return request;
+    }
+
+    public Long createShift(CreateShiftRequest request) {
+        return shiftService.createShift(request, 1L).getId();
+    }
+
+    public Long createGroup(CreateAttendanceGroupRequest request) {
+        return groupService.createGroup(request, 1L).getId();
+    }
+
+    /**
+     * A user in a group, or in none if groupId is null. Users start invited, so inactive.
+     */
+    public Long createUser(String name, Long groupId) {
+        CreateUserRequest request = new CreateUserRequest();
+        request.setName(name);
+        request.setAttendanceGroupId(groupId);
+        return userService.createUser(request).getId();
+    }
+
+    /**
+     * Record a punch at a Jakarta wall-clock time from a test kiosk. Punches older than the accepted
+     * backlog are rejected, so recent dates only.
+     */
+    public void punch(Long userId, LocalDate date, LocalTime time, PunchType type, String eventId) {
+        Instant punchedAt = date.atTime(time).atZone(JAKARTA).toInstant();
+        punchService.getObject().recordPunch(punchRequest(userId, punchedAt, type, "fixture-kiosk", eventId), 1L,
+                true);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.hcms.timesheet.service;
+
+import com.example.hcms.attendance.domain.RecomputeMark;
+import com.example.hcms.attendance.domain.RecomputeScope;
+import com.example.hcms.attendance.repository.RecomputeMarkRepository;
+import com.example.hcms.attendance.service.DailyAttendanceEngine;
+import com.example.hcms.attendance.service.RecomputeMarker;
+import com.example.hcms.attendancegroup.service.AttendanceGroupServiceImpl;
+import com.example.hcms.attendancegroup.service.ScheduleResolver;
+import com.example.hcms.attendancegroup.service.ShiftInstanceMatcher;
+import com.example.hcms.auth.service.UserMembershipIndex;
+import com.example.hcms.auth.service.UserService;
+import com.example.hcms.common.config.SecurityConfig;
+import com.example.hcms.common.repository.SparseQueries;
+import com.example.hcms.common.web.ChangeWatermarks;
+import com.example.hcms.department.service.DepartmentServiceImpl;
+import com.example.hcms.holiday.service.HolidayServiceImpl;
+import com.example.hcms.impact.service.ScheduleImpactPlanner;
+import com.example.hcms.impact.service.ScheduleImpactRecorder;
+import com.example.hcms.overtime.service.OvertimeLedger;
+import com.example.hcms.punch.domain.PunchType;
+import com.example.hcms.punch.service.PunchServiceImpl;
+import com.example.hcms.shift.service.ShiftCatalog;
+import com.example.hcms.shift.service.ShiftServiceImpl;
+import com.example.hcms.shift.service.ShiftVersions;
+import com.example.hcms.support.AttendanceFixtures;
+import com.example.hcms.timesheet.domain.TimesheetRun;
+import com.example.hcms.timesheet.domain.TimesheetRunStatus;
+import com.example.hcms.timesheet.dto.TimesheetResponse;
+import com.example.hcms.timesheet.dto.TimesheetRunResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static com.example.hcms.support.AttendanceFixtures.JAKARTA;
+import static com.example.hcms.support.AttendanceFixtures.fixedGroup;
+import static com.example.hcms.support.AttendanceFixtures.officeShift;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Month-end timesheet runs: totals folded from daily results, one partition per member, and a run cut
+ * short resumed without aggregating its done partitions again
+ */
+@DataJpaTest(showSql = false, properties = "app.timesheets.partition-size=1")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ TimesheetJob.class, TimesheetServiceImpl.class, DailyAttendanceEngine.class, RecomputeMarker.class,
+        PunchServiceImpl.class, ShiftInstanceMatcher.class, ScheduleResolver.class, AttendanceGroupServiceImpl.class,
+        ShiftServiceImpl.class, UserService.class, UserMembershipIndex.class, HolidayServiceImpl.class,
+        DepartmentServiceImpl.class, SecurityConfig.class, ShiftCatalog.class, ShiftVersions.class,
+        ChangeWatermarks.class, SparseQueries.class, ScheduleImpactRecorder.class, ScheduleImpactPlanner.class,
+        OvertimeLedger.class, AttendanceFixtures.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TimesheetJobTest {
+
+    @Autowired
+    private TimesheetJob job;
+
+    @Autowired
+    private TimesheetService timesheetService;
+
+    @Autowired
+    private RecomputeMarkRepository markRepository;
+
+    @Autowired
+    private AttendanceFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testRunFoldsDailyResultsAndResumes() {
+        Long shiftId = fixtures.createShift(officeShift("Timesheet office"));
+        Long groupId = fixtures.createGroup(fixedGroup("Timesheet Jakarta", shiftId));
+        Long late = fixtures.createUser("Timesheet Late", groupId);
+        Long absent = fixtures.createUser("Timesheet Absent", groupId);
+        LocalDate today = LocalDate.now(JAKARTA);
+        LocalDate yesterday = today.minusDays(1);
+        YearMonth month = YearMonth.from(yesterday);
+        // The month so far, today included
+        LocalDate last = month.equals(YearMonth.from(today)) ? today : yesterday;
+        fixtures.punch(late, yesterday, LocalTime.of(9, 20), PunchType.CLOCK_IN, "timesheet-in");
+        fixtures.punch(late, yesterday, LocalTime.of(18, 0), PunchType.CLOCK_OUT, "timesheet-out");
+        // Left for the run to work off before it reads the results
+        markRepository.save(new RecomputeMark(RecomputeScope.GROUP, groupId, month.atDay(1), last));
+
+        TimesheetRun first = job.run(month, 1L);
+        assertEquals(TimesheetRunStatus.COMPLETED, first.getStatus());
+        TimesheetRunResponse progress = timesheetService.getRun(first.getId());
+        assertTrue(progress.getPartitions() >= 2);
+        assertEquals(progress.getPartitions().longValue(), progress.getDonePartitions());
+        assertEquals(0, progress.getFailedPartitions());
+
+        int days = last.getDayOfMonth();
+        List<TimesheetResponse> timesheets = timesheetService.getTimesheets(month, groupId);
+        assertEquals(List.of(late, absent), timesheets.stream().map(TimesheetResponse::getUserId).toList());
+        TimesheetResponse lateSheet = timesheets.get(0);
+        assertEquals(days, lateSheet.getDaysScheduled());
+        assertEquals(1, lateSheet.getDaysWorked());
+        assertEquals(1, lateSheet.getLateCount());
+        assertEquals(20, lateSheet.getLateMinutes());
+        assertEquals(0, lateSheet.getEarlyOutCount());
+        assertEquals(days - 1, lateSheet.getAbsences());
+        assertEquals(8 * 60 + 40 - 60, lateSheet.getWorkedMinutes());
+        TimesheetResponse absentSheet = timesheets.get(1);
+        assertEquals(days, absentSheet.getDaysScheduled());
+        assertEquals(0, absentSheet.getDaysWorked());
+        assertEquals(days, absentSheet.getAbsences());
+
+        // Running the month again plans a new run; until it finishes, starting the month resumes it
+        TimesheetRun second = job.prepare(month, 1L);
+        assertNotEquals(first.getId(), second.getId());
+        assertEquals(second.getId(), job.prepare(month, 1L).getId());
+        // Cut short after the first member's partition committed
+        jdbcTemplate.update("UPDATE timesheet_partitions SET status = 'DONE', timesheets = 1 "
+                + "WHERE run_id = ? AND from_user_id = ?", second.getId(), late);
+
+        TimesheetRun resumed = job.execute(second.getId());
+        assertEquals(TimesheetRunStatus.COMPLETED, resumed.getStatus());
+        timesheets = timesheetService.getTimesheets(month, groupId);
+        assertEquals(first.getId(), timesheets.get(0).getRunId());
+        assertEquals(second.getId(), timesheets.get(1).getRunId());
+        assertEquals(days, timesheets.get(1).getAbsences());
+    }
+}